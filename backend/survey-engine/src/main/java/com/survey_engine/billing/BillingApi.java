@@ -92,12 +92,20 @@ public interface BillingApi {
     void validateSurveyCreationLimit(Long tenantId, Long userId);
 
     /**
-     * Validates if a survey is allowed to accept more responses based on the subscription.
+     * Returns the maximum number of responses a single survey may accept under the owner's plan.
      * @param tenantId The ID of the tenant.
-     * @param surveyId The ID of the survey.
-     * @throws BusinessRuleException if the limit is reached.
+     * @param userId The ID of the survey owner.
+     * @return The limit, or -1 if the plan does not limit responses.
+     */
+    long getResponseLimit(Long tenantId, Long userId);
+
+    /**
+     * Checks whether a user has no active subscription and is on the free tier.
+     * @param tenantId The ID of the tenant.
+     * @param userId The ID of the user.
+     * @return true if the user is on the free tier.
      */
-    void validateResponseLimit(Long tenantId, Long surveyId);
+    boolean isFreeTier(Long tenantId, Long userId);
 
     /**
      * Validates if the given channel is allowed by the tenant's subscription plan.
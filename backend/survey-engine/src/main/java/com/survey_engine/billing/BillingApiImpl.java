@@ -11,6 +11,7 @@ import com.survey_engine.billing.models.enums.PaymentGatewayType;
 import com.survey_engine.billing.models.enums.SystemWalletType;
 import com.survey_engine.billing.repository.PlanGatewayMappingRepository;
 import com.survey_engine.billing.repository.PlanRepository;
+import com.survey_engine.billing.service.EntitlementsChangedEvent;
 import com.survey_engine.billing.service.InvoiceService;
 import com.survey_engine.billing.service.SubscriptionLimitService;
 import com.survey_engine.billing.service.SubscriptionService;
@@ -18,6 +19,7 @@ import com.survey_engine.billing.service.SystemWalletService;
 import com.survey_engine.billing.service.WalletService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +46,7 @@ public class BillingApiImpl implements BillingApi {
     private final PlanRepository planRepository;
     private final PlanGatewayMappingRepository planGatewayMappingRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -135,8 +138,13 @@ public class BillingApiImpl implements BillingApi {
     }
 
     @Override
-    public void validateResponseLimit(Long tenantId, Long surveyId) {
-        subscriptionLimitService.validateResponseLimit(tenantId, surveyId);
+    public long getResponseLimit(Long tenantId, Long userId) {
+        return subscriptionLimitService.getResponseLimit(tenantId, userId);
+    }
+
+    @Override
+    public boolean isFreeTier(Long tenantId, Long userId) {
+        return subscriptionLimitService.isFreeTier(tenantId, userId);
     }
 
     @Override
@@ -161,6 +169,7 @@ public class BillingApiImpl implements BillingApi {
             }
         }
         planRepository.save(plan);
+        eventPublisher.publishEvent(EntitlementsChangedEvent.allTenants());
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.survey_engine.billing.dto;
+
+import java.util.List;
+
+/**
+ * What a user is entitled to under their current subscription, resolved once and cached.
+ * Users without a subscription get the implicit free tier.
+ *
+ * @param planName The plan name ("Free" without a subscription).
+ * @param freeTier Whether the user has no subscription.
+ * @param features The parsed plan features, or null on the free tier or if they could not be parsed.
+ * @param maxSurveys The survey limit, -1 = unlimited.
+ * @param maxResponsesPerSurvey The per-survey response limit, -1 = unlimited.
+ * @param channels The allowed response channels, or null if the plan does not restrict channels.
+ */
+public record Entitlements(
+        String planName,
+        boolean freeTier,
+        PlanFeatures features,
+        int maxSurveys,
+        long maxResponsesPerSurvey,
+        List<String> channels
+) {
+
+    /**
+     * @param channel The channel to check, e.g. "SMS".
+     * @return true if responses may be collected through the channel.
+     */
+    public boolean allowsChannel(String channel) {
+        return channels == null || channels.stream().anyMatch(c -> c.equalsIgnoreCase(channel));
+    }
+}
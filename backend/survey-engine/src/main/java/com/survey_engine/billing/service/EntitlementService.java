@@ -0,0 +1,117 @@
+package com.survey_engine.billing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.billing.dto.Entitlements;
+import com.survey_engine.billing.dto.PlanFeatures;
+import com.survey_engine.billing.models.Subscription;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resolves and caches {@link Entitlements} per tenant and user.
+ * Entries are invalidated by {@link EntitlementsChangedEvent}s once the publishing transaction
+ * commits, and expire after a short TTL so changes made on other nodes are picked up.
+ */
+@Service
+@Slf4j
+public class EntitlementService {
+
+    private static final Entitlements FREE_TIER = new Entitlements("Free", true, null, 3, 25, List.of("WEB"));
+
+    private final SubscriptionService subscriptionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Key, Entitlements> entitlements;
+
+    /**
+     * Constructor for EntitlementService.
+     * @param subscriptionService Service used to resolve active subscriptions.
+     * @param objectMapper Jackson mapper for parsing plan features.
+     * @param transactionManager Transaction manager for loading subscriptions and their plans.
+     * @param maxSize The maximum number of cached entries.
+     * @param ttl How long an entry may be served before it is reloaded.
+     */
+    public EntitlementService(SubscriptionService subscriptionService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${billing.entitlements.max-size:10000}") long maxSize,
+                              @Value("${billing.entitlements.ttl:PT5M}") Duration ttl) {
+        this.subscriptionService = subscriptionService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entitlements = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Returns the entitlements of a user, loading them on first access.
+     * @param tenantId The ID of the tenant.
+     * @param userId The ID of the user.
+     * @return The entitlements; the free tier if the user has no subscription.
+     */
+    public Entitlements get(Long tenantId, Long userId) {
+        return entitlements.get(new Key(tenantId, userId), this::load);
+    }
+
+    /**
+     * Drops cached entitlements affected by a subscription or plan change.
+     * @param event The change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntitlementsChanged(EntitlementsChangedEvent event) {
+        if (event.tenantId() == null) {
+            entitlements.invalidateAll();
+            log.debug("Invalidated all cached entitlements");
+        } else {
+            entitlements.asMap().keySet().removeIf(key -> Objects.equals(key.tenantId(), event.tenantId()));
+            log.debug("Invalidated cached entitlements for tenant {}", event.tenantId());
+        }
+    }
+
+    private Entitlements load(Key key) {
+        return readOnlyTransaction.execute(status -> subscriptionService
+                .getActiveSubscriptionForUser(key.tenantId(), key.userId())
+                .map(this::fromSubscription)
+                .orElse(FREE_TIER));
+    }
+
+    private Entitlements fromSubscription(Subscription subscription) {
+        String planName = subscription.getPlan().getName();
+        PlanFeatures features = parseFeatures(subscription.getPlan().getFeatures());
+        if (features == null) {
+            return new Entitlements(planName, false, null, -1, -1, null);
+        }
+        return new Entitlements(
+                planName,
+                false,
+                features,
+                features.maxSurveys() != null ? features.maxSurveys() : -1,
+                features.maxResponsesPerSurvey() != null ? features.maxResponsesPerSurvey() : -1,
+                features.channels() != null ? List.copyOf(features.channels()) : null
+        );
+    }
+
+    private PlanFeatures parseFeatures(String json) {
+        if (json == null || json.isBlank()) return null;
+        try {
+            return objectMapper.readValue(json, PlanFeatures.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse plan features JSON: {}", json, e);
+            return null;
+        }
+    }
+
+    private record Key(Long tenantId, Long userId) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.survey_engine.billing.service;
+
+/**
+ * Published when a subscription or plan changes in a way that may alter cached {@code Entitlements}.
+ *
+ * @param tenantId The tenant whose entitlements changed, or null if every tenant may be affected.
+ */
+public record EntitlementsChangedEvent(Long tenantId) {
+
+    /**
+     * @return An event that invalidates all cached entitlements, e.g. after a plan is edited.
+     */
+    public static EntitlementsChangedEvent allTenants() {
+        return new EntitlementsChangedEvent(null);
+    }
+}
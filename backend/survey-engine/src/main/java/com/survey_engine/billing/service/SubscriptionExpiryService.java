@@ -6,6 +6,7 @@ import com.survey_engine.billing.repository.SubscriptionRepository;
 import com.survey_engine.user.UserApi;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ public class SubscriptionExpiryService {
 
     private final SubscriptionRepository subscriptionRepository;
     private final UserApi userApi;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Checks for active subscriptions whose currentPeriodEnd has passed
@@ -63,6 +65,7 @@ public class SubscriptionExpiryService {
                 }
 
                 subscriptionRepository.save(sub);
+                eventPublisher.publishEvent(new EntitlementsChangedEvent(sub.getTenantId()));
                 log.info("Expired subscription {} for tenant={} user={}", sub.getId(), sub.getTenantId(), sub.getUserId());
             }
         } catch (Exception e) {
@@ -16,6 +16,7 @@ import com.survey_engine.user.UserApi;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +42,7 @@ public class SubscriptionService {
     private final UserApi userApi;
     private final PaystackSubscriptionService paystackSubscriptionService;
     private final WebhookSubscriberFinder webhookSubscriberFinder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a new subscription for a given user and plan.
@@ -57,10 +59,9 @@ public class SubscriptionService {
         Plan plan = planRepository.findById(planId)
                 .orElseThrow(() -> new ResourceNotFoundException("PLAN_NOT_FOUND", "Plan not found with ID: " + planId));
 
-        String tenantName = userApi.findTenantNameById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found with ID: " + tenantId));
-        
-        boolean isEnterprise = !tenantName.equals("Main Tenant");
+        boolean isEnterprise = !userApi.findTenantDescriptor(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found with ID: " + tenantId))
+                .individual();
         
         // Check for existing subscription
         if (isEnterprise) {
@@ -135,6 +136,7 @@ public class SubscriptionService {
         } else {
             userApi.updateUserSubscriptionId(userId, subscription.getId());
         }
+        eventPublisher.publishEvent(new EntitlementsChangedEvent(tenantId));
 
         return subscription;
     }
@@ -152,10 +154,9 @@ public class SubscriptionService {
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new ResourceNotFoundException("SUBSCRIPTION_NOT_FOUND", "Subscription not found with ID: " + subscriptionId));
 
-        String tenantName = userApi.findTenantNameById(tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found with ID: " + tenantId));
-        
-        boolean isEnterprise = !tenantName.equals("Main Tenant");
+        boolean isEnterprise = !userApi.findTenantDescriptor(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found with ID: " + tenantId))
+                .individual();
         boolean hasPermission = isEnterprise ? subscription.getTenantId().equals(tenantId)
                                               : subscription.getUserId().equals(userId);
 
@@ -175,6 +176,7 @@ public class SubscriptionService {
         } else {
             userApi.updateUserSubscriptionId(userId, null);
         }
+        eventPublisher.publishEvent(new EntitlementsChangedEvent(tenantId));
 
         return subscriptionRepository.save(subscription);
     }
@@ -225,7 +227,8 @@ public class SubscriptionService {
         
         // If upgrading to a paid plan from free, we might need to trigger payment flow.
         // For this refactor, we assume the user has handled payment or it's an internal update.
-        
+        eventPublisher.publishEvent(new EntitlementsChangedEvent(tenantId));
+
         return subscriptionRepository.save(subscription);
     }
 
@@ -308,6 +311,7 @@ public class SubscriptionService {
         }
 
         subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new EntitlementsChangedEvent(subscription.getTenantId()));
         log.info("Admin updated subscription {} with {}", subscriptionId, updates.keySet());
     }
 
@@ -368,6 +372,7 @@ public class SubscriptionService {
         }
 
         subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new EntitlementsChangedEvent(subscription.getTenantId()));
         log.info("Subscription {} updated to status {}", subscription.getId(), subscription.getStatus());
     }
 }
\ No newline at end of file
@@ -187,9 +187,7 @@ public class WalletService {
     }
 
     private boolean isMainTenant(Long tenantId) {
-        return userApi.findTenantNameById(tenantId)
-                .map("Main Tenant"::equals)
-                .orElse(false);
+        return userApi.isIndividualTenant(tenantId);
     }
 
     /**
@@ -11,6 +11,7 @@ import com.survey_engine.business_integration.repository.BusinessTransactionRepo
 import com.survey_engine.common.events.BusinessTransactionEvent;
 import com.survey_engine.common.exception.ExternalServiceException;
 import com.survey_engine.common.exception.ResourceNotFoundException;
+import com.survey_engine.user.TenantDescriptor;
 import com.survey_engine.user.UserApi;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -54,10 +55,10 @@ public class DarajaIntegrationService {
         Long tenantId = userApi.getTenantId();
         
         // Check if individual user (default tenant)
-        String tenantName = userApi.findTenantNameById(tenantId)
+        TenantDescriptor tenant = userApi.findTenantDescriptor(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found"));
         
-        if ("Main Tenant".equalsIgnoreCase(tenantName) || "www".equalsIgnoreCase(tenantName)) {
+        if (tenant.individual()) {
              log.info("Individual user {} attempting integration. Upgrading to Enterprise Tenant: {}", userId, request.businessName());
              
              // 1. Create new Tenant and Migrate User
@@ -1,8 +1,6 @@
 package com.survey_engine.common.auditing;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.survey_engine.common.models.AuditLog;
-import com.survey_engine.common.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -15,12 +13,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Aspect for auditing method executions annotated with {@link Auditable}.
- * This class intercepts method calls, logs relevant information, and persists it to the database.
+ * This class intercepts method calls, captures relevant information, and hands it to the
+ * {@link AuditLogWriter}, which persists it to the database in the background.
  */
 @Aspect
 @Component
@@ -28,7 +28,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuditAspect {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper objectMapper;
 
     /**
@@ -71,7 +71,7 @@ public class AuditAspect {
     }
 
     /**
-     * Saves the audit log entry to the database.
+     * Queues the audit log entry for writing to the database.
      *
      * @param actor      The user who performed the action.
      * @param action     The description of the action.
@@ -80,14 +80,9 @@ public class AuditAspect {
      */
     private void saveAuditLog(String actor, String action, String parameters, String status) {
         try {
-            AuditLog auditLog = new AuditLog();
-            auditLog.setActor(actor);
-            auditLog.setAction(action);
-            auditLog.setParameters(parameters);
-            auditLog.setStatus(status);
-            auditLogRepository.save(auditLog);
+            auditLogWriter.append(new AuditRecord(actor, action, parameters, status, LocalDateTime.now()));
         } catch (Exception e) {
-            log.error("CRITICAL: Failed to save audit log for actor '{}' and action '{}'", actor, action, e);
+            log.error("CRITICAL: Failed to queue audit log for actor '{}' and action '{}'", actor, action, e);
             // This failure should not interrupt the main application flow.
         }
     }
@@ -0,0 +1,253 @@
+package com.survey_engine.common.auditing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.common.repository.AuditLogJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link AuditRecord}s to {@code audit_log} off the caller's thread and transaction.
+ * <p>
+ * Records are queued in a bounded lock-free {@link AuditRingBuffer} and inserted in batches by a
+ * dedicated thread that wakes every {@code app.audit.flush-interval}. When the buffer is full the
+ * configured {@link AuditOverflowPolicy} applies; with {@code SPILL}, overflowing records and
+ * batches that fail to insert go to a local file that is replayed once the database accepts
+ * writes again. Records appended before the writer starts or after it stops are inserted on the
+ * caller's thread, and the buffer is drained before shutdown completes.
+ * <p>
+ * Metrics: {@code audit.log.queue.depth}, {@code audit.log.drain.lag} (time from an action to its
+ * batch being written), and counters {@code audit.log.written}, {@code audit.log.spilled} and
+ * {@code audit.log.dropped}.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final long BLOCK_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long REPLAY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AuditLogJdbcRepository repository;
+    private final AuditRingBuffer<AuditRecord> buffer;
+    private final AuditSpillFile spillFile;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+
+    private final Counter writtenCounter;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Timer drainLag;
+
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private long nextReplayNanos;
+    private Thread worker;
+
+    /**
+     * Constructor for AuditLogWriter.
+     * @param repository Repository the records are inserted with.
+     * @param objectMapper Jackson mapper used for the spill file.
+     * @param meterRegistry Registry for queue depth, lag and outcome metrics.
+     * @param capacity The most records held in memory.
+     * @param batchSize The most records per insert.
+     * @param flushInterval How long the writer waits for more records once the buffer is empty.
+     * @param overflowPolicy What to do with a record when the buffer is full.
+     * @param spillFile The file overflowing records are written to under the {@code SPILL} policy.
+     * @param shutdownTimeout How long shutdown waits for the writer to drain the buffer.
+     */
+    public AuditLogWriter(AuditLogJdbcRepository repository,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.capacity:8192}") int capacity,
+                          @Value("${app.audit.batch-size:500}") int batchSize,
+                          @Value("${app.audit.flush-interval:PT0.005S}") Duration flushInterval,
+                          @Value("${app.audit.overflow:SPILL}") AuditOverflowPolicy overflowPolicy,
+                          @Value("${app.audit.spill-file:${java.io.tmpdir}/survey-engine/audit-spill.ndjson}") Path spillFile,
+                          @Value("${app.audit.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.repository = repository;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.spillFile = new AuditSpillFile(spillFile, objectMapper);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("audit.log.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        this.drainLag = Timer.builder("audit.log.drain.lag")
+                .description("Time from an audited action to its record being written")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("audit.log.written");
+        this.spilledCounter = meterRegistry.counter("audit.log.spilled");
+        this.droppedCounter = meterRegistry.counter("audit.log.dropped");
+    }
+
+    /**
+     * Queues a record for writing. Never throws; records that cannot be kept are counted as dropped.
+     * @param record The record.
+     */
+    public void append(AuditRecord record) {
+        if (!running) {
+            write(List.of(record));
+            return;
+        }
+        if (buffer.offer(record)) return;
+        switch (overflowPolicy) {
+            case BLOCK -> block(record);
+            case DROP -> droppedCounter.increment();
+            case SPILL -> spill(List.of(record));
+        }
+    }
+
+    /**
+     * @return The number of records waiting to be written.
+     */
+    public int depth() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        spillPending = spillFile.hasRecords();
+        nextReplayNanos = System.nanoTime();
+        running = true;
+        worker = new Thread(this::run, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Audit log writer did not finish within {}; {} records not written", shutdownTimeout, buffer.size());
+        } else {
+            // Records appended while the writer was finishing its last batch
+            drainAll(new ArrayList<>(batchSize));
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so every request that is still being handled
+     * during a graceful shutdown can queue its audit records.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void run() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        long idleNanos = Math.max(1, flushInterval.toNanos());
+        while (running) {
+            if (drainOnce(batch) < batchSize) {
+                if (spillPending && buffer.size() == 0 && System.nanoTime() - nextReplayNanos >= 0) {
+                    replaySpill();
+                }
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        drainAll(batch);
+    }
+
+    private void drainAll(List<AuditRecord> batch) {
+        int taken;
+        do {
+            taken = drainOnce(batch);
+        } while (taken > 0);
+    }
+
+    private int drainOnce(List<AuditRecord> batch) {
+        int taken = buffer.drainTo(batch, batchSize);
+        if (taken == 0) return 0;
+        drainLag.record(Duration.between(batch.get(0).createdAt(), LocalDateTime.now()));
+        write(batch);
+        batch.clear();
+        return taken;
+    }
+
+    private void write(List<AuditRecord> records) {
+        try {
+            repository.insertAll(records);
+            writtenCounter.increment(records.size());
+        } catch (RuntimeException e) {
+            if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+                log.warn("Could not write {} audit records, spilling them: {}", records.size(), e.getMessage());
+                spill(records);
+            } else {
+                droppedCounter.increment(records.size());
+                log.error("CRITICAL: Dropped {} audit records: {}", records.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void block(AuditRecord record) {
+        while (!buffer.offer(record)) {
+            if (!running) {
+                write(List.of(record));
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PAUSE_NANOS);
+        }
+    }
+
+    private void spill(List<AuditRecord> records) {
+        try {
+            spillFile.append(records);
+            spilledCounter.increment(records.size());
+            spillPending = true;
+        } catch (IOException e) {
+            droppedCounter.increment(records.size());
+            log.error("CRITICAL: Dropped {} audit records, spill file not writable: {}", records.size(), e.getMessage());
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            List<AuditRecord> records = spillFile.takeForReplay();
+            for (int from = 0; from < records.size(); from += batchSize) {
+                List<AuditRecord> batch = records.subList(from, Math.min(records.size(), from + batchSize));
+                repository.insertAll(batch);
+                writtenCounter.increment(batch.size());
+            }
+            spillFile.replayed();
+            spillPending = spillFile.hasRecords();
+            if (!records.isEmpty()) {
+                log.info("Replayed {} spilled audit records", records.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            nextReplayNanos = System.nanoTime() + REPLAY_RETRY_NANOS;
+            log.warn("Could not replay spilled audit records: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.survey_engine.common.auditing;
+
+/**
+ * What {@link AuditLogWriter} does with a record when its buffer is full.
+ */
+public enum AuditOverflowPolicy {
+    /** Wait until the writer has made room. */
+    BLOCK,
+    /** Discard the record and count it in {@code audit.log.dropped}. */
+    DROP,
+    /** Append the record to the spill file; it is written to the database once the writer catches up. */
+    SPILL
+}
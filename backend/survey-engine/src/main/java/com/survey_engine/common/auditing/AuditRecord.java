@@ -0,0 +1,21 @@
+package com.survey_engine.common.auditing;
+
+import java.time.LocalDateTime;
+
+/**
+ * An immutable audit entry captured by {@link AuditAspect} and written by {@link AuditLogWriter}.
+ *
+ * @param actor The user who performed the action.
+ * @param action The description of the action.
+ * @param parameters The method parameters as JSON, with sensitive values redacted.
+ * @param status The execution status (SUCCESS/FAILURE).
+ * @param createdAt When the action completed.
+ */
+public record AuditRecord(
+        String actor,
+        String action,
+        String parameters,
+        String status,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,84 @@
+package com.survey_engine.common.auditing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ * <p>
+ * Producers claim a slot by advancing the producer index with a CAS and then publish the element
+ * into it; the consumer takes elements in claim order and clears each slot before advancing the
+ * consumer index, so a producer never overwrites an element that has not been taken. A slot that
+ * has been claimed but not yet published reads as empty until the producer stores into it.
+ *
+ * @param <E> The element type.
+ */
+class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity The minimum capacity; rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an element if there is room. May be called from any thread.
+     * @param element The element, not null.
+     * @return true if it was added, false if the buffer is full.
+     */
+    boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= slots.length()) return false;
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code limit} elements into {@code target}, oldest first. Must only be called
+     * from the single consumer thread.
+     * @param target The list to add to.
+     * @param limit The most elements to take.
+     * @return The number of elements taken.
+     */
+    int drainTo(List<E> target, int limit) {
+        long index = consumerIndex.get();
+        int taken = 0;
+        while (taken < limit) {
+            int slot = (int) index & mask;
+            E element = slots.get(slot);
+            if (element == null) break;
+            slots.lazySet(slot, null);
+            target.add(element);
+            index++;
+            taken++;
+            consumerIndex.lazySet(index);
+        }
+        return taken;
+    }
+
+    /**
+     * @return The number of elements claimed but not yet taken.
+     */
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    /**
+     * @return The number of slots.
+     */
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,99 @@
+package com.survey_engine.common.auditing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local NDJSON file holding audit records that did not fit in {@link AuditLogWriter}'s buffer or
+ * could not be inserted. Records are replayed at least once: the file is moved aside before it is
+ * read back, and the moved copy is only deleted once its records have been written.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private final Path path;
+    private final Path replayPath;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param path The spill file.
+     * @param objectMapper Jackson mapper used to write and read records.
+     */
+    AuditSpillFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.replayPath = path.resolveSibling(path.getFileName() + ".replay");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends records to the file.
+     * @param records The records.
+     * @throws IOException if the file cannot be written.
+     */
+    synchronized void append(List<AuditRecord> records) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditRecord record : records) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return true if there are spilled records waiting to be replayed.
+     */
+    synchronized boolean hasRecords() {
+        return Files.exists(replayPath) || Files.exists(path);
+    }
+
+    /**
+     * Reads the records to replay: those left from an unfinished replay, or else everything
+     * spilled so far, which is moved aside so that new spills go to a fresh file. Lines that
+     * cannot be parsed are skipped.
+     * @return The records, oldest first.
+     * @throws IOException if the file cannot be read.
+     */
+    List<AuditRecord> takeForReplay() throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replayPath)) {
+                if (!Files.exists(path)) return List.of();
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        List<AuditRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    records.add(objectMapper.readValue(line, AuditRecord.class));
+                } catch (IOException e) {
+                    log.error("Skipping unreadable spilled audit record: {}", e.getMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the records returned by the last {@link #takeForReplay()} once they are written.
+     * @throws IOException if the file cannot be deleted.
+     */
+    void replayed() throws IOException {
+        Files.deleteIfExists(replayPath);
+    }
+}
@@ -0,0 +1,30 @@
+package com.survey_engine.common.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Eviction of cached entries whose source rows are being changed.
+ */
+public final class TransactionalEviction {
+
+    private TransactionalEviction() {
+    }
+
+    /**
+     * Runs an eviction now and, when called inside a transaction, again once the transaction
+     * completes, so a concurrent reader cannot keep serving state it loaded before the commit.
+     * @param eviction The eviction to run.
+     */
+    public static void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
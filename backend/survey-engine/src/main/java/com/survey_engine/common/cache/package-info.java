@@ -0,0 +1,9 @@
+/**
+ * Shared helpers for in-process caches
+ */
+
+@NamedInterface("cache")
+
+package com.survey_engine.common.cache;
+
+import org.springframework.modulith.NamedInterface;
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.survey_engine.common.events;
+
+/**
+ * An event published when a tenant is created, renamed, deleted or otherwise changed, so that
+ * cached copies of its details can be dropped.
+ *
+ * @param tenantId The ID of the tenant that changed.
+ */
+public record TenantChangedEvent(
+        Long tenantId
+) {
+}
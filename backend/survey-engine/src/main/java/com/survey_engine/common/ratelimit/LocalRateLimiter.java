@@ -0,0 +1,67 @@
+package com.survey_engine.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RateLimiter} kept in process memory.
+ * Enabled with {@code app.rate-limit.store=memory} for local development and tests, and used by
+ * {@link RedisRateLimiter} while Redis is unavailable. Buckets are not shared between instances;
+ * idle buckets are evicted after ten minutes, by which time any bucket would have refilled.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory")
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int MAX_BUCKETS = 100_000;
+
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .maximumSize(MAX_BUCKETS)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    LocalRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimit limit) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit.capacity(), nanoClock.getAsLong()));
+        return bucket.tryTake(limit, nanoClock.getAsLong());
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAtNanos;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAtNanos = now;
+        }
+
+        synchronized Decision tryTake(RateLimit limit, long now) {
+            double perMilli = limit.tokensPerMilli();
+            double elapsedMillis = (now - refilledAtNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            tokens = Math.min(limit.capacity(), tokens + Math.max(0, elapsedMillis) * perMilli);
+            refilledAtNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.allow();
+            }
+            long waitMillis = perMilli > 0 ? (long) Math.ceil((1 - tokens) / perMilli) : TimeUnit.MINUTES.toMillis(1);
+            return Decision.reject(Duration.ofMillis(waitMillis));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.survey_engine.common.ratelimit;
+
+/**
+ * A token-bucket limit: up to {@code capacity} requests in a burst, refilled at
+ * {@code refillPerMinute} requests per minute.
+ *
+ * @param capacity The bucket size.
+ * @param refillPerMinute The sustained rate.
+ */
+public record RateLimit(
+        long capacity,
+        long refillPerMinute
+) {
+
+    /**
+     * @return The refill rate in tokens per millisecond.
+     */
+    public double tokensPerMilli() {
+        return refillPerMinute / 60_000.0;
+    }
+
+    /**
+     * @param nodes The number of nodes sharing this limit.
+     * @return This node's share of the limit, never less than one request.
+     */
+    public RateLimit share(int nodes) {
+        if (nodes <= 1) return this;
+        return new RateLimit(Math.max(1, capacity / nodes), Math.max(1, refillPerMinute / nodes));
+    }
+}
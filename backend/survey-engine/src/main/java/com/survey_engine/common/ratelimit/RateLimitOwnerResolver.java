@@ -0,0 +1,28 @@
+package com.survey_engine.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+
+/**
+ * Resolves who owns the resource a request targets, so that per-tenant limits are charged to
+ * the owner rather than to the tenant of the host the request arrived on. Implemented by the
+ * modules that own the limited resources; requests no resolver claims are charged to the
+ * current tenant.
+ */
+public interface RateLimitOwnerResolver {
+
+    /**
+     * @param request The request being limited; path variables are available as request attributes.
+     * @return The owner of the targeted resource, or empty if this resolver does not apply.
+     */
+    Optional<Owner> resolveOwner(HttpServletRequest request);
+
+    /**
+     * The owner of a limited resource.
+     * @param tenantId The tenant that owns the resource.
+     * @param userId The user that owns the resource, or null if unknown.
+     */
+    record Owner(Long tenantId, String userId) {
+    }
+}
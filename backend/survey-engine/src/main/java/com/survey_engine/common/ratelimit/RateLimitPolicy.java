@@ -0,0 +1,79 @@
+package com.survey_engine.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Matches requests to the configured {@link RateLimitProperties.Route routes} and takes tokens
+ * for them from the {@link RateLimiter}. Throttled requests get a 429 with a {@code Retry-After}
+ * header and are counted in {@code rate.limit.throttled}, tagged by route and scope.
+ */
+@Component
+public class RateLimitPolicy {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Constructor for RateLimitPolicy.
+     * @param properties The rate limit settings.
+     * @param rateLimiter The limiter tokens are taken from.
+     * @param meterRegistry Registry for the throttle counters.
+     */
+    public RateLimitPolicy(RateLimitProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param request The request.
+     * @return The first route matching the request, or empty if it is not limited.
+     */
+    public Optional<RateLimitProperties.Route> match(HttpServletRequest request) {
+        if (!properties.isEnabled()) return Optional.empty();
+        String path = request.getRequestURI();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPath(), path)) {
+                return Optional.of(route);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Takes a token for a request, or rejects it.
+     * @param route The matched route.
+     * @param scope What the bucket is keyed by, {@code ip} or {@code tenant}.
+     * @param subject The client IP, or the owning tenant (and user, for individual accounts).
+     * @param limit The limit for this subject.
+     * @param response The response, written with a 429 if the request is throttled.
+     * @return true if the request may proceed.
+     * @throws IOException if the rejection cannot be written.
+     */
+    public boolean admit(RateLimitProperties.Route route, String scope, String subject, RateLimit limit,
+                         HttpServletResponse response) throws IOException {
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(scope + ":" + route.getName() + ":" + subject, limit);
+        if (decision.allowed()) return true;
+
+        meterRegistry.counter("rate.limit.throttled", "route", route.getName(), "scope", scope).increment();
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Rate limit exceeded. Try again later.\",\"value\":\"RATE_LIMITED\"}");
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.survey_engine.common.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit settings, bound from {@code app.rate-limit}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /** Whether requests are rate limited at all. */
+    private boolean enabled = true;
+
+    /** The most tokens a node takes from Redis in one round trip. */
+    private int leaseSize = 10;
+
+    /** How long leased tokens may be handed out before they are forfeited. */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /** How long to limit locally after Redis could not be reached. */
+    private Duration fallbackRetry = Duration.ofSeconds(10);
+
+    /** The number of nodes; while limiting locally each node allows this share of every limit. */
+    private int nodes = 1;
+
+    /** The limited routes; the first route matching a request applies. */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * A limited route.
+     */
+    @Data
+    public static class Route {
+
+        /** Name used in bucket keys and metrics. */
+        private String name;
+
+        /** Ant-style path pattern, e.g. {@code /api/v1/auth/**}. */
+        private String path;
+
+        /** HTTP method, or null for any method. */
+        private String method;
+
+        /** Limit per client IP, or null for none. */
+        private RateLimit perIp;
+
+        /** Limit per tenant, by tier ({@code individual} or {@code enterprise}); tiers not listed are not limited. */
+        private Map<String, RateLimit> perTenant = new LinkedHashMap<>();
+    }
+}
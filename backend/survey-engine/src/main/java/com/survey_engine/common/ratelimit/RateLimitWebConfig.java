@@ -0,0 +1,23 @@
+package com.survey_engine.common.ratelimit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link TenantRateLimitInterceptor}.
+ */
+@Configuration
+public class RateLimitWebConfig implements WebMvcConfigurer {
+
+    private final TenantRateLimitInterceptor tenantRateLimitInterceptor;
+
+    public RateLimitWebConfig(TenantRateLimitInterceptor tenantRateLimitInterceptor) {
+        this.tenantRateLimitInterceptor = tenantRateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantRateLimitInterceptor);
+    }
+}
@@ -0,0 +1,37 @@
+package com.survey_engine.common.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket rate limiter. Buckets are created full on first use and identified by key;
+ * implementations must be safe for concurrent callers.
+ */
+public interface RateLimiter {
+
+    /**
+     * The outcome of an attempt to take a token.
+     *
+     * @param allowed Whether a token was taken.
+     * @param retryAfter When rejected, how long until a token is expected to be available.
+     */
+    record Decision(boolean allowed, Duration retryAfter) {
+
+        private static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        public static Decision allow() {
+            return ALLOWED;
+        }
+
+        public static Decision reject(Duration retryAfter) {
+            return new Decision(false, retryAfter);
+        }
+    }
+
+    /**
+     * Takes one token from a bucket.
+     * @param key The bucket.
+     * @param limit The bucket's capacity and refill rate.
+     * @return The decision.
+     */
+    Decision tryAcquire(String key, RateLimit limit);
+}
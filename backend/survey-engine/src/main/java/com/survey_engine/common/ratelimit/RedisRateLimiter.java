@@ -0,0 +1,155 @@
+package com.survey_engine.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis-backed {@link RateLimiter} shared by every node.
+ * Each bucket is a hash ({@code rate-limit:{key}}) holding its tokens and last refill time,
+ * updated atomically by a Lua script that uses the Redis clock, so nodes never disagree on time.
+ * <p>
+ * To save round trips a node takes up to {@code app.rate-limit.lease-size} tokens at once for a
+ * hot key, one that already went to Redis within {@code app.rate-limit.lease-ttl}, and hands
+ * them out locally until they run out or the TTL passes. Other keys take a single token, so an
+ * occasional client is charged exactly one token per request and only hot keys can forfeit
+ * unused leased tokens. The lease is capped at a tenth of the bucket so that small limits are
+ * not hoarded by one node.
+ * <p>
+ * If Redis cannot be reached, requests are limited by a {@link LocalRateLimiter} holding this
+ * node's share of each limit ({@code app.rate-limit.nodes}) until
+ * {@code app.rate-limit.fallback-retry} has passed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private static final RedisScript<List> TAKE = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            local retry = 0
+            if granted == 0 then
+                if rate > 0 then retry = math.ceil((1 - tokens) / rate) else retry = 60000 end
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            if rate > 0 then
+                redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            else
+                redis.call('PEXPIRE', KEYS[1], 60000)
+            end
+            return {granted, retry}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final LocalRateLimiter fallback;
+    private final Cache<String, Lease> leases;
+    private final Cache<String, Boolean> recentlyTaken;
+    private final Counter fallbackCounter;
+    private final LongSupplier nanoClock;
+    private volatile long redisRetryAtNanos;
+
+    /**
+     * Constructor for RedisRateLimiter.
+     * @param redisTemplate String-serialising Redis template.
+     * @param properties The rate limit settings.
+     * @param meterRegistry Registry for the fallback counter.
+     */
+    @Autowired
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(redisTemplate, properties, meterRegistry, System::nanoTime);
+    }
+
+    RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties, MeterRegistry meterRegistry,
+                     LongSupplier nanoClock) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.fallback = new LocalRateLimiter(nanoClock);
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getLeaseTtl())
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.recentlyTaken = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(properties.getLeaseTtl())
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.fallbackCounter = meterRegistry.counter("rate.limit.redis.fallback");
+        this.redisRetryAtNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimit limit) {
+        if (nanoClock.getAsLong() - redisRetryAtNanos < 0) {
+            return fallback.tryAcquire(key, limit.share(properties.getNodes()));
+        }
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null && lease.take()) {
+            return Decision.allow();
+        }
+        boolean hot = recentlyTaken.getIfPresent(key) != null;
+        try {
+            List<?> result = redisTemplate.execute(TAKE, List.of(KEY_PREFIX + key),
+                    Long.toString(limit.capacity()), Double.toString(limit.tokensPerMilli()),
+                    Integer.toString(hot ? leaseSize(limit) : 1));
+            recentlyTaken.put(key, Boolean.TRUE);
+            long granted = ((Number) result.get(0)).longValue();
+            if (granted <= 0) {
+                return Decision.reject(Duration.ofMillis(((Number) result.get(1)).longValue()));
+            }
+            if (granted > 1) {
+                leases.put(key, new Lease((int) granted - 1));
+            }
+            return Decision.allow();
+        } catch (RuntimeException e) {
+            redisRetryAtNanos = nanoClock.getAsLong() + properties.getFallbackRetry().toNanos();
+            fallbackCounter.increment();
+            log.warn("Rate limiting locally for {}: Redis unavailable ({})", properties.getFallbackRetry(), e.getMessage());
+            return fallback.tryAcquire(key, limit.share(properties.getNodes()));
+        }
+    }
+
+    private int leaseSize(RateLimit limit) {
+        return (int) Math.max(1, Math.min(properties.getLeaseSize(), limit.capacity() / 10));
+    }
+
+    private static final class Lease {
+
+        private final AtomicInteger remaining;
+
+        Lease(int tokens) {
+            this.remaining = new AtomicInteger(tokens);
+        }
+
+        boolean take() {
+            return remaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+        }
+    }
+}
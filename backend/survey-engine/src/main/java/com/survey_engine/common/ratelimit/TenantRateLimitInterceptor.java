@@ -0,0 +1,73 @@
+package com.survey_engine.common.ratelimit;
+
+import com.survey_engine.user.UserApi;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Optional;
+
+/**
+ * Applies the per-tenant limits of a route. It runs as a handler interceptor rather than in
+ * {@link com.survey_engine.common.config.RateLimitFilter} because the tenant is only known once
+ * the tenant resolver filter has run and path variables are only known once the handler is mapped.
+ * <p>
+ * A request is charged to the tenant that owns its target, as reported by a
+ * {@link RateLimitOwnerResolver}; the host's tenant is only used when no resolver applies. The
+ * tier is read from the cached tenant details. Individual accounts share the main tenant, so the
+ * individual tier is keyed by the owning user where one is known.
+ */
+@Component
+public class TenantRateLimitInterceptor implements HandlerInterceptor {
+
+    static final String INDIVIDUAL_TIER = "individual";
+    static final String ENTERPRISE_TIER = "enterprise";
+
+    private final RateLimitPolicy policy;
+    private final UserApi userApi;
+    private final ObjectProvider<RateLimitOwnerResolver> ownerResolvers;
+
+    /**
+     * Constructor for TenantRateLimitInterceptor.
+     * @param policy The route matcher and limiter.
+     * @param userApi API used to read the current tenant and its tier.
+     * @param ownerResolvers Resolvers for the owner of a request's target.
+     */
+    public TenantRateLimitInterceptor(RateLimitPolicy policy, UserApi userApi,
+                                      ObjectProvider<RateLimitOwnerResolver> ownerResolvers) {
+        this.policy = policy;
+        this.userApi = userApi;
+        this.ownerResolvers = ownerResolvers;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        RateLimitProperties.Route route = policy.match(request).orElse(null);
+        if (route == null || route.getPerTenant().isEmpty()) return true;
+
+        RateLimitOwnerResolver.Owner owner = resolveOwner(request);
+        if (owner == null || owner.tenantId() == null) return true;
+
+        boolean individual = userApi.isIndividualTenant(owner.tenantId());
+        RateLimit limit = route.getPerTenant().get(individual ? INDIVIDUAL_TIER : ENTERPRISE_TIER);
+        if (limit == null) return true;
+
+        String subject = individual && owner.userId() != null
+                ? owner.tenantId() + ":user:" + owner.userId()
+                : owner.tenantId().toString();
+        return policy.admit(route, "tenant", subject, limit, response);
+    }
+
+    private RateLimitOwnerResolver.Owner resolveOwner(HttpServletRequest request) {
+        return ownerResolvers.orderedStream()
+                .map(resolver -> resolver.resolveOwner(request))
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseGet(() -> {
+                    Long tenantId = userApi.getTenantId();
+                    return tenantId != null ? new RateLimitOwnerResolver.Owner(tenantId, null) : null;
+                });
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Request rate limiting
+ * Token-bucket limits per route, per client IP and per tenant tier
+ */
+
+@NamedInterface("ratelimit")
+
+package com.survey_engine.common.ratelimit;
+
+import org.springframework.modulith.NamedInterface;
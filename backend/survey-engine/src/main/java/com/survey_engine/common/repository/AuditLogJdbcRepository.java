@@ -0,0 +1,37 @@
+package com.survey_engine.common.repository;
+
+import com.survey_engine.common.auditing.AuditRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC repository for writing {@code audit_log} entries in batches.
+ * Reads go through {@link AuditLogRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts audit records in one batch.
+     * @param records The records.
+     */
+    public void insertAll(List<AuditRecord> records) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO audit_log (actor, action, parameters, status, created_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, records, records.size(), (ps, record) -> {
+            ps.setString(1, record.actor());
+            ps.setString(2, record.action());
+            ps.setString(3, record.parameters());
+            ps.setString(4, record.status());
+            ps.setTimestamp(5, Timestamp.valueOf(record.createdAt()));
+        });
+    }
+}
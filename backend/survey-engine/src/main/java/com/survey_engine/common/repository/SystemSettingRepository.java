@@ -3,14 +3,32 @@ package com.survey_engine.common.repository;
 import com.survey_engine.common.models.SystemSetting;
 import com.survey_engine.common.enums.SettingKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 /**
  * Repository for accessing system settings.
+ * The settings as a whole carry a version in {@code system_settings_version}, which every change
+ * must bump with {@link #incrementVersion} in the same transaction.
  */
 @Repository
 public interface SystemSettingRepository extends JpaRepository<SystemSetting, SettingKey> {
     Optional<SystemSetting> findByKey(SettingKey key);
+
+    /**
+     * @return The current version of the settings.
+     */
+    @Query(value = "SELECT version FROM system_settings_version WHERE id = 1", nativeQuery = true)
+    Long findVersion();
+
+    /**
+     * Bumps the version of the settings. The row lock is held until the transaction ends, so
+     * concurrent changes are versioned in commit order.
+     */
+    @Modifying
+    @Query(value = "UPDATE system_settings_version SET version = version + 1 WHERE id = 1", nativeQuery = true)
+    void incrementVersion();
 }
\ No newline at end of file
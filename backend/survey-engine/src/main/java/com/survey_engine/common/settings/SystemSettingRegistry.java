@@ -0,0 +1,128 @@
+package com.survey_engine.common.settings;
+
+import com.survey_engine.common.repository.SystemSettingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link SystemSettings} snapshot, so that response-time code reads prices
+ * from memory instead of querying {@code system_settings} and re-parsing them.
+ * <p>
+ * Settings are loaded at startup and reloaded when a {@link SystemSettingsChangedEvent} is
+ * committed. With {@code app.settings.broadcast.enabled=true} the reload is announced on the
+ * {@link #CHANNEL Redis channel} so that every other node reloads as well; each node also
+ * reloads every {@code app.settings.refresh-interval} in case an announcement was missed.
+ * A snapshot is only ever replaced by one with the same or a later version.
+ */
+@Service
+@Slf4j
+public class SystemSettingRegistry {
+
+    /** Redis channel on which setting changes are announced. */
+    public static final String CHANNEL = "system-settings:changed";
+
+    private final SystemSettingRepository systemSettingRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean broadcast;
+    private final AtomicReference<SystemSettings> current = new AtomicReference<>(SystemSettings.EMPTY);
+
+    /**
+     * Constructor for SystemSettingRegistry.
+     * @param systemSettingRepository Repository the settings are loaded from.
+     * @param redisTemplate Template used to announce changes to other nodes.
+     * @param broadcast Whether changes are announced to other nodes.
+     */
+    public SystemSettingRegistry(SystemSettingRepository systemSettingRepository,
+                                 StringRedisTemplate redisTemplate,
+                                 @Value("${app.settings.broadcast.enabled:false}") boolean broadcast) {
+        this.systemSettingRepository = systemSettingRepository;
+        this.redisTemplate = redisTemplate;
+        this.broadcast = broadcast;
+    }
+
+    /**
+     * @return The current settings snapshot.
+     */
+    public SystemSettings current() {
+        return current.get();
+    }
+
+    /**
+     * Loads the settings at startup.
+     */
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
+    /**
+     * Loads the settings from the database and installs them if they are not older than the
+     * current snapshot. The version is read before the settings, so a change committed in
+     * between is seen with the older version and replaced by the next reload, rather than the
+     * other way round.
+     * @return The snapshot in use after the reload.
+     */
+    public SystemSettings refresh() {
+        Long version = systemSettingRepository.findVersion();
+        SystemSettings loaded = SystemSettings.of(version != null ? version : 0L, systemSettingRepository.findAll());
+        SystemSettings installed = current.updateAndGet(existing ->
+                loaded.version() >= existing.version() ? loaded : existing);
+        log.debug("Loaded system settings version {}", installed.version());
+        return installed;
+    }
+
+    /**
+     * Periodically reloads the settings, so that a node that missed an announcement converges.
+     */
+    @Scheduled(fixedDelayString = "${app.settings.refresh-interval:PT5M}",
+            initialDelayString = "${app.settings.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload system settings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the settings once a change has been committed and announces it to other nodes.
+     * A failed announcement is logged; the other nodes then pick the change up on their next
+     * scheduled reload.
+     * @param event The change event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSettingsChanged(SystemSettingsChangedEvent event) {
+        SystemSettings installed = refresh();
+        if (!broadcast) return;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, Long.toString(installed.version()));
+        } catch (RuntimeException e) {
+            log.warn("Could not announce system settings version {}: {}", installed.version(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the settings after another node announced a change, unless this node already has
+     * that version.
+     * @param version The announced version.
+     */
+    void onAnnouncedVersion(String version) {
+        try {
+            if (Long.parseLong(version) <= current().version()) return;
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed system settings announcement: {}", version);
+        }
+        refreshQuietly();
+    }
+}
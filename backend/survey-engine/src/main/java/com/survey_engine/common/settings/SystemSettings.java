@@ -0,0 +1,90 @@
+package com.survey_engine.common.settings;
+
+import com.survey_engine.common.enums.SettingKey;
+import com.survey_engine.common.models.SystemSetting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable snapshot of every {@link SystemSetting}, with numeric values parsed once when the
+ * snapshot is built.
+ * <p>
+ * The {@link #version()} is the database-assigned version from {@code system_settings_version}.
+ * It is bumped in the transaction of every change and is the same on every node that has loaded
+ * the same rows, so it can be stored alongside a charge to identify the price table it was based on.
+ */
+@Slf4j
+public final class SystemSettings {
+
+    /** A snapshot with no settings, used before the first load. */
+    public static final SystemSettings EMPTY = new SystemSettings(0L, Map.of(), Map.of());
+
+    private final long version;
+    private final Map<SettingKey, String> values;
+    private final Map<SettingKey, BigDecimal> decimals;
+
+    private SystemSettings(long version, Map<SettingKey, String> values, Map<SettingKey, BigDecimal> decimals) {
+        this.version = version;
+        this.values = values;
+        this.decimals = decimals;
+    }
+
+    /**
+     * Builds a snapshot from stored settings. Values that are not numbers are kept as text only.
+     * @param version The version of the settings, read no later than the settings themselves.
+     * @param settings The stored settings.
+     * @return The snapshot.
+     */
+    public static SystemSettings of(long version, Collection<SystemSetting> settings) {
+        Map<SettingKey, String> values = new EnumMap<>(SettingKey.class);
+        Map<SettingKey, BigDecimal> decimals = new EnumMap<>(SettingKey.class);
+        for (SystemSetting setting : settings) {
+            if (setting.getKey() == null || setting.getValue() == null) continue;
+            values.put(setting.getKey(), setting.getValue());
+            try {
+                decimals.put(setting.getKey(), new BigDecimal(setting.getValue().trim()));
+            } catch (NumberFormatException e) {
+                log.trace("System setting {} is not numeric", setting.getKey());
+            }
+        }
+        return new SystemSettings(version, Collections.unmodifiableMap(values), Collections.unmodifiableMap(decimals));
+    }
+
+    /**
+     * @return The version of this snapshot; see the class description.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @param key The setting.
+     * @return The setting's raw value, or empty if it is not set.
+     */
+    public Optional<String> text(SettingKey key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    /**
+     * @param key The setting.
+     * @return The setting's numeric value, or empty if it is not set or not a number.
+     */
+    public Optional<BigDecimal> decimal(SettingKey key) {
+        return Optional.ofNullable(decimals.get(key));
+    }
+
+    /**
+     * @param key The setting.
+     * @param defaultValue The value to use if the setting is not set or not a number.
+     * @return The setting's numeric value, or the default.
+     */
+    public BigDecimal decimal(SettingKey key, BigDecimal defaultValue) {
+        return decimals.getOrDefault(key, defaultValue);
+    }
+}
@@ -0,0 +1,36 @@
+package com.survey_engine.common.settings;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes this node to system setting announcements from other nodes, enabled with
+ * {@code app.settings.broadcast.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.settings.broadcast.enabled", havingValue = "true")
+public class SystemSettingsBroadcastConfig {
+
+    /**
+     * Defines the listener container that reloads settings when another node announces a change.
+     * @param connectionFactory The autoconfigured Redis connection factory.
+     * @param registry The registry to reload.
+     * @return A RedisMessageListenerContainer instance.
+     */
+    @Bean
+    public RedisMessageListenerContainer systemSettingsListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                         SystemSettingRegistry registry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                        registry.onAnnouncedVersion(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SystemSettingRegistry.CHANNEL));
+        return container;
+    }
+}
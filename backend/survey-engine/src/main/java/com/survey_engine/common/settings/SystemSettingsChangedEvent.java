@@ -0,0 +1,8 @@
+package com.survey_engine.common.settings;
+
+/**
+ * An event published when system settings are changed, so that {@link SystemSettingRegistry}
+ * reloads them once the change is committed.
+ */
+public record SystemSettingsChangedEvent() {
+}
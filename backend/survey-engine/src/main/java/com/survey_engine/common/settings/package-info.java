@@ -0,0 +1,10 @@
+/**
+ * Typed, cached system settings
+ * Serves {@link com.survey_engine.common.models.SystemSetting} values from an in-memory snapshot
+ */
+
+@NamedInterface("settings")
+
+package com.survey_engine.common.settings;
+
+import org.springframework.modulith.NamedInterface;
@@ -1,5 +1,6 @@
 package com.survey_engine.intelligence.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.survey_engine.ai_analysis.AiApi;
@@ -25,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -71,22 +73,19 @@ public class InsightGenerationService {
         reportRepository.save(report);
 
         try {
-            // Fetch response data via SurveyApi
-            Map<String, Object> surveyData = surveyApi.getSurveyById(report.getSurveyId());
+            // Fetch aggregated results via SurveyApi
+            Map<String, Object> surveyData = surveyApi.getSurveyResults(report.getSurveyId());
             if (surveyData == null || surveyData.isEmpty()) {
                 throw new ResourceNotFoundException("INTELLIGENCE_SURVEY_DATA_NOT_FOUND",
                         "No data found for survey " + report.getSurveyId());
             }
 
             String surveyName = (String) surveyData.getOrDefault("name", "Survey");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> rawResponses =
-                    (List<Map<String, Object>>) surveyData.getOrDefault("responses", List.of());
+            int responseCount = ((Number) surveyData.getOrDefault("responseCount", 0L)).intValue();
 
             // Build the AI request
             InsightReportRequest aiRequest = buildAiRequest(
-                    report.getSurveyId(), surveyName, sector,
-                    rawResponses, surveyData);
+                    report.getSurveyId(), surveyName, sector, responseCount, surveyData);
 
             // Call AI
             InsightReportResult result = aiApi.generateInsightReport(aiRequest);
@@ -96,7 +95,7 @@ public class InsightGenerationService {
             report.setKeyFindings(objectMapper.writeValueAsString(result.keyFindings()));
             report.setRecommendations(objectMapper.writeValueAsString(result.recommendations()));
             report.setRespondentClusters(objectMapper.writeValueAsString(result.clusters()));
-            report.setResponseCount(rawResponses.size());
+            report.setResponseCount(responseCount);
             report.setStatus(ReportStatus.READY);
             report.setGeneratedAt(LocalDateTime.now());
             reportRepository.save(report);
@@ -116,44 +115,49 @@ public class InsightGenerationService {
     }
 
     private InsightReportRequest buildAiRequest(Long surveyId, String surveyName, String sector,
-                                                List<Map<String, Object>> rawResponses,
-                                                Map<String, Object> surveyData) {
-        // Build question summaries from survey data
+                                                int responseCount, Map<String, Object> surveyData)
+            throws JsonProcessingException {
+        // Build question summaries from the per-question aggregates
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> questions =
                 (List<Map<String, Object>>) surveyData.getOrDefault("questions", List.of());
 
         List<InsightReportRequest.QuestionSummary> summaries = new ArrayList<>();
-        List<String> openTextResponses = new ArrayList<>();
-
         for (Map<String, Object> q : questions) {
             String qText = (String) q.getOrDefault("questionText", "");
             String qType = (String) q.getOrDefault("questionType", "");
             String category = (String) q.get("category");
 
             summaries.add(new InsightReportRequest.QuestionSummary(
-                    qText, qType, category, buildOptionBreakdown(q, rawResponses)));
-
-            if ("FREE_TEXT".equals(qType)) {
-                extractOpenTextResponses(q, rawResponses, openTextResponses);
-            }
+                    qText, qType, category, buildOptionBreakdown(q)));
         }
 
         return new InsightReportRequest(surveyId, surveyName,
                 sector != null ? sector : "General",
-                rawResponses.size(), summaries, openTextResponses);
+                responseCount, summaries, List.of());
     }
 
-    private String buildOptionBreakdown(Map<String, Object> question,
-                                        List<Map<String, Object>> responses) {
-        // Simplified placeholder — real impl counts per-option answers from responses
-        return "Response data for analysis";
-    }
-
-    private void extractOpenTextResponses(Map<String, Object> question,
-                                          List<Map<String, Object>> responses,
-                                          List<String> accumulator) {
-        // Extract open-text answers from response data
+    /**
+     * Renders a question's aggregate as JSON: option label → count for choice and scale questions,
+     * plus average/min/max for numeric answers, or the answer count for free text.
+     */
+    private String buildOptionBreakdown(Map<String, Object> question) throws JsonProcessingException {
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> options =
+                (List<Map<String, Object>>) question.getOrDefault("options", List.of());
+        for (Map<String, Object> option : options) {
+            breakdown.put(String.valueOf(option.get("label")), option.get("count"));
+        }
+        if (question.get("average") != null) {
+            breakdown.put("average", question.get("average"));
+            breakdown.put("min", question.get("min"));
+            breakdown.put("max", question.get("max"));
+        }
+        if (breakdown.isEmpty()) {
+            breakdown.put("answers", question.getOrDefault("answerCount", 0L));
+        }
+        return objectMapper.writeValueAsString(breakdown);
     }
 
     @Transactional
@@ -2,7 +2,7 @@ package com.survey_engine.referral.service;
 
 import com.survey_engine.common.enums.SettingKey;
 import com.survey_engine.common.events.SmsNotificationEvent;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
 import com.survey_engine.referral.domain.ReferralCampaign;
 import com.survey_engine.referral.domain.ReferralInvite;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +24,7 @@ import org.springframework.stereotype.Service;
 public class InviteDispatchService {
 
     private final ApplicationEventPublisher eventPublisher;
-    private final SystemSettingRepository settingRepository;
+    private final SystemSettingRegistry settingRegistry;
 
     @Value("${app.frontend.base-url:http://localhost:5173}")
     private String appBaseUrl;
@@ -32,8 +32,7 @@ public class InviteDispatchService {
     @Async
     public void dispatch(ReferralInvite invite, ReferralCampaign campaign) {
         try {
-            String privacyUrl = settingRepository.findByKey(SettingKey.PRIVACY_NOTICE_URL)
-                    .map(s -> s.getValue())
+            String privacyUrl = settingRegistry.current().text(SettingKey.PRIVACY_NOTICE_URL)
                     .orElse(null);
             String message = buildMessage(invite, campaign, privacyUrl);
             eventPublisher.publishEvent(new SmsNotificationEvent(invite.getReferredPhone(), message));
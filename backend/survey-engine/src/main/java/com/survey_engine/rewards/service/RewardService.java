@@ -2,7 +2,7 @@ package com.survey_engine.rewards.service;
 
 import com.survey_engine.billing.BillingApi;
 import com.survey_engine.common.enums.SettingKey;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
 import com.survey_engine.rewards.dto.RewardRequest;
 import com.survey_engine.rewards.dto.RewardResponse;
 import com.survey_engine.rewards.models.Reward;
@@ -34,7 +34,7 @@ public class RewardService {
     private final RewardRepository rewardRepository;
     private final UserApi userApi;
     private final BillingApi billingApi;
-    private final SystemSettingRepository systemSettingRepository;
+    private final SystemSettingRegistry systemSettingRegistry;
 
     /**
      * Creates a new reward configuration for a survey, scoped by the current tenant.
@@ -107,9 +107,7 @@ public class RewardService {
     }
 
     private BigDecimal getSettingValue(SettingKey key, BigDecimal defaultValue) {
-        return systemSettingRepository.findByKey(key)
-                .map(s -> new BigDecimal(s.getValue()))
-                .orElse(defaultValue);
+        return systemSettingRegistry.current().decimal(key, defaultValue);
     }
 
     private void reserveSystemInventory(RewardRequest request) {
@@ -68,6 +68,19 @@ public interface SurveyApi {
      */
     Map<String, Object> getSurveyById(Long surveyId);
 
+    /**
+     * Retrieves a survey's per-question results from the incrementally maintained aggregates,
+     * without loading individual responses.
+     * Returns a map with keys: id, name, responseCount, categoryScores (category → score total),
+     * questions (list of maps with id, questionText, questionType, category, answerCount,
+     * options (list of maps with value, label, count), average, min, max, scoreTotal).
+     * Returns null if the survey does not exist.
+     *
+     * @param surveyId The ID of the survey.
+     * @return A Map representing the survey's results, or null.
+     */
+    Map<String, Object> getSurveyResults(Long surveyId);
+
     /**
      * Counts surveys owned by a specific user (efficient COUNT query, no entity loading).
      */
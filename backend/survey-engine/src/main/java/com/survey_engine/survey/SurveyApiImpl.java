@@ -1,9 +1,11 @@
 package com.survey_engine.survey;
 
+import com.survey_engine.survey.dto.results.SurveyResultsResponse;
 import com.survey_engine.survey.models.Response;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.repository.ResponseRepository;
 import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.stats.QuestionStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,7 @@ class SurveyApiImpl implements SurveyApi {
 
     private final ResponseRepository responseRepository;
     private final SurveyRepository surveyRepository;
+    private final QuestionStatsService questionStatsService;
 
     @org.springframework.beans.factory.annotation.Value("${survey.web.base-url}")
     private String webBaseUrl;
@@ -160,4 +163,37 @@ class SurveyApiImpl implements SurveyApi {
                 })
                 .orElse(null);
     }
+
+    @Override
+    public Map<String, Object> getSurveyResults(Long surveyId) {
+        Optional<String> name = surveyRepository.findById(surveyId).map(Survey::getName);
+        if (name.isEmpty()) {
+            return null;
+        }
+        SurveyResultsResponse results = questionStatsService.getResults(surveyId);
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", surveyId);
+        map.put("name", name.get());
+        map.put("responseCount", results.responseCount());
+        map.put("categoryScores", results.categoryScores());
+        map.put("questions", results.questions().stream()
+                .map(q -> {
+                    Map<String, Object> qm = new HashMap<>();
+                    qm.put("id", q.questionId());
+                    qm.put("questionText", q.questionText());
+                    qm.put("questionType", q.questionType().toString());
+                    qm.put("category", q.category());
+                    qm.put("answerCount", q.answerCount());
+                    qm.put("options", q.options().stream()
+                            .map(o -> Map.<String, Object>of("value", o.value(), "label", o.label(), "count", o.count()))
+                            .collect(Collectors.toList()));
+                    qm.put("average", q.average());
+                    qm.put("min", q.min());
+                    qm.put("max", q.max());
+                    qm.put("scoreTotal", q.scoreTotal());
+                    return qm;
+                }).collect(Collectors.toList()));
+        return map;
+    }
 }
@@ -0,0 +1,10 @@
+package com.survey_engine.survey.common.enums;
+
+/**
+ * Delivery state of one recipient of a bulk SMS send job.
+ */
+public enum SmsRecipientStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.survey_engine.survey.common.enums;
+
+/**
+ * Lifecycle of a bulk SMS send job.
+ */
+public enum SmsSendJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,10 +1,14 @@
 package com.survey_engine.survey.config.rabbitmq;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -23,6 +27,10 @@ public class RabbitMqConfig {
     public static final String DEAD_LETTER_EXCHANGE = "survey.dlx";
     public static final String DEAD_LETTER_QUEUE = "survey.responses.dlq";
 
+    public static final String RESPONSE_BATCH_CONTAINER_FACTORY = "responseBatchListenerContainerFactory";
+
+    public static final String SSE_FANOUT_EXCHANGE = "survey.sse.fanout";
+
     /**
      * Defines the main topic exchange for survey-related events.
      * @return A TopicExchange instance.
@@ -85,6 +93,40 @@ public class RabbitMqConfig {
         return BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(RESPONSE_QUEUE);
     }
 
+    /**
+     * Defines the fanout exchange that relays processed responses to the SSE subscribers of every node.
+     * @return A non-durable FanoutExchange instance.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "survey.sse.fanout.enabled", havingValue = "true")
+    public FanoutExchange sseFanoutExchange() {
+        return new FanoutExchange(SSE_FANOUT_EXCHANGE, false, false);
+    }
+
+    /**
+     * Defines this node's private queue on the SSE fanout exchange.
+     * The queue is exclusive and deleted with the node's connection, so relayed events are never
+     * kept for a node that is not running.
+     * @return An AnonymousQueue instance.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "survey.sse.fanout.enabled", havingValue = "true")
+    public AnonymousQueue sseFanoutQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("survey.sse.node."));
+    }
+
+    /**
+     * Binds this node's SSE queue to the fanout exchange.
+     * @param sseFanoutExchange The SSE fanout exchange.
+     * @param sseFanoutQueue This node's SSE queue.
+     * @return A Binding instance.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "survey.sse.fanout.enabled", havingValue = "true")
+    public Binding sseFanoutBinding(FanoutExchange sseFanoutExchange, AnonymousQueue sseFanoutQueue) {
+        return BindingBuilder.bind(sseFanoutQueue).to(sseFanoutExchange);
+    }
+
     /**
      * Defines the message converter to serialize and deserialize messages to/from JSON.
      * @return A Jackson2JsonMessageConverter instance.
@@ -105,4 +147,34 @@ public class RabbitMqConfig {
         rabbitTemplate.setMessageConverter(surveyJsonMessageConverter());
         return rabbitTemplate;
     }
+
+    /**
+     * Configures the listener container used by the batch ingestion worker.
+     * The consumer drains up to {@code batchSize} messages, or whatever has arrived once
+     * {@code receiveTimeoutMs} elapses, and hands them to the listener as a single list.
+     * Acknowledgement is manual so that each message in a batch can be acked or
+     * rejected to the dead-letter queue on its own.
+     *
+     * @param configurer Spring Boot's configurer, applying the {@code spring.rabbitmq.listener.simple.*} defaults.
+     * @param connectionFactory The RabbitMQ connection factory.
+     * @param batchSize The maximum number of messages delivered to the listener per batch.
+     * @param receiveTimeoutMs The maximum time in milliseconds to wait for a batch to fill.
+     * @return A batch-enabled SimpleRabbitListenerContainerFactory.
+     */
+    @Bean(name = RESPONSE_BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory responseBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${survey.ingestion.batch.size:200}") int batchSize,
+            @Value("${survey.ingestion.batch.receive-timeout-ms:250}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
 }
@@ -0,0 +1,40 @@
+package com.survey_engine.survey.config.ratelimit;
+
+import com.survey_engine.common.ratelimit.RateLimitOwnerResolver;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Charges requests to survey sub-resources, such as response submissions, to the survey's
+ * tenant and owner, read from the compiled survey cache.
+ */
+@Component
+public class SurveyOwnerResolver implements RateLimitOwnerResolver {
+
+    private static final String SURVEY_ID_VARIABLE = "surveyId";
+
+    private final CompiledSurveyCache compiledSurveyCache;
+
+    public SurveyOwnerResolver(CompiledSurveyCache compiledSurveyCache) {
+        this.compiledSurveyCache = compiledSurveyCache;
+    }
+
+    @Override
+    public Optional<Owner> resolveOwner(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?> map) || !(map.get(SURVEY_ID_VARIABLE) instanceof String surveyId)) {
+            return Optional.empty();
+        }
+        try {
+            return compiledSurveyCache.get(Long.valueOf(surveyId))
+                    .map(survey -> new Owner(survey.tenantId(), survey.userId()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
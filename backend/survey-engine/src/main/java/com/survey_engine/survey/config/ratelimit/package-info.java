@@ -0,0 +1,4 @@
+/**
+ * This package contains the survey module's hooks into request rate limiting.
+ */
+package com.survey_engine.survey.config.ratelimit;
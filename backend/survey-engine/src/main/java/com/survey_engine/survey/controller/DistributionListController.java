@@ -1,10 +1,15 @@
 package com.survey_engine.survey.controller;
 
+import com.survey_engine.survey.dto.ContactImportResponse;
+import com.survey_engine.survey.dto.ContactPageResponse;
 import com.survey_engine.survey.dto.ContactRequest;
 import com.survey_engine.survey.dto.DistributionListRequest;
 import com.survey_engine.survey.dto.DistributionListResponse;
+import com.survey_engine.survey.dto.DistributionListSummaryResponse;
 import com.survey_engine.survey.service.DistributionListService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,10 +49,10 @@ public class DistributionListController {
      * @param name The name of the distribution list.
      * @param file The CSV file containing contacts (format: phone, firstName, lastName, email).
      * @param jwt The authenticated user's JWT.
-     * @return A ResponseEntity containing the created distribution list response.
+     * @return A ResponseEntity containing the new list's ID and the accepted, duplicate and invalid contact counts.
      */
     @PostMapping(value = "/upload-csv", consumes = "multipart/form-data")
-    public ResponseEntity<DistributionListResponse> uploadCsv(
+    public ResponseEntity<ContactImportResponse> uploadCsv(
             @RequestParam("name") String name,
             @RequestParam("file") MultipartFile file,
             @AuthenticationPrincipal Jwt jwt) {
@@ -61,10 +66,10 @@ public class DistributionListController {
     /**
      * Retrieves all distribution lists owned by the authenticated user.
      * @param jwt The authenticated user's JWT.
-     * @return A ResponseEntity containing a list of distribution list responses.
+     * @return A ResponseEntity containing a summary of each distribution list, without contacts.
      */
     @GetMapping
-    public ResponseEntity<List<DistributionListResponse>> getAllDistributionLists(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<List<DistributionListSummaryResponse>> getAllDistributionLists(@AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
         return ResponseEntity.ok(distributionListService.getAllDistributionLists(userId));
     }
@@ -73,25 +78,45 @@ public class DistributionListController {
      * Retrieves a specific distribution list by its ID, owned by the authenticated user.
      * @param id The ID of the distribution list.
      * @param jwt The authenticated user's JWT.
-     * @return A ResponseEntity containing the distribution list response.
+     * @return A ResponseEntity containing a summary of the distribution list, without contacts.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DistributionListResponse> getDistributionListById(
+    public ResponseEntity<DistributionListSummaryResponse> getDistributionListById(
             @PathVariable UUID id,
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
         return ResponseEntity.ok(distributionListService.getDistributionListById(userId, id));
     }
 
+    /**
+     * Retrieves a distribution list's contacts one page at a time, ordered by phone number.
+     * @param id The ID of the distribution list.
+     * @param q Optional search: the start of a phone number, or the start of a first or last name.
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page.
+     * @param limit The page size, between 1 and 500.
+     * @param jwt The authenticated user's JWT.
+     * @return A ResponseEntity containing a page of contacts.
+     */
+    @GetMapping("/{id}/contacts")
+    public ResponseEntity<ContactPageResponse> getContacts(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        return ResponseEntity.ok(distributionListService.getContacts(userId, id, q, cursor, limit));
+    }
+
     /**
      * Adds contacts to an existing distribution list owned by the authenticated user.
      * @param id The ID of the distribution list.
      * @param contactRequests A list of contacts to add.
      * @param jwt The authenticated user's JWT.
-     * @return A ResponseEntity containing the updated distribution list response.
+     * @return A ResponseEntity containing the accepted, duplicate and invalid contact counts.
      */
     @PostMapping("/{id}/contacts")
-    public ResponseEntity<DistributionListResponse> addContacts(
+    public ResponseEntity<ContactImportResponse> addContacts(
             @PathVariable UUID id,
             @RequestBody List<ContactRequest> contactRequests,
             @AuthenticationPrincipal Jwt jwt) {
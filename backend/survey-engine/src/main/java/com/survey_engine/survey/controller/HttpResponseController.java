@@ -1,16 +1,29 @@
 package com.survey_engine.survey.controller;
 
 import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.dto.ResponseFilter;
+import com.survey_engine.survey.dto.ResponsePageResponse;
 import com.survey_engine.survey.dto.ResponseRequest;
 import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.service.export.ExportFormat;
+import com.survey_engine.survey.service.export.ResponseExport;
+import com.survey_engine.survey.service.export.ResponseExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -22,15 +35,20 @@ import java.util.List;
 @RequestMapping("/api/v1/surveys/{surveyId}/responses")
 public class HttpResponseController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ResponseService responseService;
+    private final ResponseExportService responseExportService;
 
     /**
      * Constructor for HttpResponseController.
      * @param responseService An instance of ResponseService.
+     * @param responseExportService An instance of ResponseExportService.
      */
     @Autowired
-    public HttpResponseController(ResponseService responseService) {
+    public HttpResponseController(ResponseService responseService, ResponseExportService responseExportService) {
         this.responseService = responseService;
+        this.responseExportService = responseExportService;
     }
 
     /**
@@ -53,19 +71,64 @@ public class HttpResponseController {
     }
 
     /**
-     * Endpoint to retrieve all responses for a survey.
+     * Endpoint to retrieve a survey's responses, newest first, one page at a time.
      * @param surveyId The ID of the survey.
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page.
+     * @param limit The page size, between 1 and {@value #MAX_PAGE_SIZE}.
+     * @param from Only responses submitted at or after this time.
+     * @param to Only responses submitted before this time.
+     * @param channel Only responses submitted through this channel.
+     * @param participantId Only responses from this participant.
      * @param jwt The JWT of the authenticated user.
-     * @return A ResponseEntity containing a list of responses.
+     * @return A ResponseEntity containing a page of responses.
      */
     @GetMapping
-    public ResponseEntity<List<ResponseResponse>> getResponsesForSurvey(
+    public ResponseEntity<ResponsePageResponse> getResponsesForSurvey(
             @PathVariable Long surveyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String channel,
+            @RequestParam(required = false) String participantId,
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
         List<String> roles = jwt.getClaimAsStringList("roles");
-        List<ResponseResponse> responses = responseService.getResponsesBySurveyId(surveyId, userId, roles);
-        return ResponseEntity.ok(responses);
+        ResponseFilter filter = new ResponseFilter(from, to, channel, participantId);
+        ResponsePageResponse page = responseService.getResponsesBySurveyId(surveyId, filter, cursor, limit, userId, roles);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Endpoint to download all responses for a survey as a file.
+     * The body is streamed straight to the client, so exports of any size run in constant memory.
+     * @param surveyId The ID of the survey.
+     * @param format The file format, {@code csv} or {@code ndjson}.
+     * @param acceptEncoding The client's Accept-Encoding header; the body is gzipped when it allows it.
+     * @param jwt The JWT of the authenticated user.
+     * @param response The servlet response the export is written to.
+     * @throws IOException if the export cannot be written, e.g. because the client disconnected.
+     */
+    @GetMapping("/export")
+    public void exportResponses(
+            @PathVariable Long surveyId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal Jwt jwt,
+            HttpServletResponse response) throws IOException {
+        ResponseExport export = responseExportService.prepare(
+                surveyId, ExportFormat.from(format), jwt.getSubject(), jwt.getClaimAsStringList("roles"));
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType(export.format().contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(export.fileName()).build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        responseExportService.write(export, response.getOutputStream(), gzip);
     }
 
     /**
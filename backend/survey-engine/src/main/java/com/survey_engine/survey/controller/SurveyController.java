@@ -14,11 +14,14 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.survey_engine.survey.dto.cost.SurveyCostCalculationRequest;
 import com.survey_engine.survey.dto.cost.SurveyCostCalculationResponse;
 import com.survey_engine.survey.service.SurveyCostService;
+import com.survey_engine.survey.dto.sms.SmsSendJobResponse;
+import com.survey_engine.survey.service.sms.job.SmsSendJobService;
 
 /**
  * Controller class for survey entity
@@ -32,6 +35,7 @@ public class SurveyController {
 
     private final SurveyService surveyService;
     private final SurveyCostService surveyCostService;
+    private final SmsSendJobService smsSendJobService;
 
     /**
      * Calculates the estimated cost for a survey based on respondents or budget.
@@ -180,17 +184,34 @@ public class SurveyController {
      * @param id The ID of the survey.
      * @param request Optional request body containing distributionListId.
      * @param jwt The JWT token of the authenticated user.
-     * @return A ResponseEntity with Accepted status.
+     * @return A ResponseEntity with Accepted status and the ID of the send job.
      */
     @PostMapping("/{id}/send-to-distribution-list")
-    public ResponseEntity<Void> sendSurveyToDistributionList(
+    public ResponseEntity<Map<String, UUID>> sendSurveyToDistributionList(
             @PathVariable Long id, 
             @RequestBody(required = false) SurveyDistributionRequest request,
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
         List<String> roles = jwt.getClaimAsStringList("roles");
         UUID listId = request != null ? request.distributionListId() : null;
-        surveyService.sendSurveyToDistributionList(id, userId, roles, listId);
-        return ResponseEntity.accepted().build();
+        UUID jobId = surveyService.sendSurveyToDistributionList(id, userId, roles, listId);
+        return ResponseEntity.accepted().body(Map.of("jobId", jobId));
+    }
+
+    /**
+     * Retrieves the progress of a distribution list send.
+     * @param id The ID of the survey.
+     * @param jobId The ID of the send job.
+     * @param jwt The JWT token of the authenticated user.
+     * @return A ResponseEntity containing the job's progress.
+     */
+    @GetMapping("/{id}/send-jobs/{jobId}")
+    public ResponseEntity<SmsSendJobResponse> getSendJob(
+            @PathVariable Long id,
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        List<String> roles = jwt.getClaimAsStringList("roles");
+        return ResponseEntity.ok(smsSendJobService.getJob(id, jobId, userId, roles));
     }
 }
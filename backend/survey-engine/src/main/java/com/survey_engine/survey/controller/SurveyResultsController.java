@@ -0,0 +1,49 @@
+package com.survey_engine.survey.controller;
+
+import com.survey_engine.survey.dto.results.SurveyResultsResponse;
+import com.survey_engine.survey.service.stats.QuestionStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for the aggregated results of a survey.
+ * Results are a sub-resource of a Survey.
+ */
+@RestController
+@RequestMapping("/api/v1/surveys/{surveyId}/results")
+public class SurveyResultsController {
+
+    private final QuestionStatsService questionStatsService;
+
+    /**
+     * Constructor for SurveyResultsController.
+     * @param questionStatsService An instance of QuestionStatsService.
+     */
+    @Autowired
+    public SurveyResultsController(QuestionStatsService questionStatsService) {
+        this.questionStatsService = questionStatsService;
+    }
+
+    /**
+     * Endpoint to retrieve per-question answer distributions, numeric summaries and category scores.
+     * @param surveyId The ID of the survey.
+     * @param jwt The JWT of the authenticated user.
+     * @return A ResponseEntity containing the survey's results.
+     */
+    @GetMapping
+    public ResponseEntity<SurveyResultsResponse> getResults(
+            @PathVariable Long surveyId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        List<String> roles = jwt.getClaimAsStringList("roles");
+        return ResponseEntity.ok(questionStatsService.getResults(surveyId, userId, roles));
+    }
+}
@@ -1,15 +1,21 @@
 package com.survey_engine.survey.controller;
 
-import com.survey_engine.survey.models.WebhookDeliveryLog;
+import com.survey_engine.common.exception.BusinessRuleException;
+import com.survey_engine.survey.dto.WebhookDeliveryLogPageResponse;
 import com.survey_engine.survey.models.WebhookSubscription;
 import com.survey_engine.survey.service.WebhookDeliveryService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -19,10 +25,13 @@ import java.util.UUID;
  * Tenants can subscribe to platform events and receive HTTP POST callbacks.
  */
 @RestController
+@Validated
 @RequestMapping("/api/v1/webhooks/subscriptions")
 @RequiredArgsConstructor
 public class WebhookSubscriptionController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final WebhookDeliveryService webhookDeliveryService;
 
     @PostMapping
@@ -34,11 +43,22 @@ public class WebhookSubscriptionController {
                 tenantId,
                 request.get("targetUrl"),
                 request.get("eventTypes"),
-                request.get("secret")
+                request.get("secret"),
+                parseInteger(request.get("batchMaxSize")),
+                parseInteger(request.get("batchWindowMs"))
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(sub);
     }
 
+    private static Integer parseInteger(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessRuleException("INVALID_WEBHOOK_BATCHING", "Not a number: " + value);
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<WebhookSubscription>> getSubscriptions(
             @AuthenticationPrincipal Jwt jwt) {
@@ -65,11 +85,34 @@ public class WebhookSubscriptionController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Re-sends every event originally delivered (or attempted) to a subscription in a time range.
+     */
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<Map<String, Integer>> replayDeliveries(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long tenantId = jwt.getClaim("tenantId");
+        int queued = webhookDeliveryService.replayDeliveries(tenantId, id, from, to);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("queued", queued));
+    }
+
+    /**
+     * Lists a subscription's delivery log, newest first, one page at a time.
+     * @param status {@code SUCCESS} or {@code FAILED} to list only those deliveries.
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page.
+     * @param limit The page size, between 1 and {@value #MAX_PAGE_SIZE}.
+     */
     @GetMapping("/{id}/deliveries")
-    public ResponseEntity<List<WebhookDeliveryLog>> getDeliveryLogs(
+    public ResponseEntity<WebhookDeliveryLogPageResponse> getDeliveryLogs(
             @AuthenticationPrincipal Jwt jwt,
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
         Long tenantId = jwt.getClaim("tenantId");
-        return ResponseEntity.ok(webhookDeliveryService.getDeliveryLogs(tenantId, id));
+        return ResponseEntity.ok(webhookDeliveryService.getDeliveryLogs(tenantId, id, status, cursor, limit));
     }
 }
@@ -1,16 +1,24 @@
 package com.survey_engine.survey.controller.sse;
 
+import com.survey_engine.common.exception.ResourceNotFoundException;
 import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
 import com.survey_engine.survey.service.sse.SseService;
+import com.survey_engine.user.UserApi;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
-import java.time.Duration;
+import java.util.List;
 
 /**
  * Controller providing the reactive HTTP endpoint for clients to establish
@@ -21,32 +29,72 @@ import java.time.Duration;
 public class SseController {
 
     private final SseService sseService;
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final UserApi userApi;
 
     /**
      * Constructor for SseController.
      * @param sseService An instance of SseService to manage the reactive stream.
+     * @param compiledSurveyCache Cache used to check that the caller may see a requested survey.
+     * @param userApi API for resolving the caller's tenant and its tier.
      */
     @Autowired
-    public SseController(SseService sseService) {
+    public SseController(SseService sseService, CompiledSurveyCache compiledSurveyCache, UserApi userApi) {
         this.sseService = sseService;
+        this.compiledSurveyCache = compiledSurveyCache;
+        this.userApi = userApi;
     }
 
     /**
      * Establishes a reactive SSE connection with a client.
-     * Each client receives a stream of events, including new survey responses
-     * and periodic keep-alive comments.
+     * A client receives the new responses of one survey, which it must own unless it is an
+     * admin, or else of every survey it owns; admins of an organisation tenant receive every
+     * survey of the tenant. Individual accounts share one tenant, so they never receive
+     * tenant-wide streams. Periodic keep-alive comments are sent as well. Responses arrive one
+     * per {@code new-response} event, or, when coalescing is enabled, as a list per
+     * {@code new-responses} event.
+     * @param surveyId Optional survey to stream; defaults to every survey the caller may see.
+     * @param jwt The JWT of the authenticated user.
      * @return A Flux of ServerSentEvent objects.
      */
     @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<ResponseResponse>> stream() {
-        Flux<ServerSentEvent<ResponseResponse>> responseEventFlux = sseService.getResponseStream()
-                .map(response -> ServerSentEvent.<ResponseResponse>builder()
-                        .event("new-response")
-                        .data(response)
-                        .build());
+    public Flux<ServerSentEvent<Object>> stream(@RequestParam(required = false) Long surveyId,
+                                                @AuthenticationPrincipal Jwt jwt) {
+        Long tenantId = userApi.getTenantId();
+        if (tenantId == null) {
+            throw new AccessDeniedException("A tenant is required to stream responses.");
+        }
+        String userId = jwt.getSubject();
+        List<String> roles = jwt.getClaimAsStringList("roles");
+        boolean admin = roles != null && roles.contains("ADMIN");
+
+        Flux<List<ResponseResponse>> frames;
+        if (surveyId != null) {
+            CompiledSurvey survey = compiledSurveyCache.get(surveyId)
+                    .filter(s -> tenantId.equals(s.tenantId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + surveyId));
+            if (!survey.userId().equals(userId) && !admin) {
+                throw new AccessDeniedException("You do not have permission to stream responses for this survey.");
+            }
+            frames = sseService.getResponseStream(tenantId, null, surveyId);
+        } else if (admin && !userApi.isIndividualTenant(tenantId)) {
+            frames = sseService.getResponseStream(tenantId, null, null);
+        } else {
+            frames = sseService.getResponseStream(tenantId, userId, null);
+        }
+        Flux<ServerSentEvent<Object>> responseEventFlux = sseService.isCoalescing()
+                ? frames.map(batch -> ServerSentEvent.<Object>builder()
+                        .event("new-responses")
+                        .data(batch)
+                        .build())
+                : frames.flatMapIterable(batch -> batch)
+                        .map(response -> ServerSentEvent.<Object>builder()
+                                .event("new-response")
+                                .data(response)
+                                .build());
 
-        Flux<ServerSentEvent<ResponseResponse>> keepAliveFlux = Flux.interval(Duration.ofSeconds(15))
-                .map(i -> ServerSentEvent.<ResponseResponse>builder()
+        Flux<ServerSentEvent<Object>> keepAliveFlux = sseService.getKeepAlive()
+                .map(i -> ServerSentEvent.<Object>builder()
                         .comment("keep-alive")
                         .build());
 
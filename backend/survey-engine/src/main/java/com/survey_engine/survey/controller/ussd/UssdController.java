@@ -0,0 +1,35 @@
+package com.survey_engine.survey.controller.ussd;
+
+import com.survey_engine.survey.service.ussd.UssdService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for USSD gateway callbacks (Africa's Talking format).
+ */
+@RestController
+@RequestMapping("/api/v1/ussd")
+@RequiredArgsConstructor
+public class UssdController {
+
+    private final UssdService ussdService;
+
+    /**
+     * Handles a USSD session callback.
+     * @param sessionId The gateway's session ID.
+     * @param phoneNumber The phone number of the participant.
+     * @param text Everything the participant has entered so far, separated by {@code *}.
+     * @return The next screen, prefixed with {@code CON} or {@code END}.
+     */
+    @PostMapping(path = "/callback", produces = MediaType.TEXT_PLAIN_VALUE, consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<String> handleCallback(@RequestParam("sessionId") String sessionId,
+                                                 @RequestParam("phoneNumber") String phoneNumber,
+                                                 @RequestParam(value = "text", required = false, defaultValue = "") String text) {
+        return ResponseEntity.ok(ussdService.handle(sessionId, phoneNumber, text));
+    }
+}
@@ -0,0 +1,20 @@
+package com.survey_engine.survey.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome of adding contacts to a distribution list.
+ * @param distributionListId The ID of the distribution list.
+ * @param name The name of the distribution list.
+ * @param accepted The number of contacts added.
+ * @param duplicates The number of contacts skipped because their phone number was already in the list or repeated in the input.
+ * @param invalid The number of contacts skipped because their phone number is missing or not a valid mobile number.
+ */
+public record ContactImportResponse(
+        UUID distributionListId,
+        String name,
+        long accepted,
+        long duplicates,
+        long invalid
+) {
+}
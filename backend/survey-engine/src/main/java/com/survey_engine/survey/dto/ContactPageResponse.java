@@ -0,0 +1,14 @@
+package com.survey_engine.survey.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a distribution list's contacts, ordered by phone number.
+ * @param contacts The contacts on this page.
+ * @param nextCursor Opaque cursor for the next page, or null if this is the last page.
+ */
+public record ContactPageResponse(
+        List<ContactResponse> contacts,
+        String nextCursor
+) {
+}
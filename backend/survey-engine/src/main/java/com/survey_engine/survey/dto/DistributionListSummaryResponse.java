@@ -0,0 +1,21 @@
+package com.survey_engine.survey.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for a distribution list without its contacts.
+ * @param id The ID of the distribution list.
+ * @param name The name of the distribution list.
+ * @param contactCount The number of contacts in the list.
+ * @param createdAt When the list was created.
+ * @param updatedAt When the list was last updated.
+ */
+public record DistributionListSummaryResponse(
+        UUID id,
+        String name,
+        long contactCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
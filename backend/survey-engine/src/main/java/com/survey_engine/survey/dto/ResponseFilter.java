@@ -0,0 +1,18 @@
+package com.survey_engine.survey.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for listing a survey's responses. Null fields are not applied.
+ * @param from Only responses submitted at or after this time.
+ * @param to Only responses submitted before this time.
+ * @param channel Only responses whose metadata records this channel (e.g. {@code sms}, {@code ussd}).
+ * @param participantId Only responses from this participant.
+ */
+public record ResponseFilter(
+        LocalDateTime from,
+        LocalDateTime to,
+        String channel,
+        String participantId
+) {
+}
@@ -0,0 +1,14 @@
+package com.survey_engine.survey.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a survey's responses, newest first.
+ * @param responses The responses on this page.
+ * @param nextCursor Opaque cursor for the next page, or null if this is the last page.
+ */
+public record ResponsePageResponse(
+        List<ResponseResponse> responses,
+        String nextCursor
+) {
+}
@@ -1,6 +1,7 @@
 package com.survey_engine.survey.dto;
 
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Represents the payload for a survey response submission message.
@@ -11,12 +12,17 @@ import java.util.Map;
  * @param participantId The ID of the user submitting the response (can be null).
  * @param sessionId The session ID (e.g. phone number) if applicable.
  * @param metadata Contextual metadata (e.g., attribution info) to be saved with the response.
+ * @param quotaReservationId The response quota reservation made at admission, if any.
+ * @param submissionId Idempotency key generated at admission. A redelivered message carries the same
+ *                     id, so the submission is stored at most once.
  */
 public record ResponseSubmissionPayload(
         Long surveyId,
         ResponseRequest request,
         String participantId,
         String sessionId,
-        Map<String, String> metadata
+        Map<String, String> metadata,
+        String quotaReservationId,
+        UUID submissionId
 ) {
 }
\ No newline at end of file
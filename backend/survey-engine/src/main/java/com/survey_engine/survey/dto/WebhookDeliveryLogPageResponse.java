@@ -0,0 +1,16 @@
+package com.survey_engine.survey.dto;
+
+import com.survey_engine.survey.models.WebhookDeliveryLog;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a webhook subscription's delivery log, newest first.
+ * @param deliveries The log entries on this page.
+ * @param nextCursor Opaque cursor for the next page, or null if this is the last page.
+ */
+public record WebhookDeliveryLogPageResponse(
+        List<WebhookDeliveryLog> deliveries,
+        String nextCursor
+) {
+}
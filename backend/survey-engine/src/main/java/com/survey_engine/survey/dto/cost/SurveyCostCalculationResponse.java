@@ -16,5 +16,6 @@ public record SurveyCostCalculationResponse(
         BigDecimal totalCost,           // estimatedCost + smsCost
         BigDecimal currentWalletBalance,
         boolean isSufficientFunds,
-        BigDecimal requiredTopUpAmount
+        BigDecimal requiredTopUpAmount,
+        long priceVersion               // Version of the system settings the prices came from
 ) {}
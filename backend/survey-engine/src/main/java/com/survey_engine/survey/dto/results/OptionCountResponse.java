@@ -0,0 +1,14 @@
+package com.survey_engine.survey.dto.results;
+
+/**
+ * Response DTO for the number of answers that selected one option.
+ * @param value The answer value as submitted (e.g. an option index).
+ * @param label The option text, when {@code value} is an index into the question's options; otherwise {@code value}.
+ * @param count The number of answers that selected the option.
+ */
+public record OptionCountResponse(
+        String value,
+        String label,
+        long count
+) {
+}
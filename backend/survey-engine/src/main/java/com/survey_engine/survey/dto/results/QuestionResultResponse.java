@@ -0,0 +1,32 @@
+package com.survey_engine.survey.dto.results;
+
+import com.survey_engine.survey.common.enums.QuestionType;
+
+import java.util.List;
+
+/**
+ * Response DTO for the aggregated answers to one question.
+ * @param questionId The ID of the question.
+ * @param questionText The text of the question.
+ * @param questionType The type of the question.
+ * @param category The scoring category of the question, if any.
+ * @param answerCount The number of answers received.
+ * @param options The answer distribution, most frequent first. Empty for free-text questions.
+ * @param average The mean numeric answer, or null if the question has no numeric answers.
+ * @param min The lowest numeric answer, or null.
+ * @param max The highest numeric answer, or null.
+ * @param scoreTotal The weighted score total of all answers.
+ */
+public record QuestionResultResponse(
+        Long questionId,
+        String questionText,
+        QuestionType questionType,
+        String category,
+        long answerCount,
+        List<OptionCountResponse> options,
+        Double average,
+        Double min,
+        Double max,
+        double scoreTotal
+) {
+}
@@ -0,0 +1,19 @@
+package com.survey_engine.survey.dto.results;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the aggregated results of a survey.
+ * @param surveyId The ID of the survey.
+ * @param responseCount The number of responses received.
+ * @param questions Per-question results, ordered by question position.
+ * @param categoryScores Weighted score totals per scoring category.
+ */
+public record SurveyResultsResponse(
+        Long surveyId,
+        long responseCount,
+        List<QuestionResultResponse> questions,
+        Map<String, Double> categoryScores
+) {
+}
@@ -0,0 +1,9 @@
+package com.survey_engine.survey.dto.sms;
+
+/**
+ * A recipient of a bulk SMS send job that has not been sent to yet.
+ * @param id The ID of the recipient row.
+ * @param phoneNumber The recipient's phone number.
+ */
+public record SmsJobRecipient(long id, String phoneNumber) {
+}
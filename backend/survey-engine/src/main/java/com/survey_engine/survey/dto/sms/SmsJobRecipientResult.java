@@ -0,0 +1,13 @@
+package com.survey_engine.survey.dto.sms;
+
+import com.survey_engine.survey.common.enums.SmsRecipientStatus;
+
+/**
+ * The outcome of sending to one recipient of a bulk SMS send job.
+ * @param id The ID of the recipient row.
+ * @param status {@code SENT} or {@code FAILED}.
+ * @param messageId The provider's message ID, if the message was accepted.
+ * @param error The provider status or error, if the message was not accepted.
+ */
+public record SmsJobRecipientResult(long id, SmsRecipientStatus status, String messageId, String error) {
+}
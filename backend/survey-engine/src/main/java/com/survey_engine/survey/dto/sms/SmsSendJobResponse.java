@@ -0,0 +1,32 @@
+package com.survey_engine.survey.dto.sms;
+
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for the progress of a bulk SMS send job.
+ * @param id The ID of the job.
+ * @param surveyId The ID of the survey being sent.
+ * @param status The status of the job.
+ * @param totalRecipients The number of distinct phone numbers in the job.
+ * @param sentCount The number of recipients the provider accepted.
+ * @param failedCount The number of recipients that could not be sent to.
+ * @param cost The amount debited from the wallet for the job.
+ * @param createdAt When the job was created.
+ * @param completedAt When the job finished, or null while it is running.
+ */
+public record SmsSendJobResponse(
+        UUID id,
+        Long surveyId,
+        SmsSendJobStatus status,
+        int totalRecipients,
+        int sentCount,
+        int failedCount,
+        BigDecimal cost,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,66 @@
+package com.survey_engine.survey.models;
+
+import com.survey_engine.common.models.BaseEntity;
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A bulk send of a survey's first question to every contact of a distribution list.
+ * Recipients and their delivery state live in {@code sms_send_job_recipients}; the counters here
+ * are updated in the same transaction as the recipient rows they summarise.
+ */
+@EqualsAndHashCode(callSuper = false, onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "sms_send_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SmsSendJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "survey_id", nullable = false)
+    private Long surveyId;
+
+    @Column(name = "distribution_list_id", nullable = false)
+    private UUID distributionListId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SmsSendJobStatus status;
+
+    @Column(name = "total_recipients", nullable = false)
+    private int totalRecipients;
+
+    @Column(name = "sent_count", nullable = false)
+    private int sentCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private int failedCount;
+
+    @Column(name = "cost", nullable = false)
+    private BigDecimal cost = BigDecimal.ZERO;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
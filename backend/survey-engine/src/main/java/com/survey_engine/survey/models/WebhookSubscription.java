@@ -31,6 +31,12 @@ public class WebhookSubscription {
     @Column(name = "secret", length = 100)
     private String secret;
 
+    @Column(name = "batch_max_size")
+    private Integer batchMaxSize; // null = one request per event
+
+    @Column(name = "batch_window_ms")
+    private Integer batchWindowMs;
+
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
 
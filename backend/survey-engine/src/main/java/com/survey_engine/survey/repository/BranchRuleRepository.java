@@ -14,5 +14,7 @@ public interface BranchRuleRepository extends JpaRepository<BranchRule, Long> {
 
     List<BranchRule> findBySurveyIdOrderBySourceQuestionIdAscPriorityAsc(Long surveyId);
 
+    List<BranchRule> findBySurveyIdAndActiveTrueOrderBySourceQuestionIdAscPriorityAsc(Long surveyId);
+
     void deleteBySurveyId(Long surveyId);
 }
@@ -0,0 +1,55 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.dto.ContactRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for adding many contacts to a distribution list without loading it.
+ * Rows are written with multi-row {@code INSERT ... ON CONFLICT DO NOTHING}, so the unique
+ * {@code (distribution_list_id, phone_number)} constraint drops numbers already in the list.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DistributionListContactBatchRepository {
+
+    /** Keeps each statement well below PostgreSQL's bind parameter limit. */
+    private static final int ROWS_PER_STATEMENT = 1000;
+    private static final int COLUMN_COUNT = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts contacts into a distribution list, skipping phone numbers the list already has.
+     * Phone numbers must already be normalised.
+     * @param distributionListId The ID of the distribution list.
+     * @param contacts The contacts to insert.
+     * @return The number of contacts inserted.
+     */
+    public int insertIgnoringDuplicates(UUID distributionListId, List<ContactRequest> contacts) {
+        int inserted = 0;
+        for (int from = 0; from < contacts.size(); from += ROWS_PER_STATEMENT) {
+            List<ContactRequest> chunk = contacts.subList(from, Math.min(from + ROWS_PER_STATEMENT, contacts.size()));
+            String sql = "INSERT INTO distribution_list_contacts (id, distribution_list_id, phone_number, first_name, last_name, email) VALUES "
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?)"))
+                    + " ON CONFLICT (distribution_list_id, phone_number) DO NOTHING";
+            List<Object> args = new ArrayList<>(chunk.size() * COLUMN_COUNT);
+            for (ContactRequest contact : chunk) {
+                args.add(UUID.randomUUID());
+                args.add(distributionListId);
+                args.add(contact.phoneNumber());
+                args.add(contact.firstName());
+                args.add(contact.lastName());
+                args.add(contact.email());
+            }
+            inserted += jdbcTemplate.update(sql, args.toArray());
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,66 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.dto.ContactResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for reading a distribution list's contacts a page at a time.
+ * Pages are keyed on the phone number, which is unique within a list, and compared in the "C"
+ * collation so that paging and prefix search both run on {@code idx_distribution_list_contacts_phone_c}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DistributionListContactPageRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the page of contacts that follows a phone number.
+     * @param distributionListId The ID of the distribution list.
+     * @param afterPhoneNumber The last phone number of the previous page, or null for the first page.
+     * @param phonePrefix Only contacts whose phone number starts with this; null for no filter.
+     * @param namePrefix Only contacts whose first or last name starts with this, ignoring case; null for no filter.
+     * @param limit The maximum number of contacts to return.
+     * @return Up to {@code limit} contacts, ordered by phone number.
+     */
+    public List<ContactResponse> findPage(UUID distributionListId, String afterPhoneNumber,
+                                          String phonePrefix, String namePrefix, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT phone_number, first_name, last_name, email
+                FROM distribution_list_contacts
+                WHERE distribution_list_id = :listId
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource("listId", distributionListId)
+                .addValue("limit", limit);
+
+        if (afterPhoneNumber != null) {
+            sql.append(" AND phone_number COLLATE \"C\" > :after");
+            params.addValue("after", afterPhoneNumber);
+        }
+        if (phonePrefix != null) {
+            sql.append(" AND phone_number COLLATE \"C\" LIKE :phonePrefix");
+            params.addValue("phonePrefix", escapeLike(phonePrefix) + "%");
+        }
+        if (namePrefix != null) {
+            sql.append(" AND (lower(first_name) LIKE :namePrefix OR lower(last_name) LIKE :namePrefix)");
+            params.addValue("namePrefix", escapeLike(namePrefix.toLowerCase()) + "%");
+        }
+        sql.append(" ORDER BY phone_number COLLATE \"C\" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ContactResponse(
+                rs.getString("phone_number"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email")));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,7 +1,10 @@
 package com.survey_engine.survey.repository;
 
+import com.survey_engine.survey.dto.DistributionListSummaryResponse;
 import com.survey_engine.survey.models.DistributionList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,4 +36,39 @@ public interface DistributionListRepository extends JpaRepository<DistributionLi
      * @return An Optional containing the found DistributionList or empty if not found.
      */
     Optional<DistributionList> findByIdAndTenantIdAndUserId(UUID id, Long tenantId, String userId);
-}
\ No newline at end of file
+
+    /**
+     * Summarises every distribution list of a tenant, counting contacts in the database.
+     * @param tenantId The ID of the tenant.
+     * @return The summaries, newest first.
+     */
+    @Query("SELECT new com.survey_engine.survey.dto.DistributionListSummaryResponse(l.id, l.name, COUNT(c), l.createdAt, l.updatedAt) " +
+            "FROM DistributionList l LEFT JOIN l.contacts c WHERE l.tenantId = :tenantId " +
+            "GROUP BY l.id, l.name, l.createdAt, l.updatedAt ORDER BY l.createdAt DESC")
+    List<DistributionListSummaryResponse> summarizeByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * Summarises the distribution lists of one user in a tenant, counting contacts in the database.
+     * @param tenantId The ID of the tenant.
+     * @param userId The ID of the user.
+     * @return The summaries, newest first.
+     */
+    @Query("SELECT new com.survey_engine.survey.dto.DistributionListSummaryResponse(l.id, l.name, COUNT(c), l.createdAt, l.updatedAt) " +
+            "FROM DistributionList l LEFT JOIN l.contacts c WHERE l.tenantId = :tenantId AND l.userId = :userId " +
+            "GROUP BY l.id, l.name, l.createdAt, l.updatedAt ORDER BY l.createdAt DESC")
+    List<DistributionListSummaryResponse> summarizeByTenantIdAndUserId(@Param("tenantId") Long tenantId, @Param("userId") String userId);
+
+    /**
+     * Summarises one distribution list of a user.
+     * @param id The ID of the distribution list.
+     * @param tenantId The ID of the tenant.
+     * @param userId The ID of the user.
+     * @return The summary, or empty if the list does not exist or belongs to someone else.
+     */
+    @Query("SELECT new com.survey_engine.survey.dto.DistributionListSummaryResponse(l.id, l.name, COUNT(c), l.createdAt, l.updatedAt) " +
+            "FROM DistributionList l LEFT JOIN l.contacts c WHERE l.id = :id AND l.tenantId = :tenantId AND l.userId = :userId " +
+            "GROUP BY l.id, l.name, l.createdAt, l.updatedAt")
+    Optional<DistributionListSummaryResponse> summarizeByIdAndTenantIdAndUserId(@Param("id") UUID id,
+                                                                               @Param("tenantId") Long tenantId,
+                                                                               @Param("userId") String userId);
+}
@@ -0,0 +1,157 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.service.stats.QuestionStats;
+import com.survey_engine.survey.service.stats.QuestionStatsKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * JDBC repository for the {@code survey_response_stats}, {@code survey_question_stats} and
+ * {@code survey_question_option_counts} aggregate tables. Deltas are applied with multi-row
+ * {@code INSERT ... ON CONFLICT DO UPDATE} statements so that an ingestion batch costs three
+ * statements regardless of its size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuestionStatsRepository {
+
+    /** Keeps each statement well below PostgreSQL's bind parameter limit. */
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String RESPONSE_UPSERT_PREFIX =
+            "INSERT INTO survey_response_stats (survey_id, response_count, updated_at) VALUES ";
+    private static final String RESPONSE_UPSERT_ROW = "(?, ?, ?)";
+    private static final String RESPONSE_UPSERT_SUFFIX = " ON CONFLICT (survey_id) DO UPDATE SET "
+            + "response_count = survey_response_stats.response_count + EXCLUDED.response_count, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final String STATS_UPSERT_PREFIX =
+            "INSERT INTO survey_question_stats (survey_id, question_id, answer_count, numeric_count, numeric_sum, "
+                    + "numeric_min, numeric_max, score_total, updated_at) VALUES ";
+    private static final String STATS_UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String STATS_UPSERT_SUFFIX = " ON CONFLICT (survey_id, question_id) DO UPDATE SET "
+            + "answer_count = survey_question_stats.answer_count + EXCLUDED.answer_count, "
+            + "numeric_count = survey_question_stats.numeric_count + EXCLUDED.numeric_count, "
+            + "numeric_sum = survey_question_stats.numeric_sum + EXCLUDED.numeric_sum, "
+            + "numeric_min = LEAST(survey_question_stats.numeric_min, EXCLUDED.numeric_min), "
+            + "numeric_max = GREATEST(survey_question_stats.numeric_max, EXCLUDED.numeric_max), "
+            + "score_total = survey_question_stats.score_total + EXCLUDED.score_total, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final String OPTION_UPSERT_PREFIX =
+            "INSERT INTO survey_question_option_counts (survey_id, question_id, option_value, answer_count) VALUES ";
+    private static final String OPTION_UPSERT_ROW = "(?, ?, ?, ?)";
+    private static final String OPTION_UPSERT_SUFFIX = " ON CONFLICT (survey_id, question_id, option_value) DO UPDATE SET "
+            + "answer_count = survey_question_option_counts.answer_count + EXCLUDED.answer_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the given deltas to the stored aggregates, creating rows as needed.
+     * Survey rows are written before question rows, each in key order, so that concurrent
+     * batches cannot deadlock.
+     * @param responseCounts Per-survey response count deltas, sorted by survey ID.
+     * @param deltas Per-question deltas, sorted by key.
+     */
+    public void applyDeltas(SortedMap<Long, Long> responseCounts, SortedMap<QuestionStatsKey, QuestionStats> deltas) {
+        if (responseCounts.isEmpty() && deltas.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> responseRows = new ArrayList<>(responseCounts.size());
+        responseCounts.forEach((surveyId, count) -> {
+            if (count != 0) {
+                responseRows.add(new Object[]{surveyId, count, now});
+            }
+        });
+
+        List<Object[]> statsRows = new ArrayList<>(deltas.size());
+        List<Object[]> optionRows = new ArrayList<>();
+        deltas.forEach((key, stats) -> {
+            statsRows.add(new Object[]{
+                    key.surveyId(), key.questionId(), stats.answerCount(), stats.numericCount(), stats.numericSum(),
+                    stats.numericMin(), stats.numericMax(), stats.scoreTotal(), now
+            });
+            stats.optionCounts().entrySet().stream()
+                    .filter(option -> option.getValue() != 0)
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(option -> optionRows.add(new Object[]{
+                            key.surveyId(), key.questionId(), option.getKey(), option.getValue()
+                    }));
+        });
+
+        upsertChunked(RESPONSE_UPSERT_PREFIX, RESPONSE_UPSERT_ROW, RESPONSE_UPSERT_SUFFIX, responseRows);
+        upsertChunked(STATS_UPSERT_PREFIX, STATS_UPSERT_ROW, STATS_UPSERT_SUFFIX, statsRows);
+        upsertChunked(OPTION_UPSERT_PREFIX, OPTION_UPSERT_ROW, OPTION_UPSERT_SUFFIX, optionRows);
+    }
+
+    /**
+     * Reads the number of responses recorded for a survey.
+     * @param surveyId The ID of the survey.
+     * @return The response count, or 0 if none has been recorded.
+     */
+    public long findResponseCount(Long surveyId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT response_count FROM survey_response_stats WHERE survey_id = ?", Long.class, surveyId);
+        return counts.isEmpty() ? 0 : Math.max(0, counts.get(0));
+    }
+
+    /**
+     * Loads the aggregates of every question of a survey.
+     * @param surveyId The ID of the survey.
+     * @return Stats keyed by question ID; questions without answers are omitted.
+     */
+    public Map<Long, QuestionStats> findBySurveyId(Long surveyId) {
+        Map<Long, QuestionStats> stats = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT question_id, answer_count, numeric_count, numeric_sum, numeric_min, numeric_max, score_total "
+                        + "FROM survey_question_stats WHERE survey_id = ?",
+                rs -> {
+                    stats.put(rs.getLong("question_id"), QuestionStats.of(
+                            rs.getLong("answer_count"),
+                            rs.getLong("numeric_count"),
+                            rs.getDouble("numeric_sum"),
+                            nullableDouble(rs, "numeric_min"),
+                            nullableDouble(rs, "numeric_max"),
+                            rs.getDouble("score_total")));
+                },
+                surveyId);
+        jdbcTemplate.query(
+                "SELECT question_id, option_value, answer_count FROM survey_question_option_counts "
+                        + "WHERE survey_id = ? AND answer_count > 0",
+                rs -> {
+                    stats.computeIfAbsent(rs.getLong("question_id"), id -> new QuestionStats())
+                            .addOptionCount(rs.getString("option_value"), rs.getLong("answer_count"));
+                },
+                surveyId);
+        return stats;
+    }
+
+    private void upsertChunked(String prefix, String row, String suffix, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            List<Object> args = new ArrayList<>();
+            for (Object[] values : chunk) {
+                Collections.addAll(args, values);
+            }
+            String sql = prefix + String.join(", ", Collections.nCopies(chunk.size(), row)) + suffix;
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    private static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,130 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.models.Answer;
+import com.survey_engine.survey.models.Response;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * JDBC repository for writing many responses and answers at once.
+ * {@link Response} and {@link Answer} use IDENTITY ids, which prevents Hibernate from batching
+ * their inserts. This repository reserves ids from the backing sequences in a single round-trip
+ * and then writes rows with multi-row {@code INSERT ... VALUES (...), (...)} statements.
+ * Responses are inserted with {@code ON CONFLICT (submission_id) DO NOTHING}, so a redelivered
+ * submission is not stored twice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResponseBatchRepository {
+
+    /** Keeps each statement well below PostgreSQL's bind parameter limit. */
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String RESPONSE_COLUMNS =
+            "id, survey_id, tenant_id, status, submission_date, participant_id, session_id, metadata, submission_id, created_at, updated_at";
+    private static final int RESPONSE_COLUMN_COUNT = 11;
+
+    private static final String ANSWER_COLUMNS =
+            "id, response_id, question_id, answer_value, position, created_at, updated_at";
+    private static final int ANSWER_COLUMN_COUNT = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserves {@code count} ids from the {@code responses} id sequence.
+     * @param count The number of ids to reserve.
+     * @return The reserved ids, in ascending order.
+     */
+    public List<Long> nextResponseIds(int count) {
+        return nextIds("responses", count);
+    }
+
+    /**
+     * Reserves {@code count} ids from the {@code answers} id sequence.
+     * @param count The number of ids to reserve.
+     * @return The reserved ids, in ascending order.
+     */
+    public List<Long> nextAnswerIds(int count) {
+        return nextIds("answers", count);
+    }
+
+    /**
+     * Inserts the given responses. Every response must already carry an id reserved through
+     * {@link #nextResponseIds(int)} and a survey reference. Answers are not cascaded.
+     * A response whose submission id is already stored is skipped.
+     * @param responses The responses to insert.
+     * @return The ids of the responses that were inserted.
+     */
+    public Set<Long> insertResponses(List<Response> responses) {
+        Set<Long> inserted = new HashSet<>();
+        forEachChunk(responses, RESPONSE_COLUMN_COUNT, response -> new Object[]{
+                response.getId(),
+                response.getSurvey().getId(),
+                response.getTenantId(),
+                response.getStatus().name(),
+                Timestamp.valueOf(response.getSubmissionDate()),
+                response.getParticipantId(),
+                response.getSessionId(),
+                response.getMetadata(),
+                response.getSubmissionId(),
+                Timestamp.valueOf(response.getCreatedAt()),
+                Timestamp.valueOf(response.getUpdatedAt())
+        }, (args, rowCount) -> inserted.addAll(jdbcTemplate.queryForList(
+                insertSql("responses", RESPONSE_COLUMNS, RESPONSE_COLUMN_COUNT, rowCount)
+                        + " ON CONFLICT (submission_id) DO NOTHING RETURNING id", Long.class, args)));
+        return inserted;
+    }
+
+    /**
+     * Inserts the given answers. Every answer must already carry an id reserved through
+     * {@link #nextAnswerIds(int)} and reference a persisted response and question.
+     * @param answers The answers to insert.
+     */
+    public void insertAnswers(List<Answer> answers) {
+        forEachChunk(answers, ANSWER_COLUMN_COUNT, answer -> new Object[]{
+                answer.getId(),
+                answer.getResponse().getId(),
+                answer.getQuestion().getId(),
+                answer.getAnswerValue(),
+                answer.getPosition(),
+                Timestamp.valueOf(answer.getCreatedAt()),
+                Timestamp.valueOf(answer.getUpdatedAt())
+        }, (args, rowCount) -> jdbcTemplate.update(insertSql("answers", ANSWER_COLUMNS, ANSWER_COLUMN_COUNT, rowCount), args));
+    }
+
+    private List<Long> nextIds(String table, int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)",
+                Long.class, table, count);
+    }
+
+    private static <T> void forEachChunk(List<T> rows, int columnCount, Function<T, Object[]> binder,
+                                         ObjIntConsumer<Object[]> statement) {
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<T> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            List<Object> args = new ArrayList<>(chunk.size() * columnCount);
+            for (T row : chunk) {
+                Collections.addAll(args, binder.apply(row));
+            }
+            statement.accept(args.toArray(), chunk.size());
+        }
+    }
+
+    private static String insertSql(String table, String columns, int columnCount, int rowCount) {
+        String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        return "INSERT INTO " + table + " (" + columns + ") VALUES " + String.join(", ", Collections.nCopies(rowCount, row));
+    }
+}
@@ -0,0 +1,43 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.common.exception.BusinessRuleException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a survey's response listing: the last response of the previous page.
+ * Exposed to clients as an opaque URL-safe string.
+ * @param submissionDate The submission date of the last response returned.
+ * @param id The ID of the last response returned.
+ */
+public record ResponseCursor(LocalDateTime submissionDate, long id) {
+
+    /**
+     * @return The cursor as an opaque URL-safe string.
+     */
+    public String encode() {
+        String raw = submissionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor previously returned by {@link #encode()}.
+     * @param cursor The encoded cursor, or null for the first page.
+     * @return The cursor, or null if none was given.
+     * @throws BusinessRuleException if the cursor is malformed.
+     */
+    public static ResponseCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ResponseCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessRuleException("INVALID_CURSOR", "Invalid pagination cursor.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.common.enums.ResponseStatus;
+import com.survey_engine.survey.dto.AnswerResponse;
+import com.survey_engine.survey.dto.ResponseResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository that streams a survey's responses for export.
+ * Rows are read through a forward-only server-side cursor in chunks of {@code fetchSize}, and each
+ * response is handed to the consumer as soon as its last answer has been read, so memory use does
+ * not depend on the number of responses.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResponseExportRepository {
+
+    private static final String EXPORT_SQL = """
+            SELECT r.id, r.status, r.submission_date, r.participant_id,
+                   a.id AS answer_id, a.question_id, a.answer_value, a.position
+            FROM responses r
+            LEFT JOIN answers a ON a.response_id = r.id
+            WHERE r.survey_id = ?
+            ORDER BY r.id, a.position, a.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every response of a survey, in ID order, with its answers.
+     * PostgreSQL only uses a cursor when the statement runs inside a transaction, so callers
+     * must invoke this within one.
+     * @param surveyId The ID of the survey.
+     * @param fetchSize The number of rows fetched from the server per round-trip.
+     * @param consumer Receives each response once all of its answers have been read.
+     */
+    public void streamBySurveyId(Long surveyId, int fetchSize, Consumer<ResponseResponse> consumer) {
+        ResponseAssembler assembler = new ResponseAssembler(surveyId, consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, surveyId);
+            return statement;
+        }, assembler::accept);
+        assembler.finish();
+    }
+
+    /**
+     * Groups consecutive answer rows of the same response.
+     */
+    private static final class ResponseAssembler {
+
+        private final Long surveyId;
+        private final Consumer<ResponseResponse> consumer;
+        private long responseId = -1;
+        private ResponseStatus status;
+        private Timestamp submissionDate;
+        private String participantId;
+        private List<AnswerResponse> answers = new ArrayList<>();
+
+        ResponseAssembler(Long surveyId, Consumer<ResponseResponse> consumer) {
+            this.surveyId = surveyId;
+            this.consumer = consumer;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (id != responseId) {
+                finish();
+                responseId = id;
+                status = ResponseStatus.valueOf(rs.getString("status"));
+                submissionDate = rs.getTimestamp("submission_date");
+                participantId = rs.getString("participant_id");
+            }
+            long answerId = rs.getLong("answer_id");
+            if (!rs.wasNull()) {
+                int position = rs.getInt("position");
+                Integer answerPosition = rs.wasNull() ? null : position;
+                answers.add(new AnswerResponse(answerId, rs.getLong("question_id"), rs.getString("answer_value"), answerPosition));
+            }
+        }
+
+        void finish() {
+            if (responseId < 0) return;
+            consumer.accept(new ResponseResponse(responseId, surveyId, status,
+                    submissionDate != null ? submissionDate.toLocalDateTime() : null, participantId, answers));
+            responseId = -1;
+            answers = new ArrayList<>();
+        }
+    }
+}
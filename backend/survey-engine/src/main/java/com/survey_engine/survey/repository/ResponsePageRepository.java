@@ -0,0 +1,108 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.common.enums.ResponseStatus;
+import com.survey_engine.survey.dto.AnswerResponse;
+import com.survey_engine.survey.dto.ResponseFilter;
+import com.survey_engine.survey.dto.ResponseResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC repository for listing a survey's responses a page at a time.
+ * Pages are keyed on {@code (submission_date, id)}, newest first, so every page is an index range
+ * scan regardless of depth. A page costs two queries: one for the responses and one for all of
+ * their answers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResponsePageRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the page of responses that follows a cursor.
+     * @param surveyId The ID of the survey.
+     * @param filter Optional filters; null fields are ignored.
+     * @param after The last response of the previous page, or null for the first page.
+     * @param limit The maximum number of responses to return.
+     * @return Up to {@code limit} responses with their answers, newest first.
+     */
+    public List<ResponseResponse> findPage(Long surveyId, ResponseFilter filter, ResponseCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT r.id, r.status, r.submission_date, r.participant_id
+                FROM responses r
+                WHERE r.survey_id = :surveyId
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource("surveyId", surveyId)
+                .addValue("limit", limit);
+
+        if (after != null) {
+            sql.append(" AND (r.submission_date, r.id) < (:afterDate, :afterId)");
+            params.addValue("afterDate", Timestamp.valueOf(after.submissionDate()))
+                    .addValue("afterId", after.id());
+        }
+        if (filter != null) {
+            if (filter.from() != null) {
+                sql.append(" AND r.submission_date >= :from");
+                params.addValue("from", Timestamp.valueOf(filter.from()));
+            }
+            if (filter.to() != null) {
+                sql.append(" AND r.submission_date < :to");
+                params.addValue("to", Timestamp.valueOf(filter.to()));
+            }
+            if (filter.channel() != null) {
+                sql.append(" AND r.metadata IS NOT NULL AND r.metadata::jsonb ->> 'channel' = :channel");
+                params.addValue("channel", filter.channel());
+            }
+            if (filter.participantId() != null) {
+                sql.append(" AND r.participant_id = :participantId");
+                params.addValue("participantId", filter.participantId());
+            }
+        }
+        sql.append(" ORDER BY r.submission_date DESC, r.id DESC LIMIT :limit");
+
+        Map<Long, ResponseRow> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            Timestamp submissionDate = rs.getTimestamp("submission_date");
+            rows.put(rs.getLong("id"), new ResponseRow(
+                    ResponseStatus.valueOf(rs.getString("status")),
+                    submissionDate != null ? submissionDate.toLocalDateTime() : null,
+                    rs.getString("participant_id")));
+        });
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<AnswerResponse>> answers = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.id, a.response_id, a.question_id, a.answer_value, a.position
+                FROM answers a
+                WHERE a.response_id IN (:ids)
+                ORDER BY a.response_id, a.position, a.id
+                """, new MapSqlParameterSource("ids", rows.keySet()), rs -> {
+            int position = rs.getInt("position");
+            Integer answerPosition = rs.wasNull() ? null : position;
+            answers.computeIfAbsent(rs.getLong("response_id"), id -> new ArrayList<>())
+                    .add(new AnswerResponse(rs.getLong("id"), rs.getLong("question_id"),
+                            rs.getString("answer_value"), answerPosition));
+        });
+
+        List<ResponseResponse> page = new ArrayList<>(rows.size());
+        rows.forEach((id, row) -> page.add(new ResponseResponse(id, surveyId, row.status(), row.submissionDate(),
+                row.participantId(), answers.getOrDefault(id, List.of()))));
+        return page;
+    }
+
+    private record ResponseRow(ResponseStatus status, LocalDateTime submissionDate, String participantId) {
+    }
+}
@@ -2,8 +2,11 @@ package com.survey_engine.survey.repository;
 
 import com.survey_engine.survey.models.Response;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,4 +28,12 @@ public interface ResponseRepository extends JpaRepository<Response, Long> {
      * @return The count of responses.
      */
     long countBySurveyId(Long surveyId);
+
+    /**
+     * Counts responses for several surveys in one query.
+     * @param surveyIds The IDs of the surveys.
+     * @return Rows of {@code [surveyId, count]}; surveys without responses are omitted.
+     */
+    @Query("SELECT r.survey.id, COUNT(r) FROM Response r WHERE r.survey.id IN :surveyIds GROUP BY r.survey.id")
+    List<Object[]> countGroupedBySurveyId(@Param("surveyIds") Collection<Long> surveyIds);
 }
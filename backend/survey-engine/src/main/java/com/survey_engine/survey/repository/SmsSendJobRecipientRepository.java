@@ -0,0 +1,85 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.dto.sms.SmsJobRecipient;
+import com.survey_engine.survey.dto.sms.SmsJobRecipientResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for the recipients of bulk SMS send jobs.
+ * Recipients are copied from the distribution list in one statement and read back in ID order,
+ * so a job never holds its whole recipient list in memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SmsSendJobRecipientRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds every distinct phone number of a distribution list to a job.
+     * @param jobId The ID of the job.
+     * @param distributionListId The ID of the distribution list.
+     * @return The number of recipients added.
+     */
+    public int insertFromDistributionList(UUID jobId, UUID distributionListId) {
+        return jdbcTemplate.update("""
+                INSERT INTO sms_send_job_recipients (job_id, phone_number)
+                SELECT ?, TRIM(c.phone_number)
+                FROM distribution_list_contacts c
+                WHERE c.distribution_list_id = ? AND TRIM(c.phone_number) <> ''
+                ON CONFLICT (job_id, phone_number) DO NOTHING
+                """, jobId, distributionListId);
+    }
+
+    /**
+     * Finds the next recipients of a job that have not been sent to.
+     * @param jobId The ID of the job.
+     * @param afterId Only recipients with a greater ID are returned.
+     * @param limit The maximum number of recipients to return.
+     * @return The recipients, in ID order.
+     */
+    public List<SmsJobRecipient> findPending(UUID jobId, long afterId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, phone_number FROM sms_send_job_recipients
+                WHERE job_id = ? AND status = 'PENDING' AND id > ?
+                ORDER BY id LIMIT ?
+                """, (rs, rowNum) -> new SmsJobRecipient(rs.getLong("id"), rs.getString("phone_number")),
+                jobId, afterId, limit);
+    }
+
+    /**
+     * Records the outcome of a send for each recipient.
+     * @param results The outcomes.
+     */
+    public void updateResults(List<SmsJobRecipientResult> results) {
+        jdbcTemplate.batchUpdate("""
+                UPDATE sms_send_job_recipients
+                SET status = ?, message_id = ?, error = ?, attempts = attempts + 1, updated_at = now()
+                WHERE id = ?
+                """, results, results.size(), (ps, result) -> {
+            ps.setString(1, result.status().name());
+            ps.setString(2, result.messageId());
+            ps.setString(3, result.error() != null && result.error().length() > 500
+                    ? result.error().substring(0, 500) : result.error());
+            ps.setLong(4, result.id());
+        });
+    }
+
+    /**
+     * Marks every recipient of a job that has not been sent to as failed.
+     * @param jobId The ID of the job.
+     * @param error The reason.
+     * @return The number of recipients marked failed.
+     */
+    public int failPending(UUID jobId, String error) {
+        return jdbcTemplate.update("""
+                UPDATE sms_send_job_recipients SET status = 'FAILED', error = ?, updated_at = now()
+                WHERE job_id = ? AND status = 'PENDING'
+                """, error, jobId);
+    }
+}
@@ -0,0 +1,73 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+import com.survey_engine.survey.models.SmsSendJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for {@link SmsSendJob}.
+ * A job is worked on by the node holding its lease; the lease is taken with {@link #claim} and
+ * kept alive with {@link #renewLease}, so a job whose node died is picked up once its lease expires.
+ */
+@Repository
+public interface SmsSendJobRepository extends JpaRepository<SmsSendJob, UUID> {
+
+    Optional<SmsSendJob> findByIdAndSurveyIdAndTenantId(UUID id, Long surveyId, Long tenantId);
+
+    /**
+     * Finds unfinished jobs that no live node is working on.
+     * @param now The current time.
+     * @return The IDs of the jobs, oldest first.
+     */
+    @Query("SELECT j.id FROM SmsSendJob j " +
+            "WHERE j.status IN (com.survey_engine.survey.common.enums.SmsSendJobStatus.PENDING, " +
+            "com.survey_engine.survey.common.enums.SmsSendJobStatus.RUNNING) " +
+            "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now) ORDER BY j.createdAt")
+    List<UUID> findResumable(@Param("now") LocalDateTime now);
+
+    /**
+     * Takes the lease of an unfinished job if it is free, expired, or already held by {@code owner}.
+     * @return 1 if the lease was taken, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE SmsSendJob j SET j.status = com.survey_engine.survey.common.enums.SmsSendJobStatus.RUNNING, " +
+            "j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt " +
+            "WHERE j.id = :id AND j.status IN (com.survey_engine.survey.common.enums.SmsSendJobStatus.PENDING, " +
+            "com.survey_engine.survey.common.enums.SmsSendJobStatus.RUNNING) " +
+            "AND (j.leaseOwner IS NULL OR j.leaseOwner = :owner OR j.leaseExpiresAt < :now)")
+    int claim(@Param("id") UUID id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Extends a lease held by {@code owner}.
+     * @return 1 if the lease is still held, 0 if another node has taken it.
+     */
+    @Modifying
+    @Query("UPDATE SmsSendJob j SET j.leaseExpiresAt = :expiresAt WHERE j.id = :id AND j.leaseOwner = :owner")
+    int renewLease(@Param("id") UUID id, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE SmsSendJob j SET j.sentCount = j.sentCount + :sent, j.failedCount = j.failedCount + :failed, " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    void addProgress(@Param("id") UUID id, @Param("sent") int sent, @Param("failed") int failed,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a job held by {@code owner} to a final status and releases its lease.
+     * @return 1 if the job was finished, 0 if the lease had been lost.
+     */
+    @Modifying
+    @Query("UPDATE SmsSendJob j SET j.status = :status, j.completedAt = :now, j.updatedAt = :now, " +
+            "j.leaseOwner = NULL, j.leaseExpiresAt = NULL WHERE j.id = :id AND j.leaseOwner = :owner")
+    int finish(@Param("id") UUID id, @Param("owner") String owner,
+               @Param("status") SmsSendJobStatus status, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,230 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.service.webhook.WebhookDelivery;
+import com.survey_engine.survey.service.webhook.WebhookRoute;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for the outbound webhook delivery queue and the circuit breaker state of
+ * subscriptions. Due rows are claimed a few per subscription at a time with
+ * {@code FOR UPDATE SKIP LOCKED}, so a subscription with a large backlog cannot starve the others
+ * and no row is claimed by two nodes. Rows of a batching subscription wait out its batch window
+ * and are then claimed together with the rest of its fresh rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WebhookDeliveryAttemptRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Queues one delivery of an event to each of the given subscriptions. Deliveries to a
+     * batching subscription become due once its batch window has passed.
+     * @param routes The subscriptions to deliver to.
+     * @param tenantId The tenant that owns the subscriptions.
+     * @param eventType The event type.
+     * @param payload The JSON body.
+     */
+    public void enqueue(List<WebhookRoute> routes, Long tenantId, String eventType, String payload) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO webhook_delivery_attempts (subscription_id, tenant_id, event_type, payload, next_attempt_at)
+                VALUES (?, ?, ?, ?, NOW() + (? * INTERVAL '1 millisecond'))
+                """, routes, routes.size(), (ps, route) -> {
+            ps.setObject(1, route.subscriptionId());
+            ps.setLong(2, tenantId);
+            ps.setString(3, eventType);
+            ps.setString(4, payload);
+            ps.setLong(5, route.batchWindow().toMillis());
+        });
+    }
+
+    /**
+     * Claims due deliveries of active subscriptions whose circuit is closed. For a batching
+     * subscription with anything due, fresh rows still inside their batch window are claimed too.
+     * @param perSubscription The most requests' worth of rows claimed for any one subscription.
+     * @param limit The most rows claimed in total.
+     * @param lease How long the rows stay claimed if this node never reports an outcome.
+     * @return The claimed deliveries.
+     */
+    public List<WebhookDelivery> claim(int perSubscription, int limit, Duration lease) {
+        return jdbcTemplate.query("""
+                UPDATE webhook_delivery_attempts a
+                SET status = 'IN_FLIGHT', attempts = a.attempts + 1, locked_until = NOW() + (? * INTERVAL '1 millisecond')
+                FROM webhook_subscriptions s
+                WHERE s.id = a.subscription_id AND a.id IN (
+                    SELECT due.id
+                    FROM (SELECT DISTINCT subscription_id FROM webhook_delivery_attempts
+                          WHERE status = 'PENDING' AND next_attempt_at <= NOW()) d
+                    JOIN webhook_subscriptions ws ON ws.id = d.subscription_id AND ws.is_active
+                         AND (ws.circuit_open_until IS NULL OR ws.circuit_open_until <= NOW())
+                    CROSS JOIN LATERAL (
+                        SELECT id FROM webhook_delivery_attempts
+                        WHERE subscription_id = d.subscription_id AND status = 'PENDING'
+                          AND (next_attempt_at <= NOW() OR (ws.batch_max_size IS NOT NULL AND attempts = 0))
+                        ORDER BY next_attempt_at, id
+                        LIMIT ? * COALESCE(ws.batch_max_size, 1)
+                        FOR UPDATE SKIP LOCKED
+                    ) due
+                    LIMIT ?
+                )
+                RETURNING a.id, a.subscription_id, a.event_type, a.payload, a.attempts, s.target_url, s.secret, s.batch_max_size
+                """, (rs, rowNum) -> new WebhookDelivery(
+                        rs.getLong("id"),
+                        rs.getObject("subscription_id", UUID.class),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getString("target_url"),
+                        rs.getString("secret"),
+                        rs.getInt("batch_max_size")),
+                lease.toMillis(), perSubscription, limit);
+    }
+
+    /**
+     * Returns claimed rows whose lease ran out to the queue, e.g. after the claiming node died.
+     * @return The number of rows released.
+     */
+    public int releaseExpiredLeases() {
+        return jdbcTemplate.update("""
+                UPDATE webhook_delivery_attempts SET status = 'PENDING', locked_until = NULL
+                WHERE status = 'IN_FLIGHT' AND locked_until < NOW()
+                """);
+    }
+
+    /**
+     * Puts claimed rows back without counting the attempt.
+     * @param ids The attempt row IDs.
+     * @param delay How long to wait before they are due again.
+     */
+    public void defer(List<Long> ids, Duration delay) {
+        jdbcTemplate.batchUpdate("""
+                UPDATE webhook_delivery_attempts
+                SET status = 'PENDING', attempts = attempts - 1, locked_until = NULL,
+                    next_attempt_at = NOW() + (? * INTERVAL '1 millisecond')
+                WHERE id = ? AND status = 'IN_FLIGHT'
+                """, ids, ids.size(), (ps, id) -> {
+            ps.setLong(1, delay.toMillis());
+            ps.setLong(2, id);
+        });
+    }
+
+    /**
+     * Records a successful delivery.
+     * @param ids The attempt row IDs sent in the request.
+     * @param httpStatus The response status.
+     */
+    public void markDelivered(List<Long> ids, int httpStatus) {
+        jdbcTemplate.batchUpdate("""
+                UPDATE webhook_delivery_attempts
+                SET status = 'DELIVERED', locked_until = NULL, last_http_status = ?, last_error = NULL, delivered_at = NOW()
+                WHERE id = ?
+                """, ids, ids.size(), (ps, id) -> {
+            ps.setInt(1, httpStatus);
+            ps.setLong(2, id);
+        });
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one.
+     * @param ids The attempt row IDs sent in the request.
+     * @param httpStatus The response status, or 0 if there was no response.
+     * @param error A description of the failure.
+     * @param retryIn The delay before the next attempt.
+     */
+    public void markRetry(List<Long> ids, int httpStatus, String error, Duration retryIn) {
+        String truncated = truncate(error);
+        jdbcTemplate.batchUpdate("""
+                UPDATE webhook_delivery_attempts
+                SET status = 'PENDING', locked_until = NULL, last_http_status = ?, last_error = ?,
+                    next_attempt_at = NOW() + (? * INTERVAL '1 millisecond')
+                WHERE id = ?
+                """, ids, ids.size(), (ps, id) -> {
+            ps.setInt(1, httpStatus);
+            ps.setString(2, truncated);
+            ps.setLong(3, retryIn.toMillis());
+            ps.setLong(4, id);
+        });
+    }
+
+    /**
+     * Records the last failed attempt of deliveries that will not be retried.
+     * @param ids The attempt row IDs.
+     * @param httpStatus The response status, or 0 if there was no response.
+     * @param error A description of the failure.
+     */
+    public void markFailed(List<Long> ids, int httpStatus, String error) {
+        String truncated = truncate(error);
+        jdbcTemplate.batchUpdate("""
+                UPDATE webhook_delivery_attempts
+                SET status = 'FAILED', locked_until = NULL, last_http_status = ?, last_error = ?
+                WHERE id = ?
+                """, ids, ids.size(), (ps, id) -> {
+            ps.setInt(1, httpStatus);
+            ps.setString(2, truncated);
+            ps.setLong(3, id);
+        });
+    }
+
+    /**
+     * Closes the circuit of a subscription after a successful delivery.
+     * @param subscriptionId The subscription.
+     */
+    public void recordSuccess(UUID subscriptionId) {
+        jdbcTemplate.update("""
+                UPDATE webhook_subscriptions SET consecutive_failures = 0, circuit_open_until = NULL
+                WHERE id = ? AND (consecutive_failures > 0 OR circuit_open_until IS NOT NULL)
+                """, subscriptionId);
+    }
+
+    /**
+     * Counts a failed delivery against a subscription and opens its circuit once
+     * {@code threshold} deliveries in a row have failed.
+     * @param subscriptionId The subscription.
+     * @param threshold The number of consecutive failures that opens the circuit.
+     * @param openFor How long the circuit stays open.
+     * @return true if this failure opened the circuit.
+     */
+    public boolean recordFailure(UUID subscriptionId, int threshold, Duration openFor) {
+        List<Boolean> opened = jdbcTemplate.query("""
+                UPDATE webhook_subscriptions
+                SET consecutive_failures = consecutive_failures + 1,
+                    circuit_open_until = CASE WHEN consecutive_failures + 1 >= ?
+                        THEN NOW() + (? * INTERVAL '1 millisecond') ELSE circuit_open_until END
+                WHERE id = ?
+                RETURNING consecutive_failures = ?
+                """, (rs, rowNum) -> rs.getBoolean(1), threshold, openFor.toMillis(), subscriptionId, threshold);
+        return !opened.isEmpty() && opened.get(0);
+    }
+
+    /**
+     * Queues a new delivery of every original event sent to a subscription in a time range,
+     * whatever the outcome of the original, and closes the subscription's circuit.
+     * @param subscriptionId The subscription.
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return The number of deliveries queued.
+     */
+    public int replay(UUID subscriptionId, LocalDateTime from, LocalDateTime to) {
+        recordSuccess(subscriptionId);
+        return jdbcTemplate.update("""
+                INSERT INTO webhook_delivery_attempts (subscription_id, tenant_id, event_type, payload, replay_of)
+                SELECT subscription_id, tenant_id, event_type, payload, id
+                FROM webhook_delivery_attempts
+                WHERE subscription_id = ? AND replay_of IS NULL AND created_at >= ? AND created_at < ?
+                ORDER BY id
+                """, subscriptionId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,44 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.common.exception.BusinessRuleException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a subscription's delivery log: the last entry of the previous page.
+ * Exposed to clients as an opaque URL-safe string.
+ * @param deliveredAt The time of the last entry returned.
+ * @param id The ID of the last entry returned.
+ */
+public record WebhookDeliveryLogCursor(LocalDateTime deliveredAt, UUID id) {
+
+    /**
+     * @return The cursor as an opaque URL-safe string.
+     */
+    public String encode() {
+        String raw = deliveredAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor previously returned by {@link #encode()}.
+     * @param cursor The encoded cursor, or null for the first page.
+     * @return The cursor, or null if none was given.
+     * @throws BusinessRuleException if the cursor is malformed.
+     */
+    public static WebhookDeliveryLogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new WebhookDeliveryLogCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessRuleException("INVALID_CURSOR", "Invalid pagination cursor.");
+        }
+    }
+}
@@ -1,14 +1,142 @@
 package com.survey_engine.survey.repository;
 
 import com.survey_engine.survey.models.WebhookDeliveryLog;
-import org.springframework.data.jpa.repository.JpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * JDBC repository for the webhook delivery log and its daily partitions.
+ * Entries are written in batches and read a page at a time, keyed on {@code (delivered_at, id)}
+ * newest first. Each day's entries live in partition {@code webhook_delivery_log_pYYYYMMDD}, so
+ * retention drops whole tables.
+ */
 @Repository
-public interface WebhookDeliveryLogRepository extends JpaRepository<WebhookDeliveryLog, UUID> {
+@RequiredArgsConstructor
+public class WebhookDeliveryLogRepository {
 
-    List<WebhookDeliveryLog> findBySubscriptionIdOrderByDeliveredAtDesc(UUID subscriptionId);
+    static final String PARTITION_PREFIX = "webhook_delivery_log_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts log entries in one batch.
+     * @param entries The entries; each must have its {@code deliveredAt} set.
+     */
+    public void insertAll(List<WebhookDeliveryLog> entries) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO webhook_delivery_log (subscription_id, event_type, payload, http_status, response_body, delivered_at, success)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getSubscriptionId());
+            ps.setString(2, entry.getEventType());
+            ps.setString(3, entry.getPayload());
+            ps.setObject(4, entry.getHttpStatus());
+            ps.setString(5, entry.getResponseBody());
+            ps.setTimestamp(6, Timestamp.valueOf(entry.getDeliveredAt()));
+            ps.setBoolean(7, entry.isSuccess());
+        });
+    }
+
+    /**
+     * Finds the page of a subscription's log entries that follows a cursor.
+     * @param subscriptionId The subscription.
+     * @param success Only successful (true) or failed (false) deliveries, or null for both.
+     * @param after The last entry of the previous page, or null for the first page.
+     * @param limit The maximum number of entries to return.
+     * @return Up to {@code limit} entries, newest first.
+     */
+    public List<WebhookDeliveryLog> findPage(UUID subscriptionId, Boolean success, WebhookDeliveryLogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, subscription_id, event_type, payload, http_status, response_body, delivered_at, success
+                FROM webhook_delivery_log
+                WHERE subscription_id = ?
+                """);
+        List<Object> params = new ArrayList<>();
+        params.add(subscriptionId);
+        if (success != null) {
+            sql.append(" AND success = ?");
+            params.add(success);
+        }
+        if (after != null) {
+            sql.append(" AND (delivered_at, id) < (?, ?)");
+            params.add(Timestamp.valueOf(after.deliveredAt()));
+            params.add(after.id());
+        }
+        sql.append(" ORDER BY delivered_at DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int httpStatus = rs.getInt("http_status");
+            return new WebhookDeliveryLog(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("subscription_id", UUID.class),
+                    rs.getString("event_type"),
+                    rs.getString("payload"),
+                    rs.wasNull() ? null : httpStatus,
+                    rs.getString("response_body"),
+                    rs.getTimestamp("delivered_at").toLocalDateTime(),
+                    rs.getBoolean("success"));
+        }, params.toArray());
+    }
+
+    /**
+     * Creates the partition holding one day's entries, if it does not exist yet.
+     * @param day The day.
+     */
+    public void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                + " PARTITION OF webhook_delivery_log FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    /**
+     * Drops the daily partitions of days before a cutoff and deletes older entries that landed
+     * in the default partition.
+     * @param cutoff The first day to keep.
+     * @return The number of partitions dropped.
+     */
+    public int dropPartitionsBefore(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'webhook_delivery_log'::regclass
+                """, String.class);
+        int dropped = 0;
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && day.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+            }
+        }
+        jdbcTemplate.update("DELETE FROM webhook_delivery_log_default WHERE delivered_at < ?",
+                Timestamp.valueOf(cutoff.atStartOfDay()));
+        return dropped;
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * @param partition A partition table name.
+     * @return The day a daily partition holds, or null if the name is not a daily partition's.
+     */
+    static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) return null;
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.service.whatsapp.WhatsAppOutboundMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC repository for outbound WhatsApp messages that overflowed a node's in-memory buffer.
+ * Claiming deletes the rows it returns and skips rows locked by another node, so each message
+ * is handed to exactly one node.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WhatsAppOverflowRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores messages for later sending.
+     * @param messages The messages.
+     */
+    public void insert(Collection<WhatsAppOutboundMessage> messages) {
+        jdbcTemplate.batchUpdate("INSERT INTO whatsapp_outbound_overflow (recipient, payload, attempts) VALUES (?, ?, ?)",
+                messages, messages.size(), (ps, message) -> {
+                    ps.setString(1, message.to());
+                    ps.setString(2, message.payload());
+                    ps.setInt(3, message.attempts());
+                });
+    }
+
+    /**
+     * Removes and returns the oldest stored messages.
+     * @param limit The maximum number of messages to claim.
+     * @return The claimed messages, oldest first.
+     */
+    public List<WhatsAppOutboundMessage> claim(int limit) {
+        return jdbcTemplate.query("""
+                WITH claimed AS (
+                    DELETE FROM whatsapp_outbound_overflow
+                    WHERE id IN (SELECT id FROM whatsapp_outbound_overflow ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+                    RETURNING id, recipient, payload, attempts
+                )
+                SELECT recipient, payload, attempts FROM claimed ORDER BY id
+                """, (rs, rowNum) -> new WhatsAppOutboundMessage(rs.getString("recipient"), rs.getString("payload"), rs.getInt("attempts")),
+                limit);
+    }
+
+    /**
+     * @return The number of stored messages.
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM whatsapp_outbound_overflow", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -1,27 +1,27 @@
 package com.survey_engine.survey.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.survey_engine.common.exception.BusinessRuleException;
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import com.survey_engine.survey.dto.BranchRuleRequest;
 import com.survey_engine.survey.dto.BranchRuleResponse;
 import com.survey_engine.survey.dto.MilestoneRequest;
 import com.survey_engine.survey.models.BranchRule;
-import com.survey_engine.survey.common.enums.ConditionType;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.models.SurveyMilestone;
 import com.survey_engine.survey.repository.BranchRuleRepository;
 import com.survey_engine.survey.repository.QuestionRepository;
 import com.survey_engine.survey.repository.SurveyMilestoneRepository;
 import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.snapshot.BranchProgram;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.survey.service.snapshot.ScoreAccumulator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -37,7 +37,7 @@ public class BranchRuleService {
     private final SurveyMilestoneRepository milestoneRepository;
     private final SurveyRepository surveyRepository;
     private final QuestionRepository questionRepository;
-    private final ObjectMapper objectMapper;
+    private final CompiledSurveyCache compiledSurveyCache;
 
     @Transactional
     public BranchRuleResponse createRule(Long surveyId, BranchRuleRequest request) {
@@ -64,7 +64,9 @@ public class BranchRuleService {
         rule.setPriority(request.priority());
         rule.setActive(true);
 
-        return BranchRuleResponse.from(branchRuleRepository.save(rule));
+        BranchRule savedRule = branchRuleRepository.save(rule);
+        compiledSurveyCache.evict(surveyId);
+        return BranchRuleResponse.from(savedRule);
     }
 
     public List<BranchRuleResponse> getRulesForSurvey(Long surveyId) {
@@ -74,10 +76,10 @@ public class BranchRuleService {
 
     @Transactional
     public void deleteRule(Long ruleId) {
-        if (!branchRuleRepository.existsById(ruleId)) {
-            throw new ResourceNotFoundException("BRANCH_RULE_NOT_FOUND", "Branch rule not found: " + ruleId);
-        }
-        branchRuleRepository.deleteById(ruleId);
+        BranchRule rule = branchRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new ResourceNotFoundException("BRANCH_RULE_NOT_FOUND", "Branch rule not found: " + ruleId));
+        branchRuleRepository.delete(rule);
+        compiledSurveyCache.evict(rule.getSurvey().getId());
     }
 
     @Transactional
@@ -99,83 +101,14 @@ public class BranchRuleService {
 
     /**
      * Given the just-answered question, the selected option index, and the
-     * accumulated category scores for this session, resolves the next question ID.
+     * accumulated scores for this response, resolves the next question ID
+     * against the survey's compiled decision tables.
      * Returns null → end the survey.
      * Returns -1L → no rule matched, caller should use linear progression.
      */
-    public Long resolveNextQuestion(Long surveyId, Long answeredQuestionId, Integer selectedOptionIndex,
-                                    Map<String, Double> categoryScores, double totalScore) {
-        List<BranchRule> rules = branchRuleRepository
-                .findBySurveyIdAndSourceQuestionIdAndActiveTrueOrderByPriorityAsc(
-                        surveyId, answeredQuestionId);
-
-        for (BranchRule rule : rules) {
-            if (matches(rule, selectedOptionIndex, categoryScores, totalScore)) {
-                log.debug("Branch rule {} matched for survey={} question={}",
-                        rule.getId(), surveyId, answeredQuestionId);
-                return rule.getTargetQuestionId(); // null = end survey
-            }
-        }
-        return -1L; // sentinel: no rule matched
-    }
-
-    private boolean matches(BranchRule rule, Integer selectedOptionIndex, Map<String, Double> categoryScores, double totalScore) {
-        return switch (rule.getConditionType()) {
-            case ALWAYS -> true;
-            case ANSWER_EQUALS -> {
-                Integer expected = conditionInt(rule.getConditionValue(), "optionIndex");
-                yield expected != null && expected.equals(selectedOptionIndex);
-            }
-            case SCORE_LT -> {
-                Double threshold = conditionDouble(rule.getConditionValue(), "threshold");
-                yield threshold != null && totalScore < threshold;
-            }
-            case SCORE_GT -> {
-                Double threshold = conditionDouble(rule.getConditionValue(), "threshold");
-                yield threshold != null && totalScore > threshold;
-            }
-            case SCORE_CATEGORY_LT -> {
-                Double threshold = conditionDouble(rule.getConditionValue(), "threshold");
-                String cat = conditionString(rule.getConditionValue(), "category");
-                double catScore = categoryScores.getOrDefault(cat, 0.0);
-                yield threshold != null && cat != null && catScore < threshold;
-            }
-            case SCORE_CATEGORY_GT -> {
-                Double threshold = conditionDouble(rule.getConditionValue(), "threshold");
-                String cat = conditionString(rule.getConditionValue(), "category");
-                double catScore = categoryScores.getOrDefault(cat, 0.0);
-                yield threshold != null && cat != null && catScore > threshold;
-            }
-        };
-    }
-
-    private Integer conditionInt(String json, String field) {
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            return node.has(field) ? node.get(field).asInt() : null;
-        } catch (Exception e) {
-            log.warn("Failed to parse branch rule condition JSON: {}", json);
-            return null;
-        }
-    }
-
-    private Double conditionDouble(String json, String field) {
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            return node.has(field) ? node.get(field).asDouble() : null;
-        } catch (Exception e) {
-            log.warn("Failed to parse branch rule condition JSON: {}", json);
-            return null;
-        }
-    }
-
-    private String conditionString(String json, String field) {
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            return node.has(field) ? node.get(field).asText() : null;
-        } catch (Exception e) {
-            log.warn("Failed to parse branch rule condition JSON: {}", json);
-            return null;
-        }
+    public Long resolveNextQuestion(CompiledSurvey survey, Long answeredQuestionId, int selectedOptionIndex,
+                                    ScoreAccumulator scores) {
+        long next = survey.branching().resolve(survey.id(), answeredQuestionId, selectedOptionIndex, scores);
+        return next == BranchProgram.END_SURVEY ? null : next;
     }
 }
@@ -3,7 +3,7 @@ package com.survey_engine.survey.service;
 import com.survey_engine.common.events.BusinessTransactionEvent;
 import com.survey_engine.common.events.SmsNotificationEvent;
 import com.survey_engine.common.enums.SettingKey;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.repository.SurveyRepository;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +29,7 @@ public class BusinessTransactionSurveyListener {
 
     private final SurveyRepository surveyRepository;
     private final SurveyConsentService consentService;
-    private final SystemSettingRepository settingRepository;
+    private final SystemSettingRegistry settingRegistry;
     private final ApplicationEventPublisher eventPublisher;
     private final TaskScheduler taskScheduler;
 
@@ -74,8 +74,7 @@ public class BusinessTransactionSurveyListener {
                     ? survey.getConsentMessage()
                     : consentService.getDefaultConsentMessage(survey.getName());
 
-            String privacyUrl = settingRepository.findByKey(SettingKey.PRIVACY_NOTICE_URL)
-                    .map(s -> s.getValue())
+            String privacyUrl = settingRegistry.current().text(SettingKey.PRIVACY_NOTICE_URL)
                     .orElse(null);
 
             StringBuilder sms = new StringBuilder();
@@ -2,15 +2,24 @@ package com.survey_engine.survey.service;
 
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
+import com.survey_engine.common.exception.BusinessRuleException;
+import com.survey_engine.survey.dto.ContactImportResponse;
+import com.survey_engine.survey.dto.ContactPageResponse;
 import com.survey_engine.survey.dto.ContactRequest;
 import com.survey_engine.survey.dto.ContactResponse;
 import com.survey_engine.survey.dto.DistributionListRequest;
 import com.survey_engine.survey.dto.DistributionListResponse;
+import com.survey_engine.survey.dto.DistributionListSummaryResponse;
 import com.survey_engine.survey.models.DistributionList;
 import com.survey_engine.survey.models.DistributionListContact;
 import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.repository.DistributionListContactBatchRepository;
+import com.survey_engine.survey.repository.DistributionListContactPageRepository;
 import com.survey_engine.survey.repository.DistributionListRepository;
 import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.distribution.ContactImporter;
+import com.survey_engine.survey.service.distribution.PhoneNumbers;
+import com.survey_engine.user.TenantDescriptor;
 import com.survey_engine.user.UserApi;
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -23,9 +32,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +47,8 @@ public class DistributionListService {
     private final DistributionListRepository distributionListRepository;
     private final SurveyRepository surveyRepository;
     private final UserApi userApi;
-
-    // Regex for Kenyan mobile numbers: Starts with +254 or 0, followed by 7 and 8 digits
-    private static final Pattern KENYAN_PHONE_NUMBER_PATTERN = Pattern.compile("^(?:\\+254|0)?7[0-9]{8}$|^(?:\\+254|0)?1[0-9]{8}$");
+    private final DistributionListContactBatchRepository contactBatchRepository;
+    private final DistributionListContactPageRepository contactPageRepository;
 
     @Transactional
     public DistributionListResponse createDistributionList(String userId, DistributionListRequest request) {
@@ -50,83 +60,114 @@ public class DistributionListService {
         list.setUserId(userId);
         
         if (request.contacts() != null) {
-            List<DistributionListContact> contacts = request.contacts().stream()
-                    .map(contactReq -> createContactFromRequest(contactReq, list))
-                    .filter(c -> c != null) // Filter out invalid contacts
-                    .collect(Collectors.toList());
-            list.setContacts(contacts);
+            // Keep the first contact for each number; the list may not hold a number twice
+            Map<String, DistributionListContact> contacts = new LinkedHashMap<>();
+            for (ContactRequest contactReq : request.contacts()) {
+                DistributionListContact contact = createContactFromRequest(contactReq, list);
+                if (contact != null) {
+                    contacts.putIfAbsent(contact.getPhoneNumber(), contact);
+                }
+            }
+            list.setContacts(new ArrayList<>(contacts.values()));
         }
 
         DistributionList savedList = distributionListRepository.save(list);
         return mapToResponse(savedList);
     }
 
+    /**
+     * Creates a distribution list from an uploaded CSV file.
+     * The file is parsed as a stream and contacts are written in batches, so memory use does not
+     * grow with the number of rows.
+     *
+     * @param userId The ID of the user creating the list.
+     * @param name   The name of the list.
+     * @param file   The CSV file.
+     * @return The numbers of contacts accepted, skipped as duplicates and skipped as invalid.
+     */
     @Transactional
-    public DistributionListResponse createDistributionListFromCsv(String userId, String name, MultipartFile file) {
+    public ContactImportResponse createDistributionListFromCsv(String userId, String name, MultipartFile file) {
         Long tenantId = userApi.getTenantId();
 
         DistributionList list = new DistributionList();
         list.setName(name);
         list.setTenantId(tenantId);
         list.setUserId(userId);
+        DistributionList savedList = distributionListRepository.saveAndFlush(list);
 
-        List<DistributionListContact> contacts = parseCsv(file, list);
-        list.setContacts(contacts);
-
-        DistributionList savedList = distributionListRepository.save(list);
-        return mapToResponse(savedList);
+        ContactImporter importer = new ContactImporter(savedList.getId(), contactBatchRepository);
+        parseCsv(file, importer);
+        ContactImportResponse result = importer.finish(savedList.getName());
+        log.info("Imported distribution list {}: {} accepted, {} duplicates, {} invalid",
+                savedList.getId(), result.accepted(), result.duplicates(), result.invalid());
+        return result;
     }
 
     @Transactional(readOnly = true)
-    public List<DistributionListResponse> getAllDistributionLists(String userId) {
+    public List<DistributionListSummaryResponse> getAllDistributionLists(String userId) {
         Long tenantId = userApi.getTenantId();
-        String tenantName = userApi.findTenantNameById(tenantId).orElse("Main Tenant");
+        boolean individual = userApi.findTenantDescriptor(tenantId)
+                .map(TenantDescriptor::individual)
+                .orElse(true);
 
-        List<DistributionList> lists;
-        if ("Main Tenant".equalsIgnoreCase(tenantName) || "www".equalsIgnoreCase(tenantName)) {
+        if (individual) {
             // Individual user: show only their own lists
-            lists = distributionListRepository.findAllByTenantIdAndUserId(tenantId, userId);
-        } else {
-            // Enterprise user: show all lists in the tenant
-            lists = distributionListRepository.findByTenantId(tenantId);
+            return distributionListRepository.summarizeByTenantIdAndUserId(tenantId, userId);
         }
-
-        return lists.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Enterprise user: show all lists in the tenant
+        return distributionListRepository.summarizeByTenantId(tenantId);
     }
 
     @Transactional(readOnly = true)
-    public DistributionListResponse getDistributionListById(String userId, UUID id) {
+    public DistributionListSummaryResponse getDistributionListById(String userId, UUID id) {
         Long tenantId = userApi.getTenantId();
-        DistributionList list = distributionListRepository.findByIdAndTenantIdAndUserId(id, tenantId, userId)
+        return distributionListRepository.summarizeByIdAndTenantIdAndUserId(id, tenantId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("DISTRIBUTION_LIST_NOT_FOUND", "Distribution list not found"));
-        return mapToResponse(list);
+    }
+
+    /**
+     * Retrieves one page of a distribution list's contacts, ordered by phone number.
+     *
+     * @param userId The ID of the user who owns the list.
+     * @param id     The ID of the distribution list.
+     * @param query  Optional search: the start of a phone number, or the start of a first or last name.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The maximum number of contacts to return.
+     * @return The page of contacts and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public ContactPageResponse getContacts(String userId, UUID id, String query, String cursor, int limit) {
+        Long tenantId = userApi.getTenantId();
+        if (distributionListRepository.findByIdAndTenantIdAndUserId(id, tenantId, userId).isEmpty()) {
+            throw new ResourceNotFoundException("DISTRIBUTION_LIST_NOT_FOUND", "Distribution list not found");
+        }
+
+        String search = query == null || query.isBlank() ? null : query.trim();
+        String phonePrefix = PhoneNumbers.normalizePrefix(search);
+        String namePrefix = search != null && phonePrefix == null ? search : null;
+
+        // Fetch one extra row to learn whether another page follows.
+        List<ContactResponse> contacts = contactPageRepository.findPage(id, decodeCursor(cursor), phonePrefix, namePrefix, limit + 1);
+        if (contacts.size() <= limit) {
+            return new ContactPageResponse(contacts, null);
+        }
+        List<ContactResponse> page = contacts.subList(0, limit);
+        return new ContactPageResponse(page, encodeCursor(page.get(limit - 1).phoneNumber()));
     }
 
     @Transactional
-    public DistributionListResponse addContacts(String userId, UUID id, List<ContactRequest> contactRequests) {
+    public ContactImportResponse addContacts(String userId, UUID id, List<ContactRequest> contactRequests) {
         Long tenantId = userApi.getTenantId();
         DistributionList list = distributionListRepository.findByIdAndTenantIdAndUserId(id, tenantId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("DISTRIBUTION_LIST_NOT_FOUND", "Distribution list not found"));
 
-        if (contactRequests != null && !contactRequests.isEmpty()) {
+        ContactImporter importer = new ContactImporter(list.getId(), contactBatchRepository);
+        if (contactRequests != null) {
             for (ContactRequest req : contactRequests) {
-                String sanitizedPhone = sanitizePhoneNumber(req.phoneNumber());
-                if (sanitizedPhone != null && !contactExists(list, sanitizedPhone)) {
-                    DistributionListContact contact = new DistributionListContact();
-                    contact.setDistributionList(list);
-                    contact.setPhoneNumber(sanitizedPhone);
-                    contact.setFirstName(req.firstName());
-                    contact.setLastName(req.lastName());
-                    contact.setEmail(req.email());
-                    list.getContacts().add(contact);
-                }
+                importer.add(req.phoneNumber(), req.firstName(), req.lastName(), req.email());
             }
         }
-        
-        DistributionList savedList = distributionListRepository.save(list);
-        return mapToResponse(savedList);
+        return importer.finish(list.getName());
     }
 
     /**
@@ -144,30 +185,32 @@ public class DistributionListService {
             list.setName("Auto-Generated List for Survey: " + survey.getName() + " (" + survey.getId() + ")");
             list.setTenantId(survey.getTenantId());
             list.setUserId(survey.getUserId());
-            list = distributionListRepository.save(list);
+            list = distributionListRepository.saveAndFlush(list);
             
             survey.setDistributionList(list);
             surveyRepository.save(survey);
             log.info("Created new distribution list {} for survey {}", list.getId(), surveyId);
         }
 
-        String sanitizedPhoneNumber = sanitizePhoneNumber(phoneNumber);
-        if (sanitizedPhoneNumber != null && !contactExists(list, sanitizedPhoneNumber)) {
-            DistributionListContact contact = new DistributionListContact();
-            contact.setDistributionList(list);
-            contact.setPhoneNumber(sanitizedPhoneNumber);
-            contact.setFirstName(firstName);
-            contact.setLastName(lastName);
-            // Name/Email unknown for pure phone triggers unless provided, leaving null for now
-            list.getContacts().add(contact);
-            distributionListRepository.save(list);
+        String sanitizedPhoneNumber = PhoneNumbers.normalize(phoneNumber);
+        if (sanitizedPhoneNumber == null) {
+            log.warn("Invalid phone number format: {}", phoneNumber);
+            return;
+        }
+        // Email unknown for pure phone triggers, leaving null for now
+        int inserted = contactBatchRepository.insertIgnoringDuplicates(list.getId(),
+                List.of(new ContactRequest(sanitizedPhoneNumber, firstName, lastName, null)));
+        if (inserted > 0) {
             log.info("Added phone number {} to distribution list {} for survey {}", sanitizedPhoneNumber, list.getId(), surveyId);
         }
     }
 
     private DistributionListContact createContactFromRequest(ContactRequest req, DistributionList list) {
-        String sanitized = sanitizePhoneNumber(req.phoneNumber());
-        if (sanitized == null) return null;
+        String sanitized = PhoneNumbers.normalize(req.phoneNumber());
+        if (sanitized == null) {
+            log.warn("Invalid phone number format: {}", req.phoneNumber());
+            return null;
+        }
         
         DistributionListContact contact = new DistributionListContact();
         contact.setDistributionList(list);
@@ -178,33 +221,11 @@ public class DistributionListService {
         return contact;
     }
 
-    private boolean contactExists(DistributionList list, String phoneNumber) {
-        return list.getContacts().stream()
-                .anyMatch(c -> c.getPhoneNumber().equals(phoneNumber));
-    }
-
-    private String sanitizePhoneNumber(String phoneNumber) {
-        if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            return null;
-        }
-        String cleanedNumber = phoneNumber.replaceAll("[^\\d+]", ""); // Remove non-digit except '+'
-
-        if (KENYAN_PHONE_NUMBER_PATTERN.matcher(cleanedNumber).matches()) {
-            if (cleanedNumber.startsWith("07")) {
-                return "+254" + cleanedNumber.substring(1);
-            }
-            return cleanedNumber;
-        }
-        log.warn("Invalid phone number format: {}", phoneNumber);
-        return null;
-    }
-
-    private List<DistributionListContact> parseCsv(MultipartFile file, DistributionList list) {
-        List<DistributionListContact> contacts = new ArrayList<>();
+    private void parseCsv(MultipartFile file, ContactImporter importer) {
         try (CSVReader csvReader = new CSVReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
             String[] header = csvReader.readNext();
             if (header == null) {
-                return contacts;
+                return;
             }
 
             // Identify column indices based on header names
@@ -236,34 +257,34 @@ public class DistributionListService {
 
             String[] nextRecord;
             while ((nextRecord = csvReader.readNext()) != null) {
-                if (nextRecord.length > phoneIndex) {
-                    String phoneRaw = nextRecord[phoneIndex].trim();
-                    String sanitized = sanitizePhoneNumber(phoneRaw);
-                    
-                    if (sanitized != null) {
-                        DistributionListContact contact = new DistributionListContact();
-                        contact.setDistributionList(list);
-                        contact.setPhoneNumber(sanitized);
-                        
-                        if (firstNameIndex != -1 && nextRecord.length > firstNameIndex) {
-                            contact.setFirstName(nextRecord[firstNameIndex].trim());
-                        }
-                        if (lastNameIndex != -1 && nextRecord.length > lastNameIndex) {
-                            contact.setLastName(nextRecord[lastNameIndex].trim());
-                        }
-                        if (emailIndex != -1 && nextRecord.length > emailIndex) {
-                            contact.setEmail(nextRecord[emailIndex].trim());
-                        }
-                        contacts.add(contact);
-                    }
-                }
+                importer.add(
+                        field(nextRecord, phoneIndex),
+                        field(nextRecord, firstNameIndex),
+                        field(nextRecord, lastNameIndex),
+                        field(nextRecord, emailIndex));
             }
         } catch (IOException e) {
-            throw new com.survey_engine.common.exception.BusinessRuleException("CSV_READ_FAILED", "Failed to read CSV file: " + e.getMessage());
+            throw new BusinessRuleException("CSV_READ_FAILED", "Failed to read CSV file: " + e.getMessage());
         } catch (CsvValidationException e) {
-            throw new com.survey_engine.common.exception.BusinessRuleException("CSV_VALIDATION_FAILED", "Failed to parse CSV file due to validation error: " + e.getMessage());
+            throw new BusinessRuleException("CSV_VALIDATION_FAILED", "Failed to parse CSV file due to validation error: " + e.getMessage());
         }
-        return contacts;
+    }
+
+    private static String encodeCursor(String phoneNumber) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(phoneNumber.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("INVALID_CURSOR", "Invalid pagination cursor.");
+        }
+    }
+
+    private static String field(String[] record, int index) {
+        return index != -1 && record.length > index ? record[index] : null;
     }
 
     private DistributionListResponse mapToResponse(DistributionList list) {
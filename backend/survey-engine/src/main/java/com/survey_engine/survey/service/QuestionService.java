@@ -7,6 +7,7 @@ import com.survey_engine.survey.dto.QuestionResponse;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.repository.SurveyRepository;
 import com.survey_engine.survey.repository.QuestionRepository;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
 import com.survey_engine.common.exception.BusinessRuleException;
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,16 +27,20 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
     private final SurveyRepository surveyRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
 
     /**
      * Constructor for QuestionService.
      * @param questionRepository - An instance of QuestionRepository.
      * @param surveyRepository - An instance of SurveyRepository.
+     * @param compiledSurveyCache - Cache of compiled survey snapshots, evicted on every question change.
      */
     @Autowired
-    public QuestionService(QuestionRepository questionRepository, SurveyRepository surveyRepository) {
+    public QuestionService(QuestionRepository questionRepository, SurveyRepository surveyRepository,
+                           CompiledSurveyCache compiledSurveyCache) {
         this.questionRepository = questionRepository;
         this.surveyRepository = surveyRepository;
+        this.compiledSurveyCache = compiledSurveyCache;
     }
 
     /**
@@ -69,6 +74,7 @@ public class QuestionService {
         question.setPosition(questionRequest.position());
 
         Question savedQuestion = questionRepository.save(question);
+        compiledSurveyCache.evict(surveyId);
         return mapToQuestionResponse(savedQuestion);
     }
 
@@ -130,6 +136,7 @@ public class QuestionService {
         question.setPosition(questionRequest.position());
 
         Question updatedQuestion = questionRepository.save(question);
+        compiledSurveyCache.evict(survey.getId());
         return mapToQuestionResponse(updatedQuestion);
     }
 
@@ -156,6 +163,7 @@ public class QuestionService {
         }
 
         questionRepository.delete(question);
+        compiledSurveyCache.evict(survey.getId());
     }
 
     /**
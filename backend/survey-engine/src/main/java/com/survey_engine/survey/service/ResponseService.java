@@ -1,28 +1,40 @@
 package com.survey_engine.survey.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.survey_engine.billing.BillingApi;
 import com.survey_engine.common.events.SurveyCompletedEvent;
+import com.survey_engine.survey.dto.AnswerRequest;
+import com.survey_engine.survey.dto.ResponseFilter;
+import com.survey_engine.survey.dto.ResponsePageResponse;
 import com.survey_engine.survey.dto.ResponseRequest;
 import com.survey_engine.survey.dto.ResponseResponse;
 import com.survey_engine.survey.models.Answer;
 import com.survey_engine.survey.dto.AnswerResponse;
 import com.survey_engine.survey.common.enums.AccessType;
 import com.survey_engine.survey.common.enums.ResponseStatus;
-import com.survey_engine.survey.common.enums.SurveyStatus;
 import com.survey_engine.survey.dto.ResponseSubmissionPayload;
-import com.survey_engine.survey.models.Question;
 import com.survey_engine.survey.models.Response;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.repository.QuestionRepository;
+import com.survey_engine.survey.repository.ResponseBatchRepository;
+import com.survey_engine.survey.repository.ResponseCursor;
+import com.survey_engine.survey.repository.ResponsePageRepository;
 import com.survey_engine.survey.repository.ResponseRepository;
 import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.journal.ResponseJournal;
+import com.survey_engine.survey.service.quota.ResponseQuotaService;
+import com.survey_engine.survey.service.snapshot.BranchProgram;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.survey.service.snapshot.ScoreAccumulator;
+import com.survey_engine.survey.service.stats.QuestionStatsService;
 import com.survey_engine.common.enums.SettingKey;
 import com.survey_engine.common.exception.BusinessRuleException;
 import com.survey_engine.common.exception.ResourceNotFoundException;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
+import com.survey_engine.common.settings.SystemSettings;
 import com.survey_engine.user.UserApi;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,8 +44,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -54,7 +75,13 @@ public class ResponseService {
     private final BillingApi billingApi;
     private final ObjectMapper objectMapper;
     private final BranchRuleService branchRuleService;
-    private final SystemSettingRepository systemSettingRepository;
+    private final SystemSettingRegistry systemSettingRegistry;
+    private final ResponseBatchRepository responseBatchRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final ResponseQuotaService responseQuotaService;
+    private final ResponseJournal responseJournal;
+    private final QuestionStatsService questionStatsService;
+    private final ResponsePageRepository responsePageRepository;
 
 
     /**
@@ -66,116 +93,284 @@ public class ResponseService {
      * @param metadata - map of contextual data (e.g. attribution)
      */
     public void createResponse(Long surveyId, ResponseRequest responseRequest, String userId, String sessionId, Map<String, String> metadata) {
-        Survey survey = surveyRepository.findById(surveyId)
+        CompiledSurvey survey = compiledSurveyCache.get(surveyId)
                 .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + surveyId));
 
-        if (survey.getStatus() != SurveyStatus.ACTIVE) {
+        if (!survey.isActive()) {
             throw new BusinessRuleException("SURVEY_NOT_ACTIVE", "Responses can only be submitted to ACTIVE surveys.");
         }
 
-        // Validate response limits based on subscription
-        billingApi.validateResponseLimit(survey.getTenantId(), surveyId);
-
         // Validate that the response channel is allowed by the survey owner's plan
         String channel = metadata != null ? metadata.get("channel") : null;
         if (channel != null) {
-            billingApi.validateChannelAllowed(survey.getTenantId(),
-                    parseLongSafe(survey.getUserId()), channel);
+            billingApi.validateChannelAllowed(survey.tenantId(),
+                    parseLongSafe(survey.userId()), channel);
         }
 
-        if (survey.getAccessType() == AccessType.PRIVATE && userId == null) {
+        if (survey.accessType() == AccessType.PRIVATE && userId == null) {
             throw new AccessDeniedException("This survey is private and requires authentication to respond.");
         }
 
-        // Enforce configured target limits (if any)
-        if (survey.getTargetRespondents() != null && survey.getTargetRespondents() > 0) {
-            long currentResponseCount = responseRepository.countBySurveyId(surveyId);
-            if (currentResponseCount >= survey.getTargetRespondents()) {
-                throw new BusinessRuleException("TARGET_RESPONDENTS_REACHED", "This survey has reached its maximum number of responses.");
+        String reservationId = reserveResponseQuota(survey);
+
+        ResponseSubmissionPayload payload = new ResponseSubmissionPayload(surveyId, responseRequest, userId, sessionId, metadata, reservationId,
+                UUID.randomUUID());
+        try {
+            // The local journal is drained to RabbitMQ in the background; publish directly if it refuses the entry
+            if (!responseJournal.append(payload)) {
+                responseRabbitMqPublisher.publishResponse(payload);
             }
+        } catch (RuntimeException e) {
+            responseQuotaService.release(surveyId, reservationId);
+            throw e;
         }
+    }
 
-        ResponseSubmissionPayload payload = new ResponseSubmissionPayload(surveyId, responseRequest, userId, sessionId, metadata);
-        responseRabbitMqPublisher.publishResponse(payload);
+    /**
+     * Reserves a response slot against the smaller of the plan's response limit and the
+     * survey's configured target, so concurrent submissions cannot overshoot either.
+     * @param survey The survey being responded to.
+     * @return The reservation ID, or null if the survey has no limit.
+     * @throws BusinessRuleException if the limit has been reached.
+     */
+    private String reserveResponseQuota(CompiledSurvey survey) {
+        long planLimit = billingApi.getResponseLimit(survey.tenantId(), parseLongSafe(survey.userId()));
+        long target = survey.targetRespondents() != null && survey.targetRespondents() > 0 ? survey.targetRespondents() : -1;
+        if (planLimit < 0 && target < 0) {
+            return null;
+        }
+
+        boolean targetBinds = target >= 0 && (planLimit < 0 || target <= planLimit);
+        long limit = targetBinds ? target : planLimit;
+        return responseQuotaService.reserve(survey.id(), limit).orElseThrow(() -> targetBinds
+                ? new BusinessRuleException("TARGET_RESPONDENTS_REACHED", "This survey has reached its maximum number of responses.")
+                : responseLimitReached(survey, limit));
+    }
+
+    private BusinessRuleException responseLimitReached(CompiledSurvey survey, long limit) {
+        if (billingApi.isFreeTier(survey.tenantId(), parseLongSafe(survey.userId()))) {
+            return new BusinessRuleException("FREE_RESPONSE_LIMIT_REACHED",
+                    "Free tier response limit (" + limit + ") reached for this survey. Please upgrade your plan.");
+        }
+        return new BusinessRuleException("RESPONSE_LIMIT_REACHED",
+                "Response limit of " + limit + " reached for this survey. Please upgrade your plan.");
     }
 
+    /**
+     * Persists a single response submission and triggers its side effects.
+     * A submission whose id is already stored is a redelivery and is skipped without side effects.
+     *
+     * @param payload The submission consumed from the response queue.
+     * @return The processed response, or empty if the submission had already been stored.
+     */
     @Transactional
-    public ResponseResponse handleResponseSubmissionAndRewardPublishing(ResponseSubmissionPayload payload) {
-        Survey survey = surveyRepository.findById(payload.surveyId())
+    public Optional<ResponseResponse> handleResponseSubmissionAndRewardPublishing(ResponseSubmissionPayload payload) {
+        CompiledSurvey survey = compiledSurveyCache.get(payload.surveyId())
                 .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + payload.surveyId()));
 
-        Response response = new Response();
-        response.setSurvey(survey);
-        response.setTenantId(survey.getTenantId());
-        response.setParticipantId(payload.participantId());
-        response.setSessionId(payload.sessionId()); // Set the session ID
-        response.setStatus(ResponseStatus.COMPLETE);
-        response.setSubmissionDate(LocalDateTime.now());
-        
-        // Save metadata if present
-        if (payload.metadata() != null && !payload.metadata().isEmpty()) {
-            try {
-                response.setMetadata(objectMapper.writeValueAsString(payload.metadata()));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to serialize metadata for response to survey {}", payload.surveyId(), e);
-            }
-        }
+        Response response = buildResponse(survey, payload);
 
         List<Answer> answers = payload.request().answers().stream().map(answerRequest -> {
-            Question question = questionRepository.findById(answerRequest.questionId())
+            CompiledQuestion question = survey.question(answerRequest.questionId())
                     .orElseThrow(() -> new ResourceNotFoundException("QUESTION_NOT_FOUND", "Question not found with id: " + answerRequest.questionId()));
-            Answer answer = new Answer();
-            answer.setResponse(response);
-            answer.setQuestion(question);
-            answer.setAnswerValue(answerRequest.answerValue());
-            answer.setPosition(question.getPosition());
-            return answer;
+            return buildAnswer(response, question, answerRequest.answerValue());
         }).toList();
 
         response.getAnswers().addAll(answers);
-        Response savedResponse = responseRepository.save(response);
+
+        String responderId = null;
+
+        // If it's an SMS response, the responderId is the phone number.
+        // We also try to link it to a participant if one exists for data consistency.
+        if (response.getSessionId() != null) {
+            responderId = response.getSessionId();
+            userApi.findParticipantIdByPhoneNumber(responderId).ifPresent(response::setParticipantId);
+        }
+        // If it's a web response from a user who opted into rewards, the participantId (participantId) is the responderId.
+        else if (response.getParticipantId() != null) {
+            responderId = response.getParticipantId();
+        }
+
+        if (persist(List.of(response)).isEmpty()) {
+            log.info("Skipping redelivered submission {} for survey {}", payload.submissionId(), payload.surveyId());
+            return Optional.empty();
+        }
+        questionStatsService.record(survey, List.of(response));
 
         // Debit wallet for SMS/WhatsApp channel responses
         debitChannelCost(survey, payload);
 
         // Evaluate branch rules if answers are present
-        Long nextQuestionId = evaluateBranchRules(survey.getId(), savedResponse);
+        Long nextQuestionId = evaluateBranchRules(survey, response);
 
-        String responderId = null;
+        publishCompletion(response, responderId);
 
-        // If it's an SMS response, the responderId is the phone number.
-        // We also try to link it to a participant if one exists for data consistency.
-        if (savedResponse.getSessionId() != null) {
-            responderId = savedResponse.getSessionId();
-            userApi.findParticipantIdByPhoneNumber(responderId).ifPresent(participantId -> {
-                savedResponse.setParticipantId(participantId);
-                responseRepository.save(savedResponse);
-            });
+        return Optional.of(mapToResponseResponseWithNext(response, nextQuestionId));
+    }
+
+    /**
+     * Persists a batch of response submissions in a single transaction.
+     * Surveys and questions are resolved from their compiled snapshots, and the
+     * responses and answers are written with multi-row inserts. Payloads that reference an
+     * unknown survey or question are skipped so that the caller can reject them individually.
+     *
+     * @param payloads The submissions drained from the response queue.
+     * @return The processed responses keyed by their index in {@code payloads}. An empty value marks a
+     *         redelivered submission that was already stored. Indexes missing from the map were
+     *         rejected and nothing was written for them.
+     */
+    @Transactional
+    public Map<Integer, Optional<ResponseResponse>> handleResponseSubmissionBatch(List<ResponseSubmissionPayload> payloads) {
+        Map<Long, CompiledSurvey> surveys = new HashMap<>();
+        Map<Integer, Response> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            ResponseSubmissionPayload payload = payloads.get(i);
+            CompiledSurvey survey = payload.surveyId() == null ? null : surveys.computeIfAbsent(payload.surveyId(),
+                    surveyId -> compiledSurveyCache.get(surveyId).orElse(null));
+            if (survey == null) {
+                log.warn("Rejecting batched response: survey {} not found", payload.surveyId());
+                continue;
+            }
+            if (payload.request() == null || payload.request().answers() == null) {
+                log.warn("Rejecting batched response for survey {}: no answers in payload", payload.surveyId());
+                continue;
+            }
+
+            Response response = buildResponse(survey, payload);
+            boolean valid = true;
+            for (AnswerRequest answerRequest : payload.request().answers()) {
+                CompiledQuestion question = survey.question(answerRequest.questionId()).orElse(null);
+                if (question == null) {
+                    log.warn("Rejecting batched response for survey {}: question {} not found",
+                            payload.surveyId(), answerRequest.questionId());
+                    valid = false;
+                    break;
+                }
+                response.getAnswers().add(buildAnswer(response, question, answerRequest.answerValue()));
+            }
+            if (!valid) {
+                continue;
+            }
+
+            // Link SMS responses to a known participant before the row is written
+            if (response.getSessionId() != null) {
+                userApi.findParticipantIdByPhoneNumber(response.getSessionId()).ifPresent(response::setParticipantId);
+            }
+            accepted.put(i, response);
         }
-        // If it's a web response from a user who opted into rewards, the participantId (participantId) is the responderId.
-        else if (savedResponse.getParticipantId() != null) {
-            responderId = savedResponse.getParticipantId();
+
+        if (accepted.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        // Publish the completion event if we have a responderId.
-        // This occurs for all SMS responses and for web responses where the user opted-in for a reward.
-        if (responderId != null) {
-            SurveyCompletedEvent event = new SurveyCompletedEvent(
-                    savedResponse.getSurvey().getId(),
-                    savedResponse.getId(),
-                    responderId
-            );
-            eventPublisher.publishEvent(event);
+        Set<Long> inserted = persist(accepted.values());
+        List<Response> stored = accepted.values().stream().filter(response -> inserted.contains(response.getId())).toList();
+        questionStatsService.record(surveys, stored);
+        log.info("Batch-inserted {} responses, skipped {} redelivered", stored.size(), accepted.size() - stored.size());
+
+        Map<Integer, Optional<ResponseResponse>> processed = new LinkedHashMap<>();
+        accepted.forEach((index, response) -> {
+            if (!inserted.contains(response.getId())) {
+                processed.put(index, Optional.empty());
+                return;
+            }
+            ResponseSubmissionPayload payload = payloads.get(index);
+            CompiledSurvey survey = surveys.get(payload.surveyId());
+            debitChannelCost(survey, payload);
+            Long nextQuestionId = evaluateBranchRules(survey, response);
+
+            String responderId = response.getSessionId() != null ? response.getSessionId() : response.getParticipantId();
+            publishCompletion(response, responderId);
+
+            processed.put(index, Optional.of(mapToResponseResponseWithNext(response, nextQuestionId)));
+        });
+        return processed;
+    }
+
+    /**
+     * Writes responses and their answers with ids reserved from the sequences up front.
+     * A response whose submission id is already stored is skipped together with its answers.
+     *
+     * @param responses Unsaved responses with their answers attached.
+     * @return The ids of the responses that were written.
+     */
+    private Set<Long> persist(Collection<Response> responses) {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Long> responseIds = responseBatchRepository.nextResponseIds(responses.size()).iterator();
+        for (Response response : responses) {
+            response.setId(responseIds.next());
+            response.setCreatedAt(now);
+            response.setUpdatedAt(now);
         }
+        Set<Long> inserted = responseBatchRepository.insertResponses(new ArrayList<>(responses));
+
+        List<Answer> answers = responses.stream()
+                .filter(response -> inserted.contains(response.getId()))
+                .flatMap(response -> response.getAnswers().stream())
+                .toList();
+        Iterator<Long> answerIds = responseBatchRepository.nextAnswerIds(answers.size()).iterator();
+        for (Answer answer : answers) {
+            answer.setId(answerIds.next());
+            answer.setCreatedAt(now);
+            answer.setUpdatedAt(now);
+        }
+        responseBatchRepository.insertAnswers(answers);
+        return inserted;
+    }
 
-        return mapToResponseResponseWithNext(savedResponse, nextQuestionId);
+    /**
+     * Builds an unsaved Response entity for a submission payload.
+     * The survey is attached as a reference so no extra query is issued.
+     */
+    private Response buildResponse(CompiledSurvey survey, ResponseSubmissionPayload payload) {
+        Response response = new Response();
+        response.setSurvey(surveyRepository.getReferenceById(survey.id()));
+        response.setTenantId(survey.tenantId());
+        response.setParticipantId(payload.participantId());
+        response.setSessionId(payload.sessionId()); // Set the session ID
+        response.setSubmissionId(payload.submissionId());
+        response.setStatus(ResponseStatus.COMPLETE);
+        response.setSubmissionDate(LocalDateTime.now());
+
+        // Save metadata if present
+        if (payload.metadata() != null && !payload.metadata().isEmpty()) {
+            try {
+                response.setMetadata(objectMapper.writeValueAsString(payload.metadata()));
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize metadata for response to survey {}", payload.surveyId(), e);
+            }
+        }
+        return response;
+    }
+
+    private Answer buildAnswer(Response response, CompiledQuestion question, String answerValue) {
+        Answer answer = new Answer();
+        answer.setResponse(response);
+        answer.setQuestion(questionRepository.getReferenceById(question.id()));
+        answer.setAnswerValue(answerValue);
+        answer.setPosition(question.position());
+        return answer;
+    }
+
+    /**
+     * Publishes the completion event if we have a responderId.
+     * This occurs for all SMS responses and for web responses where the user opted-in for a reward.
+     */
+    private void publishCompletion(Response response, String responderId) {
+        if (responderId == null) return;
+        eventPublisher.publishEvent(new SurveyCompletedEvent(
+                response.getSurvey().getId(),
+                response.getId(),
+                responderId
+        ));
     }
 
     /**
      * Debits the survey owner's wallet for per-response channel costs (SMS/WhatsApp).
-     * Web/USSD responses have no per-message cost.
+     * Web/USSD responses have no per-message cost. The debit description records the version of
+     * the price table the cost was taken from.
      */
-    private void debitChannelCost(Survey survey, ResponseSubmissionPayload payload) {
+    private void debitChannelCost(CompiledSurvey survey, ResponseSubmissionPayload payload) {
         String channel = payload.metadata() != null ? payload.metadata().get("channel") : null;
         if (channel == null) return;
 
@@ -188,21 +383,21 @@ public class ResponseService {
             return; // Web/USSD — no per-message cost
         }
 
-        if (survey.getUserId() == null) return;
+        if (survey.userId() == null) return;
 
         try {
-            systemSettingRepository.findByKey(costKey).ifPresent(setting -> {
-                java.math.BigDecimal cost = new java.math.BigDecimal(setting.getValue());
+            SystemSettings settings = systemSettingRegistry.current();
+            settings.decimal(costKey).ifPresent(cost -> {
                 if (cost.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                    billingApi.debitWallet(survey.getTenantId(), parseLongSafe(survey.getUserId()),
-                            cost, channel + " response cost for survey " + survey.getId());
-                    log.info("Debited {} KES for {} response on survey {}", cost, channel, survey.getId());
+                    billingApi.debitWallet(survey.tenantId(), parseLongSafe(survey.userId()), cost,
+                            channel + " response cost for survey " + survey.id() + " (prices v" + settings.version() + ")");
+                    log.info("Debited {} KES for {} response on survey {}", cost, channel, survey.id());
                 }
             });
         } catch (Exception e) {
             // Log but don't fail the response submission — wallet debit is best-effort
             log.error("Failed to debit channel cost for {} response on survey {}: {}",
-                    channel, survey.getId(), e.getMessage());
+                    channel, survey.id(), e.getMessage());
         }
     }
 
@@ -210,60 +405,41 @@ public class ResponseService {
      * Evaluates branch rules for the last answered question and computes the next question ID.
      * Returns: specific question ID, null (end survey), or -1L sentinel (linear progression).
      */
-    private Long evaluateBranchRules(Long surveyId, Response response) {
+    private Long evaluateBranchRules(CompiledSurvey survey, Response response) {
         if (response.getAnswers().isEmpty()) return -1L;
 
         // Use the last answer to evaluate branch rules
         Answer lastAnswer = response.getAnswers().get(response.getAnswers().size() - 1);
-        Question lastQuestion = lastAnswer.getQuestion();
 
-        // Determine selected option index (for multiple choice questions)
-        Integer selectedOptionIndex = null;
-        try {
-            selectedOptionIndex = Integer.parseInt(lastAnswer.getAnswerValue());
-        } catch (NumberFormatException e) {
-            // Not a numeric answer — branch rules requiring optionIndex won't match
-        }
+        // Determine selected option index (for multiple choice questions).
+        // Non-numeric answers yield NO_OPTION, so branch rules requiring optionIndex won't match.
+        int selectedOptionIndex = BranchProgram.parseOptionIndex(lastAnswer.getAnswerValue());
 
         // Accumulate scores from all answers in this response
-        double totalScore = 0.0;
-        Map<String, Double> categoryScores = new java.util.HashMap<>();
-
+        ScoreAccumulator scores = survey.branching().newAccumulator();
         for (Answer answer : response.getAnswers()) {
-            Question q = answer.getQuestion();
-            if (q.getScoreMap() != null && !q.getScoreMap().isBlank()) {
-                try {
-                    Map<String, Double> scoreMap = objectMapper.readValue(q.getScoreMap(),
-                            new TypeReference<Map<String, Double>>() {});
-                    Double score = scoreMap.get(answer.getAnswerValue());
-                    if (score != null) {
-                        double weighted = score * (q.getWeight() != null ? q.getWeight() : 1.0);
-                        totalScore += weighted;
-                        if (q.getCategory() != null) {
-                            categoryScores.merge(q.getCategory(), weighted, Double::sum);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to parse scoreMap for question {}: {}", q.getId(), e.getMessage());
-                }
-            }
+            survey.accumulate(scores, answer.getQuestion().getId(), answer.getAnswerValue());
         }
 
-        return branchRuleService.resolveNextQuestion(surveyId, lastQuestion.getId(),
-                selectedOptionIndex, categoryScores, totalScore);
+        return branchRuleService.resolveNextQuestion(survey, lastAnswer.getQuestion().getId(),
+                selectedOptionIndex, scores);
     }
 
     /**
-     * Retrieves all responses for a specific survey.
+     * Retrieves one page of a survey's responses, newest first.
      * Only the survey owner or an admin can perform this action.
      *
      * @param surveyId The ID of the survey.
+     * @param filter   Optional filters on date range, channel and participant.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param limit    The maximum number of responses to return.
      * @param userId   The ID of the user making the request.
      * @param roles    The roles of the user.
-     * @return A list of response DTOs.
+     * @return The page of response DTOs and the cursor for the next page.
      */
     @Transactional(readOnly = true)
-    public List<ResponseResponse> getResponsesBySurveyId(Long surveyId, String userId, List<String> roles) {
+    public ResponsePageResponse getResponsesBySurveyId(Long surveyId, ResponseFilter filter, String cursor, int limit,
+                                                       String userId, List<String> roles) {
         Survey survey = surveyRepository.findById(surveyId)
                 .orElseThrow(() -> new ResourceNotFoundException("RESOURCE_NOT_FOUND","Survey not found with id: " + surveyId));
 
@@ -271,10 +447,14 @@ public class ResponseService {
             throw new AccessDeniedException("You do not have permission to view responses for this survey.");
         }
 
-        List<Response> responses = responseRepository.findBySurveyId(surveyId);
-        return responses.stream()
-                .map(this::mapToResponseResponse)
-                .collect(Collectors.toList());
+        // Fetch one extra row to learn whether another page follows.
+        List<ResponseResponse> responses = responsePageRepository.findPage(surveyId, filter, ResponseCursor.decode(cursor), limit + 1);
+        if (responses.size() <= limit) {
+            return new ResponsePageResponse(responses, null);
+        }
+        List<ResponseResponse> page = responses.subList(0, limit);
+        ResponseResponse last = page.get(limit - 1);
+        return new ResponsePageResponse(page, new ResponseCursor(last.submissionDate(), last.id()).encode());
     }
 
     /**
@@ -315,6 +495,8 @@ public class ResponseService {
             throw new AccessDeniedException("You do not have permission to delete this response.");
         }
 
+        compiledSurveyCache.get(response.getSurvey().getId())
+                .ifPresent(survey -> questionStatsService.retract(survey, response));
         responseRepository.delete(response);
     }
 
@@ -3,7 +3,7 @@ package com.survey_engine.survey.service;
 import com.survey_engine.common.enums.SettingKey;
 import com.survey_engine.common.exception.BusinessRuleException;
 import com.survey_engine.common.exception.ResourceNotFoundException;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
 import com.survey_engine.survey.models.Survey;
 import com.survey_engine.survey.models.SurveyConsentLog;
 import com.survey_engine.survey.repository.SurveyConsentLogRepository;
@@ -29,7 +29,7 @@ public class SurveyConsentService {
 
     private final SurveyConsentLogRepository consentLogRepository;
     private final SurveyRepository surveyRepository;
-    private final SystemSettingRepository settingRepository;
+    private final SystemSettingRegistry settingRegistry;
 
     @Value("${app-security.encryption.salt:default-salt}")
     private String encryptionSalt;
@@ -44,8 +44,7 @@ public class SurveyConsentService {
                 .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND",
                         "Survey not found: " + surveyId));
 
-        String privacyUrl = settingRepository.findByKey(SettingKey.PRIVACY_NOTICE_URL)
-                .map(s -> s.getValue())
+        String privacyUrl = settingRegistry.current().text(SettingKey.PRIVACY_NOTICE_URL)
                 .orElse(null);
 
         SurveyConsentLog entry = new SurveyConsentLog();
@@ -2,7 +2,8 @@ package com.survey_engine.survey.service;
 
 import com.survey_engine.billing.BillingApi;
 import com.survey_engine.common.enums.SettingKey;
-import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingRegistry;
+import com.survey_engine.common.settings.SystemSettings;
 import com.survey_engine.survey.dto.cost.SurveyCostCalculationRequest;
 import com.survey_engine.survey.dto.cost.SurveyCostCalculationResponse;
 import com.survey_engine.user.UserApi;
@@ -17,14 +18,18 @@ import java.math.RoundingMode;
 @RequiredArgsConstructor
 public class SurveyCostService {
 
-    private final SystemSettingRepository systemSettingRepository;
+    private static final BigDecimal DEFAULT_COST_PER_RESPONDENT = new BigDecimal("5.00");
+    private static final BigDecimal DEFAULT_SMS_COST_PER_MESSAGE = new BigDecimal("2.00");
+
+    private final SystemSettingRegistry systemSettingRegistry;
     private final BillingApi billingApi;
     private final UserApi userApi;
 
     @Transactional(readOnly = true)
     public SurveyCostCalculationResponse calculateCost(SurveyCostCalculationRequest request, Long tenantId, Long userId) {
-        BigDecimal costPerRespondent = getCostPerRespondent();
-        BigDecimal smsCostPerMessage = getSmsCostPerMessage();
+        SystemSettings settings = systemSettingRegistry.current();
+        BigDecimal costPerRespondent = costPerRespondent(settings);
+        BigDecimal smsCostPerMessage = smsCostPerMessage(settings);
 
         Integer targetRespondents = request.targetRespondents();
         BigDecimal estimatedCost;
@@ -63,19 +68,24 @@ public class SurveyCostService {
                 totalCost,
                 walletBalance,
                 isSufficient,
-                requiredTopUp
+                requiredTopUp,
+                settings.version()
         );
     }
 
     public BigDecimal getCostPerRespondent() {
-        return systemSettingRepository.findByKey(SettingKey.ENTERPRISE_SURVEY_COST_PER_RESPONDENT)
-                .map(s -> new BigDecimal(s.getValue()))
-                .orElse(new BigDecimal("5.00"));
+        return costPerRespondent(systemSettingRegistry.current());
     }
 
     public BigDecimal getSmsCostPerMessage() {
-        return systemSettingRepository.findByKey(SettingKey.SMS_COST_PER_MESSAGE)
-                .map(s -> new BigDecimal(s.getValue()))
-                .orElse(new BigDecimal("2.00"));
+        return smsCostPerMessage(systemSettingRegistry.current());
+    }
+
+    private static BigDecimal costPerRespondent(SystemSettings settings) {
+        return settings.decimal(SettingKey.ENTERPRISE_SURVEY_COST_PER_RESPONDENT, DEFAULT_COST_PER_RESPONDENT);
+    }
+
+    private static BigDecimal smsCostPerMessage(SystemSettings settings) {
+        return settings.decimal(SettingKey.SMS_COST_PER_MESSAGE, DEFAULT_SMS_COST_PER_MESSAGE);
     }
 }
@@ -5,7 +5,6 @@ import com.survey_engine.common.enums.SettingKey;
 import com.survey_engine.common.exception.BusinessRuleException;
 import com.survey_engine.common.repository.SystemSettingRepository;
 import com.survey_engine.survey.common.enums.SurveyStatus;
-import com.survey_engine.survey.models.DistributionListContact;
 import com.survey_engine.survey.models.Question;
 import com.survey_engine.survey.dto.QuestionRequest;
 import com.survey_engine.survey.dto.QuestionResponse;
@@ -17,7 +16,9 @@ import com.survey_engine.survey.dto.SurveysResponse;
 import com.survey_engine.user.UserApi;
 import com.survey_engine.survey.models.DistributionList;
 
-import com.survey_engine.survey.service.sms.SmsResponseService;
+import com.survey_engine.survey.models.SmsSendJob;
+import com.survey_engine.survey.service.sms.job.SmsSendJobService;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
 
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import jakarta.validation.constraints.NotNull;
@@ -49,8 +50,9 @@ public class SurveyService {
     private final UserApi userApi;
     private final BillingApi billingApi;
     private final SystemSettingRepository systemSettingRepository;
-    private final SmsResponseService smsResponseService;
+    private final SmsSendJobService smsSendJobService;
     private final SurveyCostService surveyCostService;
+    private final CompiledSurveyCache compiledSurveyCache;
 
     @Value("${survey.web.base-url}")
     private String webBaseUrl;
@@ -210,6 +212,7 @@ public class SurveyService {
         }
         
         Survey savedSurvey = getSurvey(survey, surveyRequest);
+        compiledSurveyCache.evict(id);
 
         String userName = userApi.getUserNameById(userId);
         Map<String, String> userIdToNameMap = Collections.singletonMap(userId, userName);
@@ -271,6 +274,7 @@ public class SurveyService {
         }
 
         survey.setStatus(SurveyStatus.ACTIVE);
+        compiledSurveyCache.evict(surveyId);
         return getSurveyResponse(userId, survey);
     }
 
@@ -301,6 +305,7 @@ public class SurveyService {
         }
 
         survey.setStatus(SurveyStatus.CLOSED);
+        compiledSurveyCache.evict(surveyId);
         return getSurveyResponse(userId, survey);
     }
 
@@ -330,6 +335,7 @@ public class SurveyService {
 
         survey.setStatus(SurveyStatus.ACTIVE);
         surveyRepository.save(survey);
+        compiledSurveyCache.evict(surveyId);
         logger.info("Successfully activated survey after payment.");
 
         String userName = userApi.getUserNameById(survey.getUserId());
@@ -359,18 +365,22 @@ public class SurveyService {
         }
 
         surveyRepository.delete(survey);
+        compiledSurveyCache.evict(id);
     }
 
     /**
      * Sends the survey to all contacts in the linked distribution list.
+     * The wallet is debited and a send job created before this returns; the messages are sent
+     * in the background by {@link com.survey_engine.survey.service.sms.job.SmsSendJobRunner}.
      *
      * @param surveyId The ID of the survey.
      * @param userId The ID of the user triggering send.
      * @param roles The roles of the user.
      * @param distributionListId Optional ID of a distribution list to link before sending.
+     * @return The ID of the send job.
      */
     @Transactional
-    public void sendSurveyToDistributionList(Long surveyId, String userId, List<String> roles, UUID distributionListId) {
+    public UUID sendSurveyToDistributionList(Long surveyId, String userId, List<String> roles, UUID distributionListId) {
         Long tenantId = userApi.getTenantId();
         Survey survey = surveyRepository.findById(surveyId)
                 .filter(s -> s.getTenantId().equals(tenantId))
@@ -391,35 +401,13 @@ public class SurveyService {
             survey = surveyRepository.save(survey);
         }
 
-        if (survey.getDistributionList() == null || survey.getDistributionList().getContacts().isEmpty()) {
+        if (survey.getDistributionList() == null) {
             throw new BusinessRuleException("DISTRIBUTION_LIST_EMPTY", "No distribution list linked to this survey or list is empty.");
         }
 
-        List<DistributionListContact> contacts = survey.getDistributionList().getContacts();
-        int contactCount = contacts.size();
-        logger.info("Sending survey {} to {} contacts in distribution list.", surveyId, contactCount);
-
-        // Validate and debit wallet for SMS cost before dispatching
-        BigDecimal smsCostPerMessage = surveyCostService.getSmsCostPerMessage();
-        BigDecimal totalSmsCost = smsCostPerMessage.multiply(new BigDecimal(contactCount));
-        BigDecimal walletBalance = billingApi.getWalletBalance(tenantId, Long.valueOf(userId));
-
-        if (walletBalance.compareTo(totalSmsCost) < 0) {
-            throw new BusinessRuleException(
-                    "INSUFFICIENT_FUNDS_FOR_SMS",
-                    "Insufficient wallet balance for SMS distribution. Required: KES " + totalSmsCost
-                            + " (" + contactCount + " contacts × KES " + smsCostPerMessage + "/SMS)"
-                            + ", Available: KES " + walletBalance + "."
-            );
-        }
-
-        billingApi.debitWallet(tenantId, Long.valueOf(userId), totalSmsCost,
-                "SMS distribution for survey " + surveyId + " (" + contactCount + " contacts)");
-
-        List<String> phoneNumbers = contacts.stream().map(DistributionListContact::getPhoneNumber).toList();
-        for (String phoneNumber : phoneNumbers) {
-            smsResponseService.initiateSurvey(phoneNumber, surveyId);
-        }
+        SmsSendJob job = smsSendJobService.createJob(surveyId, survey.getDistributionList().getId(), tenantId, userId);
+        logger.info("Queued SMS send job {} for survey {} ({} recipients).", job.getId(), surveyId, job.getTotalRecipients());
+        return job.getId();
     }
 
     /**
@@ -1,29 +1,33 @@
 package com.survey_engine.survey.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.survey_engine.common.events.SurveyCompletedEvent;
+import com.survey_engine.survey.dto.WebhookDeliveryLogPageResponse;
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import com.survey_engine.survey.models.WebhookDeliveryLog;
 import com.survey_engine.survey.models.WebhookSubscription;
+import com.survey_engine.survey.repository.WebhookDeliveryAttemptRepository;
+import com.survey_engine.survey.repository.WebhookDeliveryLogCursor;
 import com.survey_engine.survey.repository.WebhookDeliveryLogRepository;
 import com.survey_engine.survey.repository.WebhookSubscriptionRepository;
-import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.survey.service.webhook.WebhookDeliveryEngine;
+import com.survey_engine.survey.service.webhook.WebhookRoute;
+import com.survey_engine.survey.service.webhook.WebhookRoutingCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.survey_engine.common.exception.BusinessRuleException;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.net.InetAddress;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -32,29 +36,69 @@ import java.util.UUID;
  * Manages outbound webhook subscriptions and event delivery.
  * When platform events occur (e.g. SURVEY_COMPLETED), matching subscriptions
  * receive an HTTP POST with the event payload, signed with HMAC-SHA256.
+ * Deliveries are queued in {@code webhook_delivery_attempts} and sent by {@link WebhookDeliveryEngine}.
+ * Events are routed from {@link WebhookRoutingCache}, which every subscription change must evict.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebhookDeliveryService {
 
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MIN_BATCH_WINDOW_MS = 100;
+    static final int MAX_BATCH_WINDOW_MS = 60_000;
+
     private final WebhookSubscriptionRepository subscriptionRepository;
     private final WebhookDeliveryLogRepository deliveryLogRepository;
-    private final SurveyRepository surveyRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
     private final ObjectMapper objectMapper;
-    private final WebClient.Builder webClientBuilder;
-
+    private final WebhookDeliveryAttemptRepository attemptRepository;
+    private final WebhookRoutingCache routingCache;
+
+    /**
+     * Creates a subscription. Passing a batch size and window opts it in to batched delivery:
+     * its events are sent as a JSON array of up to {@code batchMaxSize} events, at most
+     * {@code batchWindowMs} after the oldest of them occurred.
+     * @param tenantId The tenant that owns the subscription.
+     * @param targetUrl The endpoint events are posted to.
+     * @param eventTypesJson The event types to receive, as a JSON array.
+     * @param secret The signing secret, or null.
+     * @param batchMaxSize The most events per request, or null for one request per event.
+     * @param batchWindowMs How long events wait to be sent together, or null for one request per event.
+     * @return The saved subscription.
+     */
     @Transactional
-    public WebhookSubscription createSubscription(Long tenantId, String targetUrl,
-                                                   String eventTypesJson, String secret) {
+    public WebhookSubscription createSubscription(Long tenantId, String targetUrl, String eventTypesJson,
+                                                   String secret, Integer batchMaxSize, Integer batchWindowMs) {
         validateTargetUrl(targetUrl);
+        validateBatching(batchMaxSize, batchWindowMs);
         WebhookSubscription sub = new WebhookSubscription();
         sub.setTenantId(tenantId);
         sub.setTargetUrl(targetUrl);
         sub.setEventTypes(eventTypesJson);
         sub.setSecret(secret);
+        sub.setBatchMaxSize(batchMaxSize);
+        sub.setBatchWindowMs(batchWindowMs);
         sub.setActive(true);
-        return subscriptionRepository.save(sub);
+        WebhookSubscription saved = subscriptionRepository.save(sub);
+        routingCache.evict(tenantId);
+        return saved;
+    }
+
+    private void validateBatching(Integer batchMaxSize, Integer batchWindowMs) {
+        if (batchMaxSize == null && batchWindowMs == null) return;
+        if (batchMaxSize == null || batchWindowMs == null) {
+            throw new BusinessRuleException("INVALID_WEBHOOK_BATCHING",
+                    "Batched delivery needs both a batch size and a batch window");
+        }
+        if (batchMaxSize < 1 || batchMaxSize > MAX_BATCH_SIZE) {
+            throw new BusinessRuleException("INVALID_WEBHOOK_BATCHING",
+                    "Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (batchWindowMs < MIN_BATCH_WINDOW_MS || batchWindowMs > MAX_BATCH_WINDOW_MS) {
+            throw new BusinessRuleException("INVALID_WEBHOOK_BATCHING",
+                    "Batch window must be between " + MIN_BATCH_WINDOW_MS + " and " + MAX_BATCH_WINDOW_MS + " ms");
+        }
     }
 
     private void validateTargetUrl(String targetUrl) {
@@ -90,17 +134,67 @@ public class WebhookDeliveryService {
         WebhookSubscription sub = findOwnedSubscription(tenantId, subscriptionId);
         sub.setActive(active);
         subscriptionRepository.save(sub);
+        routingCache.evict(tenantId);
     }
 
     @Transactional
     public void deleteSubscription(Long tenantId, UUID subscriptionId) {
         findOwnedSubscription(tenantId, subscriptionId);
         subscriptionRepository.deleteById(subscriptionId);
+        routingCache.evict(tenantId);
+    }
+
+    /**
+     * Queues the events originally sent to a subscription in a time range for delivery again,
+     * and closes the subscription's circuit.
+     * @param tenantId The tenant that owns the subscription.
+     * @param subscriptionId The subscription.
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return The number of deliveries queued.
+     */
+    @Transactional
+    public int replayDeliveries(Long tenantId, UUID subscriptionId, LocalDateTime from, LocalDateTime to) {
+        findOwnedSubscription(tenantId, subscriptionId);
+        if (!from.isBefore(to)) {
+            throw new BusinessRuleException("INVALID_REPLAY_RANGE", "'from' must be before 'to'");
+        }
+        return attemptRepository.replay(subscriptionId, from, to);
     }
 
-    public List<WebhookDeliveryLog> getDeliveryLogs(Long tenantId, UUID subscriptionId) {
+    /**
+     * Retrieves a subscription's delivery log, newest first, one page at a time.
+     * @param tenantId The tenant that owns the subscription.
+     * @param subscriptionId The subscription.
+     * @param status {@code SUCCESS} or {@code FAILED} to list only those deliveries, or null for all.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit The page size.
+     * @return A page of log entries.
+     */
+    public WebhookDeliveryLogPageResponse getDeliveryLogs(Long tenantId, UUID subscriptionId, String status,
+                                                          String cursor, int limit) {
         findOwnedSubscription(tenantId, subscriptionId);
-        return deliveryLogRepository.findBySubscriptionIdOrderByDeliveredAtDesc(subscriptionId);
+        Boolean success = parseDeliveryStatus(status);
+
+        // Fetch one extra row to learn whether another page follows.
+        List<WebhookDeliveryLog> entries = deliveryLogRepository.findPage(subscriptionId, success,
+                WebhookDeliveryLogCursor.decode(cursor), limit + 1);
+        if (entries.size() <= limit) {
+            return new WebhookDeliveryLogPageResponse(entries, null);
+        }
+        List<WebhookDeliveryLog> page = entries.subList(0, limit);
+        WebhookDeliveryLog last = page.get(limit - 1);
+        return new WebhookDeliveryLogPageResponse(page, new WebhookDeliveryLogCursor(last.getDeliveredAt(), last.getId()).encode());
+    }
+
+    private static Boolean parseDeliveryStatus(String status) {
+        if (status == null || status.isBlank()) return null;
+        return switch (status.trim().toUpperCase()) {
+            case "SUCCESS" -> true;
+            case "FAILED" -> false;
+            default -> throw new BusinessRuleException("INVALID_DELIVERY_STATUS",
+                    "Delivery status must be SUCCESS or FAILED");
+        };
     }
 
     private WebhookSubscription findOwnedSubscription(Long tenantId, UUID subscriptionId) {
@@ -114,12 +208,16 @@ public class WebhookDeliveryService {
         return sub;
     }
 
+    /**
+     * Queues a SURVEY_COMPLETED delivery for each matching subscription once the response
+     * transaction has committed. Delivery itself is done by {@link WebhookDeliveryEngine}.
+     */
     @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void onSurveyCompleted(SurveyCompletedEvent event) {
         try {
-            Long tenantId = surveyRepository.findById(event.surveyId())
-                    .map(s -> s.getTenantId())
+            Long tenantId = compiledSurveyCache.get(event.surveyId())
+                    .map(CompiledSurvey::tenantId)
                     .orElse(null);
             if (tenantId == null) return;
 
@@ -132,76 +230,14 @@ public class WebhookDeliveryService {
 
             deliverToSubscribers(tenantId, "SURVEY_COMPLETED", payload);
         } catch (Exception e) {
-            log.error("Webhook delivery failed for SURVEY_COMPLETED event: {}", e.getMessage(), e);
+            log.error("Failed to queue webhooks for SURVEY_COMPLETED event: {}", e.getMessage(), e);
         }
     }
 
-    private void deliverToSubscribers(Long tenantId, String eventType, Map<String, Object> payload) {
-        List<WebhookSubscription> subs = subscriptionRepository.findByTenantIdAndActiveTrue(tenantId);
+    private void deliverToSubscribers(Long tenantId, String eventType, Map<String, Object> payload) throws JsonProcessingException {
+        List<WebhookRoute> routes = routingCache.routes(tenantId, eventType);
+        if (routes.isEmpty()) return;
 
-        for (WebhookSubscription sub : subs) {
-            if (!sub.getEventTypes().contains(eventType)) continue;
-
-            try {
-                String payloadJson = objectMapper.writeValueAsString(payload);
-                String signature = sub.getSecret() != null
-                        ? computeHmac(payloadJson, sub.getSecret()) : null;
-
-                WebClient client = webClientBuilder.build();
-                var requestSpec = client.post()
-                        .uri(sub.getTargetUrl())
-                        .contentType(MediaType.APPLICATION_JSON);
-
-                if (signature != null) {
-                    requestSpec = requestSpec.header("X-Webhook-Signature", signature);
-                }
-
-                var responseSpec = requestSpec
-                        .bodyValue(payloadJson)
-                        .retrieve()
-                        .toEntity(String.class)
-                        .block(java.time.Duration.ofSeconds(10));
-
-                int status = responseSpec != null ? responseSpec.getStatusCode().value() : 0;
-                String body = responseSpec != null ? responseSpec.getBody() : null;
-                boolean success = status >= 200 && status < 300;
-
-                logDelivery(sub.getId(), eventType, payloadJson, status, body, success);
-
-            } catch (Exception e) {
-                log.error("Webhook delivery to {} failed: {}", sub.getTargetUrl(), e.getMessage());
-                try {
-                    String payloadJson = objectMapper.writeValueAsString(payload);
-                    logDelivery(sub.getId(), eventType, payloadJson, 0, e.getMessage(), false);
-                } catch (Exception ignored) {}
-            }
-        }
-    }
-
-    private void logDelivery(UUID subscriptionId, String eventType, String payload,
-                             int httpStatus, String responseBody, boolean success) {
-        WebhookDeliveryLog logEntry = new WebhookDeliveryLog();
-        logEntry.setSubscriptionId(subscriptionId);
-        logEntry.setEventType(eventType);
-        logEntry.setPayload(payload);
-        logEntry.setHttpStatus(httpStatus);
-        logEntry.setResponseBody(responseBody != null && responseBody.length() > 2000
-                ? responseBody.substring(0, 2000) : responseBody);
-        logEntry.setSuccess(success);
-        deliveryLogRepository.save(logEntry);
-    }
-
-    private String computeHmac(String data, String secret) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hex = new StringBuilder();
-            for (byte b : hash) hex.append(String.format("%02x", b));
-            return hex.toString();
-        } catch (Exception e) {
-            log.error("HMAC computation failed", e);
-            return null;
-        }
+        attemptRepository.enqueue(routes, tenantId, eventType, objectMapper.writeValueAsString(payload));
     }
 }
@@ -0,0 +1,84 @@
+package com.survey_engine.survey.service.distribution;
+
+import com.survey_engine.survey.dto.ContactImportResponse;
+import com.survey_engine.survey.dto.ContactRequest;
+import com.survey_engine.survey.repository.DistributionListContactBatchRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adds a stream of contacts to one distribution list in fixed-size batches.
+ * Numbers are normalised and de-duplicated against the rest of the input as they arrive;
+ * numbers the list already holds are dropped by the database. Only the current batch and the
+ * set of numbers seen are kept in memory.
+ */
+public class ContactImporter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final UUID distributionListId;
+    private final DistributionListContactBatchRepository repository;
+    private final PhoneNumberSet seen = new PhoneNumberSet();
+    private final List<ContactRequest> batch = new ArrayList<>(BATCH_SIZE);
+    private long accepted;
+    private long duplicates;
+    private long invalid;
+
+    /**
+     * @param distributionListId The ID of the distribution list, which must already be persisted.
+     * @param repository Repository the batches are written through.
+     */
+    public ContactImporter(UUID distributionListId, DistributionListContactBatchRepository repository) {
+        this.distributionListId = distributionListId;
+        this.repository = repository;
+    }
+
+    /**
+     * Adds one contact.
+     * @param phoneNumber The phone number as given.
+     * @param firstName The first name, or null.
+     * @param lastName The last name, or null.
+     * @param email The email address, or null.
+     */
+    public void add(String phoneNumber, String firstName, String lastName, String email) {
+        String normalized = PhoneNumbers.normalize(phoneNumber);
+        if (normalized == null) {
+            invalid++;
+            return;
+        }
+        if (!seen.add(PhoneNumbers.key(normalized))) {
+            duplicates++;
+            return;
+        }
+        batch.add(new ContactRequest(normalized, blankToNull(firstName), blankToNull(lastName), blankToNull(email)));
+        if (batch.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any buffered contacts and reports the totals.
+     * @param name The name of the distribution list, echoed in the result.
+     * @return The import totals.
+     */
+    public ContactImportResponse finish(String name) {
+        flush();
+        return new ContactImportResponse(distributionListId, name, accepted, duplicates, invalid);
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) return;
+        int inserted = repository.insertIgnoringDuplicates(distributionListId, batch);
+        accepted += inserted;
+        duplicates += batch.size() - inserted;
+        batch.clear();
+    }
+
+    private static String blankToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
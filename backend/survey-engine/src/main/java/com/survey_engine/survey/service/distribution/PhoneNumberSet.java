@@ -0,0 +1,55 @@
+package com.survey_engine.survey.service.distribution;
+
+/**
+ * Open-addressing hash set of phone number keys from {@link PhoneNumbers#key}.
+ * Stores keys in a plain {@code int[]}, about 8 bytes per number, so de-duplicating a
+ * 500k-row import costs a few megabytes rather than the tens a {@code HashSet<String>} would.
+ */
+final class PhoneNumberSet {
+
+    private int[] slots = new int[1 << 12];
+    private int size;
+
+    /**
+     * @param key A non-zero key.
+     * @return true if the key was not already present.
+     */
+    boolean add(int key) {
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        if (!insert(slots, key)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean insert(int[] table, int key) {
+        int mask = table.length - 1;
+        int i = mix(key) & mask;
+        while (table[i] != 0) {
+            if (table[i] == key) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        return true;
+    }
+
+    private void grow() {
+        int[] larger = new int[slots.length * 2];
+        for (int key : slots) {
+            if (key != 0) insert(larger, key);
+        }
+        slots = larger;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,57 @@
+package com.survey_engine.survey.service.distribution;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation of Kenyan mobile numbers to the {@code +254XXXXXXXXX} form used for contacts.
+ */
+public final class PhoneNumbers {
+
+    // Kenyan mobile numbers: an optional +254, 254 or 0 prefix followed by 7XXXXXXXX or 1XXXXXXXX
+    private static final Pattern KENYAN_PHONE_NUMBER_PATTERN = Pattern.compile("^(?:\\+?254|0)?([17][0-9]{8})$");
+
+    private static final Pattern PHONE_PREFIX_PATTERN = Pattern.compile("^\\+?[0-9][0-9 -]*$|^\\+$");
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * @param phoneNumber A phone number in any common format, e.g. {@code 0712 345 678}.
+     * @return The number as {@code +254XXXXXXXXX}, or null if it is not a Kenyan mobile number.
+     */
+    public static String normalize(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return null;
+        }
+        var matcher = KENYAN_PHONE_NUMBER_PATTERN.matcher(phoneNumber.replaceAll("[^\\d+]", ""));
+        return matcher.matches() ? "+254" + matcher.group(1) : null;
+    }
+
+    /**
+     * Turns the start of a phone number, as a user would type it into a search box, into the
+     * matching prefix of normalised numbers.
+     * @param partial The typed digits, e.g. {@code 0712} or {@code +25471}.
+     * @return The prefix, e.g. {@code +254712}, or null if the input is not the start of a phone number.
+     */
+    public static String normalizePrefix(String partial) {
+        if (partial == null || !PHONE_PREFIX_PATTERN.matcher(partial.trim()).matches()) {
+            return null;
+        }
+        String digits = partial.replaceAll("\\D", "");
+        if (digits.isEmpty()) return "+";
+        if (digits.startsWith("254")) return "+" + digits;
+        if ("254".startsWith(digits)) return "+" + digits;
+        if (digits.startsWith("0")) return "+254" + digits.substring(1);
+        return "+254" + digits;
+    }
+
+    /**
+     * Packs a normalised number into an int for compact de-duplication. The nine subscriber
+     * digits start with 7 or 1, so the key is never zero.
+     * @param normalized A number returned by {@link #normalize}.
+     * @return The subscriber digits as an int.
+     */
+    static int key(String normalized) {
+        return Integer.parseInt(normalized, 4, normalized.length(), 10);
+    }
+}
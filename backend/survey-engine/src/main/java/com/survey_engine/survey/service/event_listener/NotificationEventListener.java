@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Listens for generic notification events and uses module-specific services to handle them.
@@ -35,7 +36,12 @@ public class NotificationEventListener {
         }
     }
 
-    @EventListener
+    /**
+     * Queues the requested WhatsApp message once the publishing transaction has committed.
+     *
+     * @param event The event containing the recipient and message details.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleWhatsAppNotificationRequest(WhatsAppNotificationEvent event) {
         log.info("Received WhatsAppNotificationEvent for recipient: {}", event.to());
         try {
@@ -0,0 +1,139 @@
+package com.survey_engine.survey.service.event_listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.survey_engine.survey.config.rabbitmq.RabbitMqConfig;
+import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.dto.ResponseSubmissionPayload;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.quota.ResponseQuotaService;
+import com.survey_engine.survey.service.sse.SseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Batch-consuming variant of {@link RabbitMqListener}, enabled with {@code survey.ingestion.batch.enabled=true}.
+ * Drains up to {@code survey.ingestion.batch.size} submissions per delivery, persists them in one
+ * transaction, and acknowledges each message individually. A payload that cannot be processed is
+ * rejected without requeue so the broker routes it to the dead-letter queue. A redelivered
+ * submission that was already stored is acknowledged and its duplicate reservation released.
+ */
+@Service
+@ConditionalOnProperty(name = "survey.ingestion.batch.enabled", havingValue = "true")
+public class RabbitMqBatchListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RabbitMqBatchListener.class);
+    private final ResponseService responseService;
+    private final SseService sseService;
+    private final ObjectMapper objectMapper;
+    private final ResponseQuotaService responseQuotaService;
+
+    /**
+     * Constructor for RabbitMqBatchListener.
+     * @param responseService An instance of ResponseService to process submissions.
+     * @param sseService An instance of SseService to publish events.
+     * @param objectMapper Jackson mapper for reading message bodies.
+     * @param responseQuotaService Service used to settle the quota reservation of each submission.
+     */
+    @Autowired
+    public RabbitMqBatchListener(ResponseService responseService, SseService sseService, ObjectMapper objectMapper,
+                                 ResponseQuotaService responseQuotaService) {
+        this.responseService = responseService;
+        this.sseService = sseService;
+        this.objectMapper = objectMapper;
+        this.responseQuotaService = responseQuotaService;
+    }
+
+    /**
+     * Processes a batch of submissions from the response queue.
+     * If the batch transaction fails as a whole, each message is retried on its own so that
+     * a single poison payload does not take the rest of the batch to the dead-letter queue.
+     *
+     * @param messages The raw messages drained from the queue.
+     * @param channel The channel the messages were delivered on, used for manual acknowledgement.
+     * @throws IOException if an acknowledgement cannot be sent to the broker.
+     */
+    @RabbitListener(queues = RabbitMqConfig.RESPONSE_QUEUE, containerFactory = RabbitMqConfig.RESPONSE_BATCH_CONTAINER_FACTORY)
+    public void processResponseBatchAndNotify(List<Message> messages, Channel channel) throws IOException {
+        List<ResponseSubmissionPayload> payloads = new ArrayList<>(messages.size());
+        List<Long> deliveryTags = new ArrayList<>(messages.size());
+
+        for (Message message : messages) {
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            try {
+                payloads.add(objectMapper.readValue(message.getBody(), ResponseSubmissionPayload.class));
+                deliveryTags.add(deliveryTag);
+            } catch (IOException e) {
+                logger.error("Unreadable response submission (deliveryTag {}): {}", deliveryTag, e.getMessage());
+                channel.basicNack(deliveryTag, false, false);
+            }
+        }
+
+        if (payloads.isEmpty()) {
+            return;
+        }
+        logger.info("Received batch of {} response submissions", payloads.size());
+
+        Map<Integer, Optional<ResponseResponse>> processed;
+        try {
+            processed = responseService.handleResponseSubmissionBatch(payloads);
+        } catch (Exception e) {
+            logger.warn("Batch of {} response submissions failed ({}). Falling back to per-message processing.",
+                    payloads.size(), e.getMessage());
+            processIndividually(payloads, deliveryTags, channel);
+            return;
+        }
+
+        for (int i = 0; i < payloads.size(); i++) {
+            ResponseSubmissionPayload payload = payloads.get(i);
+            Optional<ResponseResponse> responseDto = processed.get(i);
+            if (responseDto != null) {
+                channel.basicAck(deliveryTags.get(i), false);
+                settle(payload, responseDto);
+            } else {
+                logger.error("Rejecting response submission for survey {} to the DLQ", payload.surveyId());
+                channel.basicNack(deliveryTags.get(i), false, false);
+                responseQuotaService.release(payload.surveyId(), payload.quotaReservationId());
+            }
+        }
+    }
+
+    private void processIndividually(List<ResponseSubmissionPayload> payloads, List<Long> deliveryTags, Channel channel) throws IOException {
+        for (int i = 0; i < payloads.size(); i++) {
+            ResponseSubmissionPayload payload = payloads.get(i);
+            try {
+                Optional<ResponseResponse> responseDto = responseService.handleResponseSubmissionAndRewardPublishing(payload);
+                channel.basicAck(deliveryTags.get(i), false);
+                settle(payload, responseDto);
+            } catch (Exception e) {
+                logger.error("Error processing response submission for survey {}: {}", payload.surveyId(), e.getMessage());
+                channel.basicNack(deliveryTags.get(i), false, false);
+                responseQuotaService.release(payload.surveyId(), payload.quotaReservationId());
+            }
+        }
+    }
+
+    /**
+     * Commits the quota reservation of a stored submission and notifies clients.
+     * A redelivery was already counted when it was first stored, so its reservation is only released.
+     */
+    private void settle(ResponseSubmissionPayload payload, Optional<ResponseResponse> responseDto) {
+        if (responseDto.isEmpty()) {
+            responseQuotaService.release(payload.surveyId(), payload.quotaReservationId());
+            return;
+        }
+        responseQuotaService.commit(payload.surveyId(), payload.quotaReservationId());
+        sseService.publishResponse(responseDto.get());
+    }
+}
@@ -4,38 +4,49 @@ import com.survey_engine.survey.config.rabbitmq.RabbitMqConfig;
 import com.survey_engine.survey.dto.ResponseResponse;
 import com.survey_engine.survey.dto.ResponseSubmissionPayload;
 import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.quota.ResponseQuotaService;
 import com.survey_engine.survey.service.sse.SseService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 /**
  * Listens for survey submission messages from RabbitMQ, delegates processing,
  * and publishes the result for real-time client notifications.
+ * Handles one message at a time; {@link RabbitMqBatchListener} replaces it when
+ * {@code survey.ingestion.batch.enabled=true}.
  */
 @Service
+@ConditionalOnProperty(name = "survey.ingestion.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class RabbitMqListener {
 
     private static final Logger logger = LoggerFactory.getLogger(RabbitMqListener.class);
     private final ResponseService responseService;
     private final SseService sseService;
+    private final ResponseQuotaService responseQuotaService;
 
     /**
      * Constructor for RabbitMqListener.
      * @param responseService An instance of ResponseService to process submissions.
      * @param sseService An instance of SseService to publish events.
+     * @param responseQuotaService Service used to settle the quota reservation of each submission.
      */
     @Autowired
-    public RabbitMqListener(ResponseService responseService, SseService sseService) {
+    public RabbitMqListener(ResponseService responseService, SseService sseService, ResponseQuotaService responseQuotaService) {
         this.responseService = responseService;
         this.sseService = sseService;
+        this.responseQuotaService = responseQuotaService;
     }
 
     /**
      * Listens to the response queue, triggers processing, and notifies clients via SSE.
-     * If processing fails, the message is sent to the Dead-Letter Queue.
+     * If processing fails, the message is sent to the Dead-Letter Queue. A redelivered submission
+     * that was already stored is acknowledged, and its reservation is released rather than counted again.
      *
      * @param payload The survey submission data consumed from the RabbitMQ queue.
      */
@@ -43,13 +54,20 @@ public class RabbitMqListener {
     public void processResponseAndNotify(ResponseSubmissionPayload payload) {
         logger.info("Received response submission for survey {}", payload.surveyId());
         try {
-            ResponseResponse responseDto = responseService.handleResponseSubmissionAndRewardPublishing(payload);
+            Optional<ResponseResponse> processed = responseService.handleResponseSubmissionAndRewardPublishing(payload);
+            if (processed.isEmpty()) {
+                responseQuotaService.release(payload.surveyId(), payload.quotaReservationId());
+                return;
+            }
+            ResponseResponse responseDto = processed.get();
             logger.info("Successfully processed and saved response with ID {}", responseDto.id());
+            responseQuotaService.commit(payload.surveyId(), payload.quotaReservationId());
 
             sseService.publishResponse(responseDto);
 
         } catch (Exception e) {
             logger.error("Error processing response submission for survey {}: {}", payload.surveyId(), e.getMessage());
+            responseQuotaService.release(payload.surveyId(), payload.quotaReservationId());
             // Re-throwing the exception ensures the message is sent to the DLQ
             throw new RuntimeException("Failed to process response submission", e);
         }
@@ -0,0 +1,46 @@
+package com.survey_engine.survey.service.export;
+
+import com.survey_engine.common.exception.BusinessRuleException;
+
+import java.util.Locale;
+
+/**
+ * File formats supported by the response export.
+ */
+public enum ExportFormat {
+
+    /** One row per response, one column per question. */
+    CSV("text/csv", "csv"),
+    /** One JSON object per response per line. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Parses a format name, case-insensitively.
+     * @param value The requested format.
+     * @return The matching format.
+     * @throws BusinessRuleException if the format is not supported.
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BusinessRuleException("INVALID_EXPORT_FORMAT", "Unsupported export format: " + value + ". Use csv or ndjson.");
+        }
+    }
+}
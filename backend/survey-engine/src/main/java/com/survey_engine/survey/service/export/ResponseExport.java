@@ -0,0 +1,18 @@
+package com.survey_engine.survey.service.export;
+
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+
+/**
+ * An authorised export request, ready to be written.
+ * @param survey The survey whose responses are exported.
+ * @param format The file format.
+ */
+public record ResponseExport(CompiledSurvey survey, ExportFormat format) {
+
+    /**
+     * @return The suggested download file name.
+     */
+    public String fileName() {
+        return "survey-" + survey.id() + "-responses." + format.extension();
+    }
+}
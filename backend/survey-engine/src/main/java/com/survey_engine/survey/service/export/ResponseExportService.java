@@ -0,0 +1,224 @@
+package com.survey_engine.survey.service.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVWriter;
+import com.survey_engine.common.exception.ResourceNotFoundException;
+import com.survey_engine.survey.dto.AnswerResponse;
+import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.repository.ResponseExportRepository;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.user.UserApi;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a survey's responses as CSV or NDJSON.
+ * Responses are read through {@link ResponseExportRepository}'s cursor and written to the output
+ * stream as they arrive, so an export of any size runs in constant memory.
+ */
+@Service
+@Slf4j
+public class ResponseExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CSV_ERROR_CHECK_INTERVAL = 1000;
+
+    private final ResponseExportRepository responseExportRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final UserApi userApi;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    /**
+     * Constructor for ResponseExportService.
+     * @param responseExportRepository Repository that streams responses from the database.
+     * @param compiledSurveyCache Cache of survey definitions, used for access checks and CSV columns.
+     * @param userApi API for resolving the caller's tenant.
+     * @param objectMapper Jackson mapper for NDJSON lines.
+     * @param transactionManager Transaction manager; the cursor must run inside a transaction.
+     * @param fetchSize The number of rows fetched from the database per round-trip.
+     */
+    public ResponseExportService(ResponseExportRepository responseExportRepository,
+                                 CompiledSurveyCache compiledSurveyCache,
+                                 UserApi userApi,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${survey.export.fetch-size:1000}") int fetchSize) {
+        this.responseExportRepository = responseExportRepository;
+        this.compiledSurveyCache = compiledSurveyCache;
+        this.userApi = userApi;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Checks that the caller may export a survey's responses.
+     * Only the survey owner or an admin can perform this action.
+     *
+     * @param surveyId The ID of the survey.
+     * @param format The requested file format.
+     * @param userId The ID of the user making the request.
+     * @param roles The roles of the user.
+     * @return The export, to be passed to {@link #write}.
+     */
+    public ResponseExport prepare(Long surveyId, ExportFormat format, String userId, List<String> roles) {
+        Long tenantId = userApi.getTenantId();
+        CompiledSurvey survey = compiledSurveyCache.get(surveyId)
+                .filter(s -> s.tenantId().equals(tenantId))
+                .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + surveyId));
+        if (!survey.userId().equals(userId) && (roles == null || !roles.contains("ADMIN"))) {
+            throw new AccessDeniedException("You do not have permission to export responses for this survey.");
+        }
+        return new ResponseExport(survey, format);
+    }
+
+    /**
+     * Writes every response of the survey to the output stream.
+     * The stream is flushed but not closed.
+     * @param export The export returned by {@link #prepare}.
+     * @param out The destination, typically the HTTP response body.
+     * @param gzip Whether to gzip-compress the output.
+     * @throws IOException if writing to the output fails, e.g. because the client disconnected.
+     */
+    public void write(ResponseExport export, OutputStream out, boolean gzip) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long started = System.currentTimeMillis();
+        long[] count = {0};
+        try {
+            ExportSink sink = switch (export.format()) {
+                case CSV -> csvSink(export.survey(), writer);
+                case NDJSON -> ndjsonSink(writer);
+            };
+            readOnlyTransaction.executeWithoutResult(status ->
+                    responseExportRepository.streamBySurveyId(export.survey().id(), fetchSize, response -> {
+                        sink.accept(response);
+                        count[0]++;
+                    }));
+            sink.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("Exported {} responses of survey {} as {} in {} ms", count[0], export.survey().id(),
+                export.format(), System.currentTimeMillis() - started);
+    }
+
+    private ExportSink csvSink(CompiledSurvey survey, Writer writer) {
+        List<CompiledQuestion> questions = survey.questions();
+        Map<Long, Integer> columns = new HashMap<>();
+        String[] header = new String[4 + questions.size()];
+        header[0] = "response_id";
+        header[1] = "submission_date";
+        header[2] = "participant_id";
+        header[3] = "status";
+        for (int i = 0; i < questions.size(); i++) {
+            columns.put(questions.get(i).id(), 4 + i);
+            header[4 + i] = questions.get(i).questionText();
+        }
+
+        // CSVWriter swallows IOExceptions and checkError() flushes, so errors are checked
+        // periodically, often enough to stop early when the client disconnects, and once at the end.
+        CSVWriter csv = new CSVWriter(writer);
+        csv.writeNext(header);
+        long[] rows = {0};
+        return new ExportSink() {
+            @Override
+            public void accept(ResponseResponse response) {
+                writeRow(response);
+                if (++rows[0] % CSV_ERROR_CHECK_INTERVAL == 0) {
+                    finish();
+                }
+            }
+
+            @Override
+            public void finish() {
+                if (csv.checkError()) {
+                    throw new UncheckedIOException(new IOException("Failed to write CSV export"));
+                }
+            }
+
+            private void writeRow(ResponseResponse response) {
+                String[] row = new String[header.length];
+                row[0] = String.valueOf(response.id());
+                row[1] = response.submissionDate() != null ? response.submissionDate().toString() : "";
+                row[2] = response.participantId() != null ? response.participantId() : "";
+                row[3] = response.status().name();
+                for (AnswerResponse answer : response.answers()) {
+                    Integer column = columns.get(answer.questionId());
+                    if (column == null || answer.answerValue() == null) continue;
+                    String value = neutralizeFormula(answer.answerValue());
+                    row[column] = row[column] == null ? value : row[column] + "; " + value;
+                }
+                csv.writeNext(row);
+            }
+        };
+    }
+
+    private ExportSink ndjsonSink(Writer writer) {
+        return response -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(response));
+                writer.write('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize response " + response.id(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Receives the exported responses in order; {@link #finish} is called once after the last one.
+     */
+    private interface ExportSink extends Consumer<ResponseResponse> {
+        default void finish() {
+        }
+    }
+
+    /**
+     * Prefixes answers that a spreadsheet would evaluate as a formula, since answers are
+     * submitted by respondents and the export is opened by survey owners.
+     */
+    static String neutralizeFormula(String value) {
+        if (value.isEmpty()) return value;
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        if (!formula) return value;
+        try {
+            Double.parseDouble(value);
+            return value;
+        } catch (NumberFormatException e) {
+            return "'" + value;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.survey_engine.survey.service.journal;
+
+import java.util.List;
+
+/**
+ * Records read from the journal in one pass, together with the read position after them.
+ * The batch only takes effect once it is passed to {@link ResponseJournal#acknowledge}.
+ *
+ * @param records The records, in sequence order. May be empty if only corrupt data was skipped.
+ * @param endSegmentIndex The segment holding the read position after the batch.
+ * @param endPosition The read position after the batch.
+ */
+record JournalBatch(List<JournalRecord> records, long endSegmentIndex, int endPosition) {
+
+    long lastSequence() {
+        return records.isEmpty() ? -1 : records.get(records.size() - 1).sequence();
+    }
+}
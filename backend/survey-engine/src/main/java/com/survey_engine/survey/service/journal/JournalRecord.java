@@ -0,0 +1,22 @@
+package com.survey_engine.survey.service.journal;
+
+/**
+ * A record read from a {@link JournalSegment}, or one of the marker values describing why
+ * no record could be read.
+ *
+ * @param sequence The journal-wide sequence number, starting at 1.
+ * @param appendedAt Epoch milliseconds at which the record was appended.
+ * @param payload The serialized submission.
+ * @param segmentIndex The segment the record was read from.
+ * @param nextPosition The offset of the following record in the same segment.
+ */
+record JournalRecord(long sequence, long appendedAt, byte[] payload, long segmentIndex, int nextPosition) {
+
+    static final JournalRecord EMPTY = new JournalRecord(-1, 0, null, -1, -1);
+    static final JournalRecord END = new JournalRecord(-2, 0, null, -1, -1);
+    static final JournalRecord CORRUPT = new JournalRecord(-3, 0, null, -1, -1);
+
+    boolean isRecord() {
+        return sequence > 0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.survey_engine.survey.service.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A fixed-size, memory-mapped journal segment file.
+ * <p>
+ * Records are laid out back to back as {@code [length:int][crc:int][sequence:long][appendedAt:long][payload]}.
+ * The length is written last, so a zero length marks the end of written data and a length of
+ * {@link #END_OF_SEGMENT} marks a segment the writer has rolled over from. The CRC32C covers
+ * the sequence, timestamp and payload, so torn writes are detected on recovery.
+ * <p>
+ * All buffer access uses absolute offsets. One writer and one reader may use a segment
+ * concurrently; the reader must not read past the sequence the writer has published.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int HEADER_SIZE = 24;
+    static final int END_OF_SEGMENT = -1;
+
+    private static final String FILE_PREFIX = "segment-";
+    private static final String FILE_SUFFIX = ".journal";
+
+    private final long index;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private JournalSegment(long index, Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.index = index;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens or creates the segment with the given index, mapping {@code capacity} bytes.
+     */
+    static JournalSegment open(Path directory, long index, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(index));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new JournalSegment(index, path, channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static String fileName(long index) {
+        return String.format("%s%020d%s", FILE_PREFIX, index, FILE_SUFFIX);
+    }
+
+    /**
+     * @return The segment index encoded in a file name, or -1 if the file is not a segment.
+     */
+    static long parseIndex(String fileName) {
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    long index() {
+        return index;
+    }
+
+    boolean fits(int position, int payloadLength) {
+        return (long) position + HEADER_SIZE + payloadLength <= capacity;
+    }
+
+    /**
+     * Writes a record at {@code position}. The caller must have checked {@link #fits}.
+     * @return The position after the record.
+     */
+    int write(int position, long sequence, long appendedAt, byte[] payload) {
+        buffer.putInt(position + 4, checksum(sequence, appendedAt, payload));
+        buffer.putLong(position + 8, sequence);
+        buffer.putLong(position + 16, appendedAt);
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position, payload.length);
+        return position + HEADER_SIZE + payload.length;
+    }
+
+    /**
+     * Marks the segment as complete so readers move on to the next one.
+     */
+    void seal(int position) {
+        if (position + 4 <= capacity) {
+            buffer.putInt(position, END_OF_SEGMENT);
+        }
+    }
+
+    /**
+     * Reads the record at {@code position}.
+     * @return The record, {@link JournalRecord#EMPTY} if nothing has been written there,
+     *         {@link JournalRecord#END} if the segment ends there, or {@link JournalRecord#CORRUPT}.
+     */
+    JournalRecord read(int position) {
+        if (position + HEADER_SIZE > capacity) return JournalRecord.END;
+        int length = buffer.getInt(position);
+        if (length == 0) return JournalRecord.EMPTY;
+        if (length == END_OF_SEGMENT) return JournalRecord.END;
+        if (length < 0 || !fits(position, length)) return JournalRecord.CORRUPT;
+
+        int crc = buffer.getInt(position + 4);
+        long sequence = buffer.getLong(position + 8);
+        long appendedAt = buffer.getLong(position + 16);
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_SIZE, payload);
+        if (crc != checksum(sequence, appendedAt, payload)) return JournalRecord.CORRUPT;
+        return new JournalRecord(sequence, appendedAt, payload, index, position + HEADER_SIZE + length);
+    }
+
+    /**
+     * Zeroes everything from {@code position} to the end of the segment, discarding a torn tail.
+     */
+    void truncate(int position) {
+        byte[] zeros = new byte[8192];
+        for (int offset = position; offset < capacity; offset += zeros.length) {
+            buffer.put(offset, zeros, 0, Math.min(zeros.length, capacity - offset));
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    private static int checksum(long sequence, long appendedAt, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) crc.update((int) (sequence >>> shift));
+        for (int shift = 56; shift >= 0; shift -= 8) crc.update((int) (appendedAt >>> shift));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
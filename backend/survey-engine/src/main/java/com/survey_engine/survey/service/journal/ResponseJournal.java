@@ -0,0 +1,461 @@
+package com.survey_engine.survey.service.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.dto.ResponseSubmissionPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped local journal for response submissions.
+ * <p>
+ * {@link #append} copies a submission into the current segment file and returns without any
+ * network I/O. {@link ResponseJournalDrainer} reads the journal in order, publishes to RabbitMQ
+ * and {@link #acknowledge acknowledges} what the broker confirmed. The confirmed position is
+ * persisted to a checkpoint file, and fully confirmed segments are deleted. After a restart,
+ * every record past the checkpoint is replayed, so delivery is at-least-once. Each submission
+ * carries the id it was given at admission, and the consumers drop one that is already stored.
+ * <p>
+ * When the journal is disabled, not yet open or full, {@link #append} returns false and the
+ * caller publishes directly.
+ */
+@Service
+@Slf4j
+public class ResponseJournal {
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int CHECKPOINT_SIZE = 24;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean syncOnAppend;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+
+    // Writer state, guarded by lock
+    private JournalSegment writeSegment;
+    private int writePosition;
+
+    // Reader state, owned by the drainer thread
+    private long readSegmentIndex;
+    private int readPosition;
+
+    private volatile boolean open;
+    private volatile long lastAppendedSequence;
+    private volatile long confirmedSequence;
+    private volatile long oldestPendingAppendedAt;
+
+    private final Counter appendedCounter;
+    private final Counter rejectedCounter;
+    private final Counter publishedCounter;
+    private final Counter corruptedCounter;
+
+    /**
+     * Constructor for ResponseJournal.
+     * @param objectMapper Jackson mapper used to serialize submissions.
+     * @param meterRegistry Registry for the journal's depth, age and throughput metrics.
+     * @param enabled Whether submissions are journaled at all.
+     * @param directory The directory holding segment files and the checkpoint.
+     * @param segmentSize The size of each memory-mapped segment file.
+     * @param maxSegments The number of segments after which appends are refused.
+     * @param syncOnAppend Whether to flush the segment to disk on every append.
+     */
+    public ResponseJournal(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${survey.journal.enabled:false}") boolean enabled,
+                           @Value("${survey.journal.directory:${java.io.tmpdir}/survey-engine/journal}") String directory,
+                           @Value("${survey.journal.segment-size:16MB}") DataSize segmentSize,
+                           @Value("${survey.journal.max-segments:64}") int maxSegments,
+                           @Value("${survey.journal.sync-on-append:false}") boolean syncOnAppend) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.maxSegments = maxSegments;
+        this.syncOnAppend = syncOnAppend;
+
+        Gauge.builder("survey.journal.depth", this, ResponseJournal::depth)
+                .description("Journaled submissions not yet confirmed by the broker")
+                .register(meterRegistry);
+        TimeGauge.builder("survey.journal.oldest.age", this, TimeUnit.MILLISECONDS, ResponseJournal::oldestPendingAgeMillis)
+                .description("Age of the oldest journaled submission not yet confirmed by the broker")
+                .register(meterRegistry);
+        Gauge.builder("survey.journal.segments", this, journal -> journal.segmentCount())
+                .description("Segment files currently on disk")
+                .register(meterRegistry);
+        this.appendedCounter = meterRegistry.counter("survey.journal.appended");
+        this.rejectedCounter = meterRegistry.counter("survey.journal.rejected");
+        this.publishedCounter = meterRegistry.counter("survey.journal.published");
+        this.corruptedCounter = meterRegistry.counter("survey.journal.corrupted");
+    }
+
+    /**
+     * Opens the journal directory and recovers the writer and reader positions.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(directory);
+            recover();
+            open = true;
+            log.info("Response journal opened at {}: {} segment(s), {} record(s) pending",
+                    directory, segments.size(), depth());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to open response journal at {}. Submissions will be published directly.", directory, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            open = false;
+            for (JournalSegment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+            segments.clear();
+        } catch (IOException e) {
+            log.warn("Failed to close response journal cleanly: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the journal is accepting appends.
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Appends a submission to the journal.
+     * @param payload The submission to journal.
+     * @return true if the submission was journaled; false if the caller must publish it directly.
+     */
+    public boolean append(ResponseSubmissionPayload payload) {
+        if (!open) return false;
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize submission for survey {} to the journal", payload.surveyId(), e);
+            rejectedCounter.increment();
+            return false;
+        }
+        if (bytes.length + JournalSegment.HEADER_SIZE > segmentSize) {
+            rejectedCounter.increment();
+            return false;
+        }
+
+        lock.lock();
+        try {
+            if (!open) return false;
+            if (!writeSegment.fits(writePosition, bytes.length)) {
+                if (segments.size() >= maxSegments) {
+                    log.warn("Response journal is full ({} segments); publishing directly", segments.size());
+                    rejectedCounter.increment();
+                    return false;
+                }
+                rollSegment();
+            }
+            long sequence = lastAppendedSequence + 1;
+            writePosition = writeSegment.write(writePosition, sequence, System.currentTimeMillis(), bytes);
+            if (syncOnAppend) {
+                writeSegment.force();
+            }
+            lastAppendedSequence = sequence;
+            appended.signalAll();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to append submission for survey {} to the journal", payload.surveyId(), e);
+            rejectedCounter.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+        appendedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Reads up to {@code max} records after the last acknowledged position.
+     * Only called from the drainer thread.
+     * @param max The maximum number of records.
+     * @return The batch; empty if nothing is pending.
+     */
+    JournalBatch readBatch(int max) {
+        List<JournalRecord> records = new ArrayList<>(Math.min(max, 1024));
+        long segmentIndex = readSegmentIndex;
+        int position = readPosition;
+        long expected = confirmedSequence + 1;
+        long published = lastAppendedSequence;
+
+        while (records.size() < max && expected <= published) {
+            JournalSegment segment = segment(segmentIndex);
+            if (segment == null) {
+                Long next = nextSegmentIndex(segmentIndex);
+                if (next == null) break;
+                segmentIndex = next;
+                position = 0;
+                continue;
+            }
+
+            JournalRecord record = segment.read(position);
+            if (record == JournalRecord.END) {
+                Long next = nextSegmentIndex(segmentIndex);
+                if (next == null) break;
+                segmentIndex = next;
+                position = 0;
+            } else if (record == JournalRecord.EMPTY) {
+                break;
+            } else if (record == JournalRecord.CORRUPT || record.sequence() < expected) {
+                log.error("Corrupt response journal record in segment {} at offset {}; skipping the rest of the segment",
+                        segmentIndex, position);
+                corruptedCounter.increment();
+                Long next = nextSegmentIndex(segmentIndex);
+                if (next == null) break;
+                segmentIndex = next;
+                position = 0;
+            } else {
+                if (record.sequence() > expected) {
+                    log.error("Response journal skipped from sequence {} to {}", expected, record.sequence());
+                }
+                records.add(record);
+                expected = record.sequence() + 1;
+                position = record.nextPosition();
+            }
+        }
+
+        oldestPendingAppendedAt = records.isEmpty() ? 0 : records.get(0).appendedAt();
+        return new JournalBatch(records, segmentIndex, position);
+    }
+
+    /**
+     * Marks a batch as confirmed by the broker. Persists the checkpoint and deletes fully
+     * confirmed segments. Only called from the drainer thread.
+     * @param batch A batch returned by the last {@link #readBatch} call.
+     */
+    void acknowledge(JournalBatch batch) {
+        if (batch.records().isEmpty() && batch.endSegmentIndex() == readSegmentIndex && batch.endPosition() == readPosition) {
+            return;
+        }
+        long confirmed = batch.records().isEmpty() ? confirmedSequence : batch.lastSequence();
+        try {
+            writeCheckpoint(confirmed, batch.endSegmentIndex(), batch.endPosition());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write response journal checkpoint", e);
+        }
+        readSegmentIndex = batch.endSegmentIndex();
+        readPosition = batch.endPosition();
+        confirmedSequence = confirmed;
+        publishedCounter.increment(batch.records().size());
+        if (confirmedSequence >= lastAppendedSequence) {
+            oldestPendingAppendedAt = 0;
+        }
+        deleteSegmentsBefore(readSegmentIndex);
+    }
+
+    /**
+     * Blocks until a record is appended or the timeout elapses.
+     */
+    void awaitAppend(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            if (lastAppendedSequence <= confirmedSequence) {
+                appended.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long depth() {
+        return Math.max(0, lastAppendedSequence - confirmedSequence);
+    }
+
+    private double oldestPendingAgeMillis() {
+        long oldest = oldestPendingAppendedAt;
+        return oldest == 0 || depth() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    private int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JournalSegment segment(long index) {
+        lock.lock();
+        try {
+            return segments.get(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Long nextSegmentIndex(long index) {
+        lock.lock();
+        try {
+            return segments.higherKey(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        writeSegment.seal(writePosition);
+        writeSegment.force();
+        writeSegment = JournalSegment.open(directory, writeSegment.index() + 1, segmentSize);
+        segments.put(writeSegment.index(), writeSegment);
+        writePosition = 0;
+    }
+
+    private void deleteSegmentsBefore(long index) {
+        lock.lock();
+        try {
+            Map<Long, JournalSegment> confirmed = segments.headMap(index, false);
+            for (JournalSegment segment : new ArrayList<>(confirmed.values())) {
+                if (segment == writeSegment) continue;
+                try {
+                    segment.delete();
+                    segments.remove(segment.index());
+                } catch (IOException e) {
+                    log.warn("Failed to delete confirmed journal segment {}: {}", segment.index(), e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Checkpoint checkpoint = readCheckpoint();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                long index = JournalSegment.parseIndex(file.getFileName().toString());
+                if (index >= 0) {
+                    segments.put(index, JournalSegment.open(directory, index, segmentSize));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(1L, JournalSegment.open(directory, 1L, segmentSize));
+        }
+
+        // Find the end of written data: the last valid record of the last segment
+        long lastSequence = checkpoint.confirmedSequence();
+        writeSegment = segments.lastEntry().getValue();
+        writePosition = 0;
+        for (JournalSegment segment : segments.values()) {
+            int position = 0;
+            while (true) {
+                JournalRecord record = segment.read(position);
+                if (!record.isRecord()) {
+                    if (record == JournalRecord.CORRUPT && segment == writeSegment) {
+                        log.warn("Discarding torn tail of journal segment {} at offset {}", segment.index(), position);
+                        segment.truncate(position);
+                    }
+                    break;
+                }
+                lastSequence = Math.max(lastSequence, record.sequence());
+                position = record.nextPosition();
+            }
+            if (segment == writeSegment) {
+                writePosition = position;
+            }
+        }
+        if (writeSegment.read(writePosition) == JournalRecord.END) {
+            writeSegment = JournalSegment.open(directory, writeSegment.index() + 1, segmentSize);
+            segments.put(writeSegment.index(), writeSegment);
+            writePosition = 0;
+        }
+
+        lastAppendedSequence = lastSequence;
+        confirmedSequence = checkpoint.confirmedSequence();
+        if (segments.containsKey(checkpoint.segmentIndex())) {
+            readSegmentIndex = checkpoint.segmentIndex();
+            readPosition = checkpoint.position();
+        } else {
+            readSegmentIndex = segments.firstKey();
+            readPosition = 0;
+        }
+        deleteSegmentsBefore(readSegmentIndex);
+    }
+
+    private Checkpoint readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) return new Checkpoint(0, -1, 0);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != CHECKPOINT_SIZE) {
+            log.warn("Ignoring malformed response journal checkpoint");
+            return new Checkpoint(0, -1, 0);
+        }
+        long confirmed = buffer.getLong();
+        long segmentIndex = buffer.getLong();
+        int position = buffer.getInt();
+        int crc = buffer.getInt();
+        if (crc != checkpointChecksum(confirmed, segmentIndex, position)) {
+            log.warn("Ignoring response journal checkpoint with a bad checksum");
+            return new Checkpoint(0, -1, 0);
+        }
+        return new Checkpoint(confirmed, segmentIndex, position);
+    }
+
+    private void writeCheckpoint(long confirmed, long segmentIndex, int position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE)
+                .putLong(confirmed)
+                .putLong(segmentIndex)
+                .putInt(position)
+                .putInt(checkpointChecksum(confirmed, segmentIndex, position));
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int checkpointChecksum(long confirmed, long segmentIndex, int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(20).putLong(confirmed).putLong(segmentIndex).putInt(position).flip());
+        return (int) crc.getValue();
+    }
+
+    private record Checkpoint(long confirmedSequence, long segmentIndex, int position) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.survey_engine.survey.service.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.config.rabbitmq.RabbitMqConfig;
+import com.survey_engine.survey.dto.ResponseSubmissionPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background thread that publishes journaled submissions to RabbitMQ in order.
+ * <p>
+ * Each batch is sent with correlated publisher confirms; the journal position only advances once
+ * every message in the batch has been acknowledged by the broker. On a nack, a timeout or a
+ * connection failure, the same batch is retried with exponential backoff, so a submission may be
+ * delivered more than once but is never dropped.
+ */
+@Component
+@Slf4j
+public class ResponseJournalDrainer implements SmartLifecycle {
+
+    private static final Duration IDLE_WAIT = Duration.ofMillis(500);
+
+    private final ResponseJournal journal;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration maxBackoff;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructor for ResponseJournalDrainer.
+     * @param journal The journal to drain.
+     * @param rabbitTemplate The template used to publish submissions.
+     * @param objectMapper Jackson mapper for reading journaled submissions.
+     * @param batchSize The maximum number of submissions published per confirm round.
+     * @param confirmTimeout How long to wait for the broker to confirm a batch.
+     * @param maxBackoff The longest pause between retries while the broker is unavailable.
+     */
+    public ResponseJournalDrainer(ResponseJournal journal,
+                                  @Qualifier("surveyRabbitTemplate") RabbitTemplate rabbitTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${survey.journal.drain.batch-size:200}") int batchSize,
+                                  @Value("${survey.journal.drain.confirm-timeout:PT10S}") Duration confirmTimeout,
+                                  @Value("${survey.journal.drain.max-backoff:PT30S}") Duration maxBackoff) {
+        this.journal = journal;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void start() {
+        if (!journal.isOpen()) return;
+        running = true;
+        worker = new Thread(this::drain, "response-journal-drainer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(confirmTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts after the RabbitMQ listener containers and stops before them, so pending
+     * submissions are flushed while the broker connection is still available.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1;
+    }
+
+    private void drain() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                if (backoffMs > 0) {
+                    Thread.sleep(backoffMs);
+                }
+                JournalBatch batch = journal.readBatch(batchSize);
+                if (batch.records().isEmpty()) {
+                    journal.acknowledge(batch);
+                    journal.awaitAppend(IDLE_WAIT);
+                    continue;
+                }
+                if (publish(batch.records())) {
+                    journal.acknowledge(batch);
+                    backoffMs = 0;
+                } else {
+                    backoffMs = nextBackoff(backoffMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Response journal drainer failed: {}", e.getMessage(), e);
+                backoffMs = nextBackoff(backoffMs);
+            }
+        }
+    }
+
+    /**
+     * Publishes a batch and waits for every confirm.
+     * @return true if the broker acknowledged every message.
+     */
+    private boolean publish(List<JournalRecord> records) throws InterruptedException {
+        List<CorrelationData> pending = new ArrayList<>(records.size());
+        for (JournalRecord record : records) {
+            ResponseSubmissionPayload payload;
+            try {
+                payload = objectMapper.readValue(record.payload(), ResponseSubmissionPayload.class);
+            } catch (IOException e) {
+                // A record that passed its checksum but cannot be read will never succeed; skip it
+                log.error("Dropping unreadable journaled submission (sequence {}): {}", record.sequence(), e.getMessage());
+                continue;
+            }
+            CorrelationData correlation = new CorrelationData("journal-" + record.sequence());
+            try {
+                rabbitTemplate.convertAndSend(RabbitMqConfig.SURVEY_EXCHANGE, RabbitMqConfig.RESPONSE_ROUTING_KEY, payload, correlation);
+            } catch (RuntimeException e) {
+                log.warn("Could not publish journaled submissions: {}", e.getMessage());
+                return false;
+            }
+            pending.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (CorrelationData correlation : pending) {
+            try {
+                CorrelationData.Confirm confirm = correlation.getFuture()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    log.warn("Broker rejected journaled submission {}: {}", correlation.getId(), confirm.getReason());
+                    return false;
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("No confirm for journaled submission {} within {}", correlation.getId(), confirmTimeout);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long nextBackoff(long current) {
+        return Math.min(maxBackoff.toMillis(), current == 0 ? 100 : current * 2);
+    }
+}
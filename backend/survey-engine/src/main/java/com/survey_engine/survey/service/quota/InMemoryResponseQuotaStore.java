@@ -0,0 +1,99 @@
+package com.survey_engine.survey.service.quota;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node {@link ResponseQuotaStore} kept in process memory.
+ * Enabled with {@code survey.quota.store=memory}, for local development and tests only:
+ * counters are not shared between instances and are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.quota.store", havingValue = "memory")
+public class InMemoryResponseQuotaStore implements ResponseQuotaStore {
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryResponseQuotaStore() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryResponseQuotaStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Outcome tryReserve(Long surveyId, long limit, String reservationId, Duration hold) {
+        Counter counter = counters.get(surveyId);
+        if (counter == null) return Outcome.UNSEEDED;
+        synchronized (counter) {
+            long now = clock.millis();
+            counter.held.values().removeIf(expiresAt -> expiresAt <= now);
+            if (counter.committed + counter.held.size() >= limit) return Outcome.EXHAUSTED;
+            counter.held.put(reservationId, now + hold.toMillis());
+            return Outcome.RESERVED;
+        }
+    }
+
+    @Override
+    public void seed(Long surveyId, long committed) {
+        counters.putIfAbsent(surveyId, new Counter(committed));
+    }
+
+    @Override
+    public void commit(Long surveyId, String reservationId) {
+        Counter counter = counters.get(surveyId);
+        if (counter == null) return;
+        synchronized (counter) {
+            if (reservationId != null) counter.held.remove(reservationId);
+            counter.committed++;
+        }
+    }
+
+    @Override
+    public void release(Long surveyId, String reservationId) {
+        Counter counter = counters.get(surveyId);
+        if (counter == null) return;
+        synchronized (counter) {
+            counter.held.remove(reservationId);
+        }
+    }
+
+    @Override
+    public Map<Long, Long> committedCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        counters.forEach((surveyId, counter) -> {
+            synchronized (counter) {
+                counts.put(surveyId, counter.committed);
+            }
+        });
+        return counts;
+    }
+
+    @Override
+    public boolean reconcile(Long surveyId, long expected, long actual) {
+        Counter counter = counters.get(surveyId);
+        if (counter == null) return false;
+        synchronized (counter) {
+            if (counter.committed != expected) return false;
+            counter.committed = actual;
+            return true;
+        }
+    }
+
+    private static final class Counter {
+        private long committed;
+        private final Map<String, Long> held = new HashMap<>();
+
+        private Counter(long committed) {
+            this.committed = committed;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.survey_engine.survey.service.quota;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis-backed {@link ResponseQuotaStore}.
+ * Each survey has a committed counter ({@code survey:quota:{id}:committed}) and a sorted set of
+ * reservations scored by expiry time ({@code survey:quota:{id}:held}). Both keys share a hash tag
+ * so the Lua scripts below stay valid on Redis Cluster. Counters expire after a period of
+ * inactivity and are re-seeded from the database on next use.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.quota.store", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisResponseQuotaStore implements ResponseQuotaStore {
+
+    private static final String KEY_PREFIX = "survey:quota:{";
+    private static final String TRACKED_KEY = "survey:quota:tracked";
+
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>("""
+            local committed = redis.call('GET', KEYS[1])
+            if not committed then return -1 end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+            local limit = tonumber(ARGV[1])
+            if tonumber(committed) + redis.call('ZCARD', KEYS[2]) >= limit then return 0 end
+            redis.call('ZADD', KEYS[2], now + tonumber(ARGV[3]), ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> COMMIT = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('INCR', KEYS[1])
+            end
+            return -1
+            """, Long.class);
+
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'KEEPTTL')
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration keyTtl;
+
+    /**
+     * Constructor for RedisResponseQuotaStore.
+     * @param redisTemplate String-serialising Redis template.
+     * @param keyTtl How long an unused counter is kept before it must be re-seeded.
+     */
+    public RedisResponseQuotaStore(StringRedisTemplate redisTemplate,
+                                   @Value("${survey.quota.key-ttl:P7D}") Duration keyTtl) {
+        this.redisTemplate = redisTemplate;
+        this.keyTtl = keyTtl;
+    }
+
+    @Override
+    public Outcome tryReserve(Long surveyId, long limit, String reservationId, Duration hold) {
+        Long result = redisTemplate.execute(RESERVE, keys(surveyId),
+                String.valueOf(limit), reservationId, String.valueOf(hold.toMillis()), String.valueOf(keyTtl.toMillis()));
+        if (result == null || result < 0) return Outcome.UNSEEDED;
+        return result == 1 ? Outcome.RESERVED : Outcome.EXHAUSTED;
+    }
+
+    @Override
+    public void seed(Long surveyId, long committed) {
+        redisTemplate.opsForValue().setIfAbsent(committedKey(surveyId), String.valueOf(committed), keyTtl);
+        redisTemplate.opsForSet().add(TRACKED_KEY, surveyId.toString());
+    }
+
+    @Override
+    public void commit(Long surveyId, String reservationId) {
+        redisTemplate.execute(COMMIT, keys(surveyId), reservationId != null ? reservationId : "");
+    }
+
+    @Override
+    public void release(Long surveyId, String reservationId) {
+        redisTemplate.opsForZSet().remove(heldKey(surveyId), reservationId);
+    }
+
+    @Override
+    public Map<Long, Long> committedCounts() {
+        Set<String> tracked = redisTemplate.opsForSet().members(TRACKED_KEY);
+        if (tracked == null || tracked.isEmpty()) return Map.of();
+
+        List<Long> surveyIds = tracked.stream().map(Long::valueOf).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(surveyIds.stream().map(this::committedKey).toList());
+
+        Map<Long, Long> counts = new HashMap<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < surveyIds.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value == null) {
+                expired.add(surveyIds.get(i).toString());
+            } else {
+                counts.put(surveyIds.get(i), Long.parseLong(value));
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForSet().remove(TRACKED_KEY, expired.toArray());
+            log.debug("Stopped tracking {} expired response quota counters", expired.size());
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean reconcile(Long surveyId, long expected, long actual) {
+        Long result = redisTemplate.execute(COMPARE_AND_SET, List.of(committedKey(surveyId)),
+                String.valueOf(expected), String.valueOf(actual));
+        return result != null && result == 1;
+    }
+
+    private List<String> keys(Long surveyId) {
+        return List.of(committedKey(surveyId), heldKey(surveyId));
+    }
+
+    private String committedKey(Long surveyId) {
+        return KEY_PREFIX + surveyId + "}:committed";
+    }
+
+    private String heldKey(Long surveyId) {
+        return KEY_PREFIX + surveyId + "}:held";
+    }
+}
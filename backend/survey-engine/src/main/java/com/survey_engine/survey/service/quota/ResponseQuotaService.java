@@ -0,0 +1,144 @@
+package com.survey_engine.survey.service.quota;
+
+import com.survey_engine.survey.repository.ResponseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Admits response submissions against a per-survey limit in O(1).
+ * <p>
+ * A submission first {@link #reserve reserves} a slot. The reservation is
+ * {@link #commit committed} once the response has been persisted, or
+ * {@link #release released} if it is rejected. Reservations that are never resolved
+ * expire after {@code survey.quota.hold}. Counters are seeded from the database on first use
+ * and periodically reconciled with it, so drift from crashed consumers or deleted responses
+ * does not accumulate.
+ */
+@Service
+@Slf4j
+public class ResponseQuotaService {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final ResponseQuotaStore store;
+    private final ResponseRepository responseRepository;
+    private final Duration hold;
+
+    /**
+     * Constructor for ResponseQuotaService.
+     * @param store The counter store.
+     * @param responseRepository Repository used to seed and reconcile counters.
+     * @param hold How long an unresolved reservation counts against the limit.
+     */
+    public ResponseQuotaService(ResponseQuotaStore store,
+                                ResponseRepository responseRepository,
+                                @Value("${survey.quota.hold:PT15M}") Duration hold) {
+        this.store = store;
+        this.responseRepository = responseRepository;
+        this.hold = hold;
+    }
+
+    /**
+     * Reserves a response slot for a survey.
+     * If the counter store is unavailable, falls back to counting persisted responses; the
+     * submission is then admitted without a hold.
+     * @param surveyId The ID of the survey.
+     * @param limit The maximum number of responses the survey may accept.
+     * @return The reservation ID, or empty if the limit has been reached.
+     */
+    public Optional<String> reserve(Long surveyId, long limit) {
+        String reservationId = UUID.randomUUID().toString();
+        try {
+            ResponseQuotaStore.Outcome outcome = store.tryReserve(surveyId, limit, reservationId, hold);
+            if (outcome == ResponseQuotaStore.Outcome.UNSEEDED) {
+                store.seed(surveyId, responseRepository.countBySurveyId(surveyId));
+                outcome = store.tryReserve(surveyId, limit, reservationId, hold);
+            }
+            return outcome == ResponseQuotaStore.Outcome.RESERVED ? Optional.of(reservationId) : Optional.empty();
+        } catch (DataAccessException e) {
+            log.warn("Response quota store unavailable for survey {}, falling back to a database count: {}",
+                    surveyId, e.getMessage());
+            return responseRepository.countBySurveyId(surveyId) < limit ? Optional.of(reservationId) : Optional.empty();
+        }
+    }
+
+    /**
+     * Records a persisted response against the survey's counter.
+     * @param surveyId The ID of the survey.
+     * @param reservationId The reservation made at admission, or null if none was made.
+     */
+    public void commit(Long surveyId, String reservationId) {
+        try {
+            store.commit(surveyId, reservationId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to commit response quota reservation for survey {}: {}", surveyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Releases a reservation whose submission will not be persisted.
+     * @param surveyId The ID of the survey.
+     * @param reservationId The reservation made at admission. Ignored if null.
+     */
+    public void release(Long surveyId, String reservationId) {
+        if (reservationId == null) return;
+        try {
+            store.release(surveyId, reservationId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release response quota reservation for survey {}: {}", surveyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Resets every tracked counter to the number of persisted responses.
+     * The committed count is read before the database, and the counter is only overwritten
+     * if it has not moved in between. A response committed concurrently is therefore never
+     * lost from the count; at worst it is counted twice until the next run.
+     */
+    @Scheduled(fixedDelayString = "${survey.quota.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<Long, Long> observed;
+        try {
+            observed = store.committedCounts();
+        } catch (DataAccessException e) {
+            log.warn("Skipping response quota reconciliation: {}", e.getMessage());
+            return;
+        }
+        if (observed.isEmpty()) return;
+
+        Map<Long, Long> actual = countPersisted(new ArrayList<>(observed.keySet()));
+        int corrected = 0;
+        for (Map.Entry<Long, Long> entry : observed.entrySet()) {
+            long persisted = actual.getOrDefault(entry.getKey(), 0L);
+            if (persisted != entry.getValue() && store.reconcile(entry.getKey(), entry.getValue(), persisted)) {
+                log.debug("Reconciled response quota for survey {}: {} -> {}", entry.getKey(), entry.getValue(), persisted);
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled {} of {} response quota counters", corrected, observed.size());
+        }
+    }
+
+    private Map<Long, Long> countPersisted(List<Long> surveyIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (int from = 0; from < surveyIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = surveyIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, surveyIds.size()));
+            for (Object[] row : responseRepository.countGroupedBySurveyId(chunk)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+}
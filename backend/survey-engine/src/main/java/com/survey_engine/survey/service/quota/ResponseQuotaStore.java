@@ -0,0 +1,73 @@
+package com.survey_engine.survey.service.quota;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Storage for per-survey response quota counters.
+ * A counter consists of the number of committed (persisted) responses and a set of
+ * time-limited reservations for submissions that were admitted but not yet persisted.
+ * Every operation must be atomic with respect to concurrent callers on any node.
+ */
+public interface ResponseQuotaStore {
+
+    /**
+     * The outcome of a reservation attempt.
+     */
+    enum Outcome {
+        /** A slot was reserved. */
+        RESERVED,
+        /** Committed responses plus live reservations already reach the limit. */
+        EXHAUSTED,
+        /** The counter does not exist yet and must be seeded before reserving. */
+        UNSEEDED
+    }
+
+    /**
+     * Reserves one slot if committed responses plus live reservations are below {@code limit}.
+     * Expired reservations are discarded first.
+     * @param surveyId The ID of the survey.
+     * @param limit The maximum number of responses.
+     * @param reservationId A unique ID for the reservation.
+     * @param hold How long the reservation counts against the limit if it is never committed or released.
+     * @return The outcome.
+     */
+    Outcome tryReserve(Long surveyId, long limit, String reservationId, Duration hold);
+
+    /**
+     * Creates the counter with the given committed count, unless it already exists.
+     * @param surveyId The ID of the survey.
+     * @param committed The number of persisted responses.
+     */
+    void seed(Long surveyId, long committed);
+
+    /**
+     * Converts a reservation into a committed response. Counts the response even if the
+     * reservation has already expired; does nothing if the counter does not exist.
+     * @param surveyId The ID of the survey.
+     * @param reservationId The reservation ID, or null if the submission held none.
+     */
+    void commit(Long surveyId, String reservationId);
+
+    /**
+     * Drops a reservation without counting a response.
+     * @param surveyId The ID of the survey.
+     * @param reservationId The reservation ID.
+     */
+    void release(Long surveyId, String reservationId);
+
+    /**
+     * Returns the committed count of every tracked counter, forgetting counters that have expired.
+     * @return Survey ID → committed count.
+     */
+    Map<Long, Long> committedCounts();
+
+    /**
+     * Sets the committed count to {@code actual}, but only if it still equals {@code expected}.
+     * @param surveyId The ID of the survey.
+     * @param expected The committed count observed before {@code actual} was read from the database.
+     * @param actual The number of persisted responses.
+     * @return true if the counter was updated.
+     */
+    boolean reconcile(Long surveyId, long expected, long actual);
+}
@@ -2,31 +2,75 @@ package com.survey_engine.survey.service.sms;
 
 import com.survey_engine.survey.dto.sms.SmsRedisSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service to manage the lifecycle of an SMS survey response session in Redis.
- * This service abstracts the Redis operations for creating, retrieving, and deleting session state.
+ * <p>
+ * Each session is a Redis hash ({@code sms:s:<phone>}) with short field names: {@code s} holds the
+ * survey ID, {@code i} the current question index, {@code a:<questionId>} each answer and
+ * {@code c:<key>} each context entry. Recording an answer writes one field and bumps the index
+ * in a Lua script that first checks the index, so two replies racing for the same question
+ * cannot both be accepted.
  */
 @Service
 public class SmsResponseRedisSession {
 
-    private static final String SESSION_KEY_PREFIX = "sms:session:";
+    private static final String SESSION_KEY_PREFIX = "sms:s:";
+    private static final String LEGACY_KEY_PREFIX = "sms:session:";
     private static final Duration SESSION_TTL = Duration.ofHours(24);
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    static final String SURVEY_FIELD = "s";
+    static final String INDEX_FIELD = "i";
+    static final String ANSWER_PREFIX = "a:";
+    static final String CONTEXT_PREFIX = "c:";
+
+    private static final RedisScript<Long> RECORD_ANSWER = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'i')
+            if not current then return -1 end
+            if current ~= ARGV[1] then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3], 'i', tonumber(ARGV[1]) + 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * Outcome of {@link #recordAnswer}.
+     */
+    public enum AnswerOutcome {
+        /** The answer was stored and the session moved to the next question. */
+        RECORDED,
+        /** The session had already moved past the question; reload it and try again. */
+        STALE,
+        /** There is no session for this participant. */
+        MISSING
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, Object> legacyTemplate;
 
     /**
      * Constructor for SmsResponseRedisSession.
-     * @param redisTemplate The configured RedisTemplate for data access.
+     * @param redisTemplate String-serialising template the session hashes are stored through.
+     * @param legacyTemplate JSON template, used only to read sessions written in the previous format.
      */
     @Autowired
-    public SmsResponseRedisSession(RedisTemplate<String, Object> redisTemplate) {
+    public SmsResponseRedisSession(StringRedisTemplate redisTemplate, RedisTemplate<String, Object> legacyTemplate) {
         this.redisTemplate = redisTemplate;
+        this.legacyTemplate = legacyTemplate;
     }
 
     /**
@@ -39,11 +83,32 @@ public class SmsResponseRedisSession {
     }
 
     /**
-     * Saves or updates a participant's survey session in Redis with a configured Time-To-Live (TTL).
+     * Saves a participant's survey session in Redis, replacing any previous one, with a configured Time-To-Live (TTL).
      * @param session The session object to save.
      */
     public void saveSession(SmsRedisSession session) {
-        redisTemplate.opsForValue().set(getKey(session.sessionId()), session, SESSION_TTL);
+        saveSessions(List.of(session));
+    }
+
+    /**
+     * Saves many sessions in a single pipelined round-trip to Redis.
+     * @param sessions The session objects to save.
+     */
+    public void saveSessions(List<SmsRedisSession> sessions) {
+        if (sessions.isEmpty()) return;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (SmsRedisSession session : sessions) {
+                    String key = getKey(session.sessionId());
+                    operations.delete(key);
+                    operations.opsForHash().putAll(key, encode(session));
+                    operations.expire(key, SESSION_TTL.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                return null;
+            }
+        });
     }
 
     /**
@@ -52,8 +117,27 @@ public class SmsResponseRedisSession {
      * @return An Optional containing the SmsRedisSession if found, otherwise an empty Optional.
      */
     public Optional<SmsRedisSession> getSession(String sessionId) {
-        SmsRedisSession session = (SmsRedisSession) redisTemplate.opsForValue().get(getKey(sessionId));
-        return Optional.ofNullable(session);
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(getKey(sessionId));
+        if (fields.isEmpty()) {
+            return migrateLegacySession(sessionId);
+        }
+        return Optional.of(decode(sessionId, fields));
+    }
+
+    /**
+     * Stores the answer to the participant's current question and moves the session on by one
+     * question, provided the session is still at {@code expectedIndex}. Also refreshes the TTL.
+     * @param sessionId The participant's phone number.
+     * @param expectedIndex The index of the question being answered.
+     * @param questionId The ID of the question being answered.
+     * @param answer The answer value.
+     * @return Whether the answer was recorded, and if not, why.
+     */
+    public AnswerOutcome recordAnswer(String sessionId, int expectedIndex, Long questionId, String answer) {
+        Long result = redisTemplate.execute(RECORD_ANSWER, List.of(getKey(sessionId)),
+                String.valueOf(expectedIndex), ANSWER_PREFIX + questionId, answer, String.valueOf(SESSION_TTL.toMillis()));
+        if (result == null || result < 0) return AnswerOutcome.MISSING;
+        return result == 1 ? AnswerOutcome.RECORDED : AnswerOutcome.STALE;
     }
 
     /**
@@ -63,4 +147,54 @@ public class SmsResponseRedisSession {
     public void deleteSession(String sessionId) {
         redisTemplate.delete(getKey(sessionId));
     }
+
+    /**
+     * Converts a session stored as a JSON value by an earlier release into a hash.
+     * Sessions live for a day, so this can be removed one day after deployment.
+     */
+    private Optional<SmsRedisSession> migrateLegacySession(String sessionId) {
+        Object legacy = legacyTemplate.opsForValue().get(LEGACY_KEY_PREFIX + sessionId);
+        if (!(legacy instanceof SmsRedisSession session)) {
+            return Optional.empty();
+        }
+        saveSession(session);
+        legacyTemplate.delete(LEGACY_KEY_PREFIX + sessionId);
+        return Optional.of(session);
+    }
+
+    static Map<String, String> encode(SmsRedisSession session) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(SURVEY_FIELD, session.surveyId().toString());
+        fields.put(INDEX_FIELD, String.valueOf(session.currentQuestionIndex()));
+        if (session.answers() != null) {
+            session.answers().forEach((questionId, answer) -> fields.put(ANSWER_PREFIX + questionId, answer));
+        }
+        if (session.context() != null) {
+            session.context().forEach((key, value) -> {
+                if (value != null) fields.put(CONTEXT_PREFIX + key, value);
+            });
+        }
+        return fields;
+    }
+
+    static SmsRedisSession decode(String sessionId, Map<?, ?> fields) {
+        Long surveyId = null;
+        int index = 0;
+        Map<Long, String> answers = new HashMap<>();
+        Map<String, String> context = new HashMap<>();
+        for (Map.Entry<?, ?> entry : fields.entrySet()) {
+            String field = entry.getKey().toString();
+            String value = entry.getValue().toString();
+            if (field.equals(SURVEY_FIELD)) {
+                surveyId = Long.valueOf(value);
+            } else if (field.equals(INDEX_FIELD)) {
+                index = Integer.parseInt(value);
+            } else if (field.startsWith(ANSWER_PREFIX)) {
+                answers.put(Long.valueOf(field.substring(ANSWER_PREFIX.length())), value);
+            } else if (field.startsWith(CONTEXT_PREFIX)) {
+                context.put(field.substring(CONTEXT_PREFIX.length()), value);
+            }
+        }
+        return new SmsRedisSession(sessionId, surveyId, index, answers, context);
+    }
 }
@@ -1,24 +1,21 @@
 package com.survey_engine.survey.service.sms;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.survey_engine.survey.common.enums.SurveyStatus;
 import com.survey_engine.survey.dto.AnswerRequest;
 import com.survey_engine.survey.dto.ResponseRequest;
-import com.survey_engine.survey.models.Question;
 import com.survey_engine.survey.dto.sms.SmsRedisSession;
-import com.survey_engine.survey.models.Survey;
-import com.survey_engine.survey.repository.SurveyRepository;
 import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service class to handle the business logic for incoming SMS survey responses.
@@ -28,8 +25,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SmsResponseService {
 
+    private static final int MAX_ANSWER_ATTEMPTS = 3;
+
     private final SmsResponseRedisSession sessionService;
-    private final SurveyRepository surveyRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
     private final ResponseService responseService;
     private final SmsSendingService smsSendingService;
 
@@ -53,30 +52,25 @@ public class SmsResponseService {
      */
     public void initiateSurvey(String phoneNumber, Long surveyId, Map<String, String> context) {
         try {
-            Survey survey = surveyRepository.findById(surveyId)
+            CompiledSurvey survey = compiledSurveyCache.get(surveyId)
                     .orElseThrow(() -> new IllegalArgumentException("Survey not found."));
 
-            if (survey.getStatus() != SurveyStatus.ACTIVE) {
+            if (!survey.isActive()) {
                 log.warn("Attempted to initiate survey {} which is not ACTIVE.", surveyId);
                 return;
             }
 
-            if (survey.getQuestions().isEmpty()) {
+            if (survey.questions().isEmpty()) {
                 log.warn("Attempted to initiate survey {} which has no questions.", surveyId);
                 return;
             }
 
-            // Sort questions by position
-            List<Question> questions = survey.getQuestions().stream()
-                    .sorted(Comparator.comparing(Question::getPosition))
-                    .toList();
-
             // Create new session with context
             SmsRedisSession newSession = new SmsRedisSession(phoneNumber, surveyId, 0, new HashMap<>(), context);
             sessionService.saveSession(newSession);
 
             // Send first question
-            String firstQuestion = questions.get(0).getQuestionText();
+            String firstQuestion = survey.questions().get(0).questionText();
             smsSendingService.sendSms(phoneNumber, firstQuestion);
 
         } catch (Exception e) {
@@ -117,27 +111,22 @@ public class SmsResponseService {
 
         try {
             Long surveyId = Long.parseLong(parts[1]);
-            Survey survey = surveyRepository.findById(surveyId)
+            CompiledSurvey survey = compiledSurveyCache.get(surveyId)
                     .orElseThrow(() -> new IllegalArgumentException("Survey not found."));
 
-            if (survey.getStatus() != SurveyStatus.ACTIVE) {
+            if (!survey.isActive()) {
                 return "This survey is not currently active.";
             }
 
-            if (survey.getQuestions().isEmpty()) {
+            if (survey.questions().isEmpty()) {
                 return "This survey has no questions.";
             }
 
-            // Sort questions by position
-            List<Question> questions = survey.getQuestions().stream()
-                    .sorted(Comparator.comparing(Question::getPosition))
-                    .toList();
-
             // Create new session (no context for self-initiated)
             SmsRedisSession newSession = new SmsRedisSession(from, surveyId, 0, new HashMap<>(), new HashMap<>());
             sessionService.saveSession(newSession);
 
-            return questions.get(0).getQuestionText();
+            return survey.questions().get(0).questionText();
 
         } catch (NumberFormatException e) {
             return "Invalid SURVEY_ID. Please provide a numeric ID.";
@@ -148,46 +137,91 @@ public class SmsResponseService {
 
     /**
      * Handles subsequent messages in an ongoing survey conversation.
+     * The answer is recorded against the question the session is on in Redis. If another reply
+     * moved the session on in the meantime, the session is re-read: a reply identical to the
+     * answer that reply stored is a duplicate delivery and is dropped, anything else is applied
+     * to the question the session is now on.
      *
      * @param session The current {@link SmsRedisSession} for the user.
      * @param body The user's answer to the previous question.
      * @return The next question, a "thank you" message, or an error message.
      */
     private String handleOngoingConversation(SmsRedisSession session, String body) {
-        Survey survey = surveyRepository.findById(session.surveyId()).orElse(null);
-        if (survey == null) {
-            sessionService.deleteSession(session.sessionId());
-            return "The survey you were taking is no longer available.";
-        }
+        String answer = body.trim();
+        for (int attempt = 0; attempt < MAX_ANSWER_ATTEMPTS; attempt++) {
+            CompiledSurvey survey = compiledSurveyCache.get(session.surveyId()).orElse(null);
+            if (survey == null) {
+                sessionService.deleteSession(session.sessionId());
+                return "The survey you were taking is no longer available.";
+            }
 
-        List<Question> questions = survey.getQuestions().stream()
-                .sorted(Comparator.comparing(Question::getPosition))
-                .toList();
+            List<CompiledQuestion> questions = survey.questions();
+            int index = session.currentQuestionIndex();
+            if (index >= questions.size()) {
+                // A concurrent reply already answered the last question and is completing the survey
+                return "Thank you for completing the survey!";
+            }
 
-        // Save the answer to the current question
-        Question currentQuestion = questions.get(session.currentQuestionIndex());
-        session.answers().put(currentQuestion.getId(), body.trim());
+            CompiledQuestion currentQuestion = questions.get(index);
+            SmsResponseRedisSession.AnswerOutcome outcome =
+                    sessionService.recordAnswer(session.sessionId(), index, currentQuestion.id(), answer);
+
+            switch (outcome) {
+                case RECORDED -> {
+                    int nextIndex = index + 1;
+                    if (nextIndex < questions.size()) {
+                        return questions.get(nextIndex).questionText();
+                    }
+                    return completeSurvey(session.sessionId(), questions);
+                }
+                case MISSING -> {
+                    return handleNewConversation(session.sessionId(), body);
+                }
+                case STALE -> {
+                    Optional<SmsRedisSession> reloaded = sessionService.getSession(session.sessionId());
+                    if (reloaded.isEmpty()) {
+                        return handleNewConversation(session.sessionId(), body);
+                    }
+                    session = reloaded.get();
+                    if (answer.equals(session.answers().get(currentQuestion.id()))) {
+                        // The same reply was delivered twice; the first copy already answered this question
+                        log.debug("Dropping duplicate SMS answer from {} to question {}", session.sessionId(), currentQuestion.id());
+                        int currentIndex = session.currentQuestionIndex();
+                        return currentIndex < questions.size()
+                                ? questions.get(currentIndex).questionText()
+                                : "Thank you for completing the survey!";
+                    }
+                }
+            }
+        }
+        log.warn("Gave up recording SMS answer for {} after {} concurrent updates", session.sessionId(), MAX_ANSWER_ATTEMPTS);
+        return "We could not record your answer. Please send it again.";
+    }
 
-        int nextIndex = session.currentQuestionIndex() + 1;
+    /**
+     * Persists the response once the last answer has been recorded and removes the session.
+     * Only the reply whose answer advanced the session past the last question gets here.
+     */
+    private String completeSurvey(String sessionId, List<CompiledQuestion> questions) {
+        SmsRedisSession session = sessionService.getSession(sessionId).orElse(null);
+        if (session == null) {
+            return "Thank you for completing the survey!";
+        }
 
-        if (nextIndex < questions.size()) {
-            // There are more questions
-            SmsRedisSession updatedSession = new SmsRedisSession(session.sessionId(), session.surveyId(), nextIndex, session.answers(), session.context());
-            sessionService.saveSession(updatedSession);
-            return questions.get(nextIndex).getQuestionText();
-        } else {
-            // This was the last question, survey is complete
-            List<AnswerRequest> answerRequests = session.answers().entrySet().stream()
-                    .map(entry -> new AnswerRequest(entry.getKey(), entry.getValue()))
-                    .collect(Collectors.toList());
+        List<AnswerRequest> answerRequests = new ArrayList<>(questions.size());
+        for (CompiledQuestion question : questions) {
+            String answer = session.answers().get(question.id());
+            if (answer != null) {
+                answerRequests.add(new AnswerRequest(question.id(), answer));
+            }
+        }
 
-            ResponseRequest finalRequest = new ResponseRequest(answerRequests, session.context());
-            
-            // Pass the context as metadata
-            responseService.createResponse(session.surveyId(), finalRequest, null, session.sessionId(), session.context()); 
+        ResponseRequest finalRequest = new ResponseRequest(answerRequests, session.context());
 
-            sessionService.deleteSession(session.sessionId());
-            return "Thank you for completing the survey!";
-        }
+        // Pass the context as metadata
+        responseService.createResponse(session.surveyId(), finalRequest, null, sessionId, session.context());
+
+        sessionService.deleteSession(sessionId);
+        return "Thank you for completing the survey!";
     }
 }
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.List;
 
 @Service
@@ -40,5 +41,18 @@ public class SmsSendingService {
             log.error("An unexpected error occurred while sending SMS to {}: {}", to, e.getMessage());
         }
     }
-}
 
+    /**
+     * Sends the same SMS message to many recipients in a single provider request.
+     * Unlike {@link #sendSms}, failures are reported to the caller so that it can retry.
+     *
+     * @param recipients The recipients' phone numbers in international format.
+     * @param message    The content of the SMS message.
+     * @return The provider's status for each recipient it processed.
+     * @throws IOException if the request to the provider fails.
+     */
+    public List<Recipient> sendBulk(List<String> recipients, String message) throws IOException {
+        List<Recipient> response = smsService.send(message, recipients.toArray(String[]::new), true);
+        return response != null ? response : List.of();
+    }
+}
@@ -0,0 +1,297 @@
+package com.survey_engine.survey.service.sms.job;
+
+import com.africastalking.sms.Recipient;
+import com.survey_engine.survey.common.enums.SmsRecipientStatus;
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+import com.survey_engine.survey.dto.sms.SmsJobRecipient;
+import com.survey_engine.survey.dto.sms.SmsJobRecipientResult;
+import com.survey_engine.survey.dto.sms.SmsRedisSession;
+import com.survey_engine.survey.models.SmsSendJob;
+import com.survey_engine.survey.repository.SmsSendJobRecipientRepository;
+import com.survey_engine.survey.repository.SmsSendJobRepository;
+import com.survey_engine.survey.service.sms.SmsResponseRedisSession;
+import com.survey_engine.survey.service.sms.SmsSendingService;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Works through bulk SMS send jobs.
+ * <p>
+ * A job runs on the node holding its lease. The driver reads pending recipients in ID order,
+ * splits them into provider batches and hands up to {@code survey.sms.send.concurrency} batches
+ * to the send workers at a time. Each batch creates its Redis sessions in one pipelined call,
+ * sends the first question to all its recipients in one provider request, and records every
+ * recipient's outcome together with the job counters in one transaction, then renews the lease,
+ * so the lease is renewed at least once per provider batch rather than once per round. Recipients left
+ * {@code PENDING} by a crash are sent when the job is resumed, either by this node on restart or
+ * by another node once the lease expires; a batch interrupted between the provider call and the
+ * status update is therefore sent again.
+ */
+@Component
+@Slf4j
+public class SmsSendJobRunner {
+
+    private final SmsSendJobRepository jobRepository;
+    private final SmsSendJobRecipientRepository recipientRepository;
+    private final SmsResponseRedisSession sessionService;
+    private final SmsSendingService smsSendingService;
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final TransactionTemplate transactionTemplate;
+    private final SmsSendRateLimiter rateLimiter;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService driver = Executors.newSingleThreadExecutor(r -> new Thread(r, "sms-send-job"));
+    private final ExecutorService workers;
+
+    /**
+     * Constructor for SmsSendJobRunner.
+     * @param jobRepository Repository for jobs and their leases.
+     * @param recipientRepository Repository for job recipients.
+     * @param sessionService Store for SMS survey sessions.
+     * @param smsSendingService Service that talks to the SMS provider.
+     * @param compiledSurveyCache Cache of survey definitions.
+     * @param transactionManager Transaction manager for recording batch outcomes.
+     * @param batchSize The number of recipients per provider request.
+     * @param concurrency The number of provider requests in flight per node.
+     * @param messagesPerSecond The provider rate limit per node; zero disables pacing.
+     * @param maxAttempts The number of times a failed provider request is tried before its recipients are marked failed.
+     * @param leaseDuration How long a job stays claimed by a node without a heartbeat; must be at
+     *                      least twice as long as a round of batches takes at the paced rate.
+     */
+    public SmsSendJobRunner(SmsSendJobRepository jobRepository,
+                            SmsSendJobRecipientRepository recipientRepository,
+                            SmsResponseRedisSession sessionService,
+                            SmsSendingService smsSendingService,
+                            CompiledSurveyCache compiledSurveyCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${survey.sms.send.batch-size:500}") int batchSize,
+                            @Value("${survey.sms.send.concurrency:4}") int concurrency,
+                            @Value("${survey.sms.send.messages-per-second:100}") double messagesPerSecond,
+                            @Value("${survey.sms.send.max-attempts:3}") int maxAttempts,
+                            @Value("${survey.sms.send.lease:PT2M}") Duration leaseDuration) {
+        this.jobRepository = jobRepository;
+        this.recipientRepository = recipientRepository;
+        this.sessionService = sessionService;
+        this.smsSendingService = smsSendingService;
+        this.compiledSurveyCache = compiledSurveyCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new SmsSendRateLimiter(messagesPerSecond);
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = leaseDuration;
+        if (messagesPerSecond > 0) {
+            // A batch may wait behind every other in-flight batch for the rate limiter before it can renew
+            Duration round = Duration.ofMillis((long) Math.ceil(batchSize * concurrency * 1000.0 / messagesPerSecond));
+            if (leaseDuration.compareTo(round.multipliedBy(2)) < 0) {
+                throw new IllegalStateException("survey.sms.send.lease (" + leaseDuration + ") must be at least twice "
+                        + "the time to send batch-size * concurrency messages (" + round + ")");
+            }
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, r -> new Thread(r, "sms-send-" + threads.incrementAndGet()));
+    }
+
+    /**
+     * Queues a job to run on this node. Calls for a job that is already queued are ignored.
+     * @param jobId The ID of the job.
+     */
+    public void submit(UUID jobId) {
+        if (queued.add(jobId)) {
+            driver.execute(() -> {
+                try {
+                    run(jobId);
+                } catch (Exception e) {
+                    log.error("SMS send job {} stopped: {}", jobId, e.getMessage(), e);
+                } finally {
+                    queued.remove(jobId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Picks up unfinished jobs whose node has stopped renewing the lease, including this node's
+     * jobs from before a restart.
+     */
+    @Scheduled(initialDelayString = "${survey.sms.send.resume-interval:PT1M}",
+            fixedDelayString = "${survey.sms.send.resume-interval:PT1M}")
+    public void resumeAbandonedJobs() {
+        for (UUID jobId : jobRepository.findResumable(LocalDateTime.now())) {
+            log.info("Resuming SMS send job {}", jobId);
+            submit(jobId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        driver.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void run(UUID jobId) throws InterruptedException {
+        if (!claim(jobId)) {
+            log.debug("SMS send job {} is held by another node", jobId);
+            return;
+        }
+        SmsSendJob job = jobRepository.findById(jobId).orElseThrow();
+        CompiledSurvey survey = compiledSurveyCache.get(job.getSurveyId()).orElse(null);
+        if (survey == null || !survey.isActive() || survey.questions().isEmpty()) {
+            log.warn("SMS send job {} cannot run: survey {} is unavailable, inactive or empty", jobId, job.getSurveyId());
+            transactionTemplate.executeWithoutResult(status -> {
+                int failed = recipientRepository.failPending(jobId, "Survey unavailable");
+                jobRepository.addProgress(jobId, 0, failed, LocalDateTime.now());
+                jobRepository.finish(jobId, nodeId, SmsSendJobStatus.FAILED, LocalDateTime.now());
+            });
+            return;
+        }
+        String firstMessage = survey.questions().get(0).questionText();
+        log.info("Running SMS send job {} for survey {}", jobId, survey.id());
+
+        long afterId = 0;
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        while (true) {
+            List<SmsJobRecipient> pending = recipientRepository.findPending(jobId, afterId, batchSize * concurrency);
+            if (pending.isEmpty()) break;
+            afterId = pending.get(pending.size() - 1).id();
+
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<SmsJobRecipient> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                batches.add(CompletableFuture.runAsync(() -> sendBatch(jobId, survey.id(), batch, firstMessage, leaseLost), workers));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+            if (leaseLost.get()) {
+                log.warn("Lost the lease of SMS send job {}; another node will continue it", jobId);
+                return;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.finish(jobId, nodeId, SmsSendJobStatus.COMPLETED, LocalDateTime.now()));
+        log.info("SMS send job {} completed", jobId);
+    }
+
+    /**
+     * Sends one provider batch and renews the job's lease. Every recipient of a job receives the
+     * same first question, so the whole batch goes out as a single multi-recipient request. Once
+     * the lease is lost, remaining batches are left pending for the node that took it over.
+     */
+    private void sendBatch(UUID jobId, Long surveyId, List<SmsJobRecipient> batch, String message, AtomicBoolean leaseLost) {
+        if (leaseLost.get()) return;
+        sessionService.saveSessions(batch.stream()
+                .map(r -> new SmsRedisSession(r.phoneNumber(), surveyId, 0, new HashMap<>(), new HashMap<>()))
+                .toList());
+        List<SmsJobRecipientResult> results = send(batch, message);
+
+        int sent = (int) results.stream().filter(r -> r.status() == SmsRecipientStatus.SENT).count();
+        transactionTemplate.executeWithoutResult(status -> {
+            recipientRepository.updateResults(results);
+            jobRepository.addProgress(jobId, sent, results.size() - sent, LocalDateTime.now());
+        });
+        if (!renewLease(jobId)) {
+            leaseLost.set(true);
+        }
+    }
+
+    private List<SmsJobRecipientResult> send(List<SmsJobRecipient> recipients, String message) {
+        List<String> numbers = recipients.stream().map(SmsJobRecipient::phoneNumber).toList();
+        String error = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                rateLimiter.acquire(recipients.size());
+                return match(recipients, smsSendingService.sendBulk(numbers, message));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending SMS batch", e);
+            } catch (Exception e) {
+                error = e.getMessage();
+                log.warn("SMS batch of {} recipients failed (attempt {}/{}): {}", recipients.size(), attempt, maxAttempts, error);
+            }
+            if (attempt < maxAttempts) {
+                try {
+                    Thread.sleep(1000L << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while sending SMS batch", e);
+                }
+            }
+        }
+        String reason = error;
+        return recipients.stream()
+                .map(r -> new SmsJobRecipientResult(r.id(), SmsRecipientStatus.FAILED, null, reason))
+                .toList();
+    }
+
+    /**
+     * Maps the provider's per-number statuses back to recipient rows. Numbers are compared on
+     * their digits only, since the provider may normalise the format.
+     */
+    private static List<SmsJobRecipientResult> match(List<SmsJobRecipient> recipients, List<Recipient> statuses) {
+        Map<String, Recipient> byNumber = new HashMap<>();
+        for (Recipient status : statuses) {
+            if (status.number != null) byNumber.put(digits(status.number), status);
+        }
+        List<SmsJobRecipientResult> results = new ArrayList<>(recipients.size());
+        for (SmsJobRecipient recipient : recipients) {
+            Recipient status = byNumber.get(digits(recipient.phoneNumber()));
+            SmsJobRecipientResult result;
+            if (status == null) {
+                result = new SmsJobRecipientResult(recipient.id(), SmsRecipientStatus.FAILED, null, "No status returned by provider");
+            } else if ("Success".equals(status.status)) {
+                result = new SmsJobRecipientResult(recipient.id(), SmsRecipientStatus.SENT, status.messageId, null);
+            } else {
+                result = new SmsJobRecipientResult(recipient.id(), SmsRecipientStatus.FAILED, null, status.status);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static String digits(String phoneNumber) {
+        return phoneNumber.replaceAll("\\D", "");
+    }
+
+    private boolean claim(UUID jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                jobRepository.claim(jobId, nodeId, now, now.plus(leaseDuration)));
+        return claimed != null && claimed == 1;
+    }
+
+    private boolean renewLease(UUID jobId) {
+        Integer renewed = transactionTemplate.execute(status ->
+                jobRepository.renewLease(jobId, nodeId, LocalDateTime.now().plus(leaseDuration)));
+        return renewed != null && renewed == 1;
+    }
+}
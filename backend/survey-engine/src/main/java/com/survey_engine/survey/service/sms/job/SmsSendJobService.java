@@ -0,0 +1,118 @@
+package com.survey_engine.survey.service.sms.job;
+
+import com.survey_engine.billing.BillingApi;
+import com.survey_engine.common.exception.BusinessRuleException;
+import com.survey_engine.common.exception.ResourceNotFoundException;
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+import com.survey_engine.survey.dto.sms.SmsSendJobResponse;
+import com.survey_engine.survey.models.SmsSendJob;
+import com.survey_engine.survey.repository.SmsSendJobRecipientRepository;
+import com.survey_engine.survey.repository.SmsSendJobRepository;
+import com.survey_engine.survey.service.SurveyCostService;
+import com.survey_engine.user.UserApi;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates bulk SMS send jobs and reports their progress.
+ * A job is created, its recipients copied and the wallet debited in the caller's transaction;
+ * sending starts on {@link SmsSendJobRunner} once that transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SmsSendJobService {
+
+    private final SmsSendJobRepository jobRepository;
+    private final SmsSendJobRecipientRepository recipientRepository;
+    private final SurveyCostService surveyCostService;
+    private final BillingApi billingApi;
+    private final UserApi userApi;
+    private final SmsSendJobRunner runner;
+
+    /**
+     * Creates a job that sends a survey to every distinct phone number of a distribution list,
+     * and debits the wallet for it. Access to the survey and list must already have been checked.
+     *
+     * @param surveyId           The ID of the survey to send.
+     * @param distributionListId The ID of the distribution list.
+     * @param tenantId           The ID of the tenant.
+     * @param userId             The ID of the user whose wallet is debited.
+     * @return The created job.
+     */
+    @Transactional
+    public SmsSendJob createJob(Long surveyId, UUID distributionListId, Long tenantId, String userId) {
+        SmsSendJob job = new SmsSendJob();
+        job.setTenantId(tenantId);
+        job.setUserId(userId);
+        job.setSurveyId(surveyId);
+        job.setDistributionListId(distributionListId);
+        job.setStatus(SmsSendJobStatus.PENDING);
+        job = jobRepository.saveAndFlush(job);
+
+        int recipientCount = recipientRepository.insertFromDistributionList(job.getId(), distributionListId);
+        if (recipientCount == 0) {
+            throw new BusinessRuleException("DISTRIBUTION_LIST_EMPTY", "No distribution list linked to this survey or list is empty.");
+        }
+
+        // Validate and debit wallet for SMS cost before dispatching
+        BigDecimal smsCostPerMessage = surveyCostService.getSmsCostPerMessage();
+        BigDecimal totalSmsCost = smsCostPerMessage.multiply(new BigDecimal(recipientCount));
+        BigDecimal walletBalance = billingApi.getWalletBalance(tenantId, Long.valueOf(userId));
+
+        if (walletBalance.compareTo(totalSmsCost) < 0) {
+            throw new BusinessRuleException(
+                    "INSUFFICIENT_FUNDS_FOR_SMS",
+                    "Insufficient wallet balance for SMS distribution. Required: KES " + totalSmsCost
+                            + " (" + recipientCount + " contacts × KES " + smsCostPerMessage + "/SMS)"
+                            + ", Available: KES " + walletBalance + "."
+            );
+        }
+
+        billingApi.debitWallet(tenantId, Long.valueOf(userId), totalSmsCost,
+                "SMS distribution for survey " + surveyId + " (" + recipientCount + " contacts)");
+
+        job.setTotalRecipients(recipientCount);
+        job.setCost(totalSmsCost);
+        log.info("Created SMS send job {} for survey {} with {} recipients", job.getId(), surveyId, recipientCount);
+
+        UUID jobId = job.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runner.submit(jobId);
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Retrieves the progress of a send job.
+     * Only the survey owner or an admin can perform this action.
+     *
+     * @param surveyId The ID of the survey the job belongs to.
+     * @param jobId    The ID of the job.
+     * @param userId   The ID of the user making the request.
+     * @param roles    The roles of the user.
+     * @return The job's progress.
+     */
+    @Transactional(readOnly = true)
+    public SmsSendJobResponse getJob(Long surveyId, UUID jobId, String userId, List<String> roles) {
+        SmsSendJob job = jobRepository.findByIdAndSurveyIdAndTenantId(jobId, surveyId, userApi.getTenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("SMS_SEND_JOB_NOT_FOUND", "Send job not found with id: " + jobId));
+        if (!job.getUserId().equals(userId) && (roles == null || !roles.contains("ADMIN"))) {
+            throw new AccessDeniedException("You do not have permission to view this send job.");
+        }
+        return new SmsSendJobResponse(job.getId(), job.getSurveyId(), job.getStatus(), job.getTotalRecipients(),
+                job.getSentCount(), job.getFailedCount(), job.getCost(), job.getCreatedAt(), job.getCompletedAt());
+    }
+}
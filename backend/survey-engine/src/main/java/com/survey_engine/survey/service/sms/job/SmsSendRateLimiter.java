@@ -0,0 +1,42 @@
+package com.survey_engine.survey.service.sms.job;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces outbound SMS to the provider's rate limit across all send workers of this node.
+ * Each caller reserves the next free slot for its messages and sleeps until that slot, so bursts
+ * are smoothed rather than rejected.
+ */
+class SmsSendRateLimiter {
+
+    private final long nanosPerMessage;
+    private long nextFreeNanos = System.nanoTime();
+
+    /**
+     * @param messagesPerSecond The sustained rate; zero or less disables pacing.
+     */
+    SmsSendRateLimiter(double messagesPerSecond) {
+        this.nanosPerMessage = messagesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / messagesPerSecond) : 0;
+    }
+
+    /**
+     * Blocks until {@code messages} may be sent.
+     * @param messages The number of messages about to be sent.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    void acquire(int messages) throws InterruptedException {
+        if (nanosPerMessage == 0) return;
+        long waitUntil;
+        synchronized (this) {
+            long now = System.nanoTime();
+            waitUntil = Math.max(nextFreeNanos, now);
+            nextFreeNanos = waitUntil + nanosPerMessage * messages;
+        }
+        long remaining;
+        while ((remaining = waitUntil - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+}
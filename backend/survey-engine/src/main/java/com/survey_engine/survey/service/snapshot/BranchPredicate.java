@@ -0,0 +1,75 @@
+package com.survey_engine.survey.service.snapshot;
+
+/**
+ * Typed branch rule condition, compiled once from a rule's {@code conditionValue} JSON.
+ * Implementations read only primitives, so testing a predicate never allocates.
+ */
+public sealed interface BranchPredicate {
+
+    /** Selected option value used when the answer is not an option index. */
+    int NO_OPTION = Integer.MIN_VALUE;
+
+    /**
+     * Tests the condition.
+     * @param selectedOption The option index of the answer being branched on, or {@link #NO_OPTION}.
+     * @param scores The scores accumulated for the response so far.
+     * @return true if the rule fires.
+     */
+    boolean test(int selectedOption, ScoreAccumulator scores);
+
+    /** ALWAYS rules. */
+    record Always() implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return true;
+        }
+    }
+
+    /** Rules whose condition is missing a required field; they never fire. */
+    record Never() implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return false;
+        }
+    }
+
+    /** ANSWER_EQUALS rules. */
+    record OptionEquals(int optionIndex) implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return selectedOption != NO_OPTION && selectedOption == optionIndex;
+        }
+    }
+
+    /** SCORE_LT rules. */
+    record TotalBelow(double threshold) implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return scores.total() < threshold;
+        }
+    }
+
+    /** SCORE_GT rules. */
+    record TotalAbove(double threshold) implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return scores.total() > threshold;
+        }
+    }
+
+    /** SCORE_CATEGORY_LT rules. The category is referenced by its index in the survey's category table. */
+    record CategoryBelow(int category, double threshold) implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return scores.category(category) < threshold;
+        }
+    }
+
+    /** SCORE_CATEGORY_GT rules. The category is referenced by its index in the survey's category table. */
+    record CategoryAbove(int category, double threshold) implements BranchPredicate {
+        @Override
+        public boolean test(int selectedOption, ScoreAccumulator scores) {
+            return scores.category(category) > threshold;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.survey_engine.survey.service.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled branch rules of a survey: one {@link DecisionTable} per source question plus the
+ * table of score categories that category predicates and {@link ScoreAccumulator}s index into.
+ * Immutable and shared across threads.
+ */
+@Slf4j
+public final class BranchProgram {
+
+    /** Returned by {@link #resolve} when no rule matched; the caller should progress linearly. */
+    public static final long NO_MATCH = -1L;
+    /** Returned by {@link #resolve} when the matching rule ends the survey. */
+    public static final long END_SURVEY = Long.MIN_VALUE;
+
+    private final Map<Long, DecisionTable> tables;
+    private final List<String> categories;
+
+    BranchProgram(Map<Long, DecisionTable> tables, List<String> categories) {
+        this.tables = tables;
+        this.categories = categories;
+    }
+
+    /**
+     * Creates an empty accumulator sized for this program's categories.
+     */
+    public ScoreAccumulator newAccumulator() {
+        return new ScoreAccumulator(categories.size());
+    }
+
+    /**
+     * Resolves the next question after {@code answeredQuestionId}.
+     * @param surveyId The survey ID, used for logging only.
+     * @param answeredQuestionId The question that was just answered.
+     * @param selectedOption The selected option index, or {@link BranchPredicate#NO_OPTION}.
+     * @param scores The accumulated scores of the response.
+     * @return The target question ID, {@link #END_SURVEY} or {@link #NO_MATCH}.
+     */
+    public long resolve(Long surveyId, Long answeredQuestionId, int selectedOption, ScoreAccumulator scores) {
+        DecisionTable table = answeredQuestionId != null ? tables.get(answeredQuestionId) : null;
+        if (table == null) return NO_MATCH;
+
+        int match = table.firstMatch(selectedOption, scores);
+        if (match < 0) return NO_MATCH;
+
+        if (log.isDebugEnabled()) {
+            log.debug("Branch rule {} matched for survey={} question={}",
+                    table.ruleId(match), surveyId, answeredQuestionId);
+        }
+        return table.target(match);
+    }
+
+    /**
+     * @return The number of compiled rules across all questions.
+     */
+    public int ruleCount() {
+        return tables.values().stream().mapToInt(DecisionTable::size).sum();
+    }
+
+    /**
+     * Parses an answer value as an option index without throwing.
+     * @param answerValue The raw answer value.
+     * @return The option index, or {@link BranchPredicate#NO_OPTION} if the value is not an integer.
+     */
+    public static int parseOptionIndex(String answerValue) {
+        if (answerValue == null || answerValue.isEmpty() || answerValue.length() > 11) {
+            return BranchPredicate.NO_OPTION;
+        }
+        int start = answerValue.charAt(0) == '-' || answerValue.charAt(0) == '+' ? 1 : 0;
+        if (start == answerValue.length()) return BranchPredicate.NO_OPTION;
+        long value = 0;
+        for (int i = start; i < answerValue.length(); i++) {
+            char c = answerValue.charAt(i);
+            if (c < '0' || c > '9') return BranchPredicate.NO_OPTION;
+            value = value * 10 + (c - '0');
+        }
+        if (answerValue.charAt(0) == '-') value = -value;
+        return value > Integer.MAX_VALUE || value <= Integer.MIN_VALUE ? BranchPredicate.NO_OPTION : (int) value;
+    }
+}
@@ -0,0 +1,45 @@
+package com.survey_engine.survey.service.snapshot;
+
+import com.survey_engine.survey.common.enums.QuestionType;
+
+import java.util.Map;
+
+/**
+ * Immutable, response-time view of a {@link com.survey_engine.survey.models.Question}.
+ * The {@code scoreMap} JSON is parsed once when the owning survey is compiled.
+ *
+ * @param id The question ID.
+ * @param questionText The text shown to respondents.
+ * @param questionType The type of question.
+ * @param options The raw options string, as stored on the question.
+ * @param position The position of the question within the survey.
+ * @param weight The scoring weight (defaults to 1.0).
+ * @param scoreMap Parsed option index → score map. Empty when the question is not scored.
+ * @param category Optional scoring category label.
+ * @param categoryIndex Index of {@code category} in the survey's {@link BranchProgram}, or -1.
+ */
+public record CompiledQuestion(
+        Long id,
+        String questionText,
+        QuestionType questionType,
+        String options,
+        int position,
+        double weight,
+        Map<String, Double> scoreMap,
+        String category,
+        int categoryIndex
+) {
+
+    /**
+     * Adds the weighted score of an answer to the accumulator. Unscored answers are ignored.
+     * @param scores The accumulator of the response being evaluated.
+     * @param answerValue The raw answer value.
+     */
+    public void accumulate(ScoreAccumulator scores, String answerValue) {
+        if (answerValue == null || scoreMap.isEmpty()) return;
+        Double score = scoreMap.get(answerValue);
+        if (score != null) {
+            scores.add(categoryIndex, score * weight);
+        }
+    }
+}
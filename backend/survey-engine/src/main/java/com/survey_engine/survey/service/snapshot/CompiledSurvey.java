@@ -0,0 +1,60 @@
+package com.survey_engine.survey.service.snapshot;
+
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, versioned snapshot of a survey definition used on the response hot path.
+ * Built by {@link CompiledSurveyCache} and shared across threads, so none of its
+ * collections may be modified.
+ *
+ * @param id The survey ID.
+ * @param version Monotonic compilation number; a new snapshot always has a higher version.
+ * @param tenantId The tenant that owns the survey.
+ * @param userId The ID of the survey owner.
+ * @param status The survey status at compilation time.
+ * @param accessType Whether the survey is public or private.
+ * @param targetRespondents Optional cap on the number of responses.
+ * @param questions Questions ordered by position.
+ * @param questionsById Questions keyed by ID.
+ * @param branching Active branch rules compiled into per-question decision tables.
+ */
+public record CompiledSurvey(
+        Long id,
+        long version,
+        Long tenantId,
+        String userId,
+        SurveyStatus status,
+        AccessType accessType,
+        Integer targetRespondents,
+        List<CompiledQuestion> questions,
+        Map<Long, CompiledQuestion> questionsById,
+        BranchProgram branching
+) {
+
+    public boolean isActive() {
+        return status == SurveyStatus.ACTIVE;
+    }
+
+    public Optional<CompiledQuestion> question(Long questionId) {
+        return Optional.ofNullable(questionId != null ? questionsById.get(questionId) : null);
+    }
+
+    /**
+     * Adds the weighted score of an answer to the accumulator.
+     * Answers to questions outside this survey are ignored.
+     * @param scores The accumulator of the response being evaluated.
+     * @param questionId The answered question.
+     * @param answerValue The raw answer value.
+     */
+    public void accumulate(ScoreAccumulator scores, Long questionId, String answerValue) {
+        CompiledQuestion question = questionId != null ? questionsById.get(questionId) : null;
+        if (question != null) {
+            question.accumulate(scores, answerValue);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.survey_engine.survey.service.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.common.cache.TransactionalEviction;
+import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.repository.BranchRuleRepository;
+import com.survey_engine.survey.repository.SurveyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of {@link CompiledSurvey} snapshots keyed by survey ID.
+ * Response-time code reads survey definitions from here instead of Postgres. Services that
+ * mutate a survey, its questions or its branch rules must call {@link #evict(Long)}.
+ * Snapshots also expire after a short TTL so that changes made on other nodes are picked up.
+ */
+@Service
+@Slf4j
+public class CompiledSurveyCache {
+
+    private final SurveyRepository surveyRepository;
+    private final BranchRuleRepository branchRuleRepository;
+    private final SurveyCompiler compiler;
+    private final Cache<Long, CompiledSurvey> cache;
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Constructor for CompiledSurveyCache.
+     * @param surveyRepository Repository used to load surveys with their questions.
+     * @param branchRuleRepository Repository used to load branch rules.
+     * @param objectMapper Jackson mapper for parsing score maps and rule conditions.
+     * @param maxSize The maximum number of snapshots held in memory.
+     * @param ttl How long a snapshot may be served before it is recompiled.
+     */
+    public CompiledSurveyCache(SurveyRepository surveyRepository,
+                               BranchRuleRepository branchRuleRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${survey.snapshot.max-size:1000}") long maxSize,
+                               @Value("${survey.snapshot.ttl:PT1M}") Duration ttl) {
+        this.surveyRepository = surveyRepository;
+        this.branchRuleRepository = branchRuleRepository;
+        this.compiler = new SurveyCompiler(objectMapper);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the compiled snapshot of a survey, compiling it on first access.
+     * @param surveyId The ID of the survey.
+     * @return The snapshot, or empty if the survey does not exist.
+     */
+    public Optional<CompiledSurvey> get(Long surveyId) {
+        if (surveyId == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(surveyId, this::compile));
+    }
+
+    /**
+     * Evicts the snapshot of a survey. When called inside a transaction the snapshot is
+     * evicted again once the transaction completes, so a concurrent reader cannot keep
+     * serving state it compiled before the commit.
+     * @param surveyId The ID of the survey that changed.
+     */
+    public void evict(Long surveyId) {
+        if (surveyId == null) return;
+        TransactionalEviction.evictNowAndAfterCompletion(() -> cache.invalidate(surveyId));
+    }
+
+    private CompiledSurvey compile(Long surveyId) {
+        Survey survey = surveyRepository.findById(surveyId).orElse(null);
+        if (survey == null) return null;
+
+        CompiledSurvey compiled = compiler.compile(survey,
+                branchRuleRepository.findBySurveyIdAndActiveTrueOrderBySourceQuestionIdAscPriorityAsc(surveyId),
+                versions.incrementAndGet());
+        log.debug("Compiled survey {} (version {}) with {} questions and {} branch rules",
+                surveyId, compiled.version(), compiled.questions().size(), compiled.branching().ruleCount());
+        return compiled;
+    }
+}
@@ -0,0 +1,42 @@
+package com.survey_engine.survey.service.snapshot;
+
+/**
+ * Priority-ordered branch rules for one source question, stored as parallel arrays.
+ * The first predicate that matches decides the target.
+ */
+final class DecisionTable {
+
+    private final long[] ruleIds;
+    private final BranchPredicate[] predicates;
+    private final long[] targets;
+
+    DecisionTable(long[] ruleIds, BranchPredicate[] predicates, long[] targets) {
+        this.ruleIds = ruleIds;
+        this.predicates = predicates;
+        this.targets = targets;
+    }
+
+    /**
+     * Returns the index of the first matching rule, or -1 if none matches.
+     */
+    int firstMatch(int selectedOption, ScoreAccumulator scores) {
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i].test(selectedOption, scores)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long ruleId(int index) {
+        return ruleIds[index];
+    }
+
+    long target(int index) {
+        return targets[index];
+    }
+
+    int size() {
+        return predicates.length;
+    }
+}
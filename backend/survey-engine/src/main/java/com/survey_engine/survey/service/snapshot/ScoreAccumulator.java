@@ -0,0 +1,43 @@
+package com.survey_engine.survey.service.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Mutable, primitive score totals for a single response, indexed by the category table of
+ * the {@link BranchProgram} that created it. Not thread-safe; callers may {@link #reset()}
+ * and reuse an instance across responses to the same survey.
+ */
+public final class ScoreAccumulator {
+
+    private final double[] categories;
+    private double total;
+
+    ScoreAccumulator(int categoryCount) {
+        this.categories = new double[categoryCount];
+    }
+
+    /**
+     * Adds a weighted score to the total and, when {@code category >= 0}, to that category.
+     * @param category The category index, or -1 if the question has no category.
+     * @param weightedScore The weighted score of the answer.
+     */
+    public void add(int category, double weightedScore) {
+        total += weightedScore;
+        if (category >= 0) {
+            categories[category] += weightedScore;
+        }
+    }
+
+    public double total() {
+        return total;
+    }
+
+    public double category(int category) {
+        return categories[category];
+    }
+
+    public void reset() {
+        total = 0.0;
+        Arrays.fill(categories, 0.0);
+    }
+}
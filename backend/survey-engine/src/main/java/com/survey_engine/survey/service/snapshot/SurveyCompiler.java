@@ -0,0 +1,154 @@
+package com.survey_engine.survey.service.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.models.BranchRule;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Survey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles survey entities into {@link CompiledSurvey} snapshots.
+ * All JSON held on questions and branch rules is parsed here, once per compilation.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SurveyCompiler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Compiles a survey and its active branch rules.
+     * @param survey The survey, with its questions loaded.
+     * @param activeRules The active branch rules of the survey, in any order.
+     * @param version The version number to stamp on the snapshot.
+     * @return The compiled snapshot.
+     */
+    public CompiledSurvey compile(Survey survey, List<BranchRule> activeRules, long version) {
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        survey.getQuestions().forEach(question -> intern(categories, question.getCategory()));
+
+        List<CompiledQuestion> questions = survey.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getPosition))
+                .map(question -> compileQuestion(question, categories))
+                .toList();
+
+        BranchProgram branching = compileRules(activeRules, categories);
+
+        return new CompiledSurvey(
+                survey.getId(),
+                version,
+                survey.getTenantId(),
+                survey.getUserId(),
+                survey.getStatus(),
+                survey.getAccessType(),
+                survey.getTargetRespondents(),
+                questions,
+                questions.stream().collect(Collectors.toUnmodifiableMap(CompiledQuestion::id, Function.identity())),
+                branching
+        );
+    }
+
+    private CompiledQuestion compileQuestion(Question question, Map<String, Integer> categories) {
+        return new CompiledQuestion(
+                question.getId(),
+                question.getQuestionText(),
+                question.getQuestionType(),
+                question.getOptions(),
+                question.getPosition(),
+                question.getWeight() != null ? question.getWeight() : 1.0,
+                parseScoreMap(question),
+                question.getCategory(),
+                question.getCategory() != null ? categories.get(question.getCategory()) : -1
+        );
+    }
+
+    private Map<String, Double> parseScoreMap(Question question) {
+        if (question.getScoreMap() == null || question.getScoreMap().isBlank()) {
+            return Map.of();
+        }
+        try {
+            Map<String, Double> scoreMap = objectMapper.readValue(question.getScoreMap(),
+                    new TypeReference<Map<String, Double>>() {});
+            scoreMap.values().removeIf(Objects::isNull);
+            return Map.copyOf(scoreMap);
+        } catch (Exception e) {
+            log.warn("Failed to parse scoreMap for question {}: {}", question.getId(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private BranchProgram compileRules(List<BranchRule> activeRules, Map<String, Integer> categories) {
+        if (activeRules.isEmpty()) {
+            return new BranchProgram(Map.of(), List.copyOf(categories.keySet()));
+        }
+
+        Map<Long, List<BranchRule>> bySource = activeRules.stream()
+                .sorted(Comparator.comparingInt(BranchRule::getPriority))
+                .collect(Collectors.groupingBy(BranchRule::getSourceQuestionId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, DecisionTable> tables = new HashMap<>();
+        bySource.forEach((sourceId, rules) -> {
+            int size = rules.size();
+            long[] ruleIds = new long[size];
+            BranchPredicate[] predicates = new BranchPredicate[size];
+            long[] targets = new long[size];
+            for (int i = 0; i < size; i++) {
+                BranchRule rule = rules.get(i);
+                ruleIds[i] = rule.getId() != null ? rule.getId() : 0L;
+                predicates[i] = compilePredicate(rule, categories);
+                targets[i] = rule.getTargetQuestionId() != null ? rule.getTargetQuestionId() : BranchProgram.END_SURVEY;
+            }
+            tables.put(sourceId, new DecisionTable(ruleIds, predicates, targets));
+        });
+
+        return new BranchProgram(Map.copyOf(tables), List.copyOf(categories.keySet()));
+    }
+
+    private BranchPredicate compilePredicate(BranchRule rule, Map<String, Integer> categories) {
+        JsonNode condition = parseCondition(rule);
+        Integer optionIndex = condition != null && condition.has("optionIndex") ? condition.get("optionIndex").asInt() : null;
+        Double threshold = condition != null && condition.has("threshold") ? condition.get("threshold").asDouble() : null;
+        String category = condition != null && condition.has("category") ? condition.get("category").asText() : null;
+
+        return switch (rule.getConditionType()) {
+            case ALWAYS -> new BranchPredicate.Always();
+            case ANSWER_EQUALS -> optionIndex != null
+                    ? new BranchPredicate.OptionEquals(optionIndex) : new BranchPredicate.Never();
+            case SCORE_LT -> threshold != null
+                    ? new BranchPredicate.TotalBelow(threshold) : new BranchPredicate.Never();
+            case SCORE_GT -> threshold != null
+                    ? new BranchPredicate.TotalAbove(threshold) : new BranchPredicate.Never();
+            case SCORE_CATEGORY_LT -> threshold != null && category != null
+                    ? new BranchPredicate.CategoryBelow(intern(categories, category), threshold) : new BranchPredicate.Never();
+            case SCORE_CATEGORY_GT -> threshold != null && category != null
+                    ? new BranchPredicate.CategoryAbove(intern(categories, category), threshold) : new BranchPredicate.Never();
+        };
+    }
+
+    private JsonNode parseCondition(BranchRule rule) {
+        if (rule.getConditionValue() == null || rule.getConditionValue().isBlank()) return null;
+        try {
+            return objectMapper.readTree(rule.getConditionValue());
+        } catch (Exception e) {
+            log.warn("Failed to parse branch rule condition JSON: {}", rule.getConditionValue());
+            return null;
+        }
+    }
+
+    private static int intern(Map<String, Integer> categories, String category) {
+        if (category == null) return -1;
+        return categories.computeIfAbsent(category, key -> categories.size());
+    }
+}
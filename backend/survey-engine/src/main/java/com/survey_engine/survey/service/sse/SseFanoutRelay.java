@@ -0,0 +1,59 @@
+package com.survey_engine.survey.service.sse;
+
+import com.survey_engine.survey.config.rabbitmq.RabbitMqConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Relays processed responses to the SSE subscribers of every node, enabled with
+ * {@code survey.sse.fanout.enabled=true}.
+ * <p>
+ * A response is published once to the {@link RabbitMqConfig#SSE_FANOUT_EXCHANGE fanout exchange};
+ * each node, including the publisher, consumes it from its own queue and delivers it to its local
+ * subscribers, so a dashboard sees every response regardless of which node processed it.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "survey.sse.fanout.enabled", havingValue = "true")
+public class SseFanoutRelay {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final SseService sseService;
+
+    /**
+     * Constructor for SseFanoutRelay.
+     * @param rabbitTemplate The template used to publish to the fanout exchange.
+     * @param sseService The service that delivers relayed events to this node's subscribers.
+     */
+    public SseFanoutRelay(@Qualifier("surveyRabbitTemplate") RabbitTemplate rabbitTemplate, SseService sseService) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.sseService = sseService;
+    }
+
+    /**
+     * Publishes an event to every node.
+     * @param event The event to relay.
+     * @throws org.springframework.amqp.AmqpException if the event could not be published.
+     */
+    public void broadcast(SseResponseEvent event) {
+        rabbitTemplate.convertAndSend(RabbitMqConfig.SSE_FANOUT_EXCHANGE, "", event);
+    }
+
+    /**
+     * Delivers an event relayed by any node to this node's subscribers.
+     * Failures are logged rather than rethrown: a live-dashboard event is not worth redelivering.
+     * @param event The relayed event.
+     */
+    @RabbitListener(queues = "#{sseFanoutQueue.name}")
+    public void onRelayedEvent(SseResponseEvent event) {
+        try {
+            sseService.deliverLocally(event.tenantId(), event.ownerId(), event.response());
+        } catch (RuntimeException e) {
+            log.warn("Could not deliver relayed response {} to SSE subscribers: {}", event.response().id(), e.getMessage());
+        }
+    }
+}
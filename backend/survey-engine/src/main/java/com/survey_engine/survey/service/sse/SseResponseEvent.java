@@ -0,0 +1,12 @@
+package com.survey_engine.survey.service.sse;
+
+import com.survey_engine.survey.dto.ResponseResponse;
+
+/**
+ * A processed response relayed between nodes over the SSE fanout exchange.
+ * @param tenantId The tenant that owns the response's survey.
+ * @param ownerId The user that owns the response's survey.
+ * @param response The response to push to SSE subscribers.
+ */
+public record SseResponseEvent(Long tenantId, String ownerId, ResponseResponse response) {
+}
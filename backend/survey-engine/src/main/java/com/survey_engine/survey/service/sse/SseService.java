@@ -1,40 +1,258 @@
 package com.survey_engine.survey.service.sse;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Manages the lifecycle of a reactive stream for Server-Sent Events (SSE) using Project Reactor.
- * This service uses a Sink to create a hot stream that can multicast events
- * to multiple subscribers concurrently and handle backpressure.
+ * Manages the reactive streams for Server-Sent Events (SSE) using Project Reactor.
+ * <p>
+ * Streams are partitioned by topic: one per tenant, one per survey owner within a tenant, and one
+ * per survey. Individual accounts share one tenant, so they subscribe by owner rather than by tenant. Each
+ * topic has its own multicast sink, created when its first subscriber arrives and removed when
+ * its last subscriber leaves, so a response is only pushed to the connections allowed to see it.
+ * Every subscriber buffers at most {@code survey.sse.buffer-size} frames; when a slow client falls
+ * behind, its oldest pending frames are dropped rather than growing the heap.
+ * <p>
+ * With {@code survey.sse.fanout.enabled}, responses are relayed through {@link SseFanoutRelay} so
+ * that every node's subscribers receive them, and deliveries are deduplicated by response ID.
+ * With a non-zero {@code survey.sse.coalesce-window}, responses are collected per topic and
+ * emitted as one frame per window instead of one frame per response.
  */
 @Service
+@Slf4j
 public class SseService {
 
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final ConcurrentMap<TopicKey, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final ObjectProvider<SseFanoutRelay> fanoutRelay;
+    private final int bufferSize;
+    private final boolean coalescing;
+    private final Flux<Long> keepAlive;
+    private final Cache<Long, Boolean> recentlyDelivered;
+    private final Disposable coalesceFlusher;
+    private final Counter droppedCounter;
+    private final Counter duplicateCounter;
+
     /**
-     * A thread-safe, multicast sink that buffers events for subscribers if they can't keep up.
-     * This acts as the central publisher for all new survey response events.
+     * Constructor for SseService.
+     * @param compiledSurveyCache Cache used to find the tenant and user that own a response's survey.
+     * @param fanoutRelay The cross-node relay, present when {@code survey.sse.fanout.enabled=true}.
+     * @param meterRegistry Registry for subscriber and drop metrics.
+     * @param bufferSize The maximum number of frames buffered per subscriber.
+     * @param keepAliveInterval The interval of the keep-alive ticker shared by all connections.
+     * @param coalesceWindow The window over which responses are merged into one frame; zero to disable.
+     * @param dedupeWindow How long a delivered response ID is remembered to suppress duplicates.
      */
-    private final Sinks.Many<ResponseResponse> sink = Sinks.many().multicast().onBackpressureBuffer();
+    public SseService(CompiledSurveyCache compiledSurveyCache,
+                      ObjectProvider<SseFanoutRelay> fanoutRelay,
+                      MeterRegistry meterRegistry,
+                      @Value("${survey.sse.buffer-size:256}") int bufferSize,
+                      @Value("${survey.sse.keep-alive:PT15S}") Duration keepAliveInterval,
+                      @Value("${survey.sse.coalesce-window:PT0S}") Duration coalesceWindow,
+                      @Value("${survey.sse.dedupe-window:PT1M}") Duration dedupeWindow) {
+        this.compiledSurveyCache = compiledSurveyCache;
+        this.fanoutRelay = fanoutRelay;
+        this.bufferSize = bufferSize;
+        this.coalescing = !coalesceWindow.isZero();
+        this.keepAlive = Flux.interval(keepAliveInterval).onBackpressureDrop().share();
+        this.recentlyDelivered = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(dedupeWindow)
+                .build();
+        this.coalesceFlusher = coalescing
+                ? Schedulers.parallel().schedulePeriodically(this::flushCoalesced,
+                        coalesceWindow.toMillis(), coalesceWindow.toMillis(), TimeUnit.MILLISECONDS)
+                : null;
+
+        Gauge.builder("survey.sse.subscribers", subscribers, AtomicInteger::get)
+                .description("Connected SSE subscribers")
+                .register(meterRegistry);
+        Gauge.builder("survey.sse.topics", topics, ConcurrentMap::size)
+                .description("Tenant and survey topics with at least one subscriber")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("survey.sse.dropped")
+                .description("Responses dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("survey.sse.duplicates")
+                .description("Responses not pushed again because they were already delivered")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (coalesceFlusher != null) {
+            coalesceFlusher.dispose();
+        }
+    }
 
     /**
-     * Publishes a new survey response to all active SSE subscribers.
-     * This method is called by the RabbitMQ listener when a new response is processed.
+     * Publishes a new survey response to the subscribers of its tenant, its survey's owner and its
+     * survey, on every node. This method is called by the RabbitMQ listener when a new response is processed.
      * @param response The response DTO to be sent.
      */
     public void publishResponse(ResponseResponse response) {
-        sink.tryEmitNext(response);
+        SseFanoutRelay relay = fanoutRelay.getIfAvailable();
+        if (relay == null && topics.isEmpty()) return;
+        CompiledSurvey survey = compiledSurveyCache.get(response.surveyId()).orElse(null);
+        if (survey == null || survey.tenantId() == null) return;
+
+        if (relay != null) {
+            try {
+                relay.broadcast(new SseResponseEvent(survey.tenantId(), survey.userId(), response));
+                return;
+            } catch (AmqpException e) {
+                log.warn("Could not relay response {} to other nodes, delivering locally only: {}", response.id(), e.getMessage());
+            }
+        }
+        deliverLocally(survey.tenantId(), survey.userId(), response);
+    }
+
+    /**
+     * Pushes a response to this node's subscribers, unless it was already delivered recently.
+     * @param tenantId The tenant that owns the response's survey.
+     * @param ownerId The user that owns the response's survey.
+     * @param response The response DTO to be sent.
+     */
+    public void deliverLocally(Long tenantId, String ownerId, ResponseResponse response) {
+        if (response.id() != null && recentlyDelivered.asMap().putIfAbsent(response.id(), Boolean.TRUE) != null) {
+            duplicateCounter.increment();
+            return;
+        }
+        if (topics.isEmpty()) return;
+
+        offer(new TopicKey(tenantId, null, null), response);
+        if (ownerId != null) {
+            offer(new TopicKey(tenantId, ownerId, null), response);
+        }
+        offer(new TopicKey(tenantId, null, response.surveyId()), response);
     }
 
     /**
-     * Allows a new client to subscribe to the stream of survey responses.
-     * This method is called by the SseController to establish a new client connection.
-     * @return A Flux representing the stream of events.
+     * Subscribes to the responses of a tenant, narrowed to one survey owner or one survey.
+     * The caller is responsible for checking that it may see the responses it subscribes to.
+     * Each element is one frame: a single response, or every response of a coalescing window.
+     * @param tenantId The tenant whose responses to stream.
+     * @param ownerId The user whose surveys to stream, or null for every owner.
+     * @param surveyId The survey to stream, or null for every survey.
+     * @return A Flux representing the stream of frames.
      */
-    public Flux<ResponseResponse> getResponseStream() {
-        return sink.asFlux();
+    public Flux<List<ResponseResponse>> getResponseStream(Long tenantId, String ownerId, Long surveyId) {
+        TopicKey key = new TopicKey(tenantId, surveyId == null ? ownerId : null, surveyId);
+        return Flux.defer(() -> {
+            Topic topic = acquire(key);
+            return topic.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize, dropped -> droppedCounter.increment(dropped.size()), BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> release(key, topic));
+        });
     }
-}
 
+    /**
+     * @return true if responses are merged into periodic frames.
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * A keep-alive ticker shared by all connections, so the number of timers does not grow
+     * with the number of clients.
+     * @return A hot Flux emitting on every keep-alive interval.
+     */
+    public Flux<Long> getKeepAlive() {
+        return keepAlive;
+    }
+
+    private void offer(TopicKey key, ResponseResponse response) {
+        Topic topic = topics.get(key);
+        if (topic == null) return;
+        if (coalescing) {
+            topic.pending.add(response);
+        } else {
+            emit(key, topic, List.of(response));
+        }
+    }
+
+    private void flushCoalesced() {
+        topics.forEach((key, topic) -> {
+            if (topic.pending.isEmpty()) return;
+            List<ResponseResponse> frame = new ArrayList<>();
+            ResponseResponse next;
+            while ((next = topic.pending.poll()) != null) {
+                frame.add(next);
+            }
+            emit(key, topic, frame);
+        });
+    }
+
+    private void emit(TopicKey key, Topic topic, List<ResponseResponse> frame) {
+        try {
+            topic.sink.emitNext(frame, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        } catch (Sinks.EmissionException e) {
+            log.warn("Could not push {} response(s) to SSE topic {}: {}", frame.size(), key, e.getMessage());
+        }
+    }
+
+    private Topic acquire(TopicKey key) {
+        subscribers.incrementAndGet();
+        return topics.compute(key, (k, existing) -> {
+            Topic topic = existing != null ? existing : new Topic();
+            topic.subscribers++;
+            return topic;
+        });
+    }
+
+    private void release(TopicKey key, Topic topic) {
+        subscribers.decrementAndGet();
+        topics.computeIfPresent(key, (k, existing) -> {
+            if (existing != topic) return existing;
+            return --existing.subscribers == 0 ? null : existing;
+        });
+    }
+
+    /**
+     * @param tenantId The tenant.
+     * @param ownerId The survey owner, or null for the tenant-wide and survey topics.
+     * @param surveyId The survey, or null for the tenant-wide and owner topics.
+     */
+    private record TopicKey(Long tenantId, String ownerId, Long surveyId) {
+    }
+
+    private static final class Topic {
+        // Subscribers apply their own bounded buffer, so the sink never holds frames itself
+        private final Sinks.Many<List<ResponseResponse>> sink = Sinks.many().multicast().directBestEffort();
+        // Responses waiting for the next coalescing flush
+        private final Queue<ResponseResponse> pending = new ConcurrentLinkedQueue<>();
+        // Guarded by ConcurrentMap.compute on the topic's key
+        private int subscribers;
+    }
+}
@@ -0,0 +1,131 @@
+package com.survey_engine.survey.service.stats;
+
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Mergeable aggregate of the answers to one question: answer count, option histogram,
+ * numeric count/sum/min/max and weighted score total.
+ * <p>
+ * Used both for the deltas of an ingestion batch and for the totals read back from
+ * {@code survey_question_stats}. Not thread-safe. The rules in {@link #add} must stay in step
+ * with the backfill in migration V40.
+ */
+public final class QuestionStats {
+
+    /** Option values longer than this are not counted in the histogram. */
+    public static final int MAX_OPTION_LENGTH = 255;
+
+    private static final Pattern NUMERIC = Pattern.compile("[-+]?\\d+(\\.\\d+)?");
+
+    private long answerCount;
+    private long numericCount;
+    private double numericSum;
+    private Double numericMin;
+    private Double numericMax;
+    private double scoreTotal;
+    private final Map<String, Long> optionCounts = new HashMap<>();
+
+    /**
+     * Creates stats from stored totals.
+     */
+    public static QuestionStats of(long answerCount, long numericCount, double numericSum,
+                                   Double numericMin, Double numericMax, double scoreTotal) {
+        QuestionStats stats = new QuestionStats();
+        stats.answerCount = answerCount;
+        stats.numericCount = numericCount;
+        stats.numericSum = numericSum;
+        stats.numericMin = numericMin;
+        stats.numericMax = numericMax;
+        stats.scoreTotal = scoreTotal;
+        return stats;
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or removes ({@code sign = -1}) one answer.
+     * Removing an answer cannot narrow the numeric min/max, which therefore remain bounds
+     * over every answer ever recorded.
+     * @param question The answered question.
+     * @param answerValue The raw answer value.
+     * @param sign 1 to add the answer, -1 to retract it.
+     */
+    public void add(CompiledQuestion question, String answerValue, int sign) {
+        answerCount += sign;
+        if (answerValue == null) return;
+
+        QuestionType type = question.questionType();
+        switch (type) {
+            case MULTIPLE_CHOICE_SINGLE -> countOption(answerValue.trim(), sign);
+            case MULTIPLE_CHOICE_MULTI -> {
+                for (String part : answerValue.split(",", -1)) {
+                    countOption(part.trim(), sign);
+                }
+            }
+            case NPS_SCALE, RATING_STAR, RATING_LINEAR -> {
+                String trimmed = answerValue.trim();
+                countOption(trimmed, sign);
+                if (NUMERIC.matcher(trimmed).matches()) {
+                    double value = Double.parseDouble(trimmed);
+                    numericCount += sign;
+                    numericSum += sign * value;
+                    if (sign > 0) {
+                        numericMin = numericMin == null ? value : Math.min(numericMin, value);
+                        numericMax = numericMax == null ? value : Math.max(numericMax, value);
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+
+        Double score = question.scoreMap().get(answerValue);
+        if (score != null) {
+            scoreTotal += sign * score * question.weight();
+        }
+    }
+
+    /**
+     * Adds a stored option count.
+     */
+    public void addOptionCount(String optionValue, long count) {
+        optionCounts.merge(optionValue, count, Long::sum);
+    }
+
+    public long answerCount() {
+        return answerCount;
+    }
+
+    public long numericCount() {
+        return numericCount;
+    }
+
+    public double numericSum() {
+        return numericSum;
+    }
+
+    public Double numericMin() {
+        return numericMin;
+    }
+
+    public Double numericMax() {
+        return numericMax;
+    }
+
+    public double scoreTotal() {
+        return scoreTotal;
+    }
+
+    public Map<String, Long> optionCounts() {
+        return Collections.unmodifiableMap(optionCounts);
+    }
+
+    private void countOption(String value, int sign) {
+        if (value.isEmpty() || value.length() > MAX_OPTION_LENGTH) return;
+        optionCounts.merge(value, (long) sign, Long::sum);
+    }
+}
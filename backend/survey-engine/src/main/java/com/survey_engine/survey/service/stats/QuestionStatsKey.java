@@ -0,0 +1,21 @@
+package com.survey_engine.survey.service.stats;
+
+import java.util.Comparator;
+
+/**
+ * Identifies the aggregate row of one question.
+ * Ordered so that batched upserts always lock rows in the same order.
+ *
+ * @param surveyId The survey ID.
+ * @param questionId The question ID.
+ */
+public record QuestionStatsKey(Long surveyId, Long questionId) implements Comparable<QuestionStatsKey> {
+
+    private static final Comparator<QuestionStatsKey> ORDER =
+            Comparator.comparing(QuestionStatsKey::surveyId).thenComparing(QuestionStatsKey::questionId);
+
+    @Override
+    public int compareTo(QuestionStatsKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,209 @@
+package com.survey_engine.survey.service.stats;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.common.exception.ResourceNotFoundException;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.dto.results.OptionCountResponse;
+import com.survey_engine.survey.dto.results.QuestionResultResponse;
+import com.survey_engine.survey.dto.results.SurveyResultsResponse;
+import com.survey_engine.survey.models.Answer;
+import com.survey_engine.survey.models.Response;
+import com.survey_engine.survey.repository.QuestionStatsRepository;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.user.UserApi;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains per-question result aggregates incrementally as responses are ingested, and serves
+ * survey results from them in O(questions) rather than by loading every response.
+ * <p>
+ * {@link #record} must be called inside the transaction that writes the responses, so the
+ * aggregates are committed or rolled back together with them. Reads go through a short-lived
+ * in-memory cache, so dashboards polling the same survey share one query.
+ */
+@Service
+@Slf4j
+public class QuestionStatsService {
+
+    private static final TypeReference<List<Object>> OPTION_LIST = new TypeReference<>() {};
+
+    private final QuestionStatsRepository questionStatsRepository;
+    private final CompiledSurveyCache compiledSurveyCache;
+    private final ObjectMapper objectMapper;
+    private final UserApi userApi;
+    private final Cache<Long, SurveyResultsResponse> results;
+
+    /**
+     * Constructor for QuestionStatsService.
+     * @param questionStatsRepository Repository for the aggregate tables.
+     * @param compiledSurveyCache Cache of survey definitions.
+     * @param objectMapper Jackson mapper for parsing question options.
+     * @param userApi API for resolving the caller's tenant.
+     * @param cacheTtl How long computed results are served before being re-read.
+     */
+    public QuestionStatsService(QuestionStatsRepository questionStatsRepository,
+                                CompiledSurveyCache compiledSurveyCache,
+                                ObjectMapper objectMapper,
+                                UserApi userApi,
+                                @Value("${survey.stats.cache-ttl:PT5S}") Duration cacheTtl) {
+        this.questionStatsRepository = questionStatsRepository;
+        this.compiledSurveyCache = compiledSurveyCache;
+        this.objectMapper = objectMapper;
+        this.userApi = userApi;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Adds newly written responses to the aggregates, with one upsert per table for the whole batch.
+     * The survey's response count moves by the same delta as its question aggregates.
+     * @param survey The compiled survey the responses belong to.
+     * @param responses The responses, with their answers.
+     */
+    public void record(CompiledSurvey survey, Collection<Response> responses) {
+        record(Map.of(survey.id(), survey), responses);
+    }
+
+    /**
+     * Adds newly written responses from several surveys to the aggregates.
+     * @param surveys The compiled surveys of the responses, keyed by survey ID.
+     * @param responses The responses, with their answers.
+     */
+    public void record(Map<Long, CompiledSurvey> surveys, Collection<Response> responses) {
+        TreeMap<Long, Long> responseCounts = new TreeMap<>();
+        TreeMap<QuestionStatsKey, QuestionStats> deltas = new TreeMap<>();
+        for (Response response : responses) {
+            CompiledSurvey survey = surveys.get(response.getSurvey().getId());
+            if (survey != null) {
+                responseCounts.merge(survey.id(), 1L, Long::sum);
+                accumulate(deltas, survey, response, 1);
+            }
+        }
+        questionStatsRepository.applyDeltas(responseCounts, deltas);
+    }
+
+    /**
+     * Removes a deleted response from the aggregates.
+     * @param survey The compiled survey the response belongs to.
+     * @param response The response being deleted, with its answers.
+     */
+    public void retract(CompiledSurvey survey, Response response) {
+        TreeMap<QuestionStatsKey, QuestionStats> deltas = new TreeMap<>();
+        accumulate(deltas, survey, response, -1);
+        questionStatsRepository.applyDeltas(new TreeMap<>(Map.of(survey.id(), -1L)), deltas);
+        results.invalidate(survey.id());
+    }
+
+    /**
+     * Retrieves the aggregated results of a survey.
+     * Only the survey owner or an admin can perform this action.
+     *
+     * @param surveyId The ID of the survey.
+     * @param userId The ID of the user making the request.
+     * @param roles The roles of the user.
+     * @return The survey's results.
+     */
+    public SurveyResultsResponse getResults(Long surveyId, String userId, List<String> roles) {
+        Long tenantId = userApi.getTenantId();
+        CompiledSurvey survey = compiledSurveyCache.get(surveyId)
+                .filter(s -> s.tenantId().equals(tenantId))
+                .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + surveyId));
+        if (!survey.userId().equals(userId) && (roles == null || !roles.contains("ADMIN"))) {
+            throw new AccessDeniedException("You do not have permission to view results for this survey.");
+        }
+        return results.get(surveyId, id -> load(survey));
+    }
+
+    /**
+     * Retrieves the aggregated results of a survey without access checks, for internal callers.
+     * @param surveyId The ID of the survey.
+     * @return The survey's results.
+     */
+    public SurveyResultsResponse getResults(Long surveyId) {
+        CompiledSurvey survey = compiledSurveyCache.get(surveyId)
+                .orElseThrow(() -> new ResourceNotFoundException("SURVEY_NOT_FOUND", "Survey not found with id: " + surveyId));
+        return results.get(surveyId, id -> load(survey));
+    }
+
+    private void accumulate(Map<QuestionStatsKey, QuestionStats> deltas, CompiledSurvey survey, Response response, int sign) {
+        for (Answer answer : response.getAnswers()) {
+            Long questionId = answer.getQuestion().getId();
+            CompiledQuestion question = survey.question(questionId).orElse(null);
+            if (question == null) continue;
+            deltas.computeIfAbsent(new QuestionStatsKey(survey.id(), questionId), key -> new QuestionStats())
+                    .add(question, answer.getAnswerValue(), sign);
+        }
+    }
+
+    private SurveyResultsResponse load(CompiledSurvey survey) {
+        Map<Long, QuestionStats> stats = questionStatsRepository.findBySurveyId(survey.id());
+        long responseCount = questionStatsRepository.findResponseCount(survey.id());
+
+        List<QuestionResultResponse> questions = new ArrayList<>(survey.questions().size());
+        Map<String, Double> categoryScores = new LinkedHashMap<>();
+        for (CompiledQuestion question : survey.questions()) {
+            QuestionStats questionStats = stats.getOrDefault(question.id(), new QuestionStats());
+            questions.add(toResult(question, questionStats));
+            if (question.category() != null && !question.scoreMap().isEmpty()) {
+                categoryScores.merge(question.category(), questionStats.scoreTotal(), Double::sum);
+            }
+        }
+        return new SurveyResultsResponse(survey.id(), responseCount, questions, categoryScores);
+    }
+
+    private QuestionResultResponse toResult(CompiledQuestion question, QuestionStats stats) {
+        List<String> labels = optionLabels(question);
+        List<OptionCountResponse> options = stats.optionCounts().entrySet().stream()
+                .filter(option -> option.getValue() > 0)
+                .map(option -> new OptionCountResponse(option.getKey(), label(labels, option.getKey()), option.getValue()))
+                .sorted(Comparator.comparingLong(OptionCountResponse::count).reversed()
+                        .thenComparing(OptionCountResponse::value))
+                .toList();
+        Double average = stats.numericCount() > 0 ? stats.numericSum() / stats.numericCount() : null;
+        return new QuestionResultResponse(question.id(), question.questionText(), question.questionType(),
+                question.category(), Math.max(0, stats.answerCount()), options, average,
+                stats.numericMin(), stats.numericMax(), stats.scoreTotal());
+    }
+
+    private List<String> optionLabels(CompiledQuestion question) {
+        boolean choice = question.questionType() == QuestionType.MULTIPLE_CHOICE_SINGLE
+                || question.questionType() == QuestionType.MULTIPLE_CHOICE_MULTI;
+        if (!choice || question.options() == null || question.options().isBlank()) return List.of();
+        try {
+            return objectMapper.readValue(question.options(), OPTION_LIST).stream()
+                    .map(String::valueOf)
+                    .toList();
+        } catch (Exception e) {
+            log.debug("Options of question {} are not a JSON array; using raw answer values as labels", question.id());
+            return List.of();
+        }
+    }
+
+    private static String label(List<String> labels, String value) {
+        try {
+            int index = Integer.parseInt(value);
+            return index >= 0 && index < labels.size() ? labels.get(index) : value;
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.survey_engine.survey.service.ussd;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node {@link UssdSessionStore} kept in process memory.
+ * Enabled with {@code survey.ussd.store=memory}, for local development and tests only:
+ * sessions are not shared between instances, so every callback of a session must reach the same node.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.ussd.store", havingValue = "memory")
+public class InMemoryUssdSessionStore implements UssdSessionStore {
+
+    private record Entry(UssdSession session, long expiresAt) {}
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<UssdSession> get(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) return Optional.empty();
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            sessions.remove(sessionId, entry);
+            return Optional.empty();
+        }
+        UssdSession session = entry.session();
+        return Optional.of(new UssdSession(session.sessionId(), session.surveyId(), session.questionId(),
+                session.consumed(), new HashMap<>(session.answers())));
+    }
+
+    @Override
+    public void save(UssdSession session, Duration ttl) {
+        UssdSession copy = new UssdSession(session.sessionId(), session.surveyId(), session.questionId(),
+                session.consumed(), new HashMap<>(session.answers()));
+        sessions.put(session.sessionId(), new Entry(copy, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        sessions.remove(sessionId);
+    }
+}
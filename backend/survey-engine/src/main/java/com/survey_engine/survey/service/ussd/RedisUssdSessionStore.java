@@ -0,0 +1,87 @@
+package com.survey_engine.survey.service.ussd;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis-backed {@link UssdSessionStore}.
+ * Each session is a hash at {@code ussd:s:<sessionId>} with short fields: {@code s} (survey ID),
+ * {@code q} (current question ID), {@code n} (consumed input length) and {@code a:<questionId>}
+ * per answer. A read is one HGETALL; a write is HSET plus PEXPIRE in one pipelined round-trip.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.ussd.store", havingValue = "redis", matchIfMissing = true)
+public class RedisUssdSessionStore implements UssdSessionStore {
+
+    private static final String KEY_PREFIX = "ussd:s:";
+    private static final String SURVEY_FIELD = "s";
+    private static final String QUESTION_FIELD = "q";
+    private static final String CONSUMED_FIELD = "n";
+    private static final String ANSWER_PREFIX = "a:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisUssdSessionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<UssdSession> get(String sessionId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(KEY_PREFIX + sessionId);
+        if (fields.isEmpty()) return Optional.empty();
+
+        Long surveyId = null;
+        Long questionId = null;
+        int consumed = 0;
+        Map<Long, String> answers = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = entry.getKey().toString();
+            String value = entry.getValue().toString();
+            switch (field) {
+                case SURVEY_FIELD -> surveyId = Long.valueOf(value);
+                case QUESTION_FIELD -> questionId = Long.valueOf(value);
+                case CONSUMED_FIELD -> consumed = Integer.parseInt(value);
+                default -> {
+                    if (field.startsWith(ANSWER_PREFIX)) {
+                        answers.put(Long.valueOf(field.substring(ANSWER_PREFIX.length())), value);
+                    }
+                }
+            }
+        }
+        return Optional.of(new UssdSession(sessionId, surveyId, questionId, consumed, answers));
+    }
+
+    @Override
+    public void save(UssdSession session, Duration ttl) {
+        String key = KEY_PREFIX + session.sessionId();
+        Map<String, String> fields = new HashMap<>();
+        fields.put(SURVEY_FIELD, session.surveyId().toString());
+        fields.put(QUESTION_FIELD, session.questionId().toString());
+        fields.put(CONSUMED_FIELD, String.valueOf(session.consumed()));
+        session.answers().forEach((questionId, answer) -> fields.put(ANSWER_PREFIX + questionId, answer));
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().putAll(key, fields);
+                operations.expire(key, ttl.toMillis(), TimeUnit.MILLISECONDS);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        redisTemplate.delete(KEY_PREFIX + sessionId);
+    }
+}
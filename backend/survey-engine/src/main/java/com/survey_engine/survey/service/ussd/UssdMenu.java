@@ -0,0 +1,146 @@
+package com.survey_engine.survey.service.ussd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A survey rendered as USSD screens. Prompts, option counts and linear successors are
+ * worked out once per {@link CompiledSurvey} version, so a gateway callback only has to
+ * validate the input and pick the next step. Immutable and shared across threads.
+ */
+@Slf4j
+public final class UssdMenu {
+
+    private static final TypeReference<List<Object>> OPTION_LIST = new TypeReference<>() {};
+
+    /**
+     * One screen of the menu.
+     *
+     * @param question The question shown on this screen.
+     * @param prompt The screen text: the question followed by its numbered options, if any.
+     * @param optionCount The number of options of a choice question, otherwise 0.
+     * @param nextQuestionId The question that follows by position, or null after the last one.
+     */
+    public record Step(CompiledQuestion question, String prompt, int optionCount, Long nextQuestionId) {
+
+        /**
+         * Converts what the participant typed into the stored answer value. Options are shown
+         * numbered from 1 and stored as 0-based indices, as the web client does.
+         * @param input The participant's input for this screen.
+         * @return The answer value, or null if the input is not valid for the question.
+         */
+        public String parse(String input) {
+            String value = input.trim();
+            if (value.isEmpty()) return null;
+            QuestionType type = question.questionType();
+            if (type == QuestionType.MULTIPLE_CHOICE_SINGLE && optionCount > 0) {
+                int option = parseInt(value);
+                return option >= 1 && option <= optionCount ? String.valueOf(option - 1) : null;
+            }
+            if (type == QuestionType.MULTIPLE_CHOICE_MULTI && optionCount > 0) {
+                StringBuilder answer = new StringBuilder();
+                for (String part : value.split("[,\\s]+")) {
+                    int option = parseInt(part);
+                    if (option < 1 || option > optionCount) return null;
+                    if (!answer.isEmpty()) answer.append(',');
+                    answer.append(option - 1);
+                }
+                return answer.toString();
+            }
+            return switch (type) {
+                case NPS_SCALE -> inRange(value, 0, 10);
+                case RATING_STAR -> inRange(value, 1, 5);
+                case RATING_LINEAR -> parseInt(value) == Integer.MIN_VALUE ? null : value;
+                default -> value;
+            };
+        }
+
+        private static String inRange(String value, int min, int max) {
+            int parsed = parseInt(value);
+            return parsed >= min && parsed <= max ? value : null;
+        }
+
+        private static int parseInt(String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return Integer.MIN_VALUE;
+            }
+        }
+    }
+
+    private final CompiledSurvey survey;
+    private final Map<Long, Step> steps;
+    private final Long firstQuestionId;
+
+    private UssdMenu(CompiledSurvey survey, Map<Long, Step> steps, Long firstQuestionId) {
+        this.survey = survey;
+        this.steps = steps;
+        this.firstQuestionId = firstQuestionId;
+    }
+
+    /**
+     * Renders every question of a survey.
+     * @param survey The compiled survey.
+     * @param objectMapper Jackson mapper for reading option lists.
+     * @return The menu.
+     */
+    public static UssdMenu of(CompiledSurvey survey, ObjectMapper objectMapper) {
+        List<CompiledQuestion> questions = survey.questions();
+        Map<Long, Step> steps = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            CompiledQuestion question = questions.get(i);
+            List<String> options = options(question, objectMapper);
+            StringBuilder prompt = new StringBuilder(question.questionText());
+            for (int o = 0; o < options.size(); o++) {
+                prompt.append('\n').append(o + 1).append(". ").append(options.get(o));
+            }
+            if (question.questionType() == QuestionType.NPS_SCALE) prompt.append(" (0-10)");
+            if (question.questionType() == QuestionType.RATING_STAR) prompt.append(" (1-5)");
+            Long next = i + 1 < questions.size() ? questions.get(i + 1).id() : null;
+            steps.put(question.id(), new Step(question, prompt.toString(), options.size(), next));
+        }
+        return new UssdMenu(survey, Map.copyOf(steps), questions.isEmpty() ? null : questions.get(0).id());
+    }
+
+    public CompiledSurvey survey() {
+        return survey;
+    }
+
+    /**
+     * @return The first step, or null if the survey has no questions.
+     */
+    public Step first() {
+        return firstQuestionId != null ? steps.get(firstQuestionId) : null;
+    }
+
+    /**
+     * @param questionId A question ID.
+     * @return The step of that question, or null if it is not part of the survey.
+     */
+    public Step step(Long questionId) {
+        return questionId != null ? steps.get(questionId) : null;
+    }
+
+    private static List<String> options(CompiledQuestion question, ObjectMapper objectMapper) {
+        boolean choice = question.questionType() == QuestionType.MULTIPLE_CHOICE_SINGLE
+                || question.questionType() == QuestionType.MULTIPLE_CHOICE_MULTI;
+        if (!choice || question.options() == null || question.options().isBlank()) return List.of();
+        try {
+            return objectMapper.readValue(question.options(), OPTION_LIST).stream()
+                    .map(String::valueOf)
+                    .toList();
+        } catch (Exception e) {
+            log.debug("Options of question {} are not a JSON array; accepting free input over USSD", question.id());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.survey_engine.survey.service.ussd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache of {@link UssdMenu}s keyed by survey ID.
+ * Menus are refreshed in the background once they are older than the snapshot TTL, and the
+ * old menu keeps being served until the refresh completes, so only the first callback for
+ * a survey can wait on {@link CompiledSurveyCache} compiling it from Postgres.
+ */
+@Service
+public class UssdMenuCache {
+
+    private final ObjectMapper objectMapper;
+    private final LoadingCache<Long, UssdMenu> cache;
+
+    /**
+     * Constructor for UssdMenuCache.
+     * @param compiledSurveyCache Source of the compiled survey snapshots.
+     * @param objectMapper Jackson mapper for reading option lists.
+     * @param maxSize The maximum number of menus held in memory.
+     * @param refreshAfter How old a menu may get before it is rebuilt in the background.
+     * @param expireAfterAccess How long an unused menu is kept.
+     */
+    public UssdMenuCache(CompiledSurveyCache compiledSurveyCache,
+                         ObjectMapper objectMapper,
+                         @Value("${survey.ussd.menu-cache.max-size:1000}") long maxSize,
+                         @Value("${survey.snapshot.ttl:PT1M}") Duration refreshAfter,
+                         @Value("${survey.ussd.menu-cache.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterAccess(expireAfterAccess)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UssdMenu load(Long surveyId) {
+                        return compiledSurveyCache.get(surveyId).map(survey -> render(survey, null)).orElse(null);
+                    }
+
+                    @Override
+                    public UssdMenu reload(Long surveyId, UssdMenu current) {
+                        return compiledSurveyCache.get(surveyId).map(survey -> render(survey, current)).orElse(null);
+                    }
+                });
+    }
+
+    /**
+     * @param surveyId The ID of the survey.
+     * @return The survey's menu, or empty if the survey does not exist.
+     */
+    public Optional<UssdMenu> get(Long surveyId) {
+        if (surveyId == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(surveyId));
+    }
+
+    private UssdMenu render(CompiledSurvey survey, UssdMenu current) {
+        if (current != null && current.survey().version() == survey.version()) {
+            return current;
+        }
+        return UssdMenu.of(survey, objectMapper);
+    }
+}
@@ -0,0 +1,187 @@
+package com.survey_engine.survey.service.ussd;
+
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.dto.AnswerRequest;
+import com.survey_engine.survey.dto.ResponseRequest;
+import com.survey_engine.survey.service.BranchRuleService;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.snapshot.BranchProgram;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.ScoreAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Drives USSD survey sessions in the Africa's Talking callback format.
+ * <p>
+ * The gateway sends the participant's whole input so far as one {@code *}-separated
+ * {@code text}; the session remembers how much of it was already handled, so answers that
+ * themselves contain {@code *} and repeated callbacks are both handled correctly. A callback
+ * reads the menu from {@link UssdMenuCache} and the session from {@link UssdSessionStore} and
+ * never queries Postgres; the finished response is handed to {@link ResponseService#createResponse}.
+ */
+@Service
+@Slf4j
+public class UssdService {
+
+    static final String CONTINUE = "CON ";
+    static final String END = "END ";
+    static final String CHANNEL = "USSD";
+
+    private final UssdMenuCache menuCache;
+    private final UssdSessionStore sessionStore;
+    private final BranchRuleService branchRuleService;
+    private final ResponseService responseService;
+    private final Duration sessionTtl;
+
+    /**
+     * Constructor for UssdService.
+     * @param menuCache Cache of rendered survey menus.
+     * @param sessionStore Storage for session state between callbacks.
+     * @param branchRuleService Service resolving the next question from branch rules.
+     * @param responseService Service the completed response is submitted to.
+     * @param sessionTtl How long a session is kept without a callback.
+     */
+    public UssdService(UssdMenuCache menuCache,
+                       UssdSessionStore sessionStore,
+                       BranchRuleService branchRuleService,
+                       ResponseService responseService,
+                       @Value("${survey.ussd.session-ttl:PT5M}") Duration sessionTtl) {
+        this.menuCache = menuCache;
+        this.sessionStore = sessionStore;
+        this.branchRuleService = branchRuleService;
+        this.responseService = responseService;
+        this.sessionTtl = sessionTtl;
+    }
+
+    /**
+     * Handles one gateway callback.
+     * @param sessionId The gateway session ID.
+     * @param phoneNumber The participant's phone number.
+     * @param text Everything the participant has entered in this session, separated by {@code *}.
+     * @return The screen to show, prefixed with {@code CON} to continue or {@code END} to close the session.
+     */
+    public String handle(String sessionId, String phoneNumber, String text) {
+        String input = text != null ? text : "";
+        Optional<UssdSession> session = sessionStore.get(sessionId);
+        if (session.isEmpty()) {
+            return start(sessionId, input);
+        }
+        return answer(session.get(), phoneNumber, input);
+    }
+
+    private String start(String sessionId, String text) {
+        if (text.isBlank()) {
+            return CONTINUE + "Enter the survey code:";
+        }
+
+        int separator = text.indexOf('*');
+        String code = separator < 0 ? text : text.substring(0, separator);
+        Long surveyId;
+        try {
+            surveyId = Long.parseLong(code.trim());
+        } catch (NumberFormatException e) {
+            return END + "Invalid survey code.";
+        }
+
+        UssdMenu menu = menuCache.get(surveyId).orElse(null);
+        if (menu == null) {
+            return END + "Survey not found.";
+        }
+        CompiledSurvey survey = menu.survey();
+        if (!survey.isActive()) {
+            return END + "This survey is not currently active.";
+        }
+        if (survey.accessType() == AccessType.PRIVATE) {
+            return END + "This survey is not available over USSD.";
+        }
+        UssdMenu.Step first = menu.first();
+        if (first == null) {
+            return END + "This survey has no questions.";
+        }
+
+        sessionStore.save(new UssdSession(sessionId, surveyId, first.question().id(), code.length(), new HashMap<>()), sessionTtl);
+        return CONTINUE + first.prompt();
+    }
+
+    private String answer(UssdSession session, String phoneNumber, String text) {
+        UssdMenu menu = menuCache.get(session.surveyId()).orElse(null);
+        UssdMenu.Step step = menu != null ? menu.step(session.questionId()) : null;
+        if (step == null) {
+            sessionStore.delete(session.sessionId());
+            return END + "The survey you were taking is no longer available.";
+        }
+
+        if (text.length() <= session.consumed()) {
+            // The gateway repeated a callback we already answered
+            return CONTINUE + step.prompt();
+        }
+        String input = text.substring(Math.min(session.consumed() + 1, text.length()));
+        String value = step.parse(input);
+        if (value == null) {
+            sessionStore.save(withProgress(session, session.questionId(), text.length()), sessionTtl);
+            return CONTINUE + "Invalid input.\n" + step.prompt();
+        }
+
+        CompiledSurvey survey = menu.survey();
+        CompiledQuestion question = step.question();
+        session.answers().put(question.id(), value);
+
+        UssdMenu.Step next = next(menu, step, session.answers());
+        if (next == null) {
+            return complete(session, survey, phoneNumber);
+        }
+        sessionStore.save(withProgress(session, next.question().id(), text.length()), sessionTtl);
+        return CONTINUE + next.prompt();
+    }
+
+    private UssdMenu.Step next(UssdMenu menu, UssdMenu.Step step, Map<Long, String> answers) {
+        CompiledSurvey survey = menu.survey();
+        ScoreAccumulator scores = survey.branching().newAccumulator();
+        answers.forEach((questionId, answer) -> survey.accumulate(scores, questionId, answer));
+
+        Long questionId = step.question().id();
+        Long target = branchRuleService.resolveNextQuestion(survey, questionId,
+                BranchProgram.parseOptionIndex(answers.get(questionId)), scores);
+        if (target == null) {
+            return null;
+        }
+        UssdMenu.Step branched = target == BranchProgram.NO_MATCH ? null : menu.step(target);
+        return branched != null ? branched : menu.step(step.nextQuestionId());
+    }
+
+    private String complete(UssdSession session, CompiledSurvey survey, String phoneNumber) {
+        sessionStore.delete(session.sessionId());
+
+        List<AnswerRequest> answers = new ArrayList<>(session.answers().size());
+        for (CompiledQuestion question : survey.questions()) {
+            String answer = session.answers().get(question.id());
+            if (answer != null) {
+                answers.add(new AnswerRequest(question.id(), answer));
+            }
+        }
+
+        Map<String, String> metadata = Map.of("channel", CHANNEL, "ussdSessionId", session.sessionId());
+        try {
+            responseService.createResponse(survey.id(), new ResponseRequest(answers, metadata), null, phoneNumber, metadata);
+        } catch (RuntimeException e) {
+            log.warn("USSD response for survey {} from session {} was not accepted: {}",
+                    survey.id(), session.sessionId(), e.getMessage());
+            return END + "Sorry, your response could not be submitted.";
+        }
+        return END + "Thank you for completing the survey!";
+    }
+
+    private static UssdSession withProgress(UssdSession session, Long questionId, int consumed) {
+        return new UssdSession(session.sessionId(), session.surveyId(), questionId, consumed, session.answers());
+    }
+}
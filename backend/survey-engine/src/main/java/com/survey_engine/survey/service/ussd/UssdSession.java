@@ -0,0 +1,20 @@
+package com.survey_engine.survey.service.ussd;
+
+import java.util.Map;
+
+/**
+ * State of a USSD survey session between gateway callbacks.
+ *
+ * @param sessionId The session ID assigned by the USSD gateway.
+ * @param surveyId The ID of the survey being taken.
+ * @param questionId The ID of the question currently on screen.
+ * @param consumed How many characters of the gateway's cumulative {@code text} have already been handled.
+ * @param answers Answers so far, keyed by question ID.
+ */
+public record UssdSession(
+        String sessionId,
+        Long surveyId,
+        Long questionId,
+        int consumed,
+        Map<Long, String> answers
+) {}
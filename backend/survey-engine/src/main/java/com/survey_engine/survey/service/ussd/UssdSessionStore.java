@@ -0,0 +1,29 @@
+package com.survey_engine.survey.service.ussd;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage for {@link UssdSession}s. Implementations must not touch the database: every
+ * operation runs inside a gateway callback with a hard latency budget.
+ */
+public interface UssdSessionStore {
+
+    /**
+     * @param sessionId The gateway session ID.
+     * @return The session, or empty if none exists or it has expired.
+     */
+    Optional<UssdSession> get(String sessionId);
+
+    /**
+     * Creates or overwrites a session.
+     * @param session The session to store.
+     * @param ttl How long the session lives without further activity.
+     */
+    void save(UssdSession session, Duration ttl);
+
+    /**
+     * @param sessionId The gateway session ID.
+     */
+    void delete(String sessionId);
+}
@@ -0,0 +1,34 @@
+package com.survey_engine.survey.service.webhook;
+
+import java.util.UUID;
+
+/**
+ * A claimed row of {@code webhook_delivery_attempts}, joined with its subscription's endpoint.
+ *
+ * @param id The attempt row ID, sent to subscribers as {@code X-Webhook-Delivery-Id}.
+ * @param subscriptionId The subscription being delivered to.
+ * @param eventType The event type.
+ * @param payload The JSON body.
+ * @param attempts The number of attempts including the one about to be made.
+ * @param targetUrl The subscription's endpoint.
+ * @param secret The subscription's signing secret, or null.
+ * @param batchMaxSize The most events the subscription accepts per request, or 0 if it takes one event per request.
+ */
+public record WebhookDelivery(
+        long id,
+        UUID subscriptionId,
+        String eventType,
+        String payload,
+        int attempts,
+        String targetUrl,
+        String secret,
+        int batchMaxSize
+) {
+
+    /**
+     * @return true if the subscription receives events as a JSON array.
+     */
+    public boolean batched() {
+        return batchMaxSize > 0;
+    }
+}
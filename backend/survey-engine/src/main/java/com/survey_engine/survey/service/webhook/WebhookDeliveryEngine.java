@@ -0,0 +1,324 @@
+package com.survey_engine.survey.service.webhook;
+
+import com.survey_engine.survey.models.WebhookDeliveryLog;
+import com.survey_engine.survey.repository.WebhookDeliveryAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued outbound webhooks from {@code webhook_delivery_attempts}.
+ * <p>
+ * Each poll claims due deliveries, a few per subscription, and sends them through one shared,
+ * pooled {@link WebClient} without blocking the polling thread. A subscription never has more than
+ * {@code survey.webhook.max-in-flight-per-subscription} requests open on this node, so a slow
+ * endpoint only slows its own deliveries. Failures are retried with exponential backoff and
+ * jitter; after {@code survey.webhook.circuit.failure-threshold} failures in a row a
+ * subscription's circuit opens and its deliveries wait until {@code survey.webhook.circuit.open-duration}
+ * has passed.
+ * <p>
+ * Subscriptions with batching enabled receive their events as a JSON array of up to
+ * {@code batch_max_size} payloads per request, signed once for the whole body; the request
+ * succeeds or fails as a unit.
+ */
+@Component
+@Slf4j
+public class WebhookDeliveryEngine {
+
+    private static final Duration BUSY_DEFER = Duration.ofSeconds(1);
+    static final String BATCH_EVENT_TYPE = "BATCH";
+
+    private final WebhookDeliveryAttemptRepository attemptRepository;
+    private final WebhookDeliveryLogWriter deliveryLogWriter;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final int maxInFlightPerSubscription;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int circuitFailureThreshold;
+    private final Duration circuitOpenDuration;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<UUID, Semaphore> inFlightBySubscription = new ConcurrentHashMap<>();
+
+    private final Timer latency;
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    /**
+     * Constructor for WebhookDeliveryEngine.
+     * @param attemptRepository The delivery queue.
+     * @param deliveryLogWriter Writer for the per-request delivery log.
+     * @param webClientBuilder Builder the shared client is derived from.
+     * @param meterRegistry Registry for delivery latency and outcome metrics.
+     * @param batchSize The most deliveries claimed per poll.
+     * @param maxInFlight The most requests open on this node.
+     * @param maxInFlightPerSubscription The most requests open on this node for one subscription.
+     * @param maxAttempts The number of attempts before a delivery is given up on.
+     * @param initialBackoff The base delay before the first retry; doubled for each further retry.
+     * @param maxBackoff The longest delay between retries.
+     * @param timeout How long to wait for a subscriber's response.
+     * @param lease How long a claimed delivery is reserved for this node.
+     * @param circuitFailureThreshold The number of consecutive failures that opens a subscription's circuit.
+     * @param circuitOpenDuration How long an open circuit holds back deliveries.
+     */
+    public WebhookDeliveryEngine(WebhookDeliveryAttemptRepository attemptRepository,
+                                 WebhookDeliveryLogWriter deliveryLogWriter,
+                                 WebClient.Builder webClientBuilder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${survey.webhook.batch-size:200}") int batchSize,
+                                 @Value("${survey.webhook.max-in-flight:200}") int maxInFlight,
+                                 @Value("${survey.webhook.max-in-flight-per-subscription:4}") int maxInFlightPerSubscription,
+                                 @Value("${survey.webhook.max-attempts:8}") int maxAttempts,
+                                 @Value("${survey.webhook.initial-backoff:PT10S}") Duration initialBackoff,
+                                 @Value("${survey.webhook.max-backoff:PT1H}") Duration maxBackoff,
+                                 @Value("${survey.webhook.timeout:PT10S}") Duration timeout,
+                                 @Value("${survey.webhook.lease:PT2M}") Duration lease,
+                                 @Value("${survey.webhook.circuit.failure-threshold:10}") int circuitFailureThreshold,
+                                 @Value("${survey.webhook.circuit.open-duration:PT5M}") Duration circuitOpenDuration) {
+        this.attemptRepository = attemptRepository;
+        this.deliveryLogWriter = deliveryLogWriter;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.maxInFlightPerSubscription = maxInFlightPerSubscription;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.circuitFailureThreshold = circuitFailureThreshold;
+        this.circuitOpenDuration = circuitOpenDuration;
+
+        this.connectionProvider = ConnectionProvider.builder("webhook-delivery")
+                .maxConnections(maxInFlight)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5_000)
+                .responseTimeout(timeout);
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        this.latency = Timer.builder("webhook.delivery.latency")
+                .description("Time from sending a webhook to the subscriber's response")
+                .register(meterRegistry);
+        this.deliveredCounter = meterRegistry.counter("webhook.delivery.delivered");
+        this.retriedCounter = meterRegistry.counter("webhook.delivery.retried");
+        this.failedCounter = meterRegistry.counter("webhook.delivery.failed");
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Claims due deliveries and starts sending them.
+     */
+    @Scheduled(fixedDelayString = "${survey.webhook.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            int released = attemptRepository.releaseExpiredLeases();
+            if (released > 0) {
+                log.warn("Released {} webhook deliveries whose lease expired", released);
+            }
+            int capacity = Math.min(batchSize, maxInFlight - inFlight.get());
+            if (capacity <= 0) return;
+
+            List<WebhookDelivery> deliveries = attemptRepository.claim(maxInFlightPerSubscription, capacity, lease);
+            List<Long> busy = new ArrayList<>();
+            for (List<WebhookDelivery> request : requests(deliveries)) {
+                Semaphore permits = inFlightBySubscription.computeIfAbsent(request.get(0).subscriptionId(),
+                        id -> new Semaphore(maxInFlightPerSubscription));
+                if (!permits.tryAcquire()) {
+                    request.forEach(delivery -> busy.add(delivery.id()));
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                send(request, permits);
+            }
+            if (!busy.isEmpty()) {
+                attemptRepository.defer(busy, BUSY_DEFER);
+            }
+        } catch (RuntimeException e) {
+            log.error("Webhook delivery poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits claimed deliveries into requests: one per delivery, or for a batching subscription
+     * runs of up to its batch size in claim order.
+     * @param deliveries The claimed deliveries.
+     * @return The deliveries of each request.
+     */
+    static List<List<WebhookDelivery>> requests(List<WebhookDelivery> deliveries) {
+        Map<UUID, List<WebhookDelivery>> bySubscription = new LinkedHashMap<>();
+        for (WebhookDelivery delivery : deliveries) {
+            bySubscription.computeIfAbsent(delivery.subscriptionId(), id -> new ArrayList<>()).add(delivery);
+        }
+        List<List<WebhookDelivery>> requests = new ArrayList<>();
+        for (List<WebhookDelivery> group : bySubscription.values()) {
+            int size = group.get(0).batched() ? group.get(0).batchMaxSize() : 1;
+            for (int from = 0; from < group.size(); from += size) {
+                requests.add(group.subList(from, Math.min(from + size, group.size())));
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * @param request The deliveries of one request.
+     * @return The request body: the single payload, or a JSON array of payloads for a batching subscription.
+     */
+    static String body(List<WebhookDelivery> request) {
+        if (!request.get(0).batched()) return request.get(0).payload();
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        request.forEach(delivery -> body.add(delivery.payload()));
+        return body.toString();
+    }
+
+    private void send(List<WebhookDelivery> request, Semaphore permits) {
+        long started = System.nanoTime();
+        WebhookDelivery first = request.get(0);
+        String body = body(request);
+        String signature = first.secret() != null ? WebhookSigner.sign(body, first.secret()) : null;
+        webClient.post()
+                .uri(first.targetUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (first.batched()) {
+                        headers.set("X-Webhook-Event", BATCH_EVENT_TYPE);
+                        headers.set("X-Webhook-Batch-Size", String.valueOf(request.size()));
+                    } else {
+                        headers.set("X-Webhook-Event", first.eventType());
+                    }
+                    headers.set("X-Webhook-Delivery-Id", ids(request).stream()
+                            .map(String::valueOf).collect(Collectors.joining(",")));
+                    if (signature != null) headers.set("X-Webhook-Signature", signature);
+                })
+                .bodyValue(body)
+                .exchangeToMono(response -> response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(responseBody -> Map.entry(response.statusCode().value(), responseBody)))
+                .doOnTerminate(() -> latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS))
+                // Outcomes are written with JDBC, which must not run on the Netty event loop
+                .publishOn(Schedulers.boundedElastic())
+                .doFinally(signal -> {
+                    permits.release();
+                    inFlight.decrementAndGet();
+                })
+                .subscribe(
+                        result -> complete(request, body, result.getKey(), result.getValue()),
+                        error -> complete(request, body, 0, error.getMessage() != null ? error.getMessage() : error.toString()));
+    }
+
+    private void complete(List<WebhookDelivery> request, String requestBody, int status, String body) {
+        WebhookDelivery first = request.get(0);
+        boolean success = status >= 200 && status < 300;
+        try {
+            logDelivery(first, requestBody, status, body, success);
+            if (success) {
+                deliveredCounter.increment(request.size());
+                attemptRepository.markDelivered(ids(request), status);
+                attemptRepository.recordSuccess(first.subscriptionId());
+                return;
+            }
+
+            String error = status > 0 ? "HTTP " + status : body;
+            List<Long> exhausted = new ArrayList<>();
+            List<Long> retrying = new ArrayList<>();
+            int attempts = 0;
+            for (WebhookDelivery delivery : request) {
+                if (delivery.attempts() >= maxAttempts) {
+                    exhausted.add(delivery.id());
+                } else {
+                    retrying.add(delivery.id());
+                    attempts = Math.max(attempts, delivery.attempts());
+                }
+            }
+            if (!exhausted.isEmpty()) {
+                failedCounter.increment(exhausted.size());
+                attemptRepository.markFailed(exhausted, status, error);
+                log.error("Giving up on webhook deliveries {} to {} after {} attempts: {}",
+                        exhausted, first.targetUrl(), maxAttempts, error);
+            }
+            if (!retrying.isEmpty()) {
+                retriedCounter.increment(retrying.size());
+                Duration retryIn = backoff(attempts, initialBackoff, maxBackoff, ThreadLocalRandom.current().nextDouble());
+                attemptRepository.markRetry(retrying, status, error, retryIn);
+                log.warn("Webhook deliveries {} to {} failed ({}); retrying in {}",
+                        retrying, first.targetUrl(), error, retryIn);
+            }
+            if (attemptRepository.recordFailure(first.subscriptionId(), circuitFailureThreshold, circuitOpenDuration)) {
+                log.warn("Opened circuit of webhook subscription {} for {} after {} consecutive failures",
+                        first.subscriptionId(), circuitOpenDuration, circuitFailureThreshold);
+            }
+        } catch (RuntimeException e) {
+            // The lease expires and the deliveries are retried
+            log.error("Failed to record outcome of webhook deliveries {}: {}", ids(request), e.getMessage(), e);
+        }
+    }
+
+    private static List<Long> ids(List<WebhookDelivery> request) {
+        return request.stream().map(WebhookDelivery::id).toList();
+    }
+
+    private void logDelivery(WebhookDelivery delivery, String payload, int httpStatus, String responseBody, boolean success) {
+        WebhookDeliveryLog logEntry = new WebhookDeliveryLog();
+        logEntry.setSubscriptionId(delivery.subscriptionId());
+        logEntry.setEventType(delivery.batched() ? BATCH_EVENT_TYPE : delivery.eventType());
+        logEntry.setPayload(payload);
+        logEntry.setHttpStatus(httpStatus);
+        logEntry.setResponseBody(responseBody);
+        logEntry.setSuccess(success);
+        deliveryLogWriter.append(logEntry);
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the capped exponential delay plus a random
+     * share of the other half, so retries of many deliveries that failed together spread out.
+     * @param attempts The number of attempts made so far, at least 1.
+     * @param initial The base delay.
+     * @param max The cap on the exponential delay.
+     * @param random A value in [0, 1).
+     * @return The delay before the next attempt.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max, double random) {
+        long exponential = initial.toMillis() << Math.min(Math.max(attempts - 1, 0), 30);
+        long capped = Math.min(max.toMillis(), exponential < 0 ? Long.MAX_VALUE : exponential);
+        return Duration.ofMillis(capped / 2 + (long) (random * (capped - capped / 2)));
+    }
+}
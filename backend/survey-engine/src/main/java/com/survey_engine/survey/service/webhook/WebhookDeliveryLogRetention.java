@@ -0,0 +1,61 @@
+package com.survey_engine.survey.service.webhook;
+
+import com.survey_engine.survey.repository.WebhookDeliveryLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Maintains the daily partitions of {@code webhook_delivery_log}: creates the coming days'
+ * partitions ahead of time and drops those older than {@code survey.webhook.log.retention}.
+ * Every step is idempotent, so all nodes may run it.
+ */
+@Component
+@Slf4j
+public class WebhookDeliveryLogRetention {
+
+    private final WebhookDeliveryLogRepository repository;
+    private final Duration retention;
+    private final int daysAhead;
+
+    /**
+     * Constructor for WebhookDeliveryLogRetention.
+     * @param repository Repository managing the partitions.
+     * @param retention How long log entries are kept; rounded up to whole days.
+     * @param daysAhead How many days of partitions exist ahead of today.
+     */
+    public WebhookDeliveryLogRetention(WebhookDeliveryLogRepository repository,
+                                       @Value("${survey.webhook.log.retention:P30D}") Duration retention,
+                                       @Value("${survey.webhook.log.partitions-ahead:7}") int daysAhead) {
+        this.repository = repository;
+        this.retention = retention;
+        this.daysAhead = daysAhead;
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${survey.webhook.log.maintenance-interval:PT1H}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day <= daysAhead; day++) {
+            try {
+                repository.createPartition(today.plusDays(day));
+            } catch (RuntimeException e) {
+                // Typically rows for that day already sit in the default partition
+                log.warn("Could not create webhook delivery log partition for {}: {}", today.plusDays(day), e.getMessage());
+            }
+        }
+
+        LocalDate cutoff = today.minusDays(Math.max(1, (retention.toHours() + 23) / 24));
+        try {
+            int dropped = repository.dropPartitionsBefore(cutoff);
+            if (dropped > 0) {
+                log.info("Dropped {} webhook delivery log partition(s) from before {}", dropped, cutoff);
+            }
+        } catch (RuntimeException e) {
+            log.error("Webhook delivery log retention failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.survey_engine.survey.service.webhook;
+
+import com.survey_engine.survey.models.WebhookDeliveryLog;
+import com.survey_engine.survey.repository.WebhookDeliveryLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes webhook delivery log entries off the delivery path.
+ * <p>
+ * {@link #append} only adds the entry to a bounded in-memory queue, which is flushed to
+ * {@code webhook_delivery_log} in batched inserts. The log is diagnostic history; the outcome of
+ * each delivery is recorded in {@code webhook_delivery_attempts}, so when the queue is full, or a
+ * flush fails, entries are dropped and counted rather than slowing deliveries down.
+ */
+@Component
+@Slf4j
+public class WebhookDeliveryLogWriter {
+
+    private final WebhookDeliveryLogRepository repository;
+    private final BlockingQueue<WebhookDeliveryLog> queue;
+    private final int batchSize;
+    private final int maxResponseBodyLength;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    /**
+     * Constructor for WebhookDeliveryLogWriter.
+     * @param repository Repository the entries are inserted with.
+     * @param meterRegistry Registry for queue depth and outcome metrics.
+     * @param capacity The most entries held in memory.
+     * @param batchSize The most entries per insert.
+     * @param maxResponseBodyLength The most characters of a subscriber's response kept.
+     */
+    public WebhookDeliveryLogWriter(WebhookDeliveryLogRepository repository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${survey.webhook.log.capacity:10000}") int capacity,
+                                    @Value("${survey.webhook.log.batch-size:500}") int batchSize,
+                                    @Value("${survey.webhook.log.max-response-body-length:2000}") int maxResponseBodyLength) {
+        this.repository = repository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxResponseBodyLength = maxResponseBodyLength;
+
+        Gauge.builder("webhook.delivery.log.queue.depth", queue, BlockingQueue::size)
+                .description("Webhook delivery log entries waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("webhook.delivery.log.written");
+        this.droppedCounter = meterRegistry.counter("webhook.delivery.log.dropped");
+    }
+
+    /**
+     * Queues a log entry for writing.
+     * @param entry The entry; its delivery time defaults to now.
+     */
+    public void append(WebhookDeliveryLog entry) {
+        if (entry.getDeliveredAt() == null) {
+            entry.setDeliveredAt(LocalDateTime.now());
+        }
+        String responseBody = entry.getResponseBody();
+        if (responseBody != null && responseBody.length() > maxResponseBodyLength) {
+            entry.setResponseBody(responseBody.substring(0, maxResponseBodyLength));
+        }
+        if (!queue.offer(entry)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * @return The number of entries waiting to be written.
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Writes every queued entry, a batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${survey.webhook.log.flush-interval:PT1S}")
+    @PreDestroy
+    public void flush() {
+        List<WebhookDeliveryLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                repository.insertAll(batch);
+                writtenCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                droppedCounter.increment(batch.size());
+                log.error("Dropped {} webhook delivery log entries: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+}
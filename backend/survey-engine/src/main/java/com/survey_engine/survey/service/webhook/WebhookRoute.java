@@ -0,0 +1,27 @@
+package com.survey_engine.survey.service.webhook;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An active subscription as seen by event routing, with its event types already parsed.
+ *
+ * @param subscriptionId The subscription.
+ * @param eventTypes The event types the subscription receives.
+ * @param batchWindow How long events wait to be sent together, or {@link Duration#ZERO} for one request per event.
+ */
+public record WebhookRoute(
+        UUID subscriptionId,
+        Set<String> eventTypes,
+        Duration batchWindow
+) {
+
+    /**
+     * @param eventType An event type.
+     * @return true if the subscription receives events of this type.
+     */
+    public boolean accepts(String eventType) {
+        return eventTypes.contains(eventType);
+    }
+}
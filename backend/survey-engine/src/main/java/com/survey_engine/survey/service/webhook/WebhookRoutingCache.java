@@ -0,0 +1,103 @@
+package com.survey_engine.survey.service.webhook;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.common.cache.TransactionalEviction;
+import com.survey_engine.survey.models.WebhookSubscription;
+import com.survey_engine.survey.repository.WebhookSubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process cache of each tenant's active webhook routes, so that routing an event
+ * neither queries Postgres nor parses {@code event_types} JSON. Services that create, toggle or
+ * delete a subscription must call {@link #evict(Long)}. Routes also expire after a short TTL so
+ * that changes made on other nodes are picked up.
+ */
+@Service
+@Slf4j
+public class WebhookRoutingCache {
+
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, List<WebhookRoute>> cache;
+
+    /**
+     * Constructor for WebhookRoutingCache.
+     * @param subscriptionRepository Repository used to load a tenant's active subscriptions.
+     * @param objectMapper Jackson mapper for parsing event type lists.
+     * @param maxSize The maximum number of tenants held in memory.
+     * @param ttl How long a tenant's routes may be served before they are reloaded.
+     */
+    public WebhookRoutingCache(WebhookSubscriptionRepository subscriptionRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${survey.webhook.routing-cache.max-size:10000}") long maxSize,
+                               @Value("${survey.webhook.routing-cache.ttl:PT1M}") Duration ttl) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the active routes of a tenant that receive an event type.
+     * @param tenantId The tenant.
+     * @param eventType The event type.
+     * @return The matching routes, possibly empty.
+     */
+    public List<WebhookRoute> routes(Long tenantId, String eventType) {
+        if (tenantId == null) return List.of();
+        List<WebhookRoute> routes = cache.get(tenantId, this::load);
+        return routes.stream().filter(route -> route.accepts(eventType)).toList();
+    }
+
+    /**
+     * Evicts a tenant's routes. When called inside a transaction they are evicted again once the
+     * transaction completes, so a concurrent reader cannot keep serving routes it loaded before
+     * the commit.
+     * @param tenantId The tenant whose subscriptions changed.
+     */
+    public void evict(Long tenantId) {
+        if (tenantId == null) return;
+        TransactionalEviction.evictNowAndAfterCompletion(() -> cache.invalidate(tenantId));
+    }
+
+    private List<WebhookRoute> load(Long tenantId) {
+        return subscriptionRepository.findByTenantIdAndActiveTrue(tenantId).stream()
+                .map(this::toRoute)
+                .toList();
+    }
+
+    private WebhookRoute toRoute(WebhookSubscription subscription) {
+        Duration window = subscription.getBatchMaxSize() != null && subscription.getBatchWindowMs() != null
+                ? Duration.ofMillis(subscription.getBatchWindowMs())
+                : Duration.ZERO;
+        return new WebhookRoute(subscription.getId(), parseEventTypes(subscription), window);
+    }
+
+    private Set<String> parseEventTypes(WebhookSubscription subscription) {
+        String eventTypes = subscription.getEventTypes();
+        if (eventTypes == null || eventTypes.isBlank()) return Set.of();
+        try {
+            return Set.copyOf(objectMapper.readValue(eventTypes, new TypeReference<List<String>>() {}));
+        } catch (Exception e) {
+            // The list is stored as the client sent it, which is not always a JSON array
+            log.debug("Event types of webhook subscription {} are not a JSON array: {}", subscription.getId(), eventTypes);
+            return Arrays.stream(eventTypes.replaceAll("[\\[\\]\"]", "").split(","))
+                    .map(String::trim)
+                    .filter(type -> !type.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+}
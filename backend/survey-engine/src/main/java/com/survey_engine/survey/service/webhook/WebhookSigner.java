@@ -0,0 +1,46 @@
+package com.survey_engine.survey.service.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the {@code X-Webhook-Signature} header: the hex HMAC-SHA256 of the request body
+ * keyed with the subscription secret. Each thread reuses one {@link Mac}, re-keyed per call,
+ * instead of looking up the provider for every request.
+ */
+@Slf4j
+final class WebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final HexFormat HEX = HexFormat.of();
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    private WebhookSigner() {}
+
+    /**
+     * @param payload The request body.
+     * @param secret The subscription secret.
+     * @return The signature, or null if it could not be computed.
+     */
+    static String sign(String payload, String secret) {
+        try {
+            Mac mac = MAC.get();
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return HEX.formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            log.error("HMAC computation failed", e);
+            return null;
+        }
+    }
+}
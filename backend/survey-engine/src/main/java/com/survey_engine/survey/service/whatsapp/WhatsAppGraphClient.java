@@ -0,0 +1,102 @@
+package com.survey_engine.survey.service.whatsapp;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for the WhatsApp Cloud API {@code /messages} endpoint.
+ * All sends share one pooled connection provider, so the number of open connections to the
+ * Graph API is capped at {@code whatsapp.outbound.max-connections} regardless of load.
+ */
+@Component
+@Slf4j
+public class WhatsAppGraphClient {
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final String phoneNumberId;
+
+    /**
+     * Constructor for WhatsAppGraphClient.
+     * @param baseUrl The Graph API base URL, including the version.
+     * @param accessToken The Cloud API access token.
+     * @param phoneNumberId The ID of the business phone number messages are sent from.
+     * @param maxConnections The maximum number of pooled connections to the Graph API.
+     * @param responseTimeout How long to wait for a response before the send fails.
+     */
+    public WhatsAppGraphClient(
+            @Value("${whatsapp.api.base-url:https://graph.facebook.com/v18.0}") String baseUrl,
+            @Value("${whatsapp.api.access-token:}") String accessToken,
+            @Value("${whatsapp.api.phone-number-id:}") String phoneNumberId,
+            @Value("${whatsapp.outbound.max-connections:50}") int maxConnections,
+            @Value("${whatsapp.outbound.response-timeout:PT10S}") Duration responseTimeout) {
+        this.phoneNumberId = phoneNumberId;
+        this.connectionProvider = ConnectionProvider.builder("whatsapp-graph")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5_000)
+                .responseTimeout(responseTimeout);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    /**
+     * Sends one message. Nothing happens until the returned Mono is subscribed to.
+     * @param payload The JSON request body.
+     * @return A Mono that completes when the Graph API accepted the message.
+     */
+    public Mono<Void> send(String payload) {
+        return webClient.post()
+                .uri("/{phoneNumberId}/messages", phoneNumberId)
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(String.class)
+                .doOnNext(response -> log.debug("WhatsApp API response: {}", response))
+                .then();
+    }
+
+    /**
+     * Whether a failed send may succeed if tried again: connection problems, timeouts,
+     * throttling (429) and server errors are retryable; other client errors are not.
+     * @param error The error the send failed with.
+     * @return true if the send should be retried.
+     */
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            HttpStatusCode status = response.getStatusCode();
+            return status.value() == 429 || status.is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException
+                || error instanceof ReadTimeoutException;
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
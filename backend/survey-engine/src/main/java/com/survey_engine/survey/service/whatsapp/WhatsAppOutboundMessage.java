@@ -0,0 +1,22 @@
+package com.survey_engine.survey.service.whatsapp;
+
+/**
+ * A WhatsApp message waiting to be sent to the Graph API.
+ *
+ * @param to The recipient's phone number, for logging.
+ * @param payload The JSON request body for the {@code /messages} endpoint.
+ * @param attempts How many send attempts have already failed.
+ */
+public record WhatsAppOutboundMessage(
+        String to,
+        String payload,
+        int attempts
+) {
+
+    /**
+     * @return A copy of this message with one more failed attempt.
+     */
+    public WhatsAppOutboundMessage retried() {
+        return new WhatsAppOutboundMessage(to, payload, attempts + 1);
+    }
+}
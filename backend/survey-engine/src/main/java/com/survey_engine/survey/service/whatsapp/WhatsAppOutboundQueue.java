@@ -0,0 +1,299 @@
+package com.survey_engine.survey.service.whatsapp;
+
+import com.survey_engine.survey.repository.WhatsAppOverflowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Outbound queue for WhatsApp messages.
+ * <p>
+ * {@link #enqueue} never waits on the network: messages go into a bounded in-memory buffer,
+ * and into the {@code whatsapp_outbound_overflow} table when the buffer is full. A single
+ * dispatcher thread takes messages from the buffer, waits for a {@link WhatsAppThroughputLimiter}
+ * token and a free in-flight slot, and hands them to {@link WhatsAppGraphClient} without blocking
+ * on the response. Retryable failures are re-enqueued with exponential backoff. Overflowed messages
+ * are moved back into the buffer as it drains. On shutdown every message this node still holds,
+ * whether buffered, awaiting a retry or taken by the dispatcher, goes to the overflow table.
+ */
+@Service
+@Slf4j
+public class WhatsAppOutboundQueue {
+
+    private static final long SHUTDOWN_WAIT_MILLIS = 5_000;
+
+    private final WhatsAppGraphClient graphClient;
+    private final WhatsAppOverflowRepository overflowRepository;
+    private final BlockingQueue<WhatsAppOutboundMessage> buffer;
+    private final WhatsAppThroughputLimiter limiter;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int overflowBatchSize;
+    private final ScheduledExecutorService retryScheduler;
+    private final Set<Retry> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    private final Timer sendLatency;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter overflowedCounter;
+
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+    private volatile long overflowDepth;
+    private volatile WhatsAppOutboundMessage unsent;
+
+    /**
+     * Constructor for WhatsAppOutboundQueue.
+     * @param graphClient Client used to send messages.
+     * @param overflowRepository Storage for messages that do not fit in the buffer.
+     * @param meterRegistry Registry for queue depth, send latency and outcome metrics.
+     * @param bufferCapacity The number of messages held in memory.
+     * @param messagesPerSecond The throughput tier of the sending phone number.
+     * @param burst The most messages that may be sent at once after an idle period.
+     * @param maxInFlight The most sends awaiting a response at any time.
+     * @param maxAttempts The number of attempts before a message is dropped.
+     * @param initialBackoff The delay before the first retry; doubled for each further retry.
+     * @param maxBackoff The longest delay between retries.
+     * @param overflowBatchSize The most overflowed messages moved back into the buffer per drain.
+     */
+    public WhatsAppOutboundQueue(WhatsAppGraphClient graphClient,
+                                 WhatsAppOverflowRepository overflowRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${whatsapp.outbound.buffer-capacity:10000}") int bufferCapacity,
+                                 @Value("${whatsapp.outbound.messages-per-second:80}") double messagesPerSecond,
+                                 @Value("${whatsapp.outbound.burst:80}") int burst,
+                                 @Value("${whatsapp.outbound.max-in-flight:50}") int maxInFlight,
+                                 @Value("${whatsapp.outbound.max-attempts:5}") int maxAttempts,
+                                 @Value("${whatsapp.outbound.initial-backoff:PT1S}") Duration initialBackoff,
+                                 @Value("${whatsapp.outbound.max-backoff:PT1M}") Duration maxBackoff,
+                                 @Value("${whatsapp.outbound.overflow-batch-size:500}") int overflowBatchSize) {
+        this.graphClient = graphClient;
+        this.overflowRepository = overflowRepository;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.limiter = new WhatsAppThroughputLimiter(messagesPerSecond, burst);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.overflowBatchSize = overflowBatchSize;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "whatsapp-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("whatsapp.outbound.queue.depth", buffer, BlockingQueue::size)
+                .description("WhatsApp messages buffered in memory")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.outbound.overflow.depth", this, queue -> queue.overflowDepth)
+                .description("WhatsApp messages in the overflow table, as of the last drain")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.outbound.in-flight", this, queue -> queue.maxInFlight - queue.inFlight.availablePermits())
+                .description("WhatsApp sends awaiting a Graph API response")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("whatsapp.outbound.send.latency")
+                .description("Time from dispatch to Graph API response")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("whatsapp.outbound.sent");
+        this.retriedCounter = meterRegistry.counter("whatsapp.outbound.retried");
+        this.failedCounter = meterRegistry.counter("whatsapp.outbound.failed");
+        this.overflowedCounter = meterRegistry.counter("whatsapp.outbound.overflowed");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatch, "whatsapp-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Stops dispatching and moves unsent messages to the overflow table so that another node,
+     * or this one after a restart, sends them: the message the dispatcher was holding, messages
+     * waiting for a retry and buffered messages.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = dispatcher;
+        try {
+            if (thread != null) {
+                thread.interrupt();
+                thread.join(SHUTDOWN_WAIT_MILLIS);
+            }
+            retryScheduler.shutdownNow();
+            retryScheduler.awaitTermination(SHUTDOWN_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<WhatsAppOutboundMessage> remaining = new ArrayList<>();
+        WhatsAppOutboundMessage held = unsent;
+        if (held != null) {
+            remaining.add(held);
+            unsent = null;
+        }
+        for (Retry retry : pendingRetries) {
+            if (pendingRetries.remove(retry)) remaining.add(retry.message);
+        }
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            try {
+                overflowRepository.insert(remaining);
+            } catch (RuntimeException e) {
+                log.error("Dropped {} unsent WhatsApp message(s) on shutdown: {}", remaining.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queues a message for sending.
+     * @param message The message.
+     */
+    public void enqueue(WhatsAppOutboundMessage message) {
+        if (buffer.offer(message)) return;
+        overflowedCounter.increment();
+        overflowRepository.insert(List.of(message));
+    }
+
+    /**
+     * @return The number of messages buffered in memory.
+     */
+    public int depth() {
+        return buffer.size();
+    }
+
+    /**
+     * Moves overflowed messages back into the buffer while it has room.
+     */
+    @Scheduled(fixedDelayString = "${whatsapp.outbound.overflow-drain-interval:PT5S}")
+    public void drainOverflow() {
+        try {
+            int room;
+            while (running && (room = Math.min(buffer.remainingCapacity(), overflowBatchSize)) > 0) {
+                List<WhatsAppOutboundMessage> claimed = overflowRepository.claim(room);
+                if (claimed.isEmpty()) break;
+                List<WhatsAppOutboundMessage> rejected = new ArrayList<>();
+                for (WhatsAppOutboundMessage message : claimed) {
+                    if (!buffer.offer(message)) rejected.add(message);
+                }
+                if (!rejected.isEmpty()) {
+                    overflowRepository.insert(rejected);
+                    break;
+                }
+            }
+            overflowDepth = overflowRepository.count();
+        } catch (RuntimeException e) {
+            log.warn("Failed to drain WhatsApp overflow table: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            WhatsAppOutboundMessage message = null;
+            try {
+                message = buffer.take();
+                long wait;
+                while ((wait = limiter.tryAcquire()) > 0) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) throw new InterruptedException();
+                }
+                inFlight.acquire();
+                send(message);
+            } catch (InterruptedException e) {
+                // Stopping; leave the message taken from the buffer for stop() to persist
+                unsent = message;
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("WhatsApp dispatcher error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void send(WhatsAppOutboundMessage message) {
+        long started = System.nanoTime();
+        graphClient.send(message.payload()).subscribe(
+                null,
+                error -> {
+                    inFlight.release();
+                    sendLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    onFailure(message, error);
+                },
+                () -> {
+                    inFlight.release();
+                    sendLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    sentCounter.increment();
+                });
+    }
+
+    private void onFailure(WhatsAppOutboundMessage message, Throwable error) {
+        WhatsAppOutboundMessage retry = message.retried();
+        if (!WhatsAppGraphClient.isRetryable(error) || retry.attempts() >= maxAttempts) {
+            failedCounter.increment();
+            log.error("Failed to send WhatsApp message to {} after {} attempt(s): {}",
+                    message.to(), retry.attempts(), error.getMessage());
+            return;
+        }
+        retriedCounter.increment();
+        long delay = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(message.attempts(), 20));
+        log.warn("WhatsApp send to {} failed ({}); retrying in {} ms", message.to(), error.getMessage(), delay);
+        Retry task = new Retry(retry);
+        pendingRetries.add(task);
+        try {
+            retryScheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Shutting down; keep the message for the next start
+            if (pendingRetries.remove(task)) {
+                overflowRepository.insert(List.of(retry));
+            }
+        }
+    }
+
+    /**
+     * A scheduled retry. Tracked until it runs so that {@link #stop} can persist retries that
+     * the scheduler discards; whichever of the two removes it first owns the message.
+     */
+    private final class Retry implements Runnable {
+
+        private final WhatsAppOutboundMessage message;
+
+        Retry(WhatsAppOutboundMessage message) {
+            this.message = message;
+        }
+
+        @Override
+        public void run() {
+            if (pendingRetries.remove(this)) {
+                enqueue(message);
+            }
+        }
+    }
+}
@@ -1,36 +1,25 @@
 package com.survey_engine.survey.service.whatsapp;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Map;
 
 /**
  * Sends WhatsApp messages via the WhatsApp Business API (Cloud API).
- * Uses the Meta Graph API to send template and text messages.
+ * Uses the Meta Graph API to send template and text messages. Messages are handed to
+ * {@link WhatsAppOutboundQueue}, so callers never wait on the Graph API.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class WhatsAppSendingService {
 
-    private final WebClient webClient;
-    private final String phoneNumberId;
-
-    public WhatsAppSendingService(
-            @Value("${whatsapp.api.base-url:https://graph.facebook.com/v18.0}") String baseUrl,
-            @Value("${whatsapp.api.access-token:}") String accessToken,
-            @Value("${whatsapp.api.phone-number-id:}") String phoneNumberId) {
-        this.phoneNumberId = phoneNumberId;
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
-    }
+    private final WhatsAppOutboundQueue outboundQueue;
+    private final ObjectMapper objectMapper;
 
     /**
      * Sends a text message to a WhatsApp recipient.
@@ -39,14 +28,14 @@ public class WhatsAppSendingService {
      * @param message The text message content.
      */
     public void sendTextMessage(String to, String message) {
-        log.info("Sending WhatsApp text message to: {}", to);
+        log.info("Queueing WhatsApp text message to: {}", to);
         Map<String, Object> payload = Map.of(
                 "messaging_product", "whatsapp",
                 "to", to,
                 "type", "text",
                 "text", Map.of("body", message)
         );
-        sendMessage(payload);
+        sendMessage(to, payload);
     }
 
     /**
@@ -57,7 +46,7 @@ public class WhatsAppSendingService {
      * @param languageCode Language code (e.g., "en").
      */
     public void sendTemplateMessage(String to, String templateName, String languageCode) {
-        log.info("Sending WhatsApp template '{}' to: {}", templateName, to);
+        log.info("Queueing WhatsApp template '{}' to: {}", templateName, to);
         Map<String, Object> payload = Map.of(
                 "messaging_product", "whatsapp",
                 "to", to,
@@ -67,20 +56,14 @@ public class WhatsAppSendingService {
                         "language", Map.of("code", languageCode)
                 )
         );
-        sendMessage(payload);
+        sendMessage(to, payload);
     }
 
-    private void sendMessage(Map<String, Object> payload) {
+    private void sendMessage(String to, Map<String, Object> payload) {
         try {
-            String response = webClient.post()
-                    .uri("/{phoneNumberId}/messages", phoneNumberId)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            log.info("WhatsApp API response: {}", response);
-        } catch (Exception e) {
-            log.error("Failed to send WhatsApp message: {}", e.getMessage());
+            outboundQueue.enqueue(new WhatsAppOutboundMessage(to, objectMapper.writeValueAsString(payload), 0));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize WhatsApp message to {}: {}", to, e.getMessage());
         }
     }
 }
@@ -0,0 +1,42 @@
+package com.survey_engine.survey.service.whatsapp;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket matching the per-phone-number throughput tier of the Cloud API.
+ * Tokens refill at {@code messagesPerSecond} up to {@code burst}; a send takes one token.
+ */
+class WhatsAppThroughputLimiter {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param messagesPerSecond The sustained rate; zero or less disables the limiter.
+     * @param burst The most tokens that can accumulate while idle.
+     */
+    WhatsAppThroughputLimiter(double messagesPerSecond, int burst) {
+        this.tokensPerNano = messagesPerSecond > 0 ? messagesPerSecond / TimeUnit.SECONDS.toNanos(1) : 0;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if one is available.
+     * @return 0 if a token was taken, otherwise how many nanoseconds until the next token.
+     */
+    synchronized long tryAcquire() {
+        if (tokensPerNano == 0) return 0;
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,41 @@
+package com.survey_engine.user;
+
+import org.springframework.modulith.NamedInterface;
+
+import java.util.UUID;
+
+/**
+ * The details of a tenant that other modules need on hot paths, without the users and
+ * lazy associations of the {@link com.survey_engine.user.models.Tenant} entity.
+ *
+ * @param id The tenant ID.
+ * @param name The tenant name.
+ * @param slug The tenant slug, or null.
+ * @param individual true for the shared tenant individual users sign up into, false for enterprise tenants.
+ * @param subscriptionId The tenant's subscription, or null.
+ */
+@NamedInterface
+public record TenantDescriptor(
+        Long id,
+        String name,
+        String slug,
+        boolean individual,
+        UUID subscriptionId
+) {
+
+    /** Slug of the tenant individual users belong to. */
+    public static final String INDIVIDUAL_SLUG = "www";
+    /** Name of the tenant individual users belong to. */
+    public static final String INDIVIDUAL_NAME = "Main Tenant";
+
+    /**
+     * @param name A tenant name.
+     * @param slug A tenant slug, or null.
+     * @return true if these identify the tenant individual users belong to.
+     */
+    public static boolean isIndividual(String name, String slug) {
+        return INDIVIDUAL_SLUG.equals(slug)
+                || INDIVIDUAL_NAME.equalsIgnoreCase(name)
+                || INDIVIDUAL_SLUG.equalsIgnoreCase(name);
+    }
+}
@@ -47,6 +47,20 @@ public interface UserApi {
      */
     Optional<String> findTenantNameById(Long tenantId);
 
+    /**
+     * Finds the cached details of a tenant by its ID.
+     * @param tenantId The ID of the tenant.
+     * @return An {@link Optional} containing the {@link TenantDescriptor}, or empty if not found.
+     */
+    Optional<TenantDescriptor> findTenantDescriptor(Long tenantId);
+
+    /**
+     * Checks whether a tenant is the shared tenant individual users belong to.
+     * @param tenantId The ID of the tenant.
+     * @return true if it is the individual tenant, false if it is an enterprise tenant or not found.
+     */
+    boolean isIndividualTenant(Long tenantId);
+
     /**
      * Finds a user by their ID.
      * @param userId The ID of the user to find.
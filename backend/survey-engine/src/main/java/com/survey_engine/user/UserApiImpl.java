@@ -7,8 +7,11 @@ import com.survey_engine.user.repository.ParticipantRepository;
 import com.survey_engine.user.repository.UserRepository;
 import com.survey_engine.user.repository.TenantRepository;
 import com.survey_engine.user.service.TenantContext;
+import com.survey_engine.user.service.TenantDescriptorCache;
+import com.survey_engine.common.events.TenantChangedEvent;
 import com.survey_engine.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,8 @@ public class UserApiImpl implements UserApi {
     private final UserRepository userRepository;
     private final TenantRepository tenantRepository;
     private final TenantService tenantService;
+    private final TenantDescriptorCache tenantDescriptorCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Finds the participant ID associated with a given phone number.
@@ -87,7 +92,27 @@ public class UserApiImpl implements UserApi {
      */
     @Override
     public Optional<String> findTenantNameById(Long tenantId) {
-        return tenantRepository.findById(tenantId).map(Tenant::getName);
+        return tenantDescriptorCache.get(tenantId).map(TenantDescriptor::name);
+    }
+
+    /**
+     * Finds the cached details of a tenant by its ID.
+     * @param tenantId The ID of the tenant.
+     * @return An {@link Optional} containing the {@link TenantDescriptor}, or empty if not found.
+     */
+    @Override
+    public Optional<TenantDescriptor> findTenantDescriptor(Long tenantId) {
+        return tenantDescriptorCache.get(tenantId);
+    }
+
+    /**
+     * Checks whether a tenant is the shared tenant individual users belong to.
+     * @param tenantId The ID of the tenant.
+     * @return true if it is the individual tenant, false if it is an enterprise tenant or not found.
+     */
+    @Override
+    public boolean isIndividualTenant(Long tenantId) {
+        return tenantDescriptorCache.get(tenantId).map(TenantDescriptor::individual).orElse(false);
     }
 
     @Override
@@ -226,6 +251,7 @@ public class UserApiImpl implements UserApi {
                 .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found with id: " + tenantId));
         tenant.setSubscriptionId(subscriptionId);
         tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(tenantId));
     }
 
     @Override
@@ -253,6 +279,7 @@ public class UserApiImpl implements UserApi {
         user.setTenant(newTenant);
         user.setRole("ADMIN"); // Promote to Admin of new tenant
         userRepository.save(user);
+        eventPublisher.publishEvent(new TenantChangedEvent(newTenant.getId()));
 
         return newTenant.getId();
     }
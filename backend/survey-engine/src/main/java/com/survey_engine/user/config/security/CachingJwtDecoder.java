@@ -0,0 +1,86 @@
+package com.survey_engine.user.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * A {@link JwtDecoder} that remembers tokens it has already verified until they expire.
+ * <p>
+ * {@link TenantResolverFilter} and the resource server both decode the request's token through
+ * this bean, so a token's RSA signature is checked once and the verified {@link Jwt} is reused for
+ * the rest of its lifetime. Entries are keyed by the SHA-256 of the token, never the token itself,
+ * and are held no longer than {@code maxTtl}. Tokens that fail verification are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    /**
+     * Constructor for CachingJwtDecoder.
+     * @param delegate The decoder that verifies tokens.
+     * @param maxSize The most verified tokens held in memory.
+     * @param maxTtl The longest a verified token is reused, whatever its expiry.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                        Instant expiresAt = jwt.getExpiresAt();
+                        if (expiresAt == null) return maxTtl.toNanos();
+                        Duration remaining = Duration.between(Instant.now(), expiresAt);
+                        return Math.max(0, Math.min(remaining.toNanos(), maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt);
+        return jwt;
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
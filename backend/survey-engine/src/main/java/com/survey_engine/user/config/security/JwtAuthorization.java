@@ -33,6 +33,7 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import java.io.InputStream;
 import java.security.KeyStore;
+import java.time.Duration;
 import java.util.UUID;
 
 
@@ -146,14 +147,19 @@ public class JwtAuthorization {
 
     /**
      * Provides a {@link JwtDecoder} bean for decoding and validating JWTs.
-     * This is used by the resource server components to verify access tokens.
+     * This is used by the resource server components and {@link TenantResolverFilter} to verify access tokens;
+     * verified tokens are cached until they expire, so each token's signature is checked once.
      *
      * @param jwkSource The {@link JWKSource} containing the public keys for verifying JWT signatures.
+     * @param cacheMaxSize The most verified tokens held in memory.
+     * @param cacheMaxTtl The longest a verified token is reused without checking its signature again.
      * @return A {@link JwtDecoder} instance.
      */
     @Bean
-    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource,
+                                 @Value("${jwt.decoder-cache.max-size:10000}") long cacheMaxSize,
+                                 @Value("${jwt.decoder-cache.max-ttl:PT15M}") Duration cacheMaxTtl) {
+        return new CachingJwtDecoder(OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource), cacheMaxSize, cacheMaxTtl);
     }
 
     /**
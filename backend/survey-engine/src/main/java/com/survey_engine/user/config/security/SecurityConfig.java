@@ -40,7 +40,7 @@ public class SecurityConfig {
     @Order(1)
     public SecurityFilterChain publicSecurityFilterChain(HttpSecurity http) throws Exception {
         http
-                .securityMatcher("/api/v1/auth/**", "/api/v1/integrations/webhook/**", "/api/v1/webhooks/**",
+                .securityMatcher("/api/v1/auth/**", "/api/v1/integrations/webhook/**", "/api/v1/webhooks/**", "/api/v1/ussd/**",
                         "/api/v1/billing/plans",
                         "/api/v1/referrals/subjects/access", "/api/v1/referrals/subjects/erasure",
                         "/r/**")
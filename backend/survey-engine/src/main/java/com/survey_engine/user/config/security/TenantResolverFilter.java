@@ -1,8 +1,7 @@
 package com.survey_engine.user.config.security;
 
-import com.survey_engine.user.models.Tenant;
-import com.survey_engine.user.repository.TenantRepository;
 import com.survey_engine.user.service.TenantContext;
+import com.survey_engine.user.service.TenantLookupCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,34 +15,39 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
 
 /**
  * A Spring Web filter that resolves the tenant ID from the request's hostname (subdomain) or a request header.
  * It extracts the subdomain, looks up the corresponding tenant in the database, and sets the
  * tenant ID in the {@link TenantContext} for the duration of the request.
+ * Tokens are decoded through the shared {@link CachingJwtDecoder}, so the resource server reuses the
+ * verification done here, and slug and name lookups go through {@link TenantLookupCache}.
  */
 @Component
 public class TenantResolverFilter extends OncePerRequestFilter {
 
-    private final TenantRepository tenantRepository;
+    private final TenantLookupCache tenantLookupCache;
     private final JwtDecoder jwtDecoder;
+    private final CustomBearerTokenResolver bearerTokenResolver;
 
     /**
      * Constructs a new {@code TenantResolverFilter}.
      * This constructor is used for dependency injection by Spring.
      *
-     * @param tenantRepository The repository for accessing tenant data.
+     * @param tenantLookupCache The cache of tenant IDs by slug and name.
      * @param jwtDecoder The {@link JwtDecoder} used for decoding JWTs to extract tenant information.
      * The {@code @Lazy} annotation is used here to break a potential circular dependency during bean initialization.
      * It ensures that a proxy for {@code JwtDecoder} is injected initially, and the actual {@code JwtDecoder}
      * bean is only fully initialized and resolved when it's first accessed,
      * thereby preventing a deadlock during application startup.
+     * @param bearerTokenResolver The resolver the resource server reads the access token cookie with.
      */
     @Autowired
-    public TenantResolverFilter(TenantRepository tenantRepository, @Lazy JwtDecoder jwtDecoder) {
-        this.tenantRepository = tenantRepository;
+    public TenantResolverFilter(TenantLookupCache tenantLookupCache, @Lazy JwtDecoder jwtDecoder,
+                                CustomBearerTokenResolver bearerTokenResolver) {
+        this.tenantLookupCache = tenantLookupCache;
         this.jwtDecoder = jwtDecoder;
+        this.bearerTokenResolver = bearerTokenResolver;
     }
 
     /**
@@ -80,9 +84,8 @@ public class TenantResolverFilter extends OncePerRequestFilter {
         Long tenantId = null;
 
         // 1. Try to resolve from JWT
-        String header = request.getHeader("Authorization");
-        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
+        String token = resolveToken(request);
+        if (token != null) {
             try {
                 tenantId = jwtDecoder.decode(token).getClaim("tenantId");
             } catch (JwtException e) {
@@ -95,11 +98,7 @@ public class TenantResolverFilter extends OncePerRequestFilter {
             String host = request.getServerName();
             String[] parts = host.split("\\.");
             if (parts.length > 1) {
-                String slug = parts[0];
-                Optional<Tenant> tenantOptional = tenantRepository.findBySlug(slug);
-                if (tenantOptional.isPresent()) {
-                    tenantId = tenantOptional.get().getId();
-                }
+                tenantId = tenantLookupCache.findIdBySlug(parts[0]).orElse(null);
             }
         }
 
@@ -107,19 +106,13 @@ public class TenantResolverFilter extends OncePerRequestFilter {
         if (tenantId == null) {
             String tenantName = request.getHeader("X-Tenant-Organization");
             if (tenantName != null && !tenantName.isEmpty()) {
-                Optional<Tenant> tenantOptional = tenantRepository.findByName(tenantName);
-                if (tenantOptional.isPresent()) {
-                    tenantId = tenantOptional.get().getId();
-                }
+                tenantId = tenantLookupCache.findIdByName(tenantName).orElse(null);
             }
         }
 
         // 4. If still not found, fall back to "www"
         if (tenantId == null) {
-            Optional<Tenant> tenantOptional = tenantRepository.findBySlug("www");
-            if (tenantOptional.isPresent()) {
-                tenantId = tenantOptional.get().getId();
-            }
+            tenantId = tenantLookupCache.findIdBySlug("www").orElse(null);
         }
 
         if (tenantId != null) {
@@ -132,4 +125,19 @@ public class TenantResolverFilter extends OncePerRequestFilter {
             TenantContext.clear();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the access token from the {@code Authorization} header, or else from the cookie the
+     * resource server authenticates with.
+     *
+     * @param request The HTTP servlet request.
+     * @return The token, or null if the request carries none.
+     */
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            return header.substring(7);
+        }
+        return bearerTokenResolver.resolve(request);
+    }
+}
@@ -3,6 +3,7 @@ package com.survey_engine.user.service;
 import com.survey_engine.billing.BillingApi;
 import com.survey_engine.common.models.SystemSetting;
 import com.survey_engine.common.repository.SystemSettingRepository;
+import com.survey_engine.common.settings.SystemSettingsChangedEvent;
 import com.survey_engine.survey.SurveyApi;
 import com.survey_engine.user.dto.*;
 import com.survey_engine.user.models.Tenant;
@@ -10,6 +11,7 @@ import com.survey_engine.user.models.User;
 import com.survey_engine.user.repository.TenantRepository;
 import com.survey_engine.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +37,7 @@ public class AdminService {
     private final SystemSettingRepository systemSettingRepository;
     private final BillingApi billingApi;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Registers a new system administrator (SUPER_ADMIN).
@@ -159,6 +162,8 @@ public class AdminService {
 
     /**
      * Updates a list of system settings. If a setting does not exist, it is created.
+     * The settings version is bumped in the same transaction, and every node reloads its cached
+     * settings once the update is committed.
      *
      * @param requests A list of {@link SystemSettingRequest} containing keys and new values.
      * @return A list of updated {@link SystemSettingResponse}.
@@ -178,9 +183,12 @@ public class AdminService {
             settingsToSave.add(setting);
         }
 
-        return systemSettingRepository.saveAll(settingsToSave).stream()
+        List<SystemSettingResponse> saved = systemSettingRepository.saveAll(settingsToSave).stream()
                 .map(s -> new SystemSettingResponse(s.getKey(), s.getValue(), s.getDescription()))
                 .collect(Collectors.toList());
+        systemSettingRepository.incrementVersion();
+        eventPublisher.publishEvent(new SystemSettingsChangedEvent());
+        return saved;
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.survey_engine.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.common.cache.TransactionalEviction;
+import com.survey_engine.common.events.TenantChangedEvent;
+import com.survey_engine.user.TenantDescriptor;
+import com.survey_engine.user.models.Tenant;
+import com.survey_engine.user.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of {@link TenantDescriptor}s keyed by tenant ID, for the billing,
+ * survey and integration checks that only need to know what kind of tenant they are serving.
+ * Entries are dropped on {@link TenantChangedEvent}; they also expire after a short TTL so that
+ * changes made on other nodes are picked up.
+ */
+@Service
+public class TenantDescriptorCache {
+
+    private final TenantRepository tenantRepository;
+    private final Cache<Long, Optional<TenantDescriptor>> cache;
+
+    /**
+     * Constructor for TenantDescriptorCache.
+     * @param tenantRepository Repository used to load tenants on a miss.
+     * @param maxSize The most tenants held in memory.
+     * @param ttl How long a descriptor may be served before it is reloaded.
+     */
+    public TenantDescriptorCache(TenantRepository tenantRepository,
+                                 @Value("${app-security.tenant-cache.max-size:10000}") long maxSize,
+                                 @Value("${app-security.tenant-cache.ttl:PT5M}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param tenantId The tenant ID.
+     * @return The tenant's descriptor, or empty if there is no such tenant.
+     */
+    public Optional<TenantDescriptor> get(Long tenantId) {
+        if (tenantId == null) return Optional.empty();
+        return cache.get(tenantId, id -> tenantRepository.findById(id).map(TenantDescriptorCache::describe));
+    }
+
+    /**
+     * Drops the descriptor of a changed tenant. When published inside a transaction it is dropped
+     * again once the transaction completes, so a concurrent reader cannot keep serving details it
+     * loaded before the commit.
+     * @param event The change.
+     */
+    @EventListener
+    public void onTenantChanged(TenantChangedEvent event) {
+        Long tenantId = event.tenantId();
+        if (tenantId == null) return;
+        TransactionalEviction.evictNowAndAfterCompletion(() -> cache.invalidate(tenantId));
+    }
+
+    private static TenantDescriptor describe(Tenant tenant) {
+        return new TenantDescriptor(tenant.getId(), tenant.getName(), tenant.getSlug(),
+                TenantDescriptor.isIndividual(tenant.getName(), tenant.getSlug()), tenant.getSubscriptionId());
+    }
+}
@@ -0,0 +1,67 @@
+package com.survey_engine.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey_engine.common.cache.TransactionalEviction;
+import com.survey_engine.user.models.Tenant;
+import com.survey_engine.user.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of tenant IDs by slug and by name, used to resolve the tenant of
+ * requests that carry no token. Unknown slugs and names are cached too, so repeated anonymous
+ * requests to a host that matches no tenant do not reach Postgres. {@link TenantService} calls
+ * {@link #invalidateAll()} whenever a tenant is created, renamed or deleted; entries also expire
+ * after a short TTL so that changes made on other nodes are picked up.
+ */
+@Service
+public class TenantLookupCache {
+
+    private final TenantRepository tenantRepository;
+    private final Cache<String, Optional<Long>> cache;
+
+    /**
+     * Constructor for TenantLookupCache.
+     * @param tenantRepository Repository used to look tenants up on a miss.
+     * @param maxSize The most slugs and names held in memory.
+     * @param ttl How long a lookup may be served before it is repeated.
+     */
+    public TenantLookupCache(TenantRepository tenantRepository,
+                             @Value("${app-security.tenant-cache.max-size:10000}") long maxSize,
+                             @Value("${app-security.tenant-cache.ttl:PT5M}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param slug A tenant slug.
+     * @return The ID of the tenant with this slug, or empty if there is none.
+     */
+    public Optional<Long> findIdBySlug(String slug) {
+        return cache.get("slug:" + slug, key -> tenantRepository.findBySlug(slug).map(Tenant::getId));
+    }
+
+    /**
+     * @param name A tenant name.
+     * @return The ID of the tenant with this name, or empty if there is none.
+     */
+    public Optional<Long> findIdByName(String name) {
+        return cache.get("name:" + name, key -> tenantRepository.findByName(name).map(Tenant::getId));
+    }
+
+    /**
+     * Forgets every lookup. When called inside a transaction the cache is cleared again once the
+     * transaction completes, so a concurrent reader cannot keep serving a lookup it made before
+     * the commit.
+     */
+    public void invalidateAll() {
+        TransactionalEviction.evictNowAndAfterCompletion(cache::invalidateAll);
+    }
+}
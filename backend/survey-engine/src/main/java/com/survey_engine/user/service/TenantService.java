@@ -1,5 +1,6 @@
 package com.survey_engine.user.service;
 
+import com.survey_engine.common.events.TenantChangedEvent;
 import com.survey_engine.user.dto.TenantRequest;
 import com.survey_engine.user.dto.TenantResponse;
 import com.survey_engine.user.models.Tenant;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 public class TenantService {
 
     private final TenantRepository tenantRepository;
+    private final TenantLookupCache tenantLookupCache;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     private static final double SIMILARITY_THRESHOLD = 0.8;
 
@@ -93,7 +95,10 @@ public class TenantService {
         // Default status for new tenants
         tenant.setStatus("ACTIVE");
 
-        return tenantRepository.save(tenant);
+        Tenant savedTenant = tenantRepository.save(tenant);
+        tenantLookupCache.invalidateAll();
+        eventPublisher.publishEvent(new TenantChangedEvent(savedTenant.getId()));
+        return savedTenant;
     }
 
     /**
@@ -167,6 +172,8 @@ public class TenantService {
         tenant.setName(tenantRequest.name());
         tenant.setSlug(tenantRequest.slug());
         Tenant savedTenant = tenantRepository.save(tenant);
+        tenantLookupCache.invalidateAll();
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
         return mapToTenantResponse(savedTenant);
     }
 
@@ -181,6 +188,8 @@ public class TenantService {
         Tenant tenant = tenantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TENANT_NOT_FOUND", "Tenant not found"));
         tenantRepository.delete(tenant);
+        tenantLookupCache.invalidateAll();
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
     }
 
     /**
@@ -0,0 +1,70 @@
+-- V40: Incremental per-question result aggregates
+-- Maintained by the response ingestion pipeline so results can be read without scanning answers.
+
+CREATE TABLE survey_question_stats (
+    survey_id       BIGINT NOT NULL REFERENCES surveys(id) ON DELETE CASCADE,
+    question_id     BIGINT NOT NULL REFERENCES questions(id) ON DELETE CASCADE,
+    answer_count    BIGINT NOT NULL DEFAULT 0,
+    numeric_count   BIGINT NOT NULL DEFAULT 0,
+    numeric_sum     DOUBLE PRECISION NOT NULL DEFAULT 0,
+    numeric_min     DOUBLE PRECISION,
+    numeric_max     DOUBLE PRECISION,
+    score_total     DOUBLE PRECISION NOT NULL DEFAULT 0,  -- weighted score_map total
+    updated_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (survey_id, question_id)
+);
+
+CREATE TABLE survey_question_option_counts (
+    survey_id       BIGINT NOT NULL REFERENCES surveys(id) ON DELETE CASCADE,
+    question_id     BIGINT NOT NULL REFERENCES questions(id) ON DELETE CASCADE,
+    option_value    VARCHAR(255) NOT NULL,
+    answer_count    BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (survey_id, question_id, option_value)
+);
+
+-- Backfill from existing answers, using the same rules as QuestionStats
+CREATE FUNCTION pg_temp.try_jsonb(value TEXT) RETURNS JSONB AS $$
+BEGIN
+    RETURN value::jsonb;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+INSERT INTO survey_question_stats
+    (survey_id, question_id, answer_count, numeric_count, numeric_sum, numeric_min, numeric_max, score_total)
+SELECT q.survey_id,
+       q.id,
+       COUNT(a.id),
+       COUNT(n.value),
+       COALESCE(SUM(n.value), 0),
+       MIN(n.value),
+       MAX(n.value),
+       COALESCE(SUM(CASE WHEN jsonb_typeof(sm.map -> a.answer_value) = 'number'
+                         THEN (sm.map ->> a.answer_value)::DOUBLE PRECISION * COALESCE(q.weight, 1.0) END), 0)
+FROM questions q
+JOIN answers a ON a.question_id = q.id
+CROSS JOIN LATERAL (SELECT pg_temp.try_jsonb(q.score_map) AS map) sm
+LEFT JOIN LATERAL (
+    SELECT TRIM(a.answer_value)::DOUBLE PRECISION AS value
+    WHERE q.question_type IN ('NPS_SCALE', 'RATING_STAR', 'RATING_LINEAR')
+      AND TRIM(a.answer_value) ~ '^[-+]?[0-9]+(\.[0-9]+)?$'
+) n ON TRUE
+GROUP BY q.survey_id, q.id;
+
+INSERT INTO survey_question_option_counts (survey_id, question_id, option_value, answer_count)
+SELECT o.survey_id, o.question_id, o.option_value, COUNT(*)
+FROM (
+    SELECT q.survey_id, q.id AS question_id, TRIM(a.answer_value) AS option_value
+    FROM questions q
+    JOIN answers a ON a.question_id = q.id
+    WHERE q.question_type IN ('MULTIPLE_CHOICE_SINGLE', 'NPS_SCALE', 'RATING_STAR', 'RATING_LINEAR')
+    UNION ALL
+    SELECT q.survey_id, q.id, TRIM(part)
+    FROM questions q
+    JOIN answers a ON a.question_id = q.id
+    CROSS JOIN LATERAL unnest(string_to_array(a.answer_value, ',')) AS part
+    WHERE q.question_type = 'MULTIPLE_CHOICE_MULTI'
+) o
+WHERE o.option_value <> '' AND LENGTH(o.option_value) <= 255
+GROUP BY o.survey_id, o.question_id, o.option_value;
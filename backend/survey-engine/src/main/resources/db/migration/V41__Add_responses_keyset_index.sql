@@ -0,0 +1,4 @@
+-- Supports keyset pagination of a survey's responses on (submission_date, id).
+-- The composite index also serves plain survey_id lookups, so the single-column index is dropped.
+CREATE INDEX idx_responses_survey_submission ON responses (survey_id, submission_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_responses_survey_id;
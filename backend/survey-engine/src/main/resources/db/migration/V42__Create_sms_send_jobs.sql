@@ -0,0 +1,36 @@
+-- Bulk SMS sends to a distribution list run as resumable jobs.
+CREATE TABLE sms_send_jobs (
+    id UUID PRIMARY KEY,
+    tenant_id BIGINT NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    survey_id BIGINT NOT NULL REFERENCES surveys(id) ON DELETE CASCADE,
+    distribution_list_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_recipients INT NOT NULL DEFAULT 0,
+    sent_count INT NOT NULL DEFAULT 0,
+    failed_count INT NOT NULL DEFAULT 0,
+    cost NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(64),
+    lease_expires_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_sms_send_jobs_survey_id ON sms_send_jobs(survey_id);
+CREATE INDEX idx_sms_send_jobs_active ON sms_send_jobs(status) WHERE status IN ('PENDING', 'RUNNING');
+
+-- One row per distinct phone number of a job; PENDING rows are the work left to do.
+CREATE TABLE sms_send_job_recipients (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL REFERENCES sms_send_jobs(id) ON DELETE CASCADE,
+    phone_number VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    message_id VARCHAR(255),
+    error VARCHAR(500),
+    updated_at TIMESTAMP,
+    CONSTRAINT uq_sms_send_job_recipients UNIQUE (job_id, phone_number)
+);
+
+CREATE INDEX idx_sms_send_job_recipients_pending ON sms_send_job_recipients(job_id, id) WHERE status = 'PENDING';
@@ -0,0 +1,15 @@
+-- Normalise Kenyan mobile numbers to +254XXXXXXXXX so that equal numbers compare equal.
+UPDATE distribution_list_contacts
+SET phone_number = '+254' || right(regexp_replace(phone_number, '\D', '', 'g'), 9)
+WHERE regexp_replace(phone_number, '\D', '', 'g') ~ '^(254|0)?[17][0-9]{8}$'
+  AND phone_number <> '+254' || right(regexp_replace(phone_number, '\D', '', 'g'), 9);
+
+-- Keep one contact per number in each list, then enforce it.
+DELETE FROM distribution_list_contacts c
+USING distribution_list_contacts keep
+WHERE c.distribution_list_id = keep.distribution_list_id
+  AND c.phone_number = keep.phone_number
+  AND c.id > keep.id;
+
+ALTER TABLE distribution_list_contacts
+    ADD CONSTRAINT uq_distribution_list_contacts_phone UNIQUE (distribution_list_id, phone_number);
@@ -0,0 +1,10 @@
+-- Keyset paging of a list's contacts by phone number, and phone prefix search.
+-- The "C" collation lets the index serve both ORDER BY and LIKE 'prefix%'.
+CREATE INDEX idx_distribution_list_contacts_phone_c
+    ON distribution_list_contacts (distribution_list_id, phone_number COLLATE "C");
+
+-- Case-insensitive name prefix search.
+CREATE INDEX idx_distribution_list_contacts_first_name
+    ON distribution_list_contacts (distribution_list_id, lower(first_name) text_pattern_ops);
+CREATE INDEX idx_distribution_list_contacts_last_name
+    ON distribution_list_contacts (distribution_list_id, lower(last_name) text_pattern_ops);
@@ -0,0 +1,9 @@
+-- Outbound WhatsApp messages that did not fit in a node's in-memory send buffer.
+-- Rows are claimed (deleted) in ID order as buffer space frees up.
+CREATE TABLE whatsapp_outbound_overflow (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(32) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
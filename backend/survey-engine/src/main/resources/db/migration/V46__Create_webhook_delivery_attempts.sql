@@ -0,0 +1,28 @@
+-- Durable queue of outbound webhook deliveries. A row is claimed (IN_FLIGHT) by one node,
+-- then either DELIVERED, rescheduled as PENDING with backoff, or given up on as FAILED.
+CREATE TABLE webhook_delivery_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id UUID NOT NULL REFERENCES webhook_subscriptions(id) ON DELETE CASCADE,
+    tenant_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    locked_until TIMESTAMP,
+    last_http_status INT,
+    last_error VARCHAR(500),
+    replay_of BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    delivered_at TIMESTAMP
+);
+
+CREATE INDEX idx_webhook_attempts_due ON webhook_delivery_attempts(subscription_id, next_attempt_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_webhook_attempts_in_flight ON webhook_delivery_attempts(locked_until)
+    WHERE status = 'IN_FLIGHT';
+CREATE INDEX idx_webhook_attempts_subscription_created ON webhook_delivery_attempts(subscription_id, created_at);
+
+-- Circuit breaker state, shared by all nodes
+ALTER TABLE webhook_subscriptions ADD COLUMN consecutive_failures INT NOT NULL DEFAULT 0;
+ALTER TABLE webhook_subscriptions ADD COLUMN circuit_open_until TIMESTAMP;
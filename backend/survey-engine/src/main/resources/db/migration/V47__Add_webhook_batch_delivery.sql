@@ -0,0 +1,6 @@
+-- Opt-in batched delivery: up to batch_max_size events per request, sent batch_window_ms after
+-- the oldest one was queued. Both NULL means one request per event.
+ALTER TABLE webhook_subscriptions ADD COLUMN batch_max_size INT;
+ALTER TABLE webhook_subscriptions ADD COLUMN batch_window_ms INT;
+ALTER TABLE webhook_subscriptions ADD CONSTRAINT chk_webhook_subscriptions_batch
+    CHECK ((batch_max_size IS NULL) = (batch_window_ms IS NULL));
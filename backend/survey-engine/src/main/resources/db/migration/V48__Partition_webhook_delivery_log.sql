@@ -0,0 +1,43 @@
+-- Webhook delivery log, partitioned by day on delivered_at so that retention drops whole
+-- partitions instead of deleting rows. Partitions are created ahead of time by
+-- WebhookDeliveryLogRetention; rows outside every daily partition land in the default one.
+-- The log no longer references webhook_subscriptions: it is diagnostic history that ages out on
+-- its own, and the foreign key blocked deleting a subscription that had any deliveries.
+ALTER TABLE webhook_delivery_log RENAME TO webhook_delivery_log_legacy;
+ALTER TABLE webhook_delivery_log_legacy RENAME CONSTRAINT webhook_delivery_log_pkey TO webhook_delivery_log_legacy_pkey;
+
+CREATE TABLE webhook_delivery_log (
+    id              UUID NOT NULL DEFAULT gen_random_uuid(),
+    subscription_id UUID NOT NULL,
+    event_type      VARCHAR(50) NOT NULL,
+    payload         TEXT NOT NULL,
+    http_status     INT,
+    response_body   TEXT,
+    delivered_at    TIMESTAMP NOT NULL DEFAULT NOW(),
+    success         BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (delivered_at, id)
+) PARTITION BY RANGE (delivered_at);
+
+CREATE TABLE webhook_delivery_log_default PARTITION OF webhook_delivery_log DEFAULT;
+
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(CURRENT_DATE, CURRENT_DATE + 7, INTERVAL '1 day')::DATE LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF webhook_delivery_log FOR VALUES FROM (%L) TO (%L)',
+                       'webhook_delivery_log_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+-- Keyset pagination of a subscription's log, newest first, optionally by outcome
+CREATE INDEX idx_webhook_delivery_log_subscription
+    ON webhook_delivery_log (subscription_id, delivered_at DESC, id DESC);
+CREATE INDEX idx_webhook_delivery_log_subscription_success
+    ON webhook_delivery_log (subscription_id, success, delivered_at DESC, id DESC);
+
+INSERT INTO webhook_delivery_log (id, subscription_id, event_type, payload, http_status, response_body, delivered_at, success)
+SELECT id, subscription_id, event_type, payload, http_status, response_body, delivered_at, success
+FROM webhook_delivery_log_legacy;
+
+DROP TABLE webhook_delivery_log_legacy;
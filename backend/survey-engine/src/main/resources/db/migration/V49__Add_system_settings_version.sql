@@ -0,0 +1,9 @@
+-- V49: Version of the system settings as a whole. It is bumped in the same transaction as every
+-- change to system_settings, so nodes and stored charges can tell price tables apart without
+-- depending on any node's clock. Migrations that change settings must bump it as well.
+CREATE TABLE system_settings_version (
+    id      SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version BIGINT NOT NULL
+);
+
+INSERT INTO system_settings_version (id, version) VALUES (1, 1);
@@ -0,0 +1,6 @@
+-- V50: Idempotency key for response submissions. The id is generated once at admission and
+-- carried through the local journal and RabbitMQ, both of which deliver at least once, so a
+-- redelivered submission is dropped by the unique constraint instead of being stored twice.
+-- Rows written before this migration keep a NULL id, which the constraint does not compare.
+ALTER TABLE responses ADD COLUMN submission_id UUID;
+ALTER TABLE responses ADD CONSTRAINT uq_responses_submission_id UNIQUE (submission_id);
@@ -0,0 +1,13 @@
+-- V51: Per-survey response count, maintained with the per-question aggregates of V40 so that
+-- results read the count by key instead of counting the survey's responses.
+
+CREATE TABLE survey_response_stats (
+    survey_id       BIGINT PRIMARY KEY REFERENCES surveys(id) ON DELETE CASCADE,
+    response_count  BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO survey_response_stats (survey_id, response_count)
+SELECT survey_id, COUNT(*)
+FROM responses
+GROUP BY survey_id;
@@ -0,0 +1,117 @@
+package com.survey_engine.common.auditing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.common.repository.AuditLogJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AuditLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AuditLogJdbcRepository repository = mock(AuditLogJdbcRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger inserted = new AtomicInteger();
+    private final CountDownLatch firstInsertStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+    private AuditLogWriter writer;
+
+    @AfterEach
+    void stopWriter() {
+        releaseFirstInsert.countDown();
+        if (writer != null) writer.stop();
+    }
+
+    @Test
+    void writesEveryRecordBeforeShutdownCompletes() {
+        countInserts(false);
+        writer = writer(1024, AuditOverflowPolicy.BLOCK);
+        writer.start();
+
+        for (int i = 0; i < 5000; i++) {
+            writer.append(record(i));
+        }
+        writer.stop();
+
+        assertEquals(5000, inserted.get());
+        assertEquals(5000.0, meterRegistry.counter("audit.log.written").count());
+    }
+
+    @Test
+    void dropsAndCountsOverflowWithDropPolicy() throws Exception {
+        countInserts(true);
+        writer = writer(2, AuditOverflowPolicy.DROP);
+        writer.start();
+
+        writer.append(record(0));
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+        writer.append(record(1));
+        writer.append(record(2));
+        writer.append(record(3));
+        releaseFirstInsert.countDown();
+        writer.stop();
+
+        assertEquals(3, inserted.get());
+        assertEquals(1.0, meterRegistry.counter("audit.log.dropped").count());
+    }
+
+    @Test
+    void spillsOverflowAndReplaysItOnceTheWriterCatchesUp() throws Exception {
+        countInserts(true);
+        writer = writer(2, AuditOverflowPolicy.SPILL);
+        writer.start();
+
+        writer.append(record(0));
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            writer.append(record(i));
+        }
+        releaseFirstInsert.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inserted.get() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(5, inserted.get());
+        assertEquals(2.0, meterRegistry.counter("audit.log.spilled").count());
+        assertEquals(0.0, meterRegistry.counter("audit.log.dropped").count());
+    }
+
+    private void countInserts(boolean holdFirst) {
+        doAnswer(invocation -> {
+            List<?> records = invocation.getArgument(0);
+            if (holdFirst && firstInsertStarted.getCount() > 0) {
+                firstInsertStarted.countDown();
+                releaseFirstInsert.await(5, TimeUnit.SECONDS);
+            }
+            inserted.addAndGet(records.size());
+            return null;
+        }).when(repository).insertAll(anyList());
+    }
+
+    private AuditLogWriter writer(int capacity, AuditOverflowPolicy policy) {
+        return new AuditLogWriter(repository, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                capacity, 100, Duration.ofMillis(1), policy, tempDir.resolve("audit-spill.ndjson"), Duration.ofSeconds(5));
+    }
+
+    private static AuditRecord record(int i) {
+        return new AuditRecord("admin@example.com", "action-" + i, "{}", "SUCCESS", LocalDateTime.now());
+    }
+}
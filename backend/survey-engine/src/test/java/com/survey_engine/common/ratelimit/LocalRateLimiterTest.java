@@ -0,0 +1,41 @@
+package com.survey_engine.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LocalRateLimiter limiter = new LocalRateLimiter(now::get);
+    private final RateLimit limit = new RateLimit(2, 60); // burst of 2, one per second
+
+    @Test
+    void allowsABurstThenRefillsAtTheConfiguredRate() {
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("k", limit);
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofSeconds(1), rejected.retryAfter());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+        assertFalse(limiter.tryAcquire("k", limit).allowed());
+    }
+
+    @Test
+    void keepsSeparateBucketsPerKey() {
+        limiter.tryAcquire("a", limit);
+        limiter.tryAcquire("a", limit);
+
+        assertFalse(limiter.tryAcquire("a", limit).allowed());
+        assertTrue(limiter.tryAcquire("b", limit).allowed());
+    }
+}
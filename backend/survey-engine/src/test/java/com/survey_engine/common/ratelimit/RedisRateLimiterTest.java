@@ -0,0 +1,100 @@
+package com.survey_engine.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisRateLimiterTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private RedisRateLimiter limiter;
+
+    @Test
+    void leasesOnlyForKeysThatWentToRedisWithinTheLeaseTtl() {
+        redisGrantsWhatIsRequested();
+        limiter = new RedisRateLimiter(redisTemplate, properties, meterRegistry, nanos::get);
+        RateLimit limit = new RateLimit(100, 6000);
+
+        for (int i = 0; i < 11; i++) {
+            assertTrue(limiter.tryAcquire("ip:auth:1.2.3.4", limit).allowed());
+        }
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyString(), anyString(), eq("1"));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyString(), anyString(), eq("10"));
+    }
+
+    @Test
+    void requestsFurtherApartThanTheLeaseTtlTakeOneTokenEach() {
+        redisGrantsWhatIsRequested();
+        limiter = new RedisRateLimiter(redisTemplate, properties, meterRegistry, nanos::get);
+        RateLimit limit = new RateLimit(100, 6000);
+
+        assertTrue(limiter.tryAcquire("ip:auth:1.2.3.4", limit).allowed());
+        nanos.addAndGet(properties.getLeaseTtl().plusMillis(1).toNanos());
+        assertTrue(limiter.tryAcquire("ip:auth:1.2.3.4", limit).allowed());
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyString(), anyString(), eq("1"));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString(), anyString(), eq("10"));
+    }
+
+    @Test
+    void rejectsWithTheRetryDelayRedisComputed() {
+        redisReturns(List.of(0L, 1500L));
+        limiter = new RedisRateLimiter(redisTemplate, properties, meterRegistry);
+
+        RateLimiter.Decision decision = limiter.tryAcquire("ip:auth:1.2.3.4", new RateLimit(20, 20));
+
+        assertFalse(decision.allowed());
+        assertEquals(Duration.ofMillis(1500), decision.retryAfter());
+    }
+
+    @Test
+    void fallsBackToThisNodesShareWhenRedisIsDown() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        properties.setNodes(2);
+        limiter = new RedisRateLimiter(redisTemplate, properties, meterRegistry);
+        RateLimit limit = new RateLimit(4, 4);
+
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+        assertTrue(limiter.tryAcquire("k", limit).allowed());
+        assertFalse(limiter.tryAcquire("k", limit).allowed());
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.counter("rate.limit.redis.fallback").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisGrantsWhatIsRequested() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> List.of(Long.parseLong(invocation.getArgument(4)), 0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(List<Long> result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+}
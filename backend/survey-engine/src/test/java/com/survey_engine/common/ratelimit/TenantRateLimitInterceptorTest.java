@@ -0,0 +1,87 @@
+package com.survey_engine.common.ratelimit;
+
+import com.survey_engine.user.UserApi;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantRateLimitInterceptorTest {
+
+    private static final RateLimit INDIVIDUAL = new RateLimit(200, 600);
+    private static final RateLimit ENTERPRISE = new RateLimit(500, 1500);
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final UserApi userApi = mock(UserApi.class);
+    private final RateLimitOwnerResolver ownerResolver = mock(RateLimitOwnerResolver.class);
+    private TenantRateLimitInterceptor interceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("response-submit");
+        route.setPath("/api/v1/surveys/*/responses");
+        route.setMethod("POST");
+        route.setPerTenant(new LinkedHashMap<>());
+        route.getPerTenant().put(TenantRateLimitInterceptor.INDIVIDUAL_TIER, INDIVIDUAL);
+        route.getPerTenant().put(TenantRateLimitInterceptor.ENTERPRISE_TIER, ENTERPRISE);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+
+        ObjectProvider<RateLimitOwnerResolver> resolvers = mock(ObjectProvider.class);
+        when(resolvers.orderedStream()).thenAnswer(invocation -> Stream.of(ownerResolver));
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimiter.Decision.allow());
+        when(userApi.getTenantId()).thenReturn(1L);
+        when(userApi.isIndividualTenant(1L)).thenReturn(true);
+        when(userApi.isIndividualTenant(9L)).thenReturn(false);
+
+        interceptor = new TenantRateLimitInterceptor(
+                new RateLimitPolicy(properties, rateLimiter, new SimpleMeterRegistry()), userApi, resolvers);
+    }
+
+    @Test
+    void chargesEnterpriseSurveysToTheSurveysTenantEvenOnTheMainHost() throws Exception {
+        when(ownerResolver.resolveOwner(any())).thenReturn(Optional.of(new RateLimitOwnerResolver.Owner(9L, "owner")));
+
+        assertTrue(interceptor.preHandle(submission(), new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).tryAcquire(eq("tenant:response-submit:9"), eq(ENTERPRISE));
+    }
+
+    @Test
+    void keysTheIndividualTierByTheSurveyOwner() throws Exception {
+        when(ownerResolver.resolveOwner(any())).thenReturn(Optional.of(new RateLimitOwnerResolver.Owner(1L, "owner")));
+
+        assertTrue(interceptor.preHandle(submission(), new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).tryAcquire(eq("tenant:response-submit:1:user:owner"), eq(INDIVIDUAL));
+    }
+
+    @Test
+    void fallsBackToTheHostTenantWhenNoResolverApplies() throws Exception {
+        when(ownerResolver.resolveOwner(any())).thenReturn(Optional.empty());
+
+        assertTrue(interceptor.preHandle(submission(), new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).tryAcquire(eq("tenant:response-submit:1"), eq(INDIVIDUAL));
+    }
+
+    private static MockHttpServletRequest submission() {
+        return new MockHttpServletRequest("POST", "/api/v1/surveys/42/responses");
+    }
+}
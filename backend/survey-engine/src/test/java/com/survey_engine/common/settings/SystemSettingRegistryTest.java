@@ -0,0 +1,73 @@
+package com.survey_engine.common.settings;
+
+import com.survey_engine.common.enums.SettingKey;
+import com.survey_engine.common.models.SystemSetting;
+import com.survey_engine.common.repository.SystemSettingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SystemSettingRegistryTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(1);
+
+    private final SystemSettingRepository repository = mock(SystemSettingRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SystemSettingRegistry registry = new SystemSettingRegistry(repository, redisTemplate, true);
+
+    @Test
+    void parsesValuesOnceAndKeepsTheDatabaseVersion() {
+        SystemSettings settings = SystemSettings.of(7L, List.of(
+                setting(SettingKey.SMS_COST_PER_MESSAGE, "2.50", T1),
+                setting(SettingKey.PRIVACY_NOTICE_URL, "https://example.com/privacy", T2)));
+
+        assertEquals(new BigDecimal("2.50"), settings.decimal(SettingKey.SMS_COST_PER_MESSAGE, BigDecimal.ONE));
+        assertEquals(BigDecimal.ONE, settings.decimal(SettingKey.WHATSAPP_COST_PER_MESSAGE, BigDecimal.ONE));
+        assertTrue(settings.decimal(SettingKey.PRIVACY_NOTICE_URL).isEmpty());
+        assertEquals("https://example.com/privacy", settings.text(SettingKey.PRIVACY_NOTICE_URL).orElseThrow());
+        assertEquals(7L, settings.version());
+    }
+
+    @Test
+    void neverInstallsAnOlderSnapshot() {
+        when(repository.findVersion()).thenReturn(2L, 1L);
+        when(repository.findAll())
+                .thenReturn(List.of(setting(SettingKey.SMS_COST_PER_MESSAGE, "3.00", T2)))
+                .thenReturn(List.of(setting(SettingKey.SMS_COST_PER_MESSAGE, "2.00", T1)));
+
+        registry.refresh();
+        registry.refresh();
+
+        assertEquals(new BigDecimal("3.00"), registry.current().decimal(SettingKey.SMS_COST_PER_MESSAGE).orElseThrow());
+    }
+
+    @Test
+    void announcesCommittedChangesAndSkipsVersionsItAlreadyHas() {
+        when(repository.findVersion()).thenReturn(5L);
+        when(repository.findAll()).thenReturn(List.of(setting(SettingKey.SMS_COST_PER_MESSAGE, "3.00", T2)));
+
+        registry.onSettingsChanged(new SystemSettingsChangedEvent());
+        verify(redisTemplate).convertAndSend(SystemSettingRegistry.CHANNEL, "5");
+
+        registry.onAnnouncedVersion("5");
+        verify(repository, times(1)).findAll();
+
+        registry.onAnnouncedVersion("6");
+        verify(repository, times(2)).findAll();
+    }
+
+    private static SystemSetting setting(SettingKey key, String value, LocalDateTime updatedAt) {
+        return new SystemSetting(key, value, null, updatedAt, updatedAt);
+    }
+}
@@ -0,0 +1,257 @@
+package com.survey_engine.survey.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.common.enums.ConditionType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.models.BranchRule;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.service.snapshot.BranchProgram;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.ScoreAccumulator;
+import com.survey_engine.survey.service.snapshot.SurveyCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares branch rule evaluation on compiled decision tables with the previous
+ * per-response path, which re-parsed every question's {@code scoreMap} and every rule's
+ * {@code conditionValue} JSON. The previous path also issued one repository query per
+ * evaluation; that cost is left out here, so the measured gap is a lower bound.
+ *
+ * <p>Run from {@code backend/survey-engine} after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.survey_engine.survey.benchmark.BranchRuleEvaluationBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchRuleEvaluationBenchmark {
+
+    private static final String[] CATEGORIES = {"Compliance", "Safety", "Quality", "Delivery"};
+    private static final int RESPONSES = 64;
+
+    @Param({"20", "60"})
+    public int questionCount;
+
+    @Param({"3", "6"})
+    public int rulesPerQuestion;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Question> questions;
+    private Map<Long, List<BranchRule>> rulesBySource;
+    private CompiledSurvey compiled;
+    private ScoreAccumulator accumulator;
+
+    private Long[][] answeredQuestionIds;
+    private String[][] answerValues;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        Survey survey = new Survey();
+        survey.setId(1L);
+        survey.setTenantId(1L);
+        survey.setStatus(SurveyStatus.ACTIVE);
+
+        questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setId((long) i + 1);
+            question.setSurvey(survey);
+            question.setQuestionText("Question " + (i + 1));
+            question.setQuestionType(QuestionType.MULTIPLE_CHOICE_SINGLE);
+            question.setPosition(i + 1);
+            question.setWeight(1.0 + (i % 3) * 0.5);
+            question.setScoreMap("{\"0\": 0.0, \"1\": 1.0, \"2\": 2.0, \"3\": 3.0}");
+            question.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            questions.add(question);
+        }
+        survey.setQuestions(questions);
+
+        List<BranchRule> rules = new ArrayList<>();
+        long ruleId = 1;
+        for (Question question : questions) {
+            for (int r = 0; r < rulesPerQuestion; r++) {
+                BranchRule rule = new BranchRule();
+                rule.setId(ruleId++);
+                rule.setSurvey(survey);
+                rule.setSourceQuestionId(question.getId());
+                rule.setPriority(r);
+                rule.setTargetQuestionId(Math.min(question.getId() + 2, questionCount));
+                // Thresholds are set high so most evaluations walk the whole table.
+                switch (r % 5) {
+                    case 0 -> {
+                        rule.setConditionType(ConditionType.ANSWER_EQUALS);
+                        rule.setConditionValue("{\"optionIndex\": 3}");
+                    }
+                    case 1 -> {
+                        rule.setConditionType(ConditionType.SCORE_GT);
+                        rule.setConditionValue("{\"threshold\": 10000}");
+                    }
+                    case 2 -> {
+                        rule.setConditionType(ConditionType.SCORE_CATEGORY_GT);
+                        rule.setConditionValue("{\"threshold\": 10000, \"category\": \"" + CATEGORIES[r % CATEGORIES.length] + "\"}");
+                    }
+                    case 3 -> {
+                        rule.setConditionType(ConditionType.SCORE_LT);
+                        rule.setConditionValue("{\"threshold\": -1}");
+                    }
+                    default -> {
+                        rule.setConditionType(ConditionType.SCORE_CATEGORY_LT);
+                        rule.setConditionValue("{\"threshold\": -1, \"category\": \"" + CATEGORIES[r % CATEGORIES.length] + "\"}");
+                    }
+                }
+                rules.add(rule);
+            }
+        }
+        rulesBySource = rules.stream().collect(Collectors.groupingBy(BranchRule::getSourceQuestionId));
+
+        compiled = new SurveyCompiler(objectMapper).compile(survey, rules, 1L);
+        accumulator = compiled.branching().newAccumulator();
+
+        answeredQuestionIds = new Long[RESPONSES][];
+        answerValues = new String[RESPONSES][];
+        for (int n = 0; n < RESPONSES; n++) {
+            int answered = 1 + random.nextInt(questionCount);
+            answeredQuestionIds[n] = new Long[answered];
+            answerValues[n] = new String[answered];
+            for (int i = 0; i < answered; i++) {
+                answeredQuestionIds[n][i] = questions.get(i).getId();
+                answerValues[n][i] = String.valueOf(random.nextInt(3));
+            }
+        }
+    }
+
+    @Benchmark
+    public Long compiled() {
+        int n = next();
+        Long[] questionIds = answeredQuestionIds[n];
+        String[] values = answerValues[n];
+        int last = questionIds.length - 1;
+
+        accumulator.reset();
+        for (int i = 0; i < questionIds.length; i++) {
+            compiled.accumulate(accumulator, questionIds[i], values[i]);
+        }
+        int selected = BranchProgram.parseOptionIndex(values[last]);
+        long target = compiled.branching().resolve(compiled.id(), questionIds[last], selected, accumulator);
+        return target == BranchProgram.END_SURVEY ? null : target;
+    }
+
+    @Benchmark
+    public Long legacy() {
+        int n = next();
+        Long[] questionIds = answeredQuestionIds[n];
+        String[] values = answerValues[n];
+        int last = questionIds.length - 1;
+
+        Integer selected = null;
+        try {
+            selected = Integer.parseInt(values[last]);
+        } catch (NumberFormatException ignored) {
+            // not an option index
+        }
+
+        double totalScore = 0.0;
+        Map<String, Double> categoryScores = new HashMap<>();
+        for (int i = 0; i < questionIds.length; i++) {
+            Question q = questions.get(questionIds[i].intValue() - 1);
+            try {
+                Map<String, Double> scoreMap = objectMapper.readValue(q.getScoreMap(),
+                        new TypeReference<Map<String, Double>>() {});
+                Double score = scoreMap.get(values[i]);
+                if (score != null) {
+                    double weighted = score * q.getWeight();
+                    totalScore += weighted;
+                    categoryScores.merge(q.getCategory(), weighted, Double::sum);
+                }
+            } catch (Exception ignored) {
+                // unscored
+            }
+        }
+
+        for (BranchRule rule : rulesBySource.getOrDefault(questionIds[last], List.of())) {
+            if (legacyMatches(rule, selected, categoryScores, totalScore)) {
+                return rule.getTargetQuestionId();
+            }
+        }
+        return -1L;
+    }
+
+    private boolean legacyMatches(BranchRule rule, Integer selected, Map<String, Double> categoryScores, double totalScore) {
+        return switch (rule.getConditionType()) {
+            case ALWAYS -> true;
+            case ANSWER_EQUALS -> {
+                JsonNode node = readTree(rule.getConditionValue());
+                yield node != null && node.has("optionIndex") && Integer.valueOf(node.get("optionIndex").asInt()).equals(selected);
+            }
+            case SCORE_LT, SCORE_GT -> {
+                JsonNode node = readTree(rule.getConditionValue());
+                if (node == null || !node.has("threshold")) yield false;
+                double threshold = node.get("threshold").asDouble();
+                yield rule.getConditionType() == ConditionType.SCORE_LT ? totalScore < threshold : totalScore > threshold;
+            }
+            case SCORE_CATEGORY_LT, SCORE_CATEGORY_GT -> {
+                JsonNode thresholdNode = readTree(rule.getConditionValue());
+                JsonNode categoryNode = readTree(rule.getConditionValue());
+                if (thresholdNode == null || categoryNode == null
+                        || !thresholdNode.has("threshold") || !categoryNode.has("category")) yield false;
+                double threshold = thresholdNode.get("threshold").asDouble();
+                double score = categoryScores.getOrDefault(categoryNode.get("category").asText(), 0.0);
+                yield rule.getConditionType() == ConditionType.SCORE_CATEGORY_LT ? score < threshold : score > threshold;
+            }
+        };
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (RESPONSES - 1);
+        return cursor;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BranchRuleEvaluationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.common.enums.ResponseStatus;
+import com.survey_engine.survey.models.Answer;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Response;
+import com.survey_engine.survey.models.Survey;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ResponseBatchRepositoryTest {
+
+    /** More than two statements' worth of responses, and answers, at 500 rows per statement. */
+    private static final int RESPONSES = 1_201;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static JdbcTemplate jdbcTemplate;
+    static ResponseBatchRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ResponseBatchRepository(jdbcTemplate);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE responses (
+                    id BIGSERIAL PRIMARY KEY,
+                    survey_id BIGINT NOT NULL,
+                    status VARCHAR(255) NOT NULL,
+                    submission_date TIMESTAMP NOT NULL,
+                    participant_id VARCHAR(255),
+                    session_id VARCHAR(255),
+                    tenant_id BIGINT NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    metadata TEXT,
+                    submission_id UUID,
+                    CONSTRAINT uq_responses_submission_id UNIQUE (submission_id)
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE answers (
+                    id BIGSERIAL PRIMARY KEY,
+                    response_id BIGINT NOT NULL REFERENCES responses(id) ON DELETE CASCADE,
+                    question_id BIGINT NOT NULL,
+                    answer_value TEXT,
+                    position INT,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )""");
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE answers, responses");
+    }
+
+    @Test
+    void insertsBatchesLargerThanOneStatementWithReservedIdsAndLinks() {
+        List<Long> responseIds = repository.nextResponseIds(RESPONSES);
+        List<Long> answerIds = repository.nextAnswerIds(RESPONSES * 2);
+        assertEquals(RESPONSES, new HashSet<>(responseIds).size());
+        assertEquals(RESPONSES * 2, new HashSet<>(answerIds).size());
+
+        List<Response> responses = new ArrayList<>();
+        List<Answer> answers = new ArrayList<>();
+        for (int i = 0; i < RESPONSES; i++) {
+            // Every other response leaves the nullable columns empty
+            Response response = i % 2 == 0
+                    ? response(responseIds.get(i), null, null, null, null)
+                    : response(responseIds.get(i), "p-" + i, "+2547" + i, "{\"channel\":\"SMS\"}", UUID.randomUUID());
+            answers.add(answer(answerIds.get(2 * i), response, 11L, "yes " + i, 1));
+            answers.add(answer(answerIds.get(2 * i + 1), response, 12L, null, 2));
+            responses.add(response);
+        }
+
+        Set<Long> inserted = repository.insertResponses(responses);
+        repository.insertAnswers(answers);
+
+        assertEquals(new HashSet<>(responseIds), inserted);
+        assertEquals(RESPONSES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM responses", Integer.class));
+        assertEquals(RESPONSES * 2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answers", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM responses r
+                WHERE (SELECT COUNT(*) FROM answers a WHERE a.response_id = r.id) <> 2""", Integer.class));
+
+        Map<String, Object> empty = jdbcTemplate.queryForMap("SELECT * FROM responses WHERE id = ?", responseIds.get(0));
+        assertNull(empty.get("participant_id"));
+        assertNull(empty.get("session_id"));
+        assertNull(empty.get("metadata"));
+        assertNull(empty.get("submission_id"));
+        assertEquals("COMPLETE", empty.get("status"));
+
+        Response last = responses.get(RESPONSES - 1);
+        Map<String, Object> filled = jdbcTemplate.queryForMap("SELECT * FROM responses WHERE id = ?", last.getId());
+        assertEquals(last.getParticipantId(), filled.get("participant_id"));
+        assertEquals(last.getSessionId(), filled.get("session_id"));
+        assertEquals(last.getMetadata(), filled.get("metadata"));
+        assertEquals(last.getSubmissionId(), filled.get("submission_id"));
+        assertEquals(7L, filled.get("survey_id"));
+        assertEquals(1L, filled.get("tenant_id"));
+
+        List<Map<String, Object>> lastAnswers = jdbcTemplate.queryForList(
+                "SELECT id, question_id, answer_value FROM answers WHERE response_id = ? ORDER BY position", last.getId());
+        assertEquals(answerIds.get(2 * RESPONSES - 2), lastAnswers.get(0).get("id"));
+        assertEquals("yes " + (RESPONSES - 1), lastAnswers.get(0).get("answer_value"));
+        assertEquals(12L, lastAnswers.get(1).get("question_id"));
+        assertNull(lastAnswers.get(1).get("answer_value"));
+    }
+
+    @Test
+    void skipsResponsesWhoseSubmissionIdIsAlreadyStored() {
+        UUID submissionId = UUID.randomUUID();
+        List<Long> firstIds = repository.nextResponseIds(1);
+        assertEquals(Set.copyOf(firstIds), repository.insertResponses(
+                List.of(response(firstIds.get(0), null, "+254700000001", null, submissionId))));
+
+        List<Long> ids = repository.nextResponseIds(2);
+        Set<Long> inserted = repository.insertResponses(List.of(
+                response(ids.get(0), null, "+254700000001", null, submissionId),
+                response(ids.get(1), null, "+254700000002", null, UUID.randomUUID())));
+
+        assertEquals(Set.of(ids.get(1)), inserted);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM responses", Integer.class));
+        assertTrue(jdbcTemplate.queryForList("SELECT id FROM responses", Long.class).contains(firstIds.get(0)));
+    }
+
+    private static Response response(Long id, String participantId, String sessionId, String metadata, UUID submissionId) {
+        Survey survey = new Survey();
+        survey.setId(7L);
+        Response response = new Response();
+        response.setId(id);
+        response.setSurvey(survey);
+        response.setTenantId(1L);
+        response.setStatus(ResponseStatus.COMPLETE);
+        response.setSubmissionDate(NOW);
+        response.setParticipantId(participantId);
+        response.setSessionId(sessionId);
+        response.setMetadata(metadata);
+        response.setSubmissionId(submissionId);
+        response.setCreatedAt(NOW);
+        response.setUpdatedAt(NOW);
+        return response;
+    }
+
+    private static Answer answer(Long id, Response response, Long questionId, String value, int position) {
+        Question question = new Question();
+        question.setId(questionId);
+        Answer answer = new Answer();
+        answer.setId(id);
+        answer.setResponse(response);
+        answer.setQuestion(question);
+        answer.setAnswerValue(value);
+        answer.setPosition(position);
+        answer.setCreatedAt(NOW);
+        answer.setUpdatedAt(NOW);
+        return answer;
+    }
+}
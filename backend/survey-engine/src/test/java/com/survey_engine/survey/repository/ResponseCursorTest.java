@@ -0,0 +1,31 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.common.exception.BusinessRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseCursorTest {
+
+    @Test
+    void roundTripsThroughItsEncodedForm() {
+        ResponseCursor cursor = new ResponseCursor(LocalDateTime.of(2026, 3, 1, 12, 30, 5, 123_456_000), 42L);
+
+        assertEquals(cursor, ResponseCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(ResponseCursor.decode(null));
+        assertNull(ResponseCursor.decode(""));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(BusinessRuleException.class, () -> ResponseCursor.decode("not-a-cursor"));
+    }
+}
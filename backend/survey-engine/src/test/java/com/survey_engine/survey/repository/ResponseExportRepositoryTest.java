@@ -0,0 +1,84 @@
+package com.survey_engine.survey.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ResponseExportRepositoryTest {
+
+    private static final int RESPONSES = 200_000;
+    private static final int ANSWERS_PER_RESPONSE = 5;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static JdbcTemplate jdbcTemplate;
+    static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE responses (
+                    id BIGSERIAL PRIMARY KEY,
+                    survey_id BIGINT NOT NULL,
+                    status VARCHAR(50) NOT NULL,
+                    submission_date TIMESTAMP,
+                    participant_id VARCHAR(255)
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE answers (
+                    id BIGSERIAL PRIMARY KEY,
+                    response_id BIGINT NOT NULL REFERENCES responses(id),
+                    question_id BIGINT NOT NULL,
+                    answer_value TEXT,
+                    position INT
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_answers_response_id ON answers(response_id)");
+        jdbcTemplate.update("""
+                INSERT INTO responses (survey_id, status, submission_date, participant_id)
+                SELECT 1, 'COMPLETE', now(), 'p' || g FROM generate_series(1, ?) g""", RESPONSES);
+        jdbcTemplate.update("""
+                INSERT INTO answers (response_id, question_id, answer_value, position)
+                SELECT r.id, q, 'answer ' || q, q FROM responses r, generate_series(1, ?) q""", ANSWERS_PER_RESPONSE);
+        // A response in another survey, and one without answers.
+        jdbcTemplate.update("INSERT INTO responses (survey_id, status) VALUES (2, 'COMPLETE'), (1, 'INCOMPLETE')");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void streamsEveryAnswerRowOfTheSurveyInOrder() {
+        ResponseExportRepository repository = new ResponseExportRepository(jdbcTemplate);
+        AtomicLong responses = new AtomicLong();
+        AtomicLong answers = new AtomicLong();
+        AtomicLong lastId = new AtomicLong();
+
+        transactionTemplate.executeWithoutResult(status ->
+                repository.streamBySurveyId(1L, 1000, response -> {
+                    assertTrue(response.id() > lastId.get(), "responses must arrive in ID order");
+                    lastId.set(response.id());
+                    responses.incrementAndGet();
+                    answers.addAndGet(response.answers().size());
+                }));
+
+        assertEquals(RESPONSES + 1, responses.get());
+        assertEquals((long) RESPONSES * ANSWERS_PER_RESPONSE, answers.get());
+    }
+}
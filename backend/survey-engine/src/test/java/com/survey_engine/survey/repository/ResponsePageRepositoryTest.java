@@ -0,0 +1,159 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.dto.AnswerResponse;
+import com.survey_engine.survey.dto.ResponseFilter;
+import com.survey_engine.survey.dto.ResponseResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through responses in a real Postgres, where many responses share a submission date.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ResponsePageRepositoryTest {
+
+    private static final Long SURVEY_ID = 7L;
+    /** Microsecond precision, as stored by a Postgres TIMESTAMP. */
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 30, 5, 123_456_000);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static JdbcTemplate jdbcTemplate;
+    static ResponsePageRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ResponsePageRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+
+        jdbcTemplate.execute("""
+                CREATE TABLE responses (
+                    id BIGINT PRIMARY KEY,
+                    survey_id BIGINT NOT NULL,
+                    status VARCHAR(255) NOT NULL,
+                    submission_date TIMESTAMP NOT NULL,
+                    participant_id VARCHAR(255),
+                    metadata TEXT
+                )""");
+        jdbcTemplate.execute("CREATE INDEX idx_responses_survey_page ON responses (survey_id, submission_date DESC, id DESC)");
+        jdbcTemplate.execute("""
+                CREATE TABLE answers (
+                    id BIGSERIAL PRIMARY KEY,
+                    response_id BIGINT NOT NULL REFERENCES responses(id) ON DELETE CASCADE,
+                    question_id BIGINT NOT NULL,
+                    answer_value TEXT,
+                    position INT
+                )""");
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE answers, responses");
+    }
+
+    @Test
+    void pagesThroughEqualSubmissionDatesWithoutSkippingOrRepeating() {
+        // 23 responses over three submission dates; ids are not in date order
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            long id = (i * 7L) % 23 + 1;
+            rows.add(new Row(id, NOW.minusSeconds(i % 3), i % 2 == 0 ? "{\"channel\":\"sms\"}" : null));
+        }
+        rows.forEach(ResponsePageRepositoryTest::insert);
+        insertResponse(100L, 8L, NOW, null);
+
+        List<Long> expected = rows.stream()
+                .sorted(Comparator.comparing(Row::submissionDate).thenComparing(Row::id).reversed())
+                .map(Row::id)
+                .toList();
+        assertEquals(expected, pageThrough(null, 4));
+    }
+
+    @Test
+    void pagesThroughEqualSubmissionDatesWithAFilter() {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            rows.add(new Row(i + 1L, NOW, i % 3 == 0 ? null : "{\"channel\":\"sms\"}"));
+        }
+        rows.forEach(ResponsePageRepositoryTest::insert);
+
+        List<Long> expected = rows.stream()
+                .filter(row -> row.metadata() != null)
+                .map(Row::id)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        assertEquals(expected, pageThrough(new ResponseFilter(null, null, "sms", null), 3));
+    }
+
+    @Test
+    void returnsEachResponseWithItsOwnAnswersInOrder() {
+        insert(new Row(1L, NOW, null));
+        insert(new Row(2L, NOW, null));
+        insertAnswer(2L, 12L, "second", 2);
+        insertAnswer(2L, 11L, "first", 1);
+        insertAnswer(1L, 11L, "other", 1);
+
+        List<ResponseResponse> page = repository.findPage(SURVEY_ID, null, null, 10);
+
+        assertEquals(List.of(2L, 1L), page.stream().map(ResponseResponse::id).toList());
+        assertEquals(List.of("first", "second"),
+                page.get(0).answers().stream().map(AnswerResponse::answerValue).toList());
+        assertEquals(List.of("other"), page.get(1).answers().stream().map(AnswerResponse::answerValue).toList());
+        assertEquals(NOW, page.get(0).submissionDate());
+    }
+
+    /**
+     * Follows cursors, passed through their encoded form as a client would, until a short page.
+     */
+    private static List<Long> pageThrough(ResponseFilter filter, int limit) {
+        List<Long> ids = new ArrayList<>();
+        ResponseCursor cursor = null;
+        while (true) {
+            List<ResponseResponse> page = repository.findPage(SURVEY_ID, filter, cursor, limit);
+            page.forEach(response -> ids.add(response.id()));
+            if (page.size() < limit) break;
+            ResponseResponse last = page.get(page.size() - 1);
+            cursor = ResponseCursor.decode(new ResponseCursor(last.submissionDate(), last.id()).encode());
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "no response is returned twice");
+        return ids;
+    }
+
+    private static void insert(Row row) {
+        insertResponse(row.id(), SURVEY_ID, row.submissionDate(), row.metadata());
+    }
+
+    private static void insertResponse(Long id, Long surveyId, LocalDateTime submissionDate, String metadata) {
+        jdbcTemplate.update("""
+                INSERT INTO responses (id, survey_id, status, submission_date, participant_id, metadata)
+                VALUES (?, ?, 'COMPLETE', ?, ?, ?)""",
+                id, surveyId, Timestamp.valueOf(submissionDate), "p-" + id, metadata);
+    }
+
+    private static void insertAnswer(Long responseId, Long questionId, String value, int position) {
+        jdbcTemplate.update("INSERT INTO answers (response_id, question_id, answer_value, position) VALUES (?, ?, ?, ?)",
+                responseId, questionId, value, position);
+    }
+
+    private record Row(Long id, LocalDateTime submissionDate, String metadata) {
+    }
+}
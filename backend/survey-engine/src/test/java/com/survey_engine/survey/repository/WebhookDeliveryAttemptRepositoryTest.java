@@ -0,0 +1,220 @@
+package com.survey_engine.survey.repository;
+
+import com.survey_engine.survey.service.webhook.WebhookDelivery;
+import com.survey_engine.survey.service.webhook.WebhookRoute;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class WebhookDeliveryAttemptRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static JdbcTemplate jdbcTemplate;
+    static TransactionTemplate transactionTemplate;
+    static WebhookDeliveryAttemptRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new WebhookDeliveryAttemptRepository(jdbcTemplate);
+
+        jdbcTemplate.execute("""
+                CREATE TABLE webhook_subscriptions (
+                    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                    tenant_id BIGINT NOT NULL,
+                    target_url VARCHAR(500) NOT NULL,
+                    event_types TEXT NOT NULL,
+                    secret VARCHAR(100),
+                    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                    consecutive_failures INT NOT NULL DEFAULT 0,
+                    circuit_open_until TIMESTAMP,
+                    batch_max_size INT,
+                    batch_window_ms INT
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE webhook_delivery_attempts (
+                    id BIGSERIAL PRIMARY KEY,
+                    subscription_id UUID NOT NULL REFERENCES webhook_subscriptions(id) ON DELETE CASCADE,
+                    tenant_id BIGINT NOT NULL,
+                    event_type VARCHAR(50) NOT NULL,
+                    payload TEXT NOT NULL,
+                    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                    attempts INT NOT NULL DEFAULT 0,
+                    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                    locked_until TIMESTAMP,
+                    last_http_status INT,
+                    last_error VARCHAR(500),
+                    replay_of BIGINT,
+                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                    delivered_at TIMESTAMP
+                )""");
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE webhook_delivery_attempts, webhook_subscriptions");
+    }
+
+    @Test
+    void claimsAFewRowsPerSubscriptionSoABacklogCannotStarveOthers() {
+        UUID busy = subscription(null);
+        UUID quiet = subscription(null);
+        enqueue(busy, 5, Duration.ZERO);
+        enqueue(quiet, 1, Duration.ZERO);
+
+        Map<UUID, Long> claimed = countBySubscription(repository.claim(2, 100, LEASE));
+
+        assertEquals(Map.of(busy, 2L, quiet, 1L), claimed);
+        assertEquals(Map.of(busy, 2L), countBySubscription(repository.claim(2, 100, LEASE)));
+    }
+
+    @Test
+    void skipsRowsLockedByAnotherClaim() throws Exception {
+        UUID subscription = subscription(null);
+        enqueue(subscription, 2, Duration.ZERO);
+        CountDownLatch claimedByOther = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<WebhookDelivery>> other = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<WebhookDelivery> rows = repository.claim(1, 100, LEASE);
+                    claimedByOther.countDown();
+                    await(release);
+                    return rows;
+                }));
+        assertTrue(claimedByOther.await(10, TimeUnit.SECONDS));
+        List<WebhookDelivery> mine = repository.claim(1, 100, LEASE);
+        release.countDown();
+        List<WebhookDelivery> theirs = other.get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, mine.size());
+        assertEquals(1, theirs.size());
+        assertNotEquals(theirs.get(0).id(), mine.get(0).id(), "a row was claimed twice");
+    }
+
+    @Test
+    void releasesExpiredLeasesForReclaim() throws InterruptedException {
+        UUID subscription = subscription(null);
+        enqueue(subscription, 1, Duration.ZERO);
+
+        WebhookDelivery first = repository.claim(1, 100, Duration.ofMillis(1)).get(0);
+        assertTrue(repository.claim(1, 100, LEASE).isEmpty(), "an in-flight row must not be claimed again");
+        Thread.sleep(50);
+
+        assertEquals(1, repository.releaseExpiredLeases());
+        List<WebhookDelivery> reclaimed = repository.claim(1, 100, LEASE);
+        assertEquals(1, reclaimed.size());
+        assertEquals(first.id(), reclaimed.get(0).id());
+        assertEquals(2, reclaimed.get(0).attempts());
+        assertEquals(0, repository.releaseExpiredLeases(), "a live lease must not be released");
+    }
+
+    @Test
+    void claimsFreshRowsOfABatchingSubscriptionOnceItsOldestIsDue() {
+        UUID subscription = subscription(3);
+        enqueue(subscription, 4, Duration.ofMinutes(1));
+        assertTrue(repository.claim(1, 100, LEASE).isEmpty(), "nothing is due inside the batch window");
+
+        jdbcTemplate.update("""
+                UPDATE webhook_delivery_attempts SET next_attempt_at = NOW() - INTERVAL '1 second'
+                WHERE id = (SELECT MIN(id) FROM webhook_delivery_attempts)""");
+
+        List<WebhookDelivery> claimed = repository.claim(1, 100, LEASE);
+        assertEquals(3, claimed.size());
+        assertTrue(claimed.stream().allMatch(WebhookDelivery::batched));
+    }
+
+    @Test
+    void opensTheCircuitAtTheThresholdAndClosesItOnSuccess() {
+        UUID subscription = subscription(null);
+        enqueue(subscription, 1, Duration.ZERO);
+
+        assertFalse(repository.recordFailure(subscription, 3, Duration.ofMinutes(5)));
+        assertFalse(repository.recordFailure(subscription, 3, Duration.ofMinutes(5)));
+        assertTrue(repository.recordFailure(subscription, 3, Duration.ofMinutes(5)));
+        assertFalse(repository.recordFailure(subscription, 3, Duration.ofMinutes(5)), "only the threshold failure opens it");
+        assertTrue(repository.claim(1, 100, LEASE).isEmpty(), "an open circuit holds deliveries back");
+
+        repository.recordSuccess(subscription);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT consecutive_failures FROM webhook_subscriptions WHERE id = ?", Integer.class, subscription));
+        assertEquals(1, repository.claim(1, 100, LEASE).size());
+    }
+
+    @Test
+    void replaysOriginalEventsOnceAndClosesTheCircuit() {
+        UUID subscription = subscription(null);
+        enqueue(subscription, 2, Duration.ZERO);
+        List<WebhookDelivery> claimed = repository.claim(2, 100, LEASE);
+        repository.markDelivered(List.of(claimed.get(0).id()), 200);
+        repository.markFailed(List.of(claimed.get(1).id()), 500, "Internal Server Error");
+        repository.recordFailure(subscription, 1, Duration.ofMinutes(5));
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        assertEquals(2, repository.replay(subscription, from, to));
+        assertEquals(2, repository.replay(subscription, from, to), "replays are not replayed themselves");
+
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM webhook_delivery_attempts WHERE replay_of IS NOT NULL AND status = 'PENDING'", Integer.class));
+        assertEquals(4, repository.claim(4, 100, LEASE).size(), "the circuit is closed again");
+    }
+
+    private static UUID subscription(Integer batchMaxSize) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO webhook_subscriptions (tenant_id, target_url, event_types, batch_max_size, batch_window_ms)
+                VALUES (1, 'https://example.com/hook', '["SURVEY_COMPLETED"]', ?, ?)
+                RETURNING id""", UUID.class, batchMaxSize, batchMaxSize != null ? 60_000 : null);
+    }
+
+    private static void enqueue(UUID subscription, int events, Duration batchWindow) {
+        WebhookRoute route = new WebhookRoute(subscription, Set.of("SURVEY_COMPLETED"), batchWindow);
+        for (int i = 0; i < events; i++) {
+            repository.enqueue(List.of(route), 1L, "SURVEY_COMPLETED", "{\"n\":" + i + "}");
+        }
+    }
+
+    private static Map<UUID, Long> countBySubscription(List<WebhookDelivery> deliveries) {
+        return deliveries.stream().collect(Collectors.groupingBy(WebhookDelivery::subscriptionId, Collectors.counting()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
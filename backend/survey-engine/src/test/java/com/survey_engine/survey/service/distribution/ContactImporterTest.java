@@ -0,0 +1,93 @@
+package com.survey_engine.survey.service.distribution;
+
+import com.survey_engine.survey.dto.ContactImportResponse;
+import com.survey_engine.survey.dto.ContactRequest;
+import com.survey_engine.survey.repository.DistributionListContactBatchRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContactImporterTest {
+
+    /** Stands in for the unique constraint on (distribution_list_id, phone_number). */
+    static class FakeRepository extends DistributionListContactBatchRepository {
+        final Set<String> stored = new HashSet<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        FakeRepository(String... existing) {
+            super(null);
+            stored.addAll(List.of(existing));
+        }
+
+        @Override
+        public int insertIgnoringDuplicates(UUID distributionListId, List<ContactRequest> contacts) {
+            batchSizes.add(contacts.size());
+            return (int) contacts.stream().filter(c -> stored.add(c.phoneNumber())).count();
+        }
+    }
+
+    @Test
+    void normalizesKenyanMobileNumbers() {
+        assertEquals("+254712345678", PhoneNumbers.normalize("0712 345 678"));
+        assertEquals("+254712345678", PhoneNumbers.normalize("712345678"));
+        assertEquals("+254712345678", PhoneNumbers.normalize("254712345678"));
+        assertEquals("+254110345678", PhoneNumbers.normalize("+254-110-345-678"));
+        assertNull(PhoneNumbers.normalize("0212345678"));
+        assertNull(PhoneNumbers.normalize(" "));
+    }
+
+    @Test
+    void normalizesPhoneSearchPrefixes() {
+        assertEquals("+254712", PhoneNumbers.normalizePrefix("0712"));
+        assertEquals("+254712", PhoneNumbers.normalizePrefix("712"));
+        assertEquals("+25471", PhoneNumbers.normalizePrefix("+25471"));
+        assertEquals("+25", PhoneNumbers.normalizePrefix("25"));
+        assertNull(PhoneNumbers.normalizePrefix("Ann"));
+    }
+
+    @Test
+    void countsAcceptedDuplicateAndInvalidContacts() {
+        FakeRepository repository = new FakeRepository("+254700000001");
+        ContactImporter importer = new ContactImporter(UUID.randomUUID(), repository);
+
+        importer.add("0712345678", "Ann", "", null);
+        importer.add("+254712345678", "Ann", null, null); // repeated in the file
+        importer.add("0700000001", null, null, null);     // already in the list
+        importer.add("not a number", null, null, null);
+        importer.add(null, null, null, null);
+        importer.add("0110000002", "Ben", "Otieno", "ben@example.com");
+        ContactImportResponse result = importer.finish("Customers");
+
+        assertEquals(2, result.accepted());
+        assertEquals(2, result.duplicates());
+        assertEquals(2, result.invalid());
+        assertEquals(Set.of("+254700000001", "+254712345678", "+254110000002"), repository.stored);
+    }
+
+    @Test
+    void writesLargeImportsInFixedSizeBatches() {
+        FakeRepository repository = new FakeRepository();
+        ContactImporter importer = new ContactImporter(UUID.randomUUID(), repository);
+
+        int rows = 500_000;
+        for (int i = 0; i < rows; i++) {
+            importer.add("07" + String.format("%08d", i), null, null, null);
+        }
+        for (int i = 0; i < 10; i++) {
+            importer.add("07" + String.format("%08d", i), null, null, null);
+        }
+        ContactImportResponse result = importer.finish("Large");
+
+        assertEquals(rows, result.accepted());
+        assertEquals(10, result.duplicates());
+        assertEquals(rows / ContactImporter.BATCH_SIZE, repository.batchSizes.size());
+        repository.batchSizes.forEach(size -> assertEquals(ContactImporter.BATCH_SIZE, size));
+    }
+}
@@ -0,0 +1,205 @@
+package com.survey_engine.survey.service.event_listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.survey_engine.billing.BillingApi;
+import com.survey_engine.common.settings.SystemSettingRegistry;
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.dto.AnswerRequest;
+import com.survey_engine.survey.dto.ResponseRequest;
+import com.survey_engine.survey.dto.ResponseSubmissionPayload;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.repository.QuestionRepository;
+import com.survey_engine.survey.repository.ResponseBatchRepository;
+import com.survey_engine.survey.repository.ResponsePageRepository;
+import com.survey_engine.survey.repository.ResponseRepository;
+import com.survey_engine.survey.repository.SurveyRepository;
+import com.survey_engine.survey.service.BranchRuleService;
+import com.survey_engine.survey.service.ResponseRabbitMqPublisher;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.journal.ResponseJournal;
+import com.survey_engine.survey.service.quota.ResponseQuotaService;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.survey.service.snapshot.SurveyCompiler;
+import com.survey_engine.survey.service.sse.SseService;
+import com.survey_engine.survey.service.stats.QuestionStatsService;
+import com.survey_engine.user.UserApi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the batch listener against a real Postgres, with the broker channel mocked.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RabbitMqBatchListenerTest {
+
+    private static final Long SURVEY_ID = 7L;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SseService sseService = mock(SseService.class);
+    private final ResponseQuotaService responseQuotaService = mock(ResponseQuotaService.class);
+    private final Channel channel = mock(Channel.class);
+    private RabbitMqBatchListener listener;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE responses (
+                    id BIGSERIAL PRIMARY KEY,
+                    survey_id BIGINT NOT NULL,
+                    status VARCHAR(255) NOT NULL,
+                    submission_date TIMESTAMP NOT NULL,
+                    participant_id VARCHAR(255),
+                    session_id VARCHAR(255),
+                    tenant_id BIGINT NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    metadata TEXT,
+                    submission_id UUID,
+                    CONSTRAINT uq_responses_submission_id UNIQUE (submission_id)
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE answers (
+                    id BIGSERIAL PRIMARY KEY,
+                    response_id BIGINT NOT NULL REFERENCES responses(id) ON DELETE CASCADE,
+                    question_id BIGINT NOT NULL,
+                    answer_value TEXT,
+                    position INT,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )""");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE answers, responses");
+
+        Survey survey = new Survey();
+        survey.setId(SURVEY_ID);
+        survey.setTenantId(1L);
+        survey.setUserId("owner");
+        survey.setStatus(SurveyStatus.ACTIVE);
+        survey.setAccessType(AccessType.PUBLIC);
+        survey.setQuestions(new ArrayList<>(List.of(question(survey, 11L, 1), question(survey, 12L, 2))));
+        CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+        when(compiledSurveyCache.get(SURVEY_ID))
+                .thenReturn(Optional.of(new SurveyCompiler(objectMapper).compile(survey, List.of(), 1L)));
+
+        SurveyRepository surveyRepository = mock(SurveyRepository.class);
+        when(surveyRepository.getReferenceById(SURVEY_ID)).thenReturn(survey);
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        when(questionRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> question(survey, invocation.getArgument(0), 0));
+
+        ResponseService responseService = new ResponseService(mock(ResponseRepository.class), surveyRepository,
+                mock(ResponseRabbitMqPublisher.class), questionRepository, mock(ApplicationEventPublisher.class),
+                mock(UserApi.class), mock(BillingApi.class), objectMapper, new BranchRuleService(null, null, null, null, null),
+                mock(SystemSettingRegistry.class), new ResponseBatchRepository(jdbcTemplate), compiledSurveyCache,
+                responseQuotaService, mock(ResponseJournal.class), mock(QuestionStatsService.class),
+                mock(ResponsePageRepository.class));
+        listener = new RabbitMqBatchListener(responseService, sseService, objectMapper, responseQuotaService);
+    }
+
+    @Test
+    void rejectsPoisonedMessagesToTheDlqAndCommitsTheRestOfTheBatch() throws Exception {
+        List<Message> batch = List.of(
+                message(1, payload("r-1", 11L, 12L)),
+                message(2, payload("r-2", 11L, 99L)),
+                message(3, payload("r-3", 11L, 12L)),
+                new Message("not json".getBytes(StandardCharsets.UTF_8), properties(4)));
+
+        listener.processResponseBatchAndNotify(batch, channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicAck(3, false);
+        verify(channel).basicNack(4, false, false);
+        verify(responseQuotaService).release(SURVEY_ID, "r-2");
+        verify(responseQuotaService).commit(SURVEY_ID, "r-1");
+        verify(responseQuotaService).commit(SURVEY_ID, "r-3");
+        verify(sseService, times(2)).publishResponse(any());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM responses", Integer.class));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answers", Integer.class));
+    }
+
+    @Test
+    void acknowledgesARedeliveredSubmissionWithoutStoringItAgain() throws Exception {
+        ResponseSubmissionPayload payload = payload("r-1", 11L, 12L);
+        listener.processResponseBatchAndNotify(List.of(message(1, payload)), channel);
+
+        listener.processResponseBatchAndNotify(List.of(message(2, payload)), channel);
+
+        verify(channel).basicAck(2, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        verify(responseQuotaService, times(1)).commit(SURVEY_ID, "r-1");
+        verify(responseQuotaService).release(SURVEY_ID, "r-1");
+        verify(sseService, times(1)).publishResponse(any());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM responses", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answers", Integer.class));
+    }
+
+    private static ResponseSubmissionPayload payload(String reservationId, Long... questionIds) {
+        List<AnswerRequest> answers = new ArrayList<>();
+        for (Long questionId : questionIds) {
+            answers.add(new AnswerRequest(questionId, "answer " + questionId));
+        }
+        return new ResponseSubmissionPayload(SURVEY_ID, new ResponseRequest(answers, null), null, null, null,
+                reservationId, UUID.randomUUID());
+    }
+
+    private Message message(long deliveryTag, ResponseSubmissionPayload payload) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(payload), properties(deliveryTag));
+    }
+
+    private static MessageProperties properties(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+
+    private static Question question(Survey survey, Long id, int position) {
+        Question question = new Question();
+        question.setId(id);
+        question.setSurvey(survey);
+        question.setQuestionText("Question " + id);
+        question.setQuestionType(QuestionType.FREE_TEXT);
+        question.setPosition(position);
+        return question;
+    }
+}
@@ -0,0 +1,130 @@
+package com.survey_engine.survey.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.ResponseStatus;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.dto.AnswerResponse;
+import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.repository.ResponseExportRepository;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.user.UserApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ResponseExportServiceTest {
+
+    private static final CompiledQuestion FORMULA = question(11L, "Formula");
+    private static final CompiledQuestion NUMBER = question(12L, "Number");
+    private static final CompiledSurvey SURVEY = new CompiledSurvey(7L, 1L, 1L, "owner", SurveyStatus.ACTIVE,
+            AccessType.PUBLIC, null, List.of(FORMULA, NUMBER), Map.of(11L, FORMULA, 12L, NUMBER), null);
+    private static final LocalDateTime SUBMITTED = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ResponseExportService service;
+
+    @BeforeEach
+    void setUp() {
+        ResponseExportRepository repository = mock(ResponseExportRepository.class);
+        List<ResponseResponse> responses = List.of(
+                new ResponseResponse(1L, 7L, ResponseStatus.COMPLETE, SUBMITTED, "p-1", List.of(
+                        new AnswerResponse(101L, 11L, "=SUM(A1)", 1),
+                        new AnswerResponse(102L, 12L, "-5", 2))),
+                new ResponseResponse(2L, 7L, ResponseStatus.INCOMPLETE, null, null, List.of(
+                        new AnswerResponse(103L, 11L, "+cmd", 1),
+                        new AnswerResponse(104L, 11L, "@me", 1),
+                        new AnswerResponse(105L, 12L, "-x", 2))));
+        doAnswer(invocation -> {
+            Consumer<ResponseResponse> consumer = invocation.getArgument(2);
+            responses.forEach(consumer);
+            return null;
+        }).when(repository).streamBySurveyId(eq(7L), anyInt(), any());
+
+        service = new ResponseExportService(repository, mock(CompiledSurveyCache.class), mock(UserApi.class),
+                objectMapper, mock(PlatformTransactionManager.class), 100);
+    }
+
+    @Test
+    void writesCsvWithHeaderAndOneRowPerResponse() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.write(new ResponseExport(SURVEY, ExportFormat.CSV), out, false);
+
+        assertEquals("""
+                "response_id","submission_date","participant_id","status","Formula","Number"
+                "1","2026-01-02T03:04:05","p-1","COMPLETE","'=SUM(A1)","-5"
+                "2","","","INCOMPLETE","'+cmd; '@me","'-x"
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.write(new ResponseExport(SURVEY, ExportFormat.NDJSON), out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("2026-01-02T03:04:05", first.get("submissionDate").asText());
+        assertEquals("=SUM(A1)", first.get("answers").get(0).get("answerValue").asText());
+        assertEquals(3, objectMapper.readTree(lines[1]).get("answers").size());
+    }
+
+    @Test
+    void gzipOutputDecompressesToThePlainExport() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        service.write(new ResponseExport(SURVEY, ExportFormat.CSV), plain, false);
+        service.write(new ResponseExport(SURVEY, ExportFormat.CSV), compressed, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals(plain.toString(StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void neutralizesFormulaPrefixesButKeepsNumbers() {
+        assertEquals("'=1+1", ResponseExportService.neutralizeFormula("=1+1"));
+        assertEquals("'+cmd", ResponseExportService.neutralizeFormula("+cmd"));
+        assertEquals("'-x", ResponseExportService.neutralizeFormula("-x"));
+        assertEquals("'@me", ResponseExportService.neutralizeFormula("@me"));
+        assertEquals("-5", ResponseExportService.neutralizeFormula("-5"));
+        assertEquals("+2.5", ResponseExportService.neutralizeFormula("+2.5"));
+        assertEquals("plain", ResponseExportService.neutralizeFormula("plain"));
+        assertEquals("", ResponseExportService.neutralizeFormula(""));
+    }
+
+    private static CompiledQuestion question(Long id, String text) {
+        return new CompiledQuestion(id, text, QuestionType.FREE_TEXT, null, id.intValue(), 1.0, Map.of(), null, -1);
+    }
+}
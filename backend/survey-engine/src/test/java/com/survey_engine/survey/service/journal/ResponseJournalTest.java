@@ -0,0 +1,129 @@
+package com.survey_engine.survey.service.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.dto.AnswerRequest;
+import com.survey_engine.survey.dto.ResponseRequest;
+import com.survey_engine.survey.dto.ResponseSubmissionPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private ResponseJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) journal.close();
+    }
+
+    @Test
+    void replaysUnacknowledgedEntriesAfterRestart() throws IOException {
+        journal = open(DataSize.ofKilobytes(1));
+        for (long surveyId = 1; surveyId <= 20; surveyId++) {
+            assertTrue(journal.append(payload(surveyId)));
+        }
+
+        JournalBatch first = journal.readBatch(5);
+        assertEquals(5, first.records().size());
+        journal.acknowledge(first);
+        assertEquals(15, journal.depth());
+        journal.close();
+
+        journal = open(DataSize.ofKilobytes(1));
+        assertEquals(15, journal.depth());
+        JournalBatch replay = journal.readBatch(100);
+        assertEquals(15, replay.records().size());
+        assertEquals(6L, read(replay.records().get(0)).surveyId());
+        assertEquals(20L, read(replay.records().get(14)).surveyId());
+        // Replayed entries keep their idempotency key, so the consumer can drop ones already stored
+        assertEquals(new UUID(0, 6), read(replay.records().get(0)).submissionId());
+
+        // Sequences continue after the recovered tail
+        assertTrue(journal.append(payload(21)));
+        journal.acknowledge(replay);
+        JournalBatch next = journal.readBatch(100);
+        assertEquals(1, next.records().size());
+        assertEquals(21L, read(next.records().get(0)).surveyId());
+    }
+
+    @Test
+    void discardsTornTailOnRecovery() throws IOException {
+        journal = open(DataSize.ofKilobytes(64));
+        assertTrue(journal.append(payload(1)));
+        assertTrue(journal.append(payload(2)));
+        int secondRecord = journal.readBatch(1).endPosition();
+        journal.close();
+
+        // Flip a payload byte of the second record, as a crash mid-write would leave it
+        Path segment = directory.resolve(JournalSegment.fileName(1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'#'}), secondRecord + JournalSegment.HEADER_SIZE + 2);
+        }
+
+        journal = open(DataSize.ofKilobytes(64));
+        List<JournalRecord> records = journal.readBatch(100).records();
+        assertEquals(1, records.size());
+        assertEquals(1L, read(records.get(0)).surveyId());
+
+        assertTrue(journal.append(payload(3)));
+        records = journal.readBatch(100).records();
+        assertEquals(2, records.size());
+        assertEquals(3L, read(records.get(1)).surveyId());
+    }
+
+    @Test
+    void refusesAppendsWhenFull() {
+        journal = new ResponseJournal(objectMapper, new SimpleMeterRegistry(), true, directory.toString(),
+                DataSize.ofBytes(512), 2, false);
+        journal.open();
+
+        int accepted = 0;
+        while (journal.append(payload(accepted + 1))) {
+            accepted++;
+        }
+        assertTrue(accepted > 0);
+        assertFalse(journal.append(payload(99)));
+
+        journal.acknowledge(journal.readBatch(accepted));
+        assertTrue(journal.append(payload(100)));
+    }
+
+    private ResponseJournal open(DataSize segmentSize) {
+        ResponseJournal opened = new ResponseJournal(objectMapper, new SimpleMeterRegistry(), true, directory.toString(),
+                segmentSize, 64, false);
+        opened.open();
+        assertTrue(opened.isOpen());
+        return opened;
+    }
+
+    private ResponseSubmissionPayload payload(long surveyId) {
+        ResponseRequest request = new ResponseRequest(List.of(new AnswerRequest(surveyId * 10, "yes")), null);
+        return new ResponseSubmissionPayload(surveyId, request, null, "session-" + surveyId, Map.of("channel", "WEB"), null,
+                new UUID(0, surveyId));
+    }
+
+    private ResponseSubmissionPayload read(JournalRecord record) throws IOException {
+        return objectMapper.readValue(record.payload(), ResponseSubmissionPayload.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.survey_engine.survey.service.quota;
+
+import com.survey_engine.survey.repository.ResponseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseQuotaServiceTest {
+
+    private static final Long SURVEY_ID = 7L;
+
+    private final ResponseRepository responseRepository = mock(ResponseRepository.class);
+    private MutableClock clock;
+    private InMemoryResponseQuotaStore store;
+    private ResponseQuotaService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        store = new InMemoryResponseQuotaStore(clock);
+        service = new ResponseQuotaService(store, responseRepository, Duration.ofMinutes(15));
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedTheLimit() throws Exception {
+        when(responseRepository.countBySurveyId(SURVEY_ID)).thenReturn(90L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    service.reserve(SURVEY_ID, 100).ifPresent(id -> admitted.incrementAndGet());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(10, admitted.get());
+    }
+
+    @Test
+    void releasedAndExpiredReservationsFreeTheirSlot() {
+        when(responseRepository.countBySurveyId(SURVEY_ID)).thenReturn(0L);
+
+        Optional<String> first = service.reserve(SURVEY_ID, 2);
+        Optional<String> second = service.reserve(SURVEY_ID, 2);
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertFalse(service.reserve(SURVEY_ID, 2).isPresent());
+
+        service.release(SURVEY_ID, first.get());
+        assertTrue(service.reserve(SURVEY_ID, 2).isPresent());
+
+        clock.advance(Duration.ofMinutes(16));
+        assertTrue(service.reserve(SURVEY_ID, 2).isPresent());
+    }
+
+    @Test
+    void committedResponsesKeepCountingAndAreReconciledWithTheDatabase() {
+        when(responseRepository.countBySurveyId(SURVEY_ID)).thenReturn(0L);
+
+        String reservation = service.reserve(SURVEY_ID, 1).orElseThrow();
+        service.commit(SURVEY_ID, reservation);
+        assertFalse(service.reserve(SURVEY_ID, 1).isPresent());
+
+        // The response was deleted; the next reconciliation should free its slot.
+        when(responseRepository.countGroupedBySurveyId(anyCollection())).thenReturn(List.of());
+        service.reconcile();
+
+        assertEquals(0L, store.committedCounts().get(SURVEY_ID));
+        assertTrue(service.reserve(SURVEY_ID, 1).isPresent());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
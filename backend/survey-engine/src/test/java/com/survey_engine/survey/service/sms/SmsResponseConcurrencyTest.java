@@ -0,0 +1,153 @@
+package com.survey_engine.survey.service.sms;
+
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.dto.sms.SmsRedisSession;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Races SMS replies against sessions in a real Redis.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SmsResponseConcurrencyTest {
+
+    private static final String PHONE = "+254700000001";
+    private static final CompiledQuestion FIRST =
+            new CompiledQuestion(11L, "Did we help?", QuestionType.FREE_TEXT, null, 1, 1.0, Map.of(), null, -1);
+    private static final CompiledQuestion SECOND =
+            new CompiledQuestion(12L, "Anything else?", QuestionType.FREE_TEXT, null, 2, 1.0, Map.of(), null, -1);
+    private static final CompiledQuestion THIRD =
+            new CompiledQuestion(13L, "Would you come back?", QuestionType.FREE_TEXT, null, 3, 1.0, Map.of(), null, -1);
+    private static final CompiledSurvey SURVEY = new CompiledSurvey(7L, 1L, 1L, "owner", SurveyStatus.ACTIVE,
+            AccessType.PUBLIC, null, List.of(FIRST, SECOND, THIRD), Map.of(11L, FIRST, 12L, SECOND, 13L, THIRD), null);
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static LettuceConnectionFactory connectionFactory;
+
+    private SmsResponseRedisSession sessions;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(redisTemplate.keys("sms:s:*"));
+        sessions = spy(new SmsResponseRedisSession(redisTemplate, mock(RedisTemplate.class)));
+    }
+
+    @Test
+    void concurrentRepliesForTheSameIndexAreRecordedExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String phone = "+2547000" + round;
+                sessions.saveSession(new SmsRedisSession(phone, SURVEY.id(), 0, new HashMap<>(), new HashMap<>()));
+                CountDownLatch start = new CountDownLatch(1);
+                CompletableFuture<SmsResponseRedisSession.AnswerOutcome> first = CompletableFuture.supplyAsync(
+                        () -> record(start, phone, "yes"), executor);
+                CompletableFuture<SmsResponseRedisSession.AnswerOutcome> second = CompletableFuture.supplyAsync(
+                        () -> record(start, phone, "no"), executor);
+                start.countDown();
+
+                EnumSet<SmsResponseRedisSession.AnswerOutcome> outcomes =
+                        EnumSet.of(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+                assertEquals(EnumSet.of(SmsResponseRedisSession.AnswerOutcome.RECORDED,
+                        SmsResponseRedisSession.AnswerOutcome.STALE), outcomes, "round " + round);
+                assertEquals(1, sessions.getSession(phone).orElseThrow().currentQuestionIndex());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dropsADuplicateReplyInsteadOfAnsweringTheNextQuestionWithIt() {
+        SmsResponseService service = service();
+        SmsRedisSession beforeEitherReply = new SmsRedisSession(PHONE, SURVEY.id(), 0, new HashMap<>(), new HashMap<>());
+        sessions.saveSession(beforeEitherReply);
+        assertEquals(SECOND.questionText(), service.handleSmsRequest(PHONE, "yes"));
+
+        // The provider delivers the same reply again; its handler read the session before the first copy recorded
+        doReturn(Optional.of(beforeEitherReply)).doCallRealMethod().when(sessions).getSession(PHONE);
+
+        assertEquals(SECOND.questionText(), service.handleSmsRequest(PHONE, " yes "));
+        SmsRedisSession session = sessions.getSession(PHONE).orElseThrow();
+        assertEquals(1, session.currentQuestionIndex());
+        assertEquals("yes", session.answers().get(FIRST.id()));
+        assertNull(session.answers().get(SECOND.id()));
+    }
+
+    @Test
+    void appliesADifferentRacingReplyToTheNextQuestion() {
+        SmsResponseService service = service();
+        SmsRedisSession beforeEitherReply = new SmsRedisSession(PHONE, SURVEY.id(), 0, new HashMap<>(), new HashMap<>());
+        sessions.saveSession(beforeEitherReply);
+        assertEquals(SECOND.questionText(), service.handleSmsRequest(PHONE, "yes"));
+
+        doReturn(Optional.of(beforeEitherReply)).doCallRealMethod().when(sessions).getSession(PHONE);
+
+        assertEquals(THIRD.questionText(), service.handleSmsRequest(PHONE, "the parking"));
+        SmsRedisSession session = sessions.getSession(PHONE).orElseThrow();
+        assertEquals(2, session.currentQuestionIndex());
+        assertEquals("the parking", session.answers().get(SECOND.id()));
+    }
+
+    private SmsResponseService service() {
+        CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+        when(compiledSurveyCache.get(SURVEY.id())).thenReturn(Optional.of(SURVEY));
+        return new SmsResponseService(sessions, compiledSurveyCache, mock(ResponseService.class), mock(SmsSendingService.class));
+    }
+
+    private SmsResponseRedisSession.AnswerOutcome record(CountDownLatch start, String phone, String answer) {
+        try {
+            start.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sessions.recordAnswer(phone, 0, FIRST.id(), answer);
+    }
+}
@@ -0,0 +1,31 @@
+package com.survey_engine.survey.service.sms;
+
+import com.survey_engine.survey.dto.sms.SmsRedisSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SmsResponseRedisSessionTest {
+
+    @Test
+    void encodesWithShortFieldsAndDecodesBack() {
+        Map<Long, String> answers = new HashMap<>(Map.of(11L, "yes", 12L, "4"));
+        Map<String, String> context = new HashMap<>(Map.of("subjectId", "s-1"));
+        SmsRedisSession session = new SmsRedisSession("+254700000001", 7L, 2, answers, context);
+
+        Map<String, String> fields = SmsResponseRedisSession.encode(session);
+
+        assertEquals(Map.of("s", "7", "i", "2", "a:11", "yes", "a:12", "4", "c:subjectId", "s-1"), fields);
+        assertEquals(session, SmsResponseRedisSession.decode("+254700000001", fields));
+    }
+
+    @Test
+    void decodesSessionWithoutAnswersOrContext() {
+        SmsRedisSession decoded = SmsResponseRedisSession.decode("+254700000001", Map.of("s", "3", "i", "0"));
+
+        assertEquals(new SmsRedisSession("+254700000001", 3L, 0, Map.of(), Map.of()), decoded);
+    }
+}
@@ -0,0 +1,213 @@
+package com.survey_engine.survey.service.sms.job;
+
+import com.africastalking.sms.Recipient;
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SmsSendJobStatus;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.models.SmsSendJob;
+import com.survey_engine.survey.repository.SmsSendJobRecipientRepository;
+import com.survey_engine.survey.repository.SmsSendJobRepository;
+import com.survey_engine.survey.service.sms.SmsResponseRedisSession;
+import com.survey_engine.survey.service.sms.SmsSendingService;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs send jobs against recipient rows in a real Postgres, with the SMS provider and the job's
+ * lease row mocked.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SmsSendJobRunnerPostgresTest {
+
+    private static final UUID JOB = UUID.randomUUID();
+    private static final String MESSAGE = "How was your visit?";
+    private static final CompiledQuestion QUESTION =
+            new CompiledQuestion(11L, MESSAGE, QuestionType.FREE_TEXT, null, 1, 1.0, Map.of(), null, -1);
+    private static final CompiledSurvey SURVEY = new CompiledSurvey(7L, 1L, 1L, "owner", SurveyStatus.ACTIVE,
+            AccessType.PUBLIC, null, List.of(QUESTION), Map.of(11L, QUESTION), null);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static DriverManagerDataSource dataSource;
+    static JdbcTemplate jdbcTemplate;
+
+    private final SmsSendJobRepository jobRepository = mock(SmsSendJobRepository.class);
+    private final SmsSendingService smsSendingService = mock(SmsSendingService.class);
+    private final CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+    private SmsSendJobRunner runner;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE sms_send_job_recipients (
+                    id BIGSERIAL PRIMARY KEY,
+                    job_id UUID NOT NULL,
+                    phone_number VARCHAR(255) NOT NULL,
+                    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                    attempts INT NOT NULL DEFAULT 0,
+                    message_id VARCHAR(255),
+                    error VARCHAR(500),
+                    updated_at TIMESTAMP,
+                    CONSTRAINT uq_sms_send_job_recipients UNIQUE (job_id, phone_number)
+                )""");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE sms_send_job_recipients");
+        SmsSendJob job = new SmsSendJob();
+        job.setId(JOB);
+        job.setSurveyId(SURVEY.id());
+        when(jobRepository.findById(JOB)).thenReturn(Optional.of(job));
+        when(jobRepository.claim(eq(JOB), any(), any(), any())).thenReturn(1);
+        when(jobRepository.renewLease(eq(JOB), any(), any())).thenReturn(1);
+        when(jobRepository.finish(eq(JOB), any(), any(), any())).thenReturn(1);
+        when(compiledSurveyCache.get(SURVEY.id())).thenReturn(Optional.of(SURVEY));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (runner != null) runner.shutdown();
+    }
+
+    @Test
+    void resumesWithoutResendingRecipientsAlreadySent() throws Exception {
+        // State left by a crash after the first batch was recorded
+        recipients("+254700000001", "+254700000002", "+254700000003", "+254700000004", "+254700000005");
+        jdbcTemplate.update("UPDATE sms_send_job_recipients SET status = 'SENT', message_id = 'before-crash' "
+                + "WHERE phone_number IN ('+254700000001', '+254700000002')");
+        when(smsSendingService.sendBulk(anyList(), eq(MESSAGE))).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(n -> recipient(n, "Success", "m-" + n)).toList());
+        runner = runner(2);
+
+        runner.run(JOB);
+
+        verify(smsSendingService).sendBulk(List.of("+254700000003", "+254700000004"), MESSAGE);
+        verify(smsSendingService).sendBulk(List.of("+254700000005"), MESSAGE);
+        verify(smsSendingService, times(2)).sendBulk(anyList(), any());
+        assertEquals("before-crash", messageId("+254700000001"));
+        assertEquals("m-+254700000005", messageId("+254700000005"));
+        assertEquals(0, count("PENDING"));
+        verify(jobRepository).finish(eq(JOB), any(), eq(SmsSendJobStatus.COMPLETED), any());
+    }
+
+    @Test
+    void matchesProviderStatusesByDigitsRegardlessOfOrderAndMarksMissingOnesFailed() throws Exception {
+        recipients("+254700000001", "+254700000002", "+254700000003", "+254700000004");
+        when(smsSendingService.sendBulk(anyList(), eq(MESSAGE))).thenReturn(List.of(
+                recipient("254700000003", "Success", "m-3"),
+                recipient("+254 700 000 001", "Success", "m-1"),
+                recipient("+254700000004", "InvalidPhoneNumber", null)));
+        runner = runner(10);
+
+        runner.run(JOB);
+
+        assertEquals(List.of("SENT", "m-1"), row("+254700000001", "status", "message_id"));
+        assertEquals(List.of("FAILED", "No status returned by provider"), row("+254700000002", "status", "error"));
+        assertEquals(List.of("SENT", "m-3"), row("+254700000003", "status", "message_id"));
+        assertEquals(List.of("FAILED", "InvalidPhoneNumber"), row("+254700000004", "status", "error"));
+        verify(jobRepository).addProgress(eq(JOB), eq(2), eq(2), any());
+    }
+
+    @Test
+    void failsEveryPendingRecipientWhenTheSurveyIsUnavailable() throws Exception {
+        recipients("+254700000001", "+254700000002", "+254700000003");
+        jdbcTemplate.update("UPDATE sms_send_job_recipients SET status = 'SENT' WHERE phone_number = '+254700000001'");
+        when(compiledSurveyCache.get(SURVEY.id())).thenReturn(Optional.empty());
+        runner = runner(10);
+
+        runner.run(JOB);
+
+        assertEquals(1, count("SENT"));
+        assertEquals(2, count("FAILED"));
+        assertEquals(List.of("FAILED", "Survey unavailable"), row("+254700000002", "status", "error"));
+        verify(smsSendingService, never()).sendBulk(anyList(), any());
+        verify(jobRepository).addProgress(eq(JOB), eq(0), eq(2), any());
+        verify(jobRepository).finish(eq(JOB), any(), eq(SmsSendJobStatus.FAILED), any());
+    }
+
+    @Test
+    void stopsAfterTheBatchThatLostTheLease() throws Exception {
+        recipients("+254700000001", "+254700000002", "+254700000003", "+254700000004", "+254700000005");
+        when(smsSendingService.sendBulk(anyList(), eq(MESSAGE))).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(n -> recipient(n, "Success", "m-" + n)).toList());
+        when(jobRepository.renewLease(eq(JOB), any(), any())).thenReturn(0);
+        runner = runner(2);
+
+        runner.run(JOB);
+
+        verify(smsSendingService, times(1)).sendBulk(anyList(), any());
+        assertEquals(2, count("SENT"));
+        assertEquals(3, count("PENDING"), "the rest is left for the node that took the lease");
+        verify(jobRepository, never()).finish(any(), any(), any(), any());
+        verify(jobRepository, times(1)).addProgress(eq(JOB), anyInt(), anyInt(), any());
+    }
+
+    private SmsSendJobRunner runner(int batchSize) {
+        return new SmsSendJobRunner(jobRepository, new SmsSendJobRecipientRepository(jdbcTemplate),
+                mock(SmsResponseRedisSession.class), smsSendingService, compiledSurveyCache,
+                new DataSourceTransactionManager(dataSource), batchSize, 1, 0, 1, Duration.ofMinutes(1));
+    }
+
+    private static void recipients(String... phoneNumbers) {
+        for (String phoneNumber : phoneNumbers) {
+            jdbcTemplate.update("INSERT INTO sms_send_job_recipients (job_id, phone_number) VALUES (?, ?)", JOB, phoneNumber);
+        }
+    }
+
+    private static Recipient recipient(String number, String status, String messageId) {
+        Recipient recipient = new Recipient();
+        recipient.number = number;
+        recipient.status = status;
+        recipient.messageId = messageId;
+        return recipient;
+    }
+
+    private static int count(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sms_send_job_recipients WHERE status = ?", Integer.class, status);
+    }
+
+    private static String messageId(String phoneNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT message_id FROM sms_send_job_recipients WHERE phone_number = ?", String.class, phoneNumber);
+    }
+
+    private static List<String> row(String phoneNumber, String first, String second) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + first + ", " + second + " FROM sms_send_job_recipients WHERE phone_number = ?",
+                (rs, rowNum) -> List.of(rs.getString(1), rs.getString(2)), phoneNumber);
+    }
+}
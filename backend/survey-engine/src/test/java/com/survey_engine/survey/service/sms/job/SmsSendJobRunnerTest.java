@@ -0,0 +1,35 @@
+package com.survey_engine.survey.service.sms.job;
+
+import com.survey_engine.survey.repository.SmsSendJobRecipientRepository;
+import com.survey_engine.survey.repository.SmsSendJobRepository;
+import com.survey_engine.survey.service.sms.SmsResponseRedisSession;
+import com.survey_engine.survey.service.sms.SmsSendingService;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class SmsSendJobRunnerTest {
+
+    @Test
+    void rejectsALeaseShorterThanTwoRoundsOfBatches() {
+        // 500 * 4 messages at 100/s take 20 s, so the lease must be at least 40 s
+        assertThrows(IllegalStateException.class, () -> runner(500, 4, 100, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void acceptsALeaseThatCoversTwoRoundsOfBatches() throws InterruptedException {
+        runner(500, 4, 100, Duration.ofSeconds(40)).shutdown();
+        runner(500, 4, 0, Duration.ofSeconds(1)).shutdown();
+    }
+
+    private static SmsSendJobRunner runner(int batchSize, int concurrency, double messagesPerSecond, Duration lease) {
+        return new SmsSendJobRunner(mock(SmsSendJobRepository.class), mock(SmsSendJobRecipientRepository.class),
+                mock(SmsResponseRedisSession.class), mock(SmsSendingService.class), mock(CompiledSurveyCache.class),
+                mock(PlatformTransactionManager.class), batchSize, concurrency, messagesPerSecond, 3, lease);
+    }
+}
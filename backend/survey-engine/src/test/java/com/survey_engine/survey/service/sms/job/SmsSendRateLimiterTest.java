@@ -0,0 +1,36 @@
+package com.survey_engine.survey.service.sms.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmsSendRateLimiterTest {
+
+    @Test
+    void pacesBatchesToTheConfiguredRate() throws InterruptedException {
+        SmsSendRateLimiter limiter = new SmsSendRateLimiter(1000);
+
+        long start = System.nanoTime();
+        limiter.acquire(100);
+        limiter.acquire(100);
+        limiter.acquire(1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // The third call waits for the 200 messages reserved before it: 200 ms at 1000/s.
+        assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1000, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void nonPositiveRateDisablesPacing() throws InterruptedException {
+        SmsSendRateLimiter limiter = new SmsSendRateLimiter(0);
+
+        long start = System.nanoTime();
+        limiter.acquire(1_000_000);
+        limiter.acquire(1_000_000);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+    }
+}
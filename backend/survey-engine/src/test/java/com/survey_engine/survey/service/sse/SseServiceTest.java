@@ -0,0 +1,165 @@
+package com.survey_engine.survey.service.sse;
+
+import com.survey_engine.survey.common.enums.ResponseStatus;
+import com.survey_engine.survey.dto.ResponseResponse;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SseServiceTest {
+
+    private final CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SseService sseService = new SseService(compiledSurveyCache, noRelay(), meterRegistry, 2,
+            Duration.ofSeconds(15), Duration.ZERO, Duration.ofMinutes(1));
+
+    @Test
+    void deliversOnlyToMatchingTenantAndSurvey() {
+        ownedBy(10L, 1L);
+        ownedBy(11L, 1L);
+        ownedBy(20L, 2L);
+
+        StepVerifier.create(sseService.getResponseStream(1L, null, 10L))
+                .then(() -> {
+                    sseService.publishResponse(response(1, 11L));
+                    sseService.publishResponse(response(2, 20L));
+                    sseService.publishResponse(response(3, 10L));
+                })
+                .assertNext(frame -> assertEquals(List.of(3L), ids(frame)))
+                .thenCancel()
+                .verify();
+
+        StepVerifier.create(sseService.getResponseStream(1L, null, null))
+                .then(() -> {
+                    sseService.publishResponse(response(4, 20L));
+                    sseService.publishResponse(response(5, 11L));
+                    sseService.publishResponse(response(6, 10L));
+                })
+                .assertNext(frame -> assertEquals(List.of(5L), ids(frame)))
+                .assertNext(frame -> assertEquals(List.of(6L), ids(frame)))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void ownerStreamOnlyReceivesTheOwnersSurveys() {
+        ownedBy(10L, 1L, "alice");
+        ownedBy(11L, 1L, "bob");
+
+        StepVerifier.create(sseService.getResponseStream(1L, "alice", null))
+                .then(() -> {
+                    sseService.publishResponse(response(1, 11L));
+                    sseService.publishResponse(response(2, 10L));
+                })
+                .assertNext(frame -> assertEquals(List.of(2L), ids(frame)))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void dropsOldestEventsForSlowSubscriber() {
+        ownedBy(10L, 1L);
+
+        StepVerifier.create(sseService.getResponseStream(1L, null, 10L), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 5; id++) {
+                        sseService.publishResponse(response(id, 10L));
+                    }
+                })
+                .thenRequest(2)
+                .assertNext(frame -> assertEquals(List.of(4L), ids(frame)))
+                .assertNext(frame -> assertEquals(List.of(5L), ids(frame)))
+                .thenCancel()
+                .verify();
+
+        assertEquals(3.0, meterRegistry.get("survey.sse.dropped").counter().count());
+    }
+
+    @Test
+    void removesTopicWhenLastSubscriberLeaves() {
+        Disposable first = sseService.getResponseStream(1L, null, null).subscribe();
+        Disposable second = sseService.getResponseStream(1L, null, null).subscribe();
+        assertEquals(2.0, meterRegistry.get("survey.sse.subscribers").gauge().value());
+        assertEquals(1.0, meterRegistry.get("survey.sse.topics").gauge().value());
+
+        first.dispose();
+        assertEquals(1.0, meterRegistry.get("survey.sse.topics").gauge().value());
+        second.dispose();
+        assertEquals(0.0, meterRegistry.get("survey.sse.subscribers").gauge().value());
+        assertEquals(0.0, meterRegistry.get("survey.sse.topics").gauge().value());
+    }
+
+    @Test
+    void suppressesDuplicateDeliveries() {
+        StepVerifier.create(sseService.getResponseStream(1L, null, null))
+                .then(() -> {
+                    sseService.deliverLocally(1L, "alice", response(7, 10L));
+                    sseService.deliverLocally(1L, "alice", response(7, 10L));
+                    sseService.deliverLocally(1L, "alice", response(8, 10L));
+                })
+                .assertNext(frame -> assertEquals(List.of(7L), ids(frame)))
+                .assertNext(frame -> assertEquals(List.of(8L), ids(frame)))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1.0, meterRegistry.get("survey.sse.duplicates").counter().count());
+    }
+
+    @Test
+    void coalescesResponsesIntoOneFramePerWindow() {
+        SseService coalescing = new SseService(compiledSurveyCache, noRelay(), meterRegistry, 2,
+                Duration.ofSeconds(15), Duration.ofMillis(50), Duration.ofMinutes(1));
+        try {
+            StepVerifier.create(coalescing.getResponseStream(1L, null, 10L))
+                    .then(() -> {
+                        for (long id = 1; id <= 3; id++) {
+                            coalescing.deliverLocally(1L, "alice", response(id, 10L));
+                        }
+                    })
+                    .assertNext(frame -> assertEquals(List.of(1L, 2L, 3L), ids(frame)))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+        } finally {
+            coalescing.shutdown();
+        }
+    }
+
+    private void ownedBy(Long surveyId, Long tenantId) {
+        ownedBy(surveyId, tenantId, "alice");
+    }
+
+    private void ownedBy(Long surveyId, Long tenantId, String userId) {
+        CompiledSurvey survey = mock(CompiledSurvey.class);
+        when(survey.tenantId()).thenReturn(tenantId);
+        when(survey.userId()).thenReturn(userId);
+        when(compiledSurveyCache.get(surveyId)).thenReturn(Optional.of(survey));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<SseFanoutRelay> noRelay() {
+        ObjectProvider<SseFanoutRelay> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(null);
+        return provider;
+    }
+
+    private static List<Long> ids(List<ResponseResponse> frame) {
+        return frame.stream().map(ResponseResponse::id).toList();
+    }
+
+    private ResponseResponse response(long id, Long surveyId) {
+        return new ResponseResponse(id, surveyId, ResponseStatus.COMPLETE, LocalDateTime.now(), null, List.of());
+    }
+}
@@ -0,0 +1,91 @@
+package com.survey_engine.survey.service.stats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.models.Answer;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Response;
+import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.repository.QuestionStatsRepository;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.user.UserApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionStatsServiceTest {
+
+    private static final CompiledQuestion QUESTION =
+            new CompiledQuestion(11L, "Q", QuestionType.FREE_TEXT, null, 1, 1.0, Map.of(), null, -1);
+    private static final CompiledSurvey SURVEY = new CompiledSurvey(7L, 1L, 1L, "owner", SurveyStatus.ACTIVE,
+            AccessType.PUBLIC, null, List.of(QUESTION), Map.of(11L, QUESTION), null);
+
+    private final QuestionStatsRepository repository = mock(QuestionStatsRepository.class);
+    private QuestionStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+        when(compiledSurveyCache.get(7L)).thenReturn(Optional.of(SURVEY));
+        service = new QuestionStatsService(repository, compiledSurveyCache, new ObjectMapper(), mock(UserApi.class),
+                Duration.ofSeconds(5));
+    }
+
+    @Test
+    void recordsTheResponseCountWithTheQuestionDeltas() {
+        service.record(SURVEY, List.of(response("yes"), response("no")));
+
+        verify(repository).applyDeltas(eq(sortedMap(7L, 2L)), any());
+    }
+
+    @Test
+    void retractsOneResponseFromTheCount() {
+        service.retract(SURVEY, response("yes"));
+
+        verify(repository).applyDeltas(eq(sortedMap(7L, -1L)), any());
+    }
+
+    @Test
+    void readsTheResponseCountFromTheStatsTable() {
+        when(repository.findResponseCount(7L)).thenReturn(42L);
+        when(repository.findBySurveyId(7L)).thenReturn(Map.of());
+
+        assertEquals(42L, service.getResults(7L).responseCount());
+    }
+
+    private static Response response(String value) {
+        Survey survey = new Survey();
+        survey.setId(7L);
+        Question question = new Question();
+        question.setId(11L);
+        Response response = new Response();
+        response.setSurvey(survey);
+        Answer answer = new Answer();
+        answer.setResponse(response);
+        answer.setQuestion(question);
+        answer.setAnswerValue(value);
+        response.getAnswers().add(answer);
+        return response;
+    }
+
+    private static SortedMap<Long, Long> sortedMap(Long surveyId, Long count) {
+        return new TreeMap<>(Map.of(surveyId, count));
+    }
+}
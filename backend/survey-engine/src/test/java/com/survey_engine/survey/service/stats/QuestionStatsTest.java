@@ -0,0 +1,59 @@
+package com.survey_engine.survey.service.stats;
+
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.service.snapshot.CompiledQuestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QuestionStatsTest {
+
+    @Test
+    void aggregatesRatingAnswers() {
+        CompiledQuestion rating = question(QuestionType.RATING_STAR, Map.of("5", 10.0), 2.0);
+        QuestionStats stats = new QuestionStats();
+        stats.add(rating, "5", 1);
+        stats.add(rating, " 3 ", 1);
+        stats.add(rating, "5", 1);
+        stats.add(rating, "n/a", 1);
+
+        assertEquals(4, stats.answerCount());
+        assertEquals(3, stats.numericCount());
+        assertEquals(13.0, stats.numericSum());
+        assertEquals(3.0, stats.numericMin());
+        assertEquals(5.0, stats.numericMax());
+        assertEquals(40.0, stats.scoreTotal());
+        assertEquals(Map.of("5", 2L, "3", 1L, "n/a", 1L), stats.optionCounts());
+    }
+
+    @Test
+    void splitsMultiSelectAnswersAndRetracts() {
+        CompiledQuestion multi = question(QuestionType.MULTIPLE_CHOICE_MULTI, Map.of(), 1.0);
+        QuestionStats stats = new QuestionStats();
+        stats.add(multi, "0, 2", 1);
+        stats.add(multi, "2", 1);
+        stats.add(multi, "0, 2", -1);
+
+        assertEquals(1, stats.answerCount());
+        assertEquals(Map.of("0", 0L, "2", 1L), stats.optionCounts());
+        assertNull(stats.numericMin());
+    }
+
+    @Test
+    void countsFreeTextWithoutHistogram() {
+        CompiledQuestion text = question(QuestionType.FREE_TEXT, Map.of(), 1.0);
+        QuestionStats stats = new QuestionStats();
+        stats.add(text, "Great service", 1);
+        stats.add(text, null, 1);
+
+        assertEquals(2, stats.answerCount());
+        assertEquals(Map.of(), stats.optionCounts());
+    }
+
+    private static CompiledQuestion question(QuestionType type, Map<String, Double> scoreMap, double weight) {
+        return new CompiledQuestion(1L, "Q", type, null, 1, weight, scoreMap, null, -1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.survey_engine.survey.service.ussd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.service.BranchRuleService;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures USSD request latency with sessions in a real Redis. Excluded from the default build;
+ * run with {@code mvn test -Pperformance}.
+ */
+@Tag("performance")
+@Testcontainers(disabledWithoutDocker = true)
+class UssdServiceLatencyTest {
+
+    private static final Long SURVEY_ID = UssdServiceTest.SURVEY_ID;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static LettuceConnectionFactory connectionFactory;
+
+    private final ResponseService responseService = mock(ResponseService.class);
+    private UssdService service;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+        when(compiledSurveyCache.get(SURVEY_ID)).thenReturn(Optional.of(UssdServiceTest.compileSurvey(objectMapper)));
+
+        UssdMenuCache menuCache = new UssdMenuCache(compiledSurveyCache, objectMapper, 100, Duration.ofMinutes(1), Duration.ofHours(1));
+        BranchRuleService branchRuleService = new BranchRuleService(null, null, null, null, null);
+        RedisUssdSessionStore sessionStore = new RedisUssdSessionStore(new StringRedisTemplate(connectionFactory));
+        service = new UssdService(menuCache, sessionStore, branchRuleService, responseService, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void p99LatencyUnderConcurrentLoadIsBelowFiftyMilliseconds() throws Exception {
+        String[] steps = {"", "42", "42*1", "42*1*9", "42*1*9*ok", "42*1*9*ok*5", "42*1*9*ok*5*2"};
+        runSessions("warmup-", 2_000, steps, 16);
+
+        long[] latencies = runSessions("load-", 5_000, steps, 32);
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(50), "p99 was " + TimeUnit.NANOSECONDS.toMicros(p99) + "us");
+        verify(responseService, times(7_000)).createResponse(eq(SURVEY_ID), any(), isNull(), any(), any());
+    }
+
+    private long[] runSessions(String prefix, int sessions, String[] steps, int threads) throws Exception {
+        long[] latencies = new long[sessions * steps.length];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int s = thread; s < sessions; s += threads) {
+                        for (int i = 0; i < steps.length; i++) {
+                            long began = System.nanoTime();
+                            service.handle(prefix + s, "+2547" + s, steps[i]);
+                            latencies[s * steps.length + i] = System.nanoTime() - began;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return latencies;
+    }
+}
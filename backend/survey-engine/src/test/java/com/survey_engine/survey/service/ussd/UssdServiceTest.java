@@ -0,0 +1,120 @@
+package com.survey_engine.survey.service.ussd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey_engine.survey.common.enums.AccessType;
+import com.survey_engine.survey.common.enums.ConditionType;
+import com.survey_engine.survey.common.enums.QuestionType;
+import com.survey_engine.survey.common.enums.SurveyStatus;
+import com.survey_engine.survey.dto.AnswerRequest;
+import com.survey_engine.survey.dto.ResponseRequest;
+import com.survey_engine.survey.models.BranchRule;
+import com.survey_engine.survey.models.Question;
+import com.survey_engine.survey.models.Survey;
+import com.survey_engine.survey.service.BranchRuleService;
+import com.survey_engine.survey.service.ResponseService;
+import com.survey_engine.survey.service.snapshot.CompiledSurvey;
+import com.survey_engine.survey.service.snapshot.CompiledSurveyCache;
+import com.survey_engine.survey.service.snapshot.SurveyCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UssdServiceTest {
+
+    static final Long SURVEY_ID = 42L;
+
+    private final ResponseService responseService = mock(ResponseService.class);
+    private UssdService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CompiledSurveyCache compiledSurveyCache = mock(CompiledSurveyCache.class);
+        when(compiledSurveyCache.get(SURVEY_ID)).thenReturn(Optional.of(compileSurvey(objectMapper)));
+
+        UssdMenuCache menuCache = new UssdMenuCache(compiledSurveyCache, objectMapper, 100, Duration.ofMinutes(1), Duration.ofHours(1));
+        BranchRuleService branchRuleService = new BranchRuleService(null, null, null, null, null);
+        service = new UssdService(menuCache, new InMemoryUssdSessionStore(), branchRuleService, responseService, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void followsBranchRulesAndSubmitsAnswersInQuestionOrder() {
+        assertEquals("CON Enter the survey code:", service.handle("s1", "+254700000001", ""));
+        assertEquals("CON Do you agree?\n1. Yes\n2. No", service.handle("s1", "+254700000001", "42"));
+        // Option 2 ("No") branches past questions 2 and 3
+        assertEquals("CON How many stars? (1-5)", service.handle("s1", "+254700000001", "42*2"));
+        assertEquals("CON Pick any\n1. Red\n2. Blue\n3. Green", service.handle("s1", "+254700000001", "42*2*4"));
+        assertEquals("END Thank you for completing the survey!", service.handle("s1", "+254700000001", "42*2*4*1 3"));
+
+        ArgumentCaptor<ResponseRequest> request = ArgumentCaptor.forClass(ResponseRequest.class);
+        verify(responseService).createResponse(eq(SURVEY_ID), request.capture(), isNull(), eq("+254700000001"), any());
+        assertEquals(List.of(new AnswerRequest(1L, "1"), new AnswerRequest(4L, "4"), new AnswerRequest(5L, "0,2")),
+                request.getValue().answers());
+        assertEquals("USSD", request.getValue().metadata().get("channel"));
+    }
+
+    @Test
+    void repromptsOnInvalidInputAndIgnoresRepeatedCallbacks() {
+        service.handle("s2", "+254700000002", "42");
+        assertEquals("CON Invalid input.\nDo you agree?\n1. Yes\n2. No", service.handle("s2", "+254700000002", "42*7"));
+        assertEquals("CON Recommend us? (0-10)", service.handle("s2", "+254700000002", "42*7*1"));
+        assertEquals("CON Recommend us? (0-10)", service.handle("s2", "+254700000002", "42*7*1"));
+        // Free text may itself contain the gateway's separator
+        assertEquals("CON Anything else?", service.handle("s2", "+254700000002", "42*7*1*9"));
+        assertEquals("CON How many stars? (1-5)", service.handle("s2", "+254700000002", "42*7*1*9*a*b"));
+
+        verify(responseService, never()).createResponse(any(), any(), any(), any(), any());
+    }
+
+    static CompiledSurvey compileSurvey(ObjectMapper objectMapper) {
+        Survey survey = new Survey();
+        survey.setId(SURVEY_ID);
+        survey.setTenantId(1L);
+        survey.setStatus(SurveyStatus.ACTIVE);
+        survey.setAccessType(AccessType.PUBLIC);
+
+        List<Question> questions = List.of(
+                question(survey, 1L, "Do you agree?", QuestionType.MULTIPLE_CHOICE_SINGLE, "[\"Yes\", \"No\"]"),
+                question(survey, 2L, "Recommend us?", QuestionType.NPS_SCALE, null),
+                question(survey, 3L, "Anything else?", QuestionType.FREE_TEXT, null),
+                question(survey, 4L, "How many stars?", QuestionType.RATING_STAR, null),
+                question(survey, 5L, "Pick any", QuestionType.MULTIPLE_CHOICE_MULTI, "[\"Red\", \"Blue\", \"Green\"]"));
+        survey.setQuestions(new ArrayList<>(questions));
+
+        BranchRule skip = new BranchRule();
+        skip.setId(1L);
+        skip.setSurvey(survey);
+        skip.setSourceQuestionId(1L);
+        skip.setConditionType(ConditionType.ANSWER_EQUALS);
+        skip.setConditionValue("{\"optionIndex\": 1}");
+        skip.setTargetQuestionId(4L);
+        skip.setPriority(0);
+
+        return new SurveyCompiler(objectMapper).compile(survey, List.of(skip), 1L);
+    }
+
+    private static Question question(Survey survey, Long id, String text, QuestionType type, String options) {
+        Question question = new Question();
+        question.setId(id);
+        question.setSurvey(survey);
+        question.setQuestionText(text);
+        question.setQuestionType(type);
+        question.setOptions(options);
+        question.setPosition(id.intValue());
+        return question;
+    }
+}
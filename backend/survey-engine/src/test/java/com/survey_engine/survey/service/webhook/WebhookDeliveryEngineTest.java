@@ -0,0 +1,62 @@
+package com.survey_engine.survey.service.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebhookDeliveryEngineTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(10);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    @Test
+    void backoffDoublesWithinJitterBounds() {
+        assertEquals(Duration.ofSeconds(5), WebhookDeliveryEngine.backoff(1, INITIAL, MAX, 0.0));
+        assertEquals(Duration.ofSeconds(10), WebhookDeliveryEngine.backoff(1, INITIAL, MAX, 1.0));
+        assertEquals(Duration.ofSeconds(20), WebhookDeliveryEngine.backoff(3, INITIAL, MAX, 0.0));
+        assertEquals(Duration.ofSeconds(30), WebhookDeliveryEngine.backoff(3, INITIAL, MAX, 0.5));
+    }
+
+    @Test
+    void backoffIsCappedAndNeverOverflows() {
+        assertEquals(Duration.ofMinutes(30), WebhookDeliveryEngine.backoff(12, INITIAL, MAX, 0.0));
+        assertEquals(MAX, WebhookDeliveryEngine.backoff(1_000, INITIAL, MAX, 1.0));
+    }
+
+    @Test
+    void splitsBatchingSubscriptionsIntoArraysAndOthersIntoSingleRequests() {
+        UUID batching = UUID.randomUUID();
+        UUID single = UUID.randomUUID();
+        List<WebhookDelivery> claimed = List.of(
+                delivery(1, batching, 2), delivery(2, single, 0), delivery(3, batching, 2),
+                delivery(4, batching, 2), delivery(5, single, 0));
+
+        List<List<WebhookDelivery>> requests = WebhookDeliveryEngine.requests(claimed);
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(4L), List.of(2L), List.of(5L)),
+                requests.stream().map(request -> request.stream().map(WebhookDelivery::id).toList()).toList());
+        assertEquals("[{\"n\":1},{\"n\":3}]", WebhookDeliveryEngine.body(requests.get(0)));
+        assertEquals("[{\"n\":4}]", WebhookDeliveryEngine.body(requests.get(1)));
+        assertEquals("{\"n\":2}", WebhookDeliveryEngine.body(requests.get(2)));
+    }
+
+    @Test
+    void signatureIsStableAcrossCallsAndKeys() {
+        String first = WebhookSigner.sign("{\"n\":1}", "secret-a");
+        WebhookSigner.sign("{\"n\":1}", "secret-b");
+
+        assertEquals(first, WebhookSigner.sign("{\"n\":1}", "secret-a"));
+        // RFC 4231 test case 2
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                WebhookSigner.sign("what do ya want for nothing?", "Jefe"));
+    }
+
+    private static WebhookDelivery delivery(long id, UUID subscriptionId, int batchMaxSize) {
+        return new WebhookDelivery(id, subscriptionId, "SURVEY_COMPLETED", "{\"n\":" + id + "}", 1,
+                "https://example.com/hook", "secret", batchMaxSize);
+    }
+}
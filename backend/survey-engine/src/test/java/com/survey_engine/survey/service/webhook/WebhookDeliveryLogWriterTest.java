@@ -0,0 +1,76 @@
+package com.survey_engine.survey.service.webhook;
+
+import com.survey_engine.survey.models.WebhookDeliveryLog;
+import com.survey_engine.survey.repository.WebhookDeliveryLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WebhookDeliveryLogWriterTest {
+
+    private final WebhookDeliveryLogRepository repository = mock(WebhookDeliveryLogRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void flushesInBatchesAndDropsWhenFull() {
+        WebhookDeliveryLogWriter writer = new WebhookDeliveryLogWriter(repository, meterRegistry, 5, 2, 4);
+        List<Integer> batchSizes = new ArrayList<>();
+        List<WebhookDeliveryLog> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<WebhookDeliveryLog> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            written.addAll(batch);
+            return null;
+        }).when(repository).insertAll(any());
+
+        for (int i = 0; i < 7; i++) {
+            writer.append(entry("response-" + i));
+        }
+        writer.flush();
+
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals("resp", written.get(0).getResponseBody());
+        assertNotNull(written.get(0).getDeliveredAt());
+        assertEquals(5.0, meterRegistry.counter("webhook.delivery.log.written").count());
+        assertEquals(2.0, meterRegistry.counter("webhook.delivery.log.dropped").count());
+        assertEquals(0, writer.depth());
+    }
+
+    @Test
+    void failedFlushIsCountedAndDoesNotStopLaterBatches() {
+        WebhookDeliveryLogWriter writer = new WebhookDeliveryLogWriter(repository, meterRegistry, 10, 2, 2000);
+        doThrow(new RuntimeException("connection refused")).doNothing().when(repository).insertAll(any());
+
+        for (int i = 0; i < 4; i++) {
+            writer.append(entry("ok"));
+        }
+        writer.flush();
+
+        verify(repository, times(2)).insertAll(any());
+        assertEquals(2.0, meterRegistry.counter("webhook.delivery.log.dropped").count());
+        assertEquals(2.0, meterRegistry.counter("webhook.delivery.log.written").count());
+    }
+
+    private static WebhookDeliveryLog entry(String responseBody) {
+        WebhookDeliveryLog entry = new WebhookDeliveryLog();
+        entry.setSubscriptionId(UUID.randomUUID());
+        entry.setEventType("SURVEY_COMPLETED");
+        entry.setPayload("{}");
+        entry.setHttpStatus(200);
+        entry.setResponseBody(responseBody);
+        entry.setSuccess(true);
+        return entry;
+    }
+}
@@ -0,0 +1,153 @@
+package com.survey_engine.survey.service.whatsapp;
+
+import com.sun.net.httpserver.HttpServer;
+import com.survey_engine.survey.repository.WhatsAppOverflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class WhatsAppOutboundQueueTest {
+
+    /** Stands in for the Graph API: fails the first request for "flaky", always rejects "bad". */
+    private HttpServer graph;
+    private final Map<String, AtomicInteger> requestsByRecipient = new ConcurrentHashMap<>();
+
+    private final WhatsAppOverflowRepository overflowRepository = mock(WhatsAppOverflowRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WhatsAppGraphClient graphClient;
+    private WhatsAppOutboundQueue queue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        graph = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        graph.createContext("/123/messages", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String to = body.replaceAll(".*\"to\":\"([^\"]+)\".*", "$1");
+            int seen = requestsByRecipient.computeIfAbsent(to, key -> new AtomicInteger()).incrementAndGet();
+            int status = to.equals("bad") ? 400 : to.equals("flaky") && seen == 1 ? 500 : 200;
+            byte[] response = "{\"messages\":[{\"id\":\"wamid.1\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        graph.start();
+
+        graphClient = new WhatsAppGraphClient("http://localhost:" + graph.getAddress().getPort(), "token", "123",
+                8, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) queue.stop();
+        graphClient.close();
+        graph.stop(0);
+    }
+
+    @Test
+    void sendsRetriesTransientFailuresAndDropsRejectedMessages() throws Exception {
+        queue = newQueue(100);
+        queue.start();
+
+        for (int i = 0; i < 20; i++) {
+            queue.enqueue(message("2547000000" + i));
+        }
+        queue.enqueue(message("flaky"));
+        queue.enqueue(message("bad"));
+
+        awaitCount("whatsapp.outbound.sent", 21);
+        awaitCount("whatsapp.outbound.failed", 1);
+        assertEquals(1.0, meterRegistry.counter("whatsapp.outbound.retried").count());
+        assertEquals(2, requestsByRecipient.get("flaky").get());
+        assertEquals(1, requestsByRecipient.get("bad").get());
+        assertTrue(meterRegistry.timer("whatsapp.outbound.send.latency").count() >= 23);
+    }
+
+    @Test
+    void spillsToOverflowTableWhenBufferIsFull() {
+        queue = newQueue(2);
+
+        queue.enqueue(message("a"));
+        queue.enqueue(message("b"));
+        queue.enqueue(message("c"));
+
+        assertEquals(2, queue.depth());
+        verify(overflowRepository).insert(List.of(message("c")));
+        assertEquals(1.0, meterRegistry.counter("whatsapp.outbound.overflowed").count());
+    }
+
+    @Test
+    void persistsPendingRetriesOnStop() throws Exception {
+        queue = new WhatsAppOutboundQueue(graphClient, overflowRepository, meterRegistry, 100,
+                1000, 100, 8, 3, Duration.ofMinutes(1), Duration.ofMinutes(1), 100);
+        queue.start();
+
+        queue.enqueue(message("flaky"));
+        awaitCount("whatsapp.outbound.retried", 1);
+        queue.stop();
+
+        verify(overflowRepository).insert(List.of(message("flaky").retried()));
+    }
+
+    @Test
+    void persistsTheMessageTheDispatcherHoldsOnStop() throws Exception {
+        // One token and practically no refill: "a" is sent, "b" waits on the limiter, "c" stays buffered
+        queue = new WhatsAppOutboundQueue(graphClient, overflowRepository, meterRegistry, 100,
+                0.001, 1, 8, 3, Duration.ofMillis(10), Duration.ofMillis(100), 100);
+        queue.start();
+
+        queue.enqueue(message("a"));
+        queue.enqueue(message("b"));
+        queue.enqueue(message("c"));
+        awaitCount("whatsapp.outbound.sent", 1);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (queue.depth() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        queue.stop();
+
+        verify(overflowRepository).insert(List.of(message("b"), message("c")));
+    }
+
+    @Test
+    void limiterAllowsBurstThenPacesToRate() {
+        WhatsAppThroughputLimiter limiter = new WhatsAppThroughputLimiter(10, 3);
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        long wait = limiter.tryAcquire();
+        assertTrue(wait > 0 && wait <= Duration.ofMillis(100).toNanos(), "wait was " + wait);
+    }
+
+    private WhatsAppOutboundQueue newQueue(int capacity) {
+        return new WhatsAppOutboundQueue(graphClient, overflowRepository, meterRegistry, capacity,
+                1000, 100, 8, 3, Duration.ofMillis(10), Duration.ofMillis(100), 100);
+    }
+
+    private static WhatsAppOutboundMessage message(String to) {
+        return new WhatsAppOutboundMessage(to, "{\"messaging_product\":\"whatsapp\",\"to\":\"" + to + "\",\"type\":\"text\"}", 0);
+    }
+
+    private void awaitCount(String counter, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.counter(counter).count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, meterRegistry.counter(counter).count(), counter);
+    }
+}
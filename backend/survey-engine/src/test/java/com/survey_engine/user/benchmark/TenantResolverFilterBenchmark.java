@@ -0,0 +1,131 @@
+package com.survey_engine.user.benchmark;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.survey_engine.user.config.security.CachingJwtDecoder;
+import com.survey_engine.user.config.security.CustomBearerTokenResolver;
+import com.survey_engine.user.config.security.TenantResolverFilter;
+import com.survey_engine.user.models.Tenant;
+import com.survey_engine.user.repository.TenantRepository;
+import com.survey_engine.user.service.TenantLookupCache;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link TenantResolverFilter} overhead per request, including the resource server's
+ * own decode of the same token further down the chain.
+ * <p>
+ * {@code uncached} reproduces the previous behaviour: a plain {@link NimbusJwtDecoder}, so every
+ * request verifies its token's RSA signature twice, and a tenant lookup that reaches the
+ * repository on every anonymous request. {@code cached} uses {@link CachingJwtDecoder} and a live
+ * {@link TenantLookupCache}. The repository here is an in-memory stub; against Postgres each
+ * anonymous {@code uncached} request also pays one or two database round trips.
+ *
+ * <p>Run from {@code backend/survey-engine} after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.survey_engine.user.benchmark.TenantResolverFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantResolverFilterBenchmark {
+
+    @Param({"uncached", "cached"})
+    public String mode;
+
+    private TenantResolverFilter filter;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).privateKey(keyPair.getPrivate()).build();
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+        token = encoder.encode(JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .subject("user-1")
+                .claim("tenantId", 7L)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .build())).getTokenValue();
+
+        JwtDecoder nimbus = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        boolean cached = mode.equals("cached");
+        decoder = cached ? new CachingJwtDecoder(nimbus, 10_000, Duration.ofMinutes(15)) : nimbus;
+
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        when(tenantRepository.findBySlug(anyString())).thenAnswer(invocation -> {
+            return Optional.of(tenant);
+        });
+        TenantLookupCache lookupCache = new TenantLookupCache(tenantRepository, 10_000,
+                cached ? Duration.ofMinutes(5) : Duration.ZERO);
+        filter = new TenantResolverFilter(lookupCache, decoder, new CustomBearerTokenResolver());
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/surveys");
+        request.addHeader("Authorization", "Bearer " + token);
+        // Stands in for the resource server, which decodes the same token again
+        FilterChain chain = (req, res) -> req.setAttribute("jwt", decoder.decode(token));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return request.getAttribute("jwt");
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/public/surveys/1");
+        request.setServerName("acme.example.com");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        return request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TenantResolverFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
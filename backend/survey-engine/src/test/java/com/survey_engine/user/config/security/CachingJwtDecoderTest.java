@@ -0,0 +1,57 @@
+package com.survey_engine.user.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingJwtDecoderTest {
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(15));
+
+    @Test
+    void verifiesEachTokenOnceUntilItExpires() {
+        Jwt valid = jwt(Instant.now().plusSeconds(600));
+        Jwt expired = jwt(Instant.now().minusSeconds(1));
+        when(delegate.decode("valid")).thenReturn(valid);
+        when(delegate.decode("expired")).thenReturn(expired);
+
+        assertSame(valid, decoder.decode("valid"));
+        assertSame(valid, decoder.decode("valid"));
+        decoder.decode("expired");
+        decoder.decode("expired");
+
+        verify(delegate, times(1)).decode("valid");
+        verify(delegate, times(2)).decode("expired");
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("bad signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+        verify(delegate, times(2)).decode("forged");
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("tenantId", 7L)
+                .issuedAt(expiresAt.minusSeconds(900))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.survey_engine.user.service;
+
+import com.survey_engine.common.events.TenantChangedEvent;
+import com.survey_engine.user.TenantDescriptor;
+import com.survey_engine.user.models.Tenant;
+import com.survey_engine.user.repository.TenantRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantDescriptorCacheTest {
+
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final TenantDescriptorCache cache = new TenantDescriptorCache(tenantRepository, 100, Duration.ofMinutes(5));
+
+    @Test
+    void loadsEachTenantOnceUntilItChanges() {
+        when(tenantRepository.findById(1L)).thenReturn(Optional.of(tenant(1L, "Main Tenant", "www")));
+
+        assertTrue(cache.get(1L).map(TenantDescriptor::individual).orElseThrow());
+        cache.get(1L);
+        verify(tenantRepository, times(1)).findById(1L);
+
+        cache.onTenantChanged(new TenantChangedEvent(1L));
+        cache.get(1L);
+        verify(tenantRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void describesEnterpriseAndMissingTenants() {
+        when(tenantRepository.findById(2L)).thenReturn(Optional.of(tenant(2L, "Acme Ltd", "acme-ltd")));
+        when(tenantRepository.findById(3L)).thenReturn(Optional.empty());
+
+        TenantDescriptor acme = cache.get(2L).orElseThrow();
+        assertFalse(acme.individual());
+        assertEquals("acme-ltd", acme.slug());
+        assertTrue(cache.get(3L).isEmpty());
+        cache.get(3L);
+        verify(tenantRepository, times(1)).findById(3L);
+    }
+
+    private static Tenant tenant(Long id, String name, String slug) {
+        Tenant tenant = new Tenant();
+        tenant.setId(id);
+        tenant.setName(name);
+        tenant.setSlug(slug);
+        return tenant;
+    }
+}
@@ -170,7 +170,7 @@ const SurveyContacts = ({ surveyId }) => {
             >
               <option value="">-- Select List --</option>
               {lists.map(l => (
-                <option key={l.id} value={l.id}>{l.name} ({l.contacts?.length || 0} contacts)</option>
+                <option key={l.id} value={l.id}>{l.name} ({l.contactCount || 0} contacts)</option>
               ))}
             </Select>
           </div>
@@ -200,7 +200,7 @@ const SurveyContacts = ({ surveyId }) => {
                    </p>
                  </div>
                </div>
-               <Badge color="gray">{list.contacts?.length || 0}</Badge>
+               <Badge color="gray">{list.contactCount || 0}</Badge>
              </div>
              
              <div className="mt-4 flex justify-between items-center">
@@ -91,12 +91,12 @@ export default function SurveyReviewPanel({
             <select className="input-field text-sm" value={selectedListId} onChange={(e) => setSelectedListId(e.target.value)}>
               <option value="">Select a distribution list</option>
               {distributionLists.map(l => (
-                <option key={l.id} value={l.id}>{l.name} ({l.contacts?.length ?? 0} contacts)</option>
+                <option key={l.id} value={l.id}>{l.name} ({l.contactCount ?? 0} contacts)</option>
               ))}
             </select>
             {selectedList && costCalculation?.smsCost > 0 && (
               <p className="text-xs text-[var(--text-muted)] mt-1">
-                SMS cost: KES {costCalculation.smsCostPerMessage} x {selectedList.contacts?.length ?? 0} = <strong>KES {Number(costCalculation.smsCost).toLocaleString()}</strong>
+                SMS cost: KES {costCalculation.smsCostPerMessage} x {selectedList.contactCount ?? 0} = <strong>KES {Number(costCalculation.smsCost).toLocaleString()}</strong>
               </p>
             )}
           </div>
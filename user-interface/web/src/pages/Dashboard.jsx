@@ -354,7 +354,7 @@ const Dashboard = () => {
                >
                  <option value="">-- Select List --</option>
                  {distLists.map(l => (
-                   <option key={l.id} value={l.id}>{l.name} ({l.contacts?.length} contacts)</option>
+                   <option key={l.id} value={l.id}>{l.name} ({l.contactCount} contacts)</option>
                  ))}
                </Select>
              </div>
@@ -77,7 +77,7 @@ const SurveyBuilder = () => {
 
   // Selected distribution list details (for SMS cost calc)
   const selectedList = distributionLists.find(l => String(l.id) === String(selectedListId))
-  const smsContactCount = enableSmsDispatch && selectedList ? (selectedList.contacts?.length ?? 0) : null
+  const smsContactCount = enableSmsDispatch && selectedList ? (selectedList.contactCount ?? 0) : null
 
   // Handle ?type=PERFORMANCE from Competitions page
   useEffect(() => {
@@ -649,13 +649,13 @@ const SurveyBuilder = () => {
                       <option value="">-- Select a distribution list --</option>
                       {distributionLists.map(l => (
                         <option key={l.id} value={l.id}>
-                          {l.name} ({l.contacts?.length ?? 0} contacts)
+                          {l.name} ({l.contactCount ?? 0} contacts)
                         </option>
                       ))}
                     </Select>
                     {selectedList && (
                       <p className="text-xs text-[var(--text-muted)] mt-1">
-                        SMS cost: KES {costCalculation?.smsCostPerMessage ?? '2.00'} x {selectedList.contacts?.length ?? 0} contacts
+                        SMS cost: KES {costCalculation?.smsCostPerMessage ?? '2.00'} x {selectedList.contactCount ?? 0} contacts
                         {costCalculation?.smsCost > 0 && <> = <strong>KES {Number(costCalculation.smsCost).toLocaleString()}</strong></>}
                       </p>
                     )}
@@ -56,7 +56,7 @@ export default function SurveyBuilder() {
 
   const isSmsAllowed = subscription?.plan?.name !== 'Free' && subscription?.plan?.name != null
   const selectedList = distributionLists.find(l => String(l.id) === String(selectedListId))
-  const smsContactCount = enableSmsDispatch && selectedList ? (selectedList.contacts?.length ?? 0) : null
+  const smsContactCount = enableSmsDispatch && selectedList ? (selectedList.contactCount ?? 0) : null
 
   useEffect(() => {
     if (editSurveyId) {
@@ -191,7 +191,7 @@ export default function Surveys() {
           <p className="text-sm text-[var(--text-muted)]">Select a contact list to send SMS invitations.</p>
           <select className="input-field" value={selectedListId} onChange={(e) => setSelectedListId(e.target.value)}>
             <option value="">Select list...</option>
-            {distLists.map(l => <option key={l.id} value={l.id}>{l.name} ({l.contacts?.length} contacts)</option>)}
+            {distLists.map(l => <option key={l.id} value={l.id}>{l.name} ({l.contactCount} contacts)</option>)}
           </select>
           <div className="flex justify-end gap-2">
             <Button variant="secondary" onClick={() => setShowDistModal(false)}>Cancel</Button>
@@ -212,6 +212,7 @@ export const distributionAPI = {
   },
   getLists: () => api.get('/distribution-lists'),
   getList: (id) => api.get(`/distribution-lists/${id}`),
+  getContacts: (id, params) => api.get(`/distribution-lists/${id}/contacts`, { params }),
   addContacts: (id, contacts) => api.post(`/distribution-lists/${id}/contacts`, contacts),
 }
 